@@ -60,6 +60,10 @@ dependencies {
 
     implementation("com.github.bumptech.glide:glide:4.16.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        // use the app's RecyclerView rather than the version Glide was built against
+        isTransitive = false
+    }
 
     // Core testing dependencies
     testImplementation("junit:junit:4.13.2")
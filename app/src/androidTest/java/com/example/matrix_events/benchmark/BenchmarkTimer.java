@@ -0,0 +1,110 @@
+package com.example.matrix_events.benchmark;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Times small pieces of code for the instrumented benchmarks in this package.
+ * <p>
+ * Each measurement runs its body a number of times to let the runtime compile it, then times a
+ * number of further runs and takes the median, which is far less sensitive to garbage collection
+ * pauses and scheduling than the mean. Results are logged under the {@value #TAG} tag, so a run of
+ * <pre>
+ * ./gradlew connectedDebugAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.package=com.example.matrix_events.benchmark
+ * adb logcat -s Benchmark
+ * </pre>
+ * prints every measurement together with the ratios between them. Timings depend on the device,
+ * so the benchmarks only log them; they assert correctness and sizes, never wall-clock bounds.
+ * </p>
+ */
+public final class BenchmarkTimer {
+    private static final String TAG = "Benchmark";
+
+    private BenchmarkTimer() {}
+
+    /**
+     * Measures the median time of running a body.
+     *
+     * @param label   The name the result is logged under.
+     * @param warmups The number of untimed runs before measuring.
+     * @param runs    The number of timed runs.
+     * @param body    The code to time.
+     * @return The median time of one run in nanoseconds.
+     */
+    public static long medianNanos(@NonNull String label, int warmups, int runs, @NonNull Runnable body) {
+        for (int i = 0; i < warmups; i++) {
+            body.run();
+        }
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            body.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        long median = times[runs / 2];
+        Log.i(TAG, String.format(Locale.ROOT, "%s: median %.1f us over %d runs", label, median / 1000.0, runs));
+        return median;
+    }
+
+    /**
+     * Measures the heap retained by building an object.
+     * <p>
+     * The heap is collected before and after building, with the object kept reachable, so the
+     * difference is what the object holds on to rather than the garbage made while building it.
+     * </p>
+     *
+     * @param label The name the result is logged under.
+     * @param build Builds the object to measure.
+     * @return The retained heap in bytes.
+     */
+    public static long retainedBytes(@NonNull String label, @NonNull Supplier<Object> build) {
+        long before = usedHeap();
+        Object retained = build.get();
+        long after = usedHeap();
+        long bytes = Math.max(0, after - before);
+        Log.i(TAG, String.format(Locale.ROOT, "%s: %d KiB retained (%s)", label, bytes / 1024,
+                retained.getClass().getSimpleName()));
+        return bytes;
+    }
+
+    /**
+     * Logs a measurement that is not a time or a heap size, such as a hit rate.
+     *
+     * @param label The name of the measurement.
+     * @param value The measured value.
+     */
+    public static void record(@NonNull String label, @NonNull String value) {
+        Log.i(TAG, label + ": " + value);
+    }
+
+    /**
+     * Logs the ratio of two measurements, such as the speedup of an optimized path over the one it
+     * replaced, or how much a time grows with the input size.
+     *
+     * @param label       The name of the ratio.
+     * @param numerator   The measurement divided.
+     * @param denominator The measurement divided by.
+     * @return The ratio.
+     */
+    public static double recordRatio(@NonNull String label, long numerator, long denominator) {
+        double ratio = (double) numerator / Math.max(1, denominator);
+        record(label, String.format(Locale.ROOT, "%.2fx", ratio));
+        return ratio;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            System.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.utils.EntrantList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks {@link EntrantList} against the {@link ArrayList} entrant lists it replaced in
+ * {@link com.example.matrix_events.entities.Event}.
+ * <p>
+ * Lists hold 10,000 entrants, the scale the waitlist checks and removals were slow at. Each
+ * benchmark repeats the operation over many device IDs so one timed run is long enough to measure.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantListBenchmark {
+    private static final int ENTRANTS = 10_000;
+    private static final int OPERATIONS = 1_000;
+
+    private static List<String> deviceIds(int count) {
+        List<String> deviceIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deviceIds.add("device_" + i);
+        }
+        return deviceIds;
+    }
+
+    /**
+     * Looks up IDs spread over the whole list, half of them absent.
+     */
+    private static int lookUp(List<String> list) {
+        int found = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (list.contains("device_" + (i * 19))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes IDs from the front half of a copy of the list and adds them back at the end,
+     * the pattern of entrants leaving and rejoining a waitlist.
+     */
+    private static void leaveAndRejoin(List<String> list) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            String deviceId = "device_" + (i * 5);
+            list.remove(deviceId);
+            list.add(deviceId);
+        }
+    }
+
+    /**
+     * Reads an entrant by index and removes another, as organizer screens mixing paging and
+     * cancellations do.
+     */
+    private static void readAndRemove(List<String> list) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            list.get((i * 31) % list.size());
+            list.remove((i * 17) % list.size());
+        }
+    }
+
+    /**
+     * Measures membership checks at 10,000 entrants against the array list.
+     */
+    @Test
+    public void benchmarkContains() {
+        List<String> arrayList = deviceIds(ENTRANTS);
+        EntrantList entrantList = new EntrantList(arrayList);
+        assertEquals(lookUp(arrayList), lookUp(entrantList));
+
+        long array = BenchmarkTimer.medianNanos("ArrayList contains x" + OPERATIONS, 3, 11, () -> lookUp(arrayList));
+        long entrant = BenchmarkTimer.medianNanos("EntrantList contains x" + OPERATIONS, 3, 11, () -> lookUp(entrantList));
+        BenchmarkTimer.recordRatio("contains speedup over ArrayList", array, entrant);
+    }
+
+    /**
+     * Measures removals and joins at 10,000 entrants against the array list, less the cost of copying the list.
+     */
+    @Test
+    public void benchmarkRemoveAndAdd() {
+        List<String> source = deviceIds(ENTRANTS);
+        long array = BenchmarkTimer.medianNanos("ArrayList remove+add x" + OPERATIONS, 3, 11,
+                () -> leaveAndRejoin(new ArrayList<>(source)));
+        long copyArray = BenchmarkTimer.medianNanos("ArrayList copy", 3, 11, () -> new ArrayList<>(source));
+        long entrant = BenchmarkTimer.medianNanos("EntrantList remove+add x" + OPERATIONS, 3, 11,
+                () -> leaveAndRejoin(new EntrantList(source)));
+        long copyEntrant = BenchmarkTimer.medianNanos("EntrantList copy", 3, 11, () -> new EntrantList(source));
+        BenchmarkTimer.recordRatio("remove+add speedup over ArrayList", array - copyArray, entrant - copyEntrant);
+    }
+
+    /**
+     * Measures how interleaved indexed reads and removals grow from 10,000 to 20,000 entrants. At
+     * O(log n) per operation the ratio stays near one, where rebuilding a snapshot of the list after
+     * every write would double it.
+     */
+    @Test
+    public void benchmarkInterleavedReadsAndRemovals() {
+        List<String> small = deviceIds(ENTRANTS);
+        List<String> large = deviceIds(ENTRANTS * 2);
+        long smallCopy = BenchmarkTimer.medianNanos("EntrantList copy, 10k", 3, 11, () -> new EntrantList(small));
+        long largeCopy = BenchmarkTimer.medianNanos("EntrantList copy, 20k", 3, 11, () -> new EntrantList(large));
+        long smallMixed = BenchmarkTimer.medianNanos("EntrantList get+remove x" + OPERATIONS + ", 10k", 3, 11,
+                () -> readAndRemove(new EntrantList(small)));
+        long largeMixed = BenchmarkTimer.medianNanos("EntrantList get+remove x" + OPERATIONS + ", 20k", 3, 11,
+                () -> readAndRemove(new EntrantList(large)));
+        BenchmarkTimer.recordRatio("get+remove growth, 10k to 20k", largeMixed - largeCopy, smallMixed - smallCopy);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.utils.EntrantIndex;
+import com.example.matrix_events.utils.EntrantIndex.ListType;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmarks the heap held by the entrant lists of a catalog of events, and the lookup of one
+ * entrant's events, against the string lists and scan they replaced.
+ * <p>
+ * The catalog has 500 events of 200 entrants each, drawn from 5,000 devices, so every device is
+ * on about 20 events. Firestore decodes each event document into its own strings, so the old lists
+ * held one copy of a device ID per event; the new ones hold dictionary codes, and the
+ * {@link EntrantIndex} built over them is counted along with the dictionary strings it shares.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantMemoryBenchmark {
+    private static final int EVENTS = 500;
+    private static final int DEVICES = 5_000;
+    private static final int[] LIST_SIZES = {150, 30, 15, 5};     // waitlist, pending, accepted, declined
+
+    private static int runs = 0;
+
+    /**
+     * Generates the entrant lists of the catalog as freshly decoded strings, one array of lists per
+     * event. Device IDs are unique to each call so the dictionary has to grow to hold them, which
+     * the heap measurement of the new lists then includes.
+     */
+    private static List<List<String>[]> makeCatalog() {
+        String prefix = String.format(Locale.ROOT, "%04x", runs++);
+        Random random = new Random(42);
+        List<List<String>[]> catalog = new ArrayList<>(EVENTS);
+        for (int e = 0; e < EVENTS; e++) {
+            @SuppressWarnings("unchecked")
+            List<String>[] lists = new List[LIST_SIZES.length];
+            int start = random.nextInt(DEVICES);
+            int offset = 0;
+            for (int l = 0; l < LIST_SIZES.length; l++) {
+                lists[l] = new ArrayList<>();
+                for (int i = 0; i < LIST_SIZES[l]; i++) {
+                    int device = (start + offset++) % DEVICES;
+                    // a new String per event, as the Firestore decoder makes
+                    lists[l].add(new String(prefix + String.format(Locale.ROOT, "%012x", device * 2654435761L)));
+                }
+            }
+            catalog.add(lists);
+        }
+        return catalog;
+    }
+
+    private static List<Event> toEvents(List<List<String>[]> catalog) {
+        List<Event> events = new ArrayList<>(catalog.size());
+        for (int e = 0; e < catalog.size(); e++) {
+            Event event = new Event();
+            event.setId("event_" + e);
+            List<String>[] lists = catalog.get(e);
+            event.setWaitList(lists[0]);
+            event.setPendingList(lists[1]);
+            event.setAcceptedList(lists[2]);
+            event.setDeclinedList(lists[3]);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * The My Events lookup before the index: a membership test on every event's lists.
+     */
+    private static List<String> scan(List<List<String>[]> catalog, String deviceId) {
+        List<String> eventIds = new ArrayList<>();
+        for (int e = 0; e < catalog.size(); e++) {
+            List<String>[] lists = catalog.get(e);
+            if (lists[0].contains(deviceId) || lists[1].contains(deviceId)) {
+                eventIds.add("event_" + e);
+            }
+        }
+        return eventIds;
+    }
+
+    /**
+     * Tests that the encoded lists and the index together hold at least a quarter less heap than
+     * the string lists alone. The saving is bounded by the dictionary's own strings, one per
+     * device, and by the index, so it is nowhere near the ratio of an int code to a string.
+     */
+    @Test
+    public void benchmarkRetainedHeap() {
+        long strings = BenchmarkTimer.retainedBytes("string lists, " + EVENTS + " events",
+                EntrantMemoryBenchmark::makeCatalog);
+
+        // build the strings first and let them go, so only what the lists and index keep is counted
+        List<List<String>[]> source = makeCatalog();
+        long encoded = BenchmarkTimer.retainedBytes("entrant lists and index, " + EVENTS + " events", () -> {
+            List<Event> events = toEvents(source);
+            EntrantIndex index = new EntrantIndex();
+            index.rebuild(events);
+            return new Object[]{events, index};
+        });
+        source.clear();
+
+        BenchmarkTimer.record("entrant heap saved", String.format(Locale.ROOT, "%.0f%%",
+                100.0 * (strings - encoded) / strings));
+        assertTrue("Encoded lists and the index should hold at least a quarter less than the string lists",
+                encoded * 4 < strings * 3);
+    }
+
+    /**
+     * Measures finding the events a device is on through the index against scanning every
+     * event's lists.
+     */
+    @Test
+    public void benchmarkEventsOfDevice() {
+        List<List<String>[]> catalog = makeCatalog();
+        EntrantIndex index = new EntrantIndex();
+        index.rebuild(toEvents(catalog));
+        String deviceId = catalog.get(0)[0].get(0);
+        assertEquals(new HashSet<>(scan(catalog, deviceId)),
+                new HashSet<>(index.getEventIds(deviceId, ListType.WAITLIST, ListType.PENDING)));
+
+        long scanned = BenchmarkTimer.medianNanos("scan of " + EVENTS + " events", 5, 21,
+                () -> scan(catalog, deviceId));
+        long indexed = BenchmarkTimer.medianNanos("index lookup, " + EVENTS + " events", 50, 201,
+                () -> index.getEventIds(deviceId, ListType.WAITLIST, ListType.PENDING));
+        BenchmarkTimer.recordRatio("index lookup speedup over scan", scanned, indexed);
+    }
+}
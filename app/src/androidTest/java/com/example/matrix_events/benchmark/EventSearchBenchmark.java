@@ -0,0 +1,92 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.entities.EventSummary;
+import com.example.matrix_events.utils.EventSearchIndex;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks {@link EventSearchIndex} against the linear scan it replaced in the event search screen.
+ * <p>
+ * Catalogs of generated events are searched for a term that matches the same ten events however
+ * large the catalog is. The scan compares every event, so it grows with the catalog; the index
+ * only visits the tokens sharing the term's trigrams, so its latency should stay flat.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventSearchBenchmark {
+    private static final String[] WORDS = {
+            "community", "festival", "workshop", "concert", "market", "lecture", "tournament", "gala",
+            "meetup", "fundraiser", "exhibition", "seminar", "parade", "recital", "picnic", "hackathon"
+    };
+    private static final String QUERY = "jazz";
+    private static final int MATCHES = 10;
+
+    /**
+     * Generates a catalog where exactly {@value #MATCHES} events mention the query term.
+     */
+    private static List<EventSummary> makeCatalog(int size) {
+        Random random = new Random(size);
+        List<EventSummary> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EventSummary event = new EventSummary();
+            event.setId("event_" + i);
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            event.setName(i % (size / MATCHES) == 0 ? "Jazz " + name : name);
+            event.setLocation("Hall " + random.nextInt(200));
+            event.setDescription("A " + WORDS[random.nextInt(WORDS.length)] + " for everyone, number " + i);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * The matching of the search screen before the index: a substring test on every event.
+     */
+    private static List<EventSummary> scan(List<EventSummary> events, String query) {
+        List<EventSummary> results = new ArrayList<>();
+        String lowerQuery = query.toLowerCase().trim();
+        for (EventSummary e : events) {
+            if (e.getName().toLowerCase().contains(lowerQuery) || e.getLocation().toLowerCase().contains(lowerQuery)) {
+                results.add(e);
+            }
+        }
+        return results;
+    }
+
+    private static long timeIndex(int size) {
+        EventSearchIndex index = new EventSearchIndex();
+        index.rebuild(makeCatalog(size));
+        assertEquals(MATCHES, index.search(QUERY).size());
+        return BenchmarkTimer.medianNanos("index search, " + size + " events", 50, 200, () -> index.search(QUERY));
+    }
+
+    private static long timeScan(int size) {
+        List<EventSummary> catalog = makeCatalog(size);
+        assertEquals(MATCHES, scan(catalog, QUERY).size());
+        return BenchmarkTimer.medianNanos("linear scan, " + size + " events", 5, 21, () -> scan(catalog, QUERY));
+    }
+
+    /**
+     * Measures index latency at 2,000 and 20,000 events, and the scan at 20,000. The index growth
+     * should stay near one for ten times the catalog, while the scan grows with it.
+     */
+    @Test
+    public void benchmarkSearch_Sublinear() {
+        long indexSmall = timeIndex(2_000);
+        long indexLarge = timeIndex(20_000);
+        long scanLarge = timeScan(20_000);
+
+        BenchmarkTimer.recordRatio("index growth, 2k to 20k events", indexLarge, indexSmall);
+        BenchmarkTimer.recordRatio("index speedup over scan, 20k events", scanLarge, indexLarge);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.utils.GeoGridClusterer;
+import com.google.firebase.firestore.GeoPoint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks {@link GeoGridClusterer} on the organizer map's largest events.
+ * <p>
+ * Entrants are spread around four Alberta cities, a few kilometres from each city centre, and
+ * clustered at zoom level 10, where a city fits on screen. Before clustering the map added one
+ * marker per entrant on the main thread, so the benchmark checks both the time clustering takes on
+ * its background thread and how few markers are left for the main thread to add.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class GeoGridClustererBenchmark {
+    private static final int LOCATIONS = 20_000;
+    private static final float ZOOM = 10f;
+    private static final double[][] CITIES = {
+            {53.5461, -113.4938},   // Edmonton
+            {51.0447, -114.0719},   // Calgary
+            {52.2681, -113.8112},   // Red Deer
+            {49.6935, -112.8418}    // Lethbridge
+    };
+    private static final double SPREAD_DEGREES = 0.05;
+
+    private static Map<String, GeoPoint> makeLocations(int count) {
+        Random random = new Random(42);
+        Map<String, GeoPoint> locations = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            double[] city = CITIES[i % CITIES.length];
+            locations.put("device_" + i, new GeoPoint(city[0] + random.nextGaussian() * SPREAD_DEGREES,
+                    city[1] + random.nextGaussian() * SPREAD_DEGREES));
+        }
+        return locations;
+    }
+
+    /**
+     * Tests that 20,000 locations are clustered into at most 500 markers, and measures the time
+     * taken and how it grows from 10,000 locations, which should be about twofold.
+     */
+    @Test
+    public void benchmarkCluster() {
+        Map<String, GeoPoint> small = makeLocations(LOCATIONS / 2);
+        Map<String, GeoPoint> large = makeLocations(LOCATIONS);
+
+        List<GeoGridClusterer.Cluster> clusters = GeoGridClusterer.cluster(large, ZOOM, null);
+        int total = 0;
+        for (GeoGridClusterer.Cluster cluster : clusters) {
+            total += cluster.getSize();
+        }
+        assertEquals("Every location should be in one marker", LOCATIONS, total);
+        BenchmarkTimer.record("markers for " + LOCATIONS + " locations", String.valueOf(clusters.size()));
+        assertTrue("Clustering should leave at most 500 markers to add", clusters.size() <= 500);
+
+        long smallNanos = BenchmarkTimer.medianNanos("cluster " + LOCATIONS / 2 + " locations", 5, 21,
+                () -> GeoGridClusterer.cluster(small, ZOOM, null));
+        long largeNanos = BenchmarkTimer.medianNanos("cluster " + LOCATIONS + " locations", 5, 21,
+                () -> GeoGridClusterer.cluster(large, ZOOM, null));
+        BenchmarkTimer.recordRatio("cluster growth, " + LOCATIONS / 2 + " to " + LOCATIONS + " locations",
+                largeNanos, smallNanos);
+    }
+
+    /**
+     * Tests that clustering for a viewport over one city returns only that city's markers, and
+     * measures the time taken for 20,000 locations.
+     */
+    @Test
+    public void benchmarkClusterViewport() {
+        Map<String, GeoPoint> locations = makeLocations(LOCATIONS);
+        double[] edmonton = CITIES[0];
+        GeoGridClusterer.Viewport viewport = new GeoGridClusterer.Viewport(
+                edmonton[0] - 0.5, edmonton[1] - 0.5, edmonton[0] + 0.5, edmonton[1] + 0.5);
+
+        int total = 0;
+        for (GeoGridClusterer.Cluster cluster : GeoGridClusterer.cluster(locations, ZOOM, viewport)) {
+            assertTrue(viewport.contains(cluster.getLatitude(), cluster.getLongitude()));
+            total += cluster.getSize();
+        }
+        assertTrue("The viewport should hold about one city's entrants",
+                total <= LOCATIONS / CITIES.length && total > LOCATIONS / CITIES.length * 9 / 10);
+
+        BenchmarkTimer.medianNanos("cluster " + LOCATIONS + " locations in a viewport", 5, 21,
+                () -> GeoGridClusterer.cluster(locations, ZOOM, viewport));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+import com.example.matrix_events.utils.MatrixGlideModule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Measures the memory a poster banner decodes to with {@link MatrixGlideModule#posterBannerOptions}
+ * against loading the same image without size bounds.
+ * <p>
+ * The source is a 3000x4000 photo, the size a camera image picked as a poster arrives at. Both
+ * loads skip the caches and read the bitmap back on the CPU, so every run decodes the file and
+ * the allocation of the decoded bitmap is what is compared.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class PosterBannerBenchmark {
+    private static final int PHOTO_WIDTH = 3000;
+    private static final int PHOTO_HEIGHT = 4000;
+
+    private Context context;
+    private File photo;
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        Bitmap bitmap = Bitmap.createBitmap(PHOTO_WIDTH, PHOTO_HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(Color.WHITE);
+        Paint paint = new Paint();
+        paint.setColor(Color.rgb(56, 142, 60));
+        canvas.drawCircle(PHOTO_WIDTH / 2f, PHOTO_HEIGHT / 2f, PHOTO_WIDTH / 3f, paint);
+
+        photo = new File(context.getCacheDir(), "poster_banner_benchmark.jpg");
+        try (OutputStream out = new FileOutputStream(photo)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        }
+        bitmap.recycle();
+    }
+
+    @After
+    public void tearDown() {
+        photo.delete();
+    }
+
+    private Bitmap decode(RequestOptions options) throws Exception {
+        return Glide.with(context)
+                .asBitmap()
+                .load(photo)
+                .apply(options)
+                .skipMemoryCache(true)
+                .diskCacheStrategy(DiskCacheStrategy.NONE)
+                .disallowHardwareConfig()
+                .submit()
+                .get();
+    }
+
+    /**
+     * Tests that a banner decodes within the display width by the banner height, and to at least
+     * eight times less memory than the unbounded photo.
+     */
+    @Test
+    public void benchmarkBannerDecode() throws Exception {
+        RequestOptions bannerOptions = MatrixGlideModule.posterBannerOptions(context);
+        int maxWidth = context.getResources().getDisplayMetrics().widthPixels;
+        int maxHeight = Math.round(200 * context.getResources().getDisplayMetrics().density);
+
+        Bitmap full = decode(new RequestOptions());
+        int fullBytes = full.getAllocationByteCount();
+        Glide.get(context).getBitmapPool().clearMemory();
+
+        Bitmap banner = decode(bannerOptions);
+        int bannerBytes = banner.getAllocationByteCount();
+
+        BenchmarkTimer.record("unbounded poster decode", String.format(Locale.ROOT, "%dx%d, %d bytes",
+                full.getWidth(), full.getHeight(), fullBytes));
+        BenchmarkTimer.record("banner poster decode", String.format(Locale.ROOT, "%dx%d, %d bytes",
+                banner.getWidth(), banner.getHeight(), bannerBytes));
+        assertTrue("Banner should be no wider than the display", banner.getWidth() <= maxWidth);
+        assertTrue("Banner should be no taller than the banner view", banner.getHeight() <= maxHeight);
+        assertTrue("Banner should take at least eight times less memory than the full photo",
+                bannerBytes * 8L < fullBytes);
+    }
+}
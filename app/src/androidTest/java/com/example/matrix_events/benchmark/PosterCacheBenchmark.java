@@ -0,0 +1,106 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.bumptech.glide.Glide;
+import com.example.matrix_events.utils.MatrixGlideModule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures how often poster loads are served from the caches configured by {@link MatrixGlideModule}.
+ * <p>
+ * A list of posters is loaded at row size three times: cold, as when a list first opens; again
+ * with the memory cache warm, as when the list is scrolled back up; and after the memory cache is
+ * cleared, as when the app returns from the background. The hit rates of each pass are read from
+ * the module's counters, the same ones it logs while the app runs.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class PosterCacheBenchmark {
+    private static final int POSTERS = 40;
+    private static final int POSTER_WIDTH = 600;
+    private static final int POSTER_HEIGHT = 800;
+    private static final int ROW_WIDTH = 300;
+    private static final int ROW_HEIGHT = 400;
+
+    private Context context;
+    private final List<File> posters = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        for (int i = 0; i < POSTERS; i++) {
+            Bitmap bitmap = Bitmap.createBitmap(POSTER_WIDTH, POSTER_HEIGHT, Bitmap.Config.ARGB_8888);
+            new Canvas(bitmap).drawColor(Color.HSVToColor(new float[]{i * 360f / POSTERS, 0.6f, 0.9f}));
+            File poster = new File(context.getCacheDir(), "poster_cache_benchmark_" + i + ".jpg");
+            try (OutputStream out = new FileOutputStream(poster)) {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+            }
+            bitmap.recycle();
+            posters.add(poster);
+        }
+        clearCaches();
+    }
+
+    @After
+    public void tearDown() {
+        clearCaches();
+        for (File poster : posters) {
+            poster.delete();
+        }
+    }
+
+    private void clearCaches() {
+        Glide.get(context).clearDiskCache();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> Glide.get(context).clearMemory());
+    }
+
+    /**
+     * Loads every poster once at row size and records where the loads were served from.
+     */
+    private void loadAll(String pass) throws Exception {
+        int loads = MatrixGlideModule.getLoadCount();
+        int memoryHits = MatrixGlideModule.getMemoryCacheHits();
+        int diskHits = MatrixGlideModule.getDiskCacheHits();
+        for (File poster : posters) {
+            Glide.with(context).load(poster).override(ROW_WIDTH, ROW_HEIGHT).submit().get();
+        }
+        int passLoads = MatrixGlideModule.getLoadCount() - loads;
+        int passMemoryHits = MatrixGlideModule.getMemoryCacheHits() - memoryHits;
+        int passDiskHits = MatrixGlideModule.getDiskCacheHits() - diskHits;
+        assertEquals("Every load should be counted", POSTERS, passLoads);
+        BenchmarkTimer.record(pass + " cache hit rate", String.format(Locale.ROOT,
+                "memory %.0f%%, disk %.0f%%", 100.0 * passMemoryHits / passLoads, 100.0 * passDiskHits / passLoads));
+    }
+
+    /**
+     * Measures the memory and disk cache hit rates of a cold, a warm and a backgrounded pass over a list of posters.
+     */
+    @Test
+    public void benchmarkCacheHitRate() throws Exception {
+        loadAll("cold list");
+        loadAll("scrolled back");
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> Glide.get(context).clearMemory());
+        loadAll("after memory trim");
+    }
+}
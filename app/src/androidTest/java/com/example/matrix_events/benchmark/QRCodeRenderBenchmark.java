@@ -0,0 +1,72 @@
+package com.example.matrix_events.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.utils.QRCodeGenerator;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks {@link QRCodeGenerator#generateQRCodeBitmap(String, int, int)} against the per-pixel
+ * renderer it replaced.
+ * <p>
+ * The old renderer had ZXing scale the code to the full bitmap size and wrote every pixel with
+ * {@link Bitmap#setPixel}; the new one encodes at module resolution and writes a filled buffer
+ * once. Both render the 512x512 codes shown on the event screens.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class QRCodeRenderBenchmark {
+    private static final int SIZE = 512;
+    private static final String HASH = "a1b2c3d4e5f67890a1b2c3d4e5f67890";
+
+    /**
+     * The renderer used before rendering was buffered, kept as the benchmark baseline.
+     */
+    private static Bitmap renderPerPixel(String qrHash, int size) {
+        try {
+            BitMatrix bitMatrix = new QRCodeWriter().encode(qrHash, BarcodeFormat.QR_CODE, size, size);
+            Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    bitmap.setPixel(x, y, bitMatrix.get(x, y) ? Color.BLACK : Color.WHITE);
+                }
+            }
+            return bitmap;
+        } catch (WriterException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Bitmap renderBuffered(String qrHash, int size) {
+        try {
+            return QRCodeGenerator.generateQRCodeBitmap(qrHash, size, size);
+        } catch (WriterException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Measures the buffered renderer against the per-pixel renderer on a 512x512 code.
+     */
+    @Test
+    public void benchmarkRender() {
+        assertEquals(SIZE, renderBuffered(HASH, SIZE).getWidth());
+
+        long perPixel = BenchmarkTimer.medianNanos("per-pixel render, " + SIZE + "px", 3, 11,
+                () -> renderPerPixel(HASH, SIZE));
+        long buffered = BenchmarkTimer.medianNanos("buffered render, " + SIZE + "px", 5, 21,
+                () -> renderBuffered(HASH, SIZE));
+        BenchmarkTimer.recordRatio("buffered render speedup over per-pixel", perPixel, buffered);
+    }
+}
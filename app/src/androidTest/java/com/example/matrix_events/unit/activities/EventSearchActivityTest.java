@@ -24,6 +24,7 @@ import androidx.test.platform.app.InstrumentationRegistry;
 import com.example.matrix_events.R;
 import com.example.matrix_events.activities.EventSearchActivity;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.EventSummary;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.managers.EventManager;
 import com.google.firebase.Timestamp;
@@ -141,7 +142,7 @@ public class EventSearchActivityTest {
     }
 
     /**
-     * Custom Matcher to find a specific Event in the ListView Adapter by its Name.
+     * Custom Matcher to find a specific Event summary in the ListView Adapter by its Name.
      * <p>
      * This is necessary because using {@code atPosition(0)} is unreliable if the database
      * contains existing events from previous tests or manual usage. This matcher finds the
@@ -149,12 +150,12 @@ public class EventSearchActivityTest {
      * </p>
      *
      * @param expectedName The name of the event to search for.
-     * @return A Matcher that matches an {@link Event} object with the given name.
+     * @return A Matcher that matches an {@link EventSummary} object with the given name.
      */
     public static Matcher<Object> withEventName(final String expectedName) {
-        return new BoundedMatcher<Object, Event>(Event.class) {
+        return new BoundedMatcher<Object, EventSummary>(EventSummary.class) {
             @Override
-            protected boolean matchesSafely(Event event) {
+            protected boolean matchesSafely(EventSummary event) {
                 return expectedName.equals(event.getName());
             }
 
@@ -0,0 +1,109 @@
+package com.example.matrix_events.unit.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.matrix_events.R;
+import com.example.matrix_events.adapters.EntrantAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Instrumented Unit Tests for {@link EntrantAdapter}.
+ * <p>
+ * This suite verifies the RecyclerView Adapter logic, including:
+ * <ul>
+ * <li>Submitting a list of device IDs.</li>
+ * <li>ViewHolder creation and view inflation.</li>
+ * <li>Binding rows whose profiles have not been resolved yet.</li>
+ * <li>The cancel button callback.</li>
+ * </ul>
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantAdapterTest {
+
+    private Context context;
+    private List<String> deviceIds;
+    private String cancelledDeviceId;
+
+    @Before
+    public void setUp() {
+        // Use a ContextThemeWrapper with an AppTheme to ensure styles/attributes resolve correctly during inflation
+        Context targetContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context = new ContextThemeWrapper(targetContext, com.google.android.material.R.style.Theme_MaterialComponents_DayNight_NoActionBar);
+
+        // Random device IDs, so no profile is cached for them
+        deviceIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deviceIds.add("entrant_" + UUID.randomUUID());
+        }
+        cancelledDeviceId = null;
+    }
+
+    private EntrantAdapter createAdapter(boolean cancelEnabled) {
+        EntrantAdapter adapter = new EntrantAdapter(cancelEnabled, deviceID -> cancelledDeviceId = deviceID);
+        // The first list submitted is applied straight away, without diffing
+        adapter.submitList(deviceIds);
+        return adapter;
+    }
+
+    @Test
+    public void testItemCount() {
+        EntrantAdapter adapter = createAdapter(false);
+        assertEquals("Item count should match list size", 3, adapter.getItemCount());
+        assertEquals(deviceIds.get(1), adapter.getCurrentList().get(1));
+    }
+
+    /**
+     * Verifies a row is created and bound to a placeholder while its profile is unresolved.
+     */
+    @Test
+    public void testBindUnresolvedEntrant() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            EntrantAdapter adapter = createAdapter(false);
+            EntrantAdapter.EntrantViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+            assertNotNull("ViewHolder should not be null", holder);
+
+            adapter.onBindViewHolder(holder, 0);
+
+            TextView nameTextView = holder.itemView.findViewById(R.id.item_profile_list_name_textview);
+            assertEquals("Loading...", nameTextView.getText().toString());
+            ImageButton cancelButton = holder.itemView.findViewById(R.id.item_profile_list_cancel_button);
+            assertEquals("Cancel button should be hidden", View.INVISIBLE, cancelButton.getVisibility());
+        });
+    }
+
+    /**
+     * Verifies the cancel button reports the device ID of its row.
+     */
+    @Test
+    public void testCancelButton() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            EntrantAdapter adapter = createAdapter(true);
+            EntrantAdapter.EntrantViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+            adapter.onBindViewHolder(holder, 2);
+
+            ImageButton cancelButton = holder.itemView.findViewById(R.id.item_profile_list_cancel_button);
+            assertEquals("Cancel button should be visible", View.VISIBLE, cancelButton.getVisibility());
+            cancelButton.performClick();
+            assertEquals(deviceIds.get(2), cancelledDeviceId);
+        });
+    }
+}
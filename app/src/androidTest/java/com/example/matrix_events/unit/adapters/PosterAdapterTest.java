@@ -2,6 +2,7 @@ package com.example.matrix_events.unit.adapters;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import android.content.Context;
@@ -148,4 +149,40 @@ public class PosterAdapterTest {
             // verifying the listener presence confirms the Adapter wiring is correct.
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Test E: Verify the thumbnail preloader.
+     * <p>
+     * Checks that a preloading scroll listener is created and can be attached to the grid.
+     * </p>
+     */
+    @Test
+    public void testCreatePreloader() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            RecyclerView recyclerView = new RecyclerView(context);
+            RecyclerView.OnScrollListener preloader = adapter.createPreloader();
+            assertNotNull("Preloader should be created", preloader);
+            recyclerView.addOnScrollListener(preloader);
+        });
+    }
+
+    /**
+     * Test F: Verify recycling releases the thumbnail.
+     * <p>
+     * Binds a holder and recycles it, checking the thumbnail request is cleared from the view.
+     * </p>
+     */
+    @Test
+    public void testViewRecycled() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            FrameLayout parent = new FrameLayout(context);
+            PosterAdapter.PosterViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+
+            adapter.onBindViewHolder(holder, 0);
+            adapter.onViewRecycled(holder);
+
+            ImageView posterView = holder.itemView.findViewById(R.id.poster_image_view);
+            assertNull("Recycled view should not hold a thumbnail", posterView.getDrawable());
+        });
+    }
+}
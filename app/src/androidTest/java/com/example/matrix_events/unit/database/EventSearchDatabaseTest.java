@@ -0,0 +1,117 @@
+package com.example.matrix_events.unit.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.database.EventSearchDatabase;
+import com.example.matrix_events.entities.EventSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Instrumented unit tests for {@link EventSearchDatabase}.
+ * <p>
+ * Each test indexes events with a unique marker word in their names, so the tests only ever
+ * match their own rows in the shared on-device database, and removes them again afterwards.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventSearchDatabaseTest {
+
+    private EventSearchDatabase database;
+    private String marker;
+    private final List<EventSummary> indexed = new ArrayList<>();
+
+    private EventSummary makeEvent(String id, String name, String location, String description) {
+        EventSummary event = new EventSummary();
+        event.setId(id + "_" + marker);
+        event.setName(marker + " " + name);
+        event.setLocation(location);
+        event.setDescription(description);
+        indexed.add(event);
+        return event;
+    }
+
+    private List<String> searchIds(String query, EventSearchDatabase.StatusFilter filter) throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (EventSearchDatabase.Match match : database.search(query, filter, 50)) {
+            ids.add(match.getEventId());
+        }
+        return ids;
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = EventSearchDatabase.getInstance(context);
+        marker = "m" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        DBChangeSet<EventSummary> cleanup = new DBChangeSet<>();
+        for (EventSummary event : indexed) {
+            cleanup.addRemoved(event);
+        }
+        database.applyAsync(cleanup);
+        // Searches queue behind writes, so this waits for the cleanup to finish
+        database.search(marker, EventSearchDatabase.StatusFilter.ALL, 1);
+    }
+
+    /**
+     * Tests that added events are found by prefix across fields, and ranked by the field that matched.
+     */
+    @Test
+    public void testSearch_AddedEvents() throws InterruptedException {
+        DBChangeSet<EventSummary> changes = new DBChangeSet<>();
+        changes.addAdded(makeEvent("pool", "Swimming Lessons", "Community Pool", "Beginner classes"));
+        changes.addAdded(makeEvent("gala", "Winter Gala", "Hall A", "Swimwear not required"));
+        database.applyAsync(changes);
+
+        assertEquals(2, searchIds(marker, EventSearchDatabase.StatusFilter.ALL).size());
+
+        List<String> swim = searchIds(marker + " swim", EventSearchDatabase.StatusFilter.ALL);
+        assertEquals(2, swim.size());
+        assertEquals("Name match should rank first", "pool_" + marker, swim.get(0));
+
+        assertTrue(searchIds(marker + " opera", EventSearchDatabase.StatusFilter.ALL).isEmpty());
+    }
+
+    /**
+     * Tests that modified and removed events are reflected in the mirror, and that the status filter applies.
+     */
+    @Test
+    public void testApply_ModifiedAndRemoved() throws InterruptedException {
+        EventSummary chess = makeEvent("chess", "Chess Club", "Library", "Weekly games");
+        EventSummary choir = makeEvent("choir", "Choir Practice", "Chapel", "Bring sheet music");
+        DBChangeSet<EventSummary> added = new DBChangeSet<>();
+        added.addAdded(chess);
+        added.addAdded(choir);
+        database.applyAsync(added);
+
+        chess.setName(marker + " Chess Tournament");
+        chess.setRegistrationOpened(true);
+        DBChangeSet<EventSummary> changed = new DBChangeSet<>();
+        changed.addModified(chess);
+        changed.addRemoved(choir);
+        database.applyAsync(changed);
+
+        List<String> tournament = searchIds(marker + " tourn", EventSearchDatabase.StatusFilter.REGISTRATION_OPEN);
+        assertEquals(1, tournament.size());
+        assertEquals("chess_" + marker, tournament.get(0));
+        assertTrue("Removed event should not match", searchIds(marker + " choir", EventSearchDatabase.StatusFilter.ALL).isEmpty());
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.matrix_events.unit.database.codecs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.database.codecs.EventCodec;
+import com.example.matrix_events.database.codecs.NotificationCodec;
+import com.example.matrix_events.database.codecs.PosterCodec;
+import com.example.matrix_events.database.codecs.ProfileCodec;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.Notification;
+import com.example.matrix_events.entities.Poster;
+import com.example.matrix_events.entities.Profile;
+import com.example.matrix_events.entities.ReoccurringType;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instrumented unit tests for the reflection-free entity codecs.
+ * <p>
+ * The codecs must produce exactly the documents Firestore's reflective mapper produces, so these
+ * tests compare their output with {@link CustomClassMapper}, and check round trips and Firestore's
+ * value types. The speed of the two decode paths is compared by
+ * {@link com.example.matrix_events.benchmark.EventCodecBenchmark}.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntityCodecTest {
+    private final EventCodec eventCodec = new EventCodec();
+    private final ProfileCodec profileCodec = new ProfileCodec();
+
+    private static Timestamp getTime(double hoursFromNow) {
+        long offset = (long) (hoursFromNow * 3600 * 1000);
+        return new Timestamp(new Date(new Date().getTime() + offset));
+    }
+
+    private static Profile makeProfile(String deviceId) {
+        Profile profile = new Profile("Codec User", "codec@test.com", "555-0000", deviceId);
+        profile.setId("profile_" + deviceId);
+        profile.setProfilePictureUrl("https://example.com/" + deviceId + ".png");
+        profile.setOrganizerPushNotifications(false);
+        return profile;
+    }
+
+    private static Event makeEvent(String id) {
+        Poster poster = new Poster("https://example.com/poster.png", id, "poster.png");
+        poster.setId("poster_" + id);
+        poster.setSizeBytes(1234L);
+        HashMap<String, String> renditionUrls = new HashMap<>();
+        renditionUrls.put(Poster.Rendition.THUMBNAIL.name(), "https://example.com/poster_thumbnail.webp");
+        poster.setRenditionUrls(renditionUrls);
+        Event event = new Event("Codec Event", "Description", makeProfile("organizer"), "Location",
+                getTime(3), getTime(4), 10, 20, getTime(1), getTime(2),
+                true, getTime(48), ReoccurringType.Weekly, false, poster);
+        event.setId(id);
+        event.setQrCodeHash("hash_" + id);
+        event.setWaitList(Arrays.asList("a", "b"));
+        event.setPendingList(Arrays.asList("c"));
+        event.setAcceptedList(Arrays.asList("d"));
+        event.setDeclinedList(Arrays.asList("e"));
+        HashMap<String, GeoPoint> geolocationMap = new HashMap<>();
+        geolocationMap.put("a", new GeoPoint(53.5, -113.5));
+        event.setGeolocationMap(geolocationMap);
+        event.setRegistrationOpened(true);
+        event.setWaitlistShards(4);
+        return event;
+    }
+
+    /**
+     * Tests that every codec writes the same document as the reflective mapper.
+     */
+    @Test
+    public void testEncode_MatchesReflectiveMapper() {
+        Event event = makeEvent("event_1");
+        assertEquals(CustomClassMapper.convertToPlainJavaTypes(event), eventCodec.encode(event));
+
+        Profile profile = makeProfile("device_1");
+        assertEquals(CustomClassMapper.convertToPlainJavaTypes(profile), profileCodec.encode(profile));
+
+        Poster poster = event.getPoster();
+        assertEquals(CustomClassMapper.convertToPlainJavaTypes(poster), new PosterCodec().encode(poster));
+
+        Notification notification = new Notification(makeProfile("sender"), profile, "Hello", Timestamp.now());
+        notification.setId("notification_1");
+        assertEquals(CustomClassMapper.convertToPlainJavaTypes(notification), new NotificationCodec().encode(notification));
+    }
+
+    /**
+     * Tests that an event survives an encode / decode round trip, nested objects included.
+     */
+    @Test
+    public void testEvent_RoundTrip() {
+        Event event = makeEvent("event_2");
+        Event decoded = eventCodec.decode(eventCodec.encode(event));
+
+        assertEquals(event.getId(), decoded.getId());
+        assertEquals(event.getName(), decoded.getName());
+        assertEquals(event.getEventStartDateTime(), decoded.getEventStartDateTime());
+        assertEquals(event.getWaitlistCapacity(), decoded.getWaitlistCapacity());
+        assertEquals(ReoccurringType.Weekly, decoded.getReoccurringType());
+        assertTrue(decoded.isReoccurring());
+        assertFalse(decoded.isGeolocationTrackingRequired());
+        assertEquals(event.getGeolocationMap(), decoded.getGeolocationMap());
+        assertEquals(event.getWaitList(), decoded.getWaitList());
+        assertEquals(event.getDeclinedList(), decoded.getDeclinedList());
+        assertEquals("organizer", decoded.getOrganizerDeviceId());
+        assertEquals(Long.valueOf(1234L), decoded.getPoster().getSizeBytes());
+        assertEquals(event.getPoster().getRenditionUrls(), decoded.getPoster().getRenditionUrls());
+        assertTrue(decoded.isRegistrationOpened());
+        assertEquals(4, decoded.getWaitlistShards());
+    }
+
+    /**
+     * Tests that documents embedding whole profiles decode to device ID references.
+     */
+    @Test
+    public void testDecode_LegacyEmbeddedProfiles() {
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("organizer", profileCodec.encode(makeProfile("legacy_organizer")));
+        assertEquals("legacy_organizer", eventCodec.decode(eventData).getOrganizerDeviceId());
+
+        Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put("sender", profileCodec.encode(makeProfile("legacy_sender")));
+        notificationData.put("receiverDeviceId", "new_receiver");
+        Notification notification = new NotificationCodec().decode(notificationData);
+        assertEquals("legacy_sender", notification.getSenderDeviceId());
+        assertEquals("new_receiver", notification.getReceiverDeviceId());
+
+        // Encoding only writes the references
+        Map<String, Object> encoded = eventCodec.encode(eventCodec.decode(eventData));
+        assertFalse(encoded.containsKey("organizer"));
+        assertEquals("legacy_organizer", encoded.get("organizerDeviceId"));
+    }
+
+    /**
+     * Tests that a legacy document whose entrant arrays repeat a device ID decodes with each ID
+     * once, in first-seen order, and is encoded back without the repeats.
+     */
+    @Test
+    public void testEvent_RoundTripCollapsesDuplicateEntrants() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Legacy Event");
+        data.put("waitList", Arrays.asList("a", "b", "a", "c", "b"));
+        data.put("acceptedList", Arrays.asList("d", "d"));
+
+        Event event = eventCodec.decode(data);
+        assertEquals(Arrays.asList("a", "b", "c"), event.getWaitList());
+        assertEquals(Arrays.asList("d"), event.getAcceptedList());
+
+        Map<String, Object> encoded = eventCodec.encode(event);
+        assertEquals(Arrays.asList("a", "b", "c"), encoded.get("waitList"));
+        assertEquals(Arrays.asList("d"), encoded.get("acceptedList"));
+        assertEquals(encoded, eventCodec.encode(eventCodec.decode(encoded)));
+    }
+
+    /**
+     * Tests decoding the value types Firestore actually returns, and defaults for missing fields.
+     */
+    @Test
+    public void testDecode_FirestoreTypesAndDefaults() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Sparse Event");
+        data.put("eventCapacity", 25L);
+        data.put("waitlistCount", 3L);
+        data.put("reoccurringType", "NotAType");
+
+        Event event = eventCodec.decode(data);
+        assertEquals("Sparse Event", event.getName());
+        assertEquals(Integer.valueOf(25), event.getEventCapacity());
+        assertEquals(3, event.getWaitlistCount());
+        assertNull(event.getWaitlistCapacity());
+        assertNull(event.getReoccurringType());
+        assertNull(event.getPoster());
+        assertFalse(event.isReoccurring());
+        assertTrue(event.isGeolocationTrackingRequired());
+        assertTrue(event.getWaitList().isEmpty());
+        assertTrue(event.getGeolocationMap().isEmpty());
+
+        Profile profile = profileCodec.decode(new HashMap<>());
+        assertTrue(profile.isAdminPushNotifications());
+        assertFalse(profile.isAdmin());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.matrix_events.unit.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.matrix_events.entities.EventSummary;
+import com.google.firebase.Timestamp;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+
+/**
+ * Unit tests for the {@link EventSummary} entity class.
+ * <p>
+ * This suite verifies that the summary's state checks agree with those of the full event and
+ * that its timestamps survive serialization.
+ * </p>
+ */
+public class EventSummaryTest {
+
+    private Timestamp getTime(double hoursFromNow) {
+        long offset = (long) (hoursFromNow * 3600 * 1000);
+        return new Timestamp(new Date(new Date().getTime() + offset));
+    }
+
+    /**
+     * Tests that the state checks follow the flags set by the cloud functions.
+     */
+    @Test
+    public void testStateChecks() {
+        EventSummary summary = new EventSummary();
+        assertTrue(summary.isBeforeRegistrationStart());
+        assertFalse(summary.isRegistrationOpen());
+
+        summary.setRegistrationOpened(true);
+        assertTrue(summary.isRegistrationOpen());
+
+        summary.setLotteryProcessed(true);
+        assertTrue(summary.isRegistrationClosed());
+        assertTrue(summary.isBeforeEventStart());
+
+        summary.setPendingExpired(true);
+        assertFalse(summary.isBeforeEventStart());
+
+        assertFalse(summary.isEventComplete());
+        summary.setCompletionDateTime(getTime(1));
+        assertFalse(summary.isEventComplete());
+        summary.setCompletionDateTime(getTime(-1));
+        assertTrue(summary.isEventComplete());
+    }
+
+    /**
+     * Tests that the transient timestamps are restored after a serialization round trip.
+     */
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        EventSummary summary = new EventSummary();
+        summary.setId("event_1");
+        summary.setName("Summary Event");
+        summary.setEventStartDateTime(getTime(5));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(summary);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        EventSummary copy = (EventSummary) in.readObject();
+
+        assertEquals("Summary Event", copy.getName());
+        assertEquals(summary.getEventStartDateTime().toDate().getTime(), copy.getEventStartDateTime().toDate().getTime());
+        assertNull(copy.getCompletionDateTime());
+    }
+}
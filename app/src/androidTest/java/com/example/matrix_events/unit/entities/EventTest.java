@@ -6,6 +6,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.entities.ReoccurringType; // Assumed to exist based on Event class
@@ -370,6 +371,27 @@ public class EventTest {
         assertFalse("Cannot decline if not pending", event.inDeclinedList(random));
     }
 
+    /**
+     * Tests that entrant counts come from the lists with inline storage and from the stored
+     * counts with subcollection storage.
+     */
+    @Test
+    public void testEntrantCount_StorageModes() {
+        Event event = createValidEvent();
+        event.setRegistrationOpened(true);
+        event.joinWaitList("user1", null);
+        event.joinWaitList("user2", null);
+        assertEquals(2, event.getEntrantCount(Entrant.Status.WAITLIST));
+        assertEquals(0, event.getEntrantCount(Entrant.Status.ACCEPTED));
+
+        event.setEntrantSubcollection(true);
+        event.setWaitlistCount(120);
+        event.setAcceptedCount(7);
+        assertEquals(120, event.getEntrantCount(Entrant.Status.WAITLIST));
+        assertEquals(7, event.getEntrantCount(Entrant.Status.ACCEPTED));
+        assertEquals(0, event.getEntrantCount(Entrant.Status.DECLINED));
+    }
+
     // ==========================================
     // 5. Serialization
     // ==========================================
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.example.matrix_events.entities.Notification;
@@ -187,6 +188,26 @@ public class NotificationTest {
         assertEquals("Receiver should remain unchanged", mockReceiver, notification.getReceiver());
     }
 
+    /**
+     * Tests that the sender and receiver are kept as device ID references.
+     * <p>
+     * <b>Scenario:</b> A notification is built from profiles, and another from device IDs only.<br>
+     * <b>Expected Result:</b> Both hold the device IDs; without cached profiles the names fall back to a placeholder.
+     * </p>
+     */
+    @Test
+    public void testDeviceIdReferences() {
+        Notification fromProfiles = createStandardNotification();
+        assertEquals("device_sender", fromProfiles.getSenderDeviceId());
+        assertEquals("device_receiver", fromProfiles.getReceiverDeviceId());
+        assertEquals("Sender Name", fromProfiles.getSenderName());
+
+        Notification fromIds = new Notification("uncached_sender_" + System.nanoTime(), "uncached_receiver", "Hi", now);
+        assertEquals("uncached_receiver", fromIds.getReceiverDeviceId());
+        assertNull("Uncached sender should not resolve", fromIds.getSender());
+        assertEquals("Unknown user", fromIds.getSenderName());
+    }
+
     // ==========================================
     // 4. Serialization Test
     // ==========================================
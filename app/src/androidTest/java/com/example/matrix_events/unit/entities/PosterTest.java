@@ -15,6 +15,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.HashMap;
 
 /**
  * Unit tests for the {@link Poster} entity class.
@@ -97,6 +98,25 @@ public class PosterTest {
         assertNotEquals("Posters with different IDs should not be equal", poster1, poster2);
     }
 
+    /**
+     * Tests that rendition lookups fall back to the next larger rendition, then the original image.
+     */
+    @Test
+    public void testImageUrlForRendition() {
+        Poster poster = new Poster(TEST_URL, TEST_EVENT_ID, TEST_FILENAME);
+        // posters uploaded before renditions only have the original
+        assertEquals(TEST_URL, poster.getImageUrl(Poster.Rendition.THUMBNAIL));
+
+        HashMap<String, String> renditionUrls = new HashMap<>();
+        renditionUrls.put(Poster.Rendition.LIST.name(), "list_url");
+        renditionUrls.put(Poster.Rendition.DETAIL.name(), "detail_url");
+        poster.setRenditionUrls(renditionUrls);
+
+        assertEquals("Missing thumbnail should use the list rendition", "list_url", poster.getImageUrl(Poster.Rendition.THUMBNAIL));
+        assertEquals("list_url", poster.getImageUrl(Poster.Rendition.LIST));
+        assertEquals("detail_url", poster.getImageUrl(Poster.Rendition.DETAIL));
+    }
+
     /**
      * Tests Serialization.
      * <p>
@@ -1,5 +1,6 @@
 package com.example.matrix_events.unit.managers;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -9,10 +10,14 @@ import android.util.Log;
 
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Profile;
+import com.example.matrix_events.managers.EntrantMembershipManager;
 import com.example.matrix_events.managers.EventManager;
 import com.example.matrix_events.mvc.View;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
 
 import org.junit.After;
@@ -25,6 +30,7 @@ import org.junit.runners.MethodSorters;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -242,6 +248,12 @@ public class EventManagerTest implements View {
         // Test negative case
         List<Event> otherOrgEvents = eventManager.getOrganizerEventsRegistrationNotClosed("wrong_id");
         assertTrue("Should be empty for wrong organizer", otherOrgEvents.isEmpty());
+
+        // Test the organizer index
+        assertTrue("Organizer should be indexed", eventManager.isOrganizer(TEST_ORGANIZER_ID));
+        assertTrue("Organizer should have at least one event", eventManager.getOrganizerEventCount(TEST_ORGANIZER_ID) >= 1);
+        assertFalse("Unknown user should not be an organizer", eventManager.isOrganizer("wrong_id"));
+        assertEquals(0, eventManager.getOrganizerEventCount("wrong_id"));
     }
 
     /**
@@ -275,9 +287,233 @@ public class EventManagerTest implements View {
         }
     }
 
+    /**
+     * Test I: Verify waitlist capacity is split across shards exactly.
+     */
+    @Test
+    public void testI_SplitWaitlistCapacity() {
+        int[] shares = EventManager.splitCapacity(103, 10);
+        assertEquals(10, shares.length);
+        int total = 0;
+        for (int share : shares) {
+            assertTrue("Shares should differ by at most one", share == 10 || share == 11);
+            total += share;
+        }
+        assertEquals("Shares should add up to the capacity", 103, total);
+
+        // fewer slots than shards leaves some shards with none
+        int[] small = EventManager.splitCapacity(2, 4);
+        assertEquals(1, small[0]);
+        assertEquals(1, small[1]);
+        assertEquals(0, small[3]);
+    }
+
+    /**
+     * Test J: Verify an unknown QR code hash resolves to no event, through the fallback query.
+     */
+    @Test
+    public void testJ_FindEventByUnknownQRHash() throws Exception {
+        String qrHash = "unknown_hash_" + System.currentTimeMillis();
+        assertNull(eventManager.getEventByQRHash(qrHash));
+        assertNull(Tasks.await(eventManager.findEventByQRHash(qrHash), 10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Polls a condition until it holds, for effects with no task to wait on.
+     */
+    private static boolean eventually(Callable<Boolean> condition) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            if (condition.call()) return true;
+            Thread.sleep(200);
+        }
+        return false;
+    }
+
+    /**
+     * Creates an event through the manager and waits until it is in the cache.
+     *
+     * @return The ID of the event.
+     */
+    private String createAndAwait(Event event) throws Exception {
+        latch = new CountDownLatch(1);
+        eventManager.createEvent(event);
+        assertTrue("Timed out waiting for create", latch.await(10, TimeUnit.SECONDS));
+        assertTrue(eventually(() -> event.getId() != null && eventManager.getEventByDBID(event.getId()) != null));
+        return event.getId();
+    }
+
+    /**
+     * Test K: An event with an unlimited waitlist stores its entrants in a subcollection, shows up in
+     * the entrant's lists, keeps its counts through a full update, and loses the entrant on removal.
+     */
+    @Test
+    public void testK_SubcollectionEventLifecycle() throws Exception {
+        Event event = createMockEvent("Subcollection Test Event", "some_random_org", false);
+        event.setWaitlistCapacity(null);
+        String eventId = createAndAwait(event);
+        assertTrue("Unlimited waitlists should use subcollection storage",
+                eventManager.getEventByDBID(eventId).isEntrantSubcollection());
+
+        EntrantMembershipManager.getInstance().watch(TEST_PARTICIPANT_ID);
+        assertTrue(Tasks.await(eventManager.joinWaitList(eventManager.getEventByDBID(eventId), TEST_PARTICIPANT_ID, null),
+                10, TimeUnit.SECONDS));
+        assertTrue("Joined event should be in the entrant's waitlist", eventually(() -> {
+            for (Event e : eventManager.getEventsInWaitlist(TEST_PARTICIPANT_ID)) {
+                if (e.getId().equals(eventId)) return true;
+            }
+            return false;
+        }));
+        assertTrue("Membership query should find the joined event", EntrantMembershipManager.getInstance()
+                .getEventIds(TEST_PARTICIPANT_ID, Entrant.Status.WAITLIST).contains(eventId));
+
+        assertTrue(Tasks.await(eventManager.moveEntrant(eventManager.getEventByDBID(eventId), TEST_PARTICIPANT_ID,
+                Entrant.Status.WAITLIST, Entrant.Status.PENDING, null), 10, TimeUnit.SECONDS));
+        assertTrue(eventually(() -> eventManager.getEventByDBID(eventId).getPendingCount() == 1));
+
+        // a stale copy overwriting the event must not reset the count kept by the transaction
+        Event stale = eventManager.getEventByDBID(eventId);
+        stale.setPendingCount(0);
+        stale.setDescription("Updated description");
+        eventManager.updateEvent(stale);
+        assertTrue(eventually(() -> "Updated description".equals(eventManager.getEventByDBID(eventId).getDescription())));
+        assertEquals(1, eventManager.getEventByDBID(eventId).getPendingCount());
+
+        eventManager.removeFromAllEvents(TEST_PARTICIPANT_ID);
+        assertTrue("Entrant should be removed from the subcollection", eventually(() ->
+                Tasks.await(eventManager.getEntrantDeviceIds(eventManager.getEventByDBID(eventId), Entrant.Status.PENDING),
+                        10, TimeUnit.SECONDS).isEmpty()));
+        assertTrue(eventually(() -> eventManager.getEventByDBID(eventId).getPendingCount() == 0));
+
+        latch = new CountDownLatch(1);
+        eventManager.deleteEvent(eventManager.getEventByDBID(eventId));
+        assertTrue("Timed out deleting event", latch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test L: A large waitlist is sharded when the event is created, and joins and leaves go
+     * through the shards rather than the event document.
+     */
+    @Test
+    public void testL_JoinShardedWaitlist() throws Exception {
+        Event event = createMockEvent("Sharded Test Event", "some_random_org", false);
+        event.setWaitlistCapacity(300);
+        String eventId = createAndAwait(event);
+        Event created = eventManager.getEventByDBID(eventId);
+        assertTrue(created.isEntrantSubcollection());
+        assertEquals("300 slots should be split into shards of 50", 6, created.getWaitlistShards());
+
+        for (int i = 0; i < 3; i++) {
+            String deviceId = "shard_test_user_" + i;
+            assertTrue(Tasks.await(eventManager.joinWaitList(eventManager.getEventByDBID(eventId), deviceId, null),
+                    10, TimeUnit.SECONDS));
+            Entrant entrant = Tasks.await(eventManager.getEntrant(eventManager.getEventByDBID(eventId), deviceId),
+                    10, TimeUnit.SECONDS);
+            assertNotNull("Joining should claim a slot from a shard", entrant.getShard());
+        }
+        // the event document is not written by sharded joins, its count is summed from the shards
+        assertTrue(eventually(() -> {
+            eventManager.refreshWaitlistCount(eventManager.getEventByDBID(eventId));
+            return eventManager.getEventByDBID(eventId).getWaitlistCount() == 3;
+        }));
+
+        Tasks.await(eventManager.leaveWaitList(eventManager.getEventByDBID(eventId), "shard_test_user_0"), 10, TimeUnit.SECONDS);
+        assertTrue("Leaving should give the slot back to its shard", eventually(() -> {
+            eventManager.refreshWaitlistCount(eventManager.getEventByDBID(eventId));
+            return eventManager.getEventByDBID(eventId).getWaitlistCount() == 2;
+        }));
+
+        latch = new CountDownLatch(1);
+        eventManager.deleteEvent(eventManager.getEventByDBID(eventId));
+        assertTrue("Timed out deleting event", latch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test M: Many users joining a sharded waitlist at once are admitted up to its capacity and no
+     * further. Joins that fail under contention are retried once, as the user would tap again, so
+     * every slot ends up taken exactly once.
+     */
+    @Test
+    public void testM_ConcurrentJoinsRespectCapacity() throws Exception {
+        final int capacity = 20;
+        final int joiners = 2 * capacity;
+        Event event = createMockEvent("Concurrent Join Test Event", "some_random_org", false);
+        event.setWaitlistCapacity(capacity);
+        event.setEntrantSubcollection(true);
+        String eventId = createAndAwait(event);
+        Tasks.await(eventManager.shardWaitlist(eventManager.getEventByDBID(eventId), 4), 10, TimeUnit.SECONDS);
+        assertTrue(eventually(() -> eventManager.getEventByDBID(eventId).getWaitlistShards() == 4));
+        Event sharded = eventManager.getEventByDBID(eventId);
+
+        List<Task<Boolean>> joins = new ArrayList<>();
+        for (int i = 0; i < joiners; i++) {
+            joins.add(eventManager.moveEntrant(sharded, "concurrent_user_" + i, null, Entrant.Status.WAITLIST, null));
+        }
+        Tasks.await(Tasks.whenAllComplete(joins), 60, TimeUnit.SECONDS);
+
+        int admitted = 0;
+        int failed = 0;
+        for (int i = 0; i < joiners; i++) {
+            Task<Boolean> join = joins.get(i);
+            if (!join.isSuccessful()) {
+                failed++;
+                join = eventManager.moveEntrant(sharded, "concurrent_user_" + i, null, Entrant.Status.WAITLIST, null);
+                Tasks.await(Tasks.whenAllComplete(join), 10, TimeUnit.SECONDS);
+            }
+            if (join.isSuccessful() && join.getResult()) {
+                admitted++;
+            }
+        }
+        Log.d(TAG, joiners + " concurrent joins, " + failed + " retried, " + admitted + " admitted");
+
+        assertEquals("Exactly the capacity should be admitted", Math.min(joiners, capacity), admitted);
+        assertEquals("Every admission should have an entrant document", capacity,
+                Tasks.await(eventManager.getEntrantDeviceIds(sharded, Entrant.Status.WAITLIST), 10, TimeUnit.SECONDS).size());
+        assertTrue("The shards should count every admission once", eventually(() -> {
+            eventManager.refreshWaitlistCount(eventManager.getEventByDBID(eventId));
+            return eventManager.getEventByDBID(eventId).getWaitlistCount() == capacity;
+        }));
+
+        latch = new CountDownLatch(1);
+        eventManager.deleteEvent(eventManager.getEventByDBID(eventId));
+        assertTrue("Timed out deleting event", latch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test N: Raising the waitlist capacity of an inline event past the subcollection threshold
+     * before registration opens moves its entrants into the subcollection and shards its waitlist.
+     */
+    @Test
+    public void testN_UpdateMigratesInlineEvent() throws Exception {
+        Event event = createMockEvent("Migration Test Event", "some_random_org", false);
+        event.setRegistrationOpened(false);
+        List<String> pending = new ArrayList<>();
+        pending.add(TEST_PARTICIPANT_ID);
+        event.setPendingList(pending);
+        String eventId = createAndAwait(event);
+        assertFalse(eventManager.getEventByDBID(eventId).isEntrantSubcollection());
+
+        Event inline = eventManager.getEventByDBID(eventId);
+        inline.setWaitlistCapacity(EventManager.SUBCOLLECTION_WAITLIST_CAPACITY + 100);
+        eventManager.updateEvent(inline);
+
+        assertTrue("The event should switch to subcollection storage, sharded",
+                eventually(() -> eventManager.getEventByDBID(eventId).isEntrantSubcollection()
+                        && eventManager.getEventByDBID(eventId).getWaitlistShards() > 0));
+        Event migrated = eventManager.getEventByDBID(eventId);
+        assertTrue(migrated.getPendingList().isEmpty());
+        assertEquals(1, migrated.getEntrantCount(Entrant.Status.PENDING));
+        Entrant entrant = Tasks.await(eventManager.getEntrant(migrated, TEST_PARTICIPANT_ID), 10, TimeUnit.SECONDS);
+        assertNotNull(entrant);
+        assertEquals(Entrant.Status.PENDING, entrant.getStatus());
+
+        latch = new CountDownLatch(1);
+        eventManager.deleteEvent(migrated);
+        assertTrue("Timed out deleting event", latch.await(10, TimeUnit.SECONDS));
+    }
+
     // Cleanup Listener
     @After
     public void tearDown() {
         eventManager.removeView(this);
     }
-}
\ No newline at end of file
+}
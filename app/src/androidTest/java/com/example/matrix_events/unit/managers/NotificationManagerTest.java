@@ -91,7 +91,7 @@ public class NotificationManagerTest implements View {
         // Verify creation
         boolean found = false;
         for (Notification n : notificationManager.getNotifications()) {
-            if (n.getMessage().equals(TEST_MESSAGE) && n.getReceiver().getDeviceId().equals(RECEIVER_DEVICE_ID)) {
+            if (n.getMessage().equals(TEST_MESSAGE) && RECEIVER_DEVICE_ID.equals(n.getReceiverDeviceId())) {
                 testNotificationId = n.getId();
                 found = true;
                 break;
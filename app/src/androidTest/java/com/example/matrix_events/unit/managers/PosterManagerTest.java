@@ -1,7 +1,6 @@
 package com.example.matrix_events.unit.managers;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -9,15 +8,21 @@ import static org.junit.Assert.fail;
 
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.example.matrix_events.database.codecs.PosterCodec;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.managers.EventManager;
 import com.example.matrix_events.managers.PosterManager;
 import com.example.matrix_events.mvc.View;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
 
 import org.junit.After;
 import org.junit.Before;
@@ -26,7 +31,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +52,10 @@ import java.util.concurrent.TimeUnit;
  * typically done via manual QA or specialized UI tests, as it relies on specific
  * emulator file permissions.
  * </p>
+ * <p>
+ * PosterManager keeps no cache of the collection, so posters are read back from Firestore
+ * directly, and the paging tests page through posters written with known, consecutive IDs.
+ * </p>
  */
 @RunWith(AndroidJUnit4.class)
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
@@ -63,6 +76,10 @@ public class PosterManagerTest implements View {
     // We use NULL for the URL to avoid crashing Firebase Storage "getReferenceFromUrl"
     // during the delete tests (since we aren't actually uploading a real file).
     private static final String TEST_URL = null;
+    private static final int PAGE_POSTERS = 5;
+
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final PosterCodec posterCodec = new PosterCodec();
 
     @Before
     public void setUp() {
@@ -84,32 +101,112 @@ public class PosterManagerTest implements View {
         }
     }
 
+    /**
+     * Reads a poster straight from Firestore.
+     */
+    @Nullable
+    private Poster readPoster(@NonNull String posterId) throws Exception {
+        DocumentSnapshot document = Tasks.await(db.collection("posters").document(posterId).get(), 10, TimeUnit.SECONDS);
+        if (!document.exists()) {
+            return null;
+        }
+        Poster poster = posterCodec.decode(document.getData());
+        poster.setId(document.getId());
+        return poster;
+    }
+
+    /**
+     * Holds one page delivered by {@link PosterManager#loadPosterPage}.
+     */
+    private static class Page {
+        List<Poster> posters;
+        DocumentSnapshot next;
+    }
+
+    /**
+     * Loads a page of posters and waits for it.
+     */
+    @NonNull
+    private Page loadPage(int pageSize, @Nullable DocumentSnapshot after) throws InterruptedException {
+        Page page = new Page();
+        CountDownLatch pageLatch = new CountDownLatch(1);
+        posterManager.loadPosterPage(pageSize, after, new PosterManager.PosterPageListener() {
+            @Override
+            public void onPosterPageLoaded(@NonNull List<Poster> posters, @Nullable DocumentSnapshot next) {
+                page.posters = posters;
+                page.next = next;
+                pageLatch.countDown();
+            }
+
+            @Override
+            public void onPosterPageFailed(@NonNull Exception e) {
+                pageLatch.countDown();
+            }
+        });
+        assertTrue("Timed out waiting for a page", pageLatch.await(10, TimeUnit.SECONDS));
+        assertNotNull("Page should load", page.posters);
+        return page;
+    }
+
+    private static List<String> idsOf(@NonNull List<Poster> posters) {
+        List<String> ids = new ArrayList<>();
+        for (Poster poster : posters) {
+            ids.add(poster.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Writes posters with consecutive IDs that sort after every generated ID, so the page after
+     * the first of them holds only the others.
+     *
+     * @return The IDs of the posters, in page order.
+     */
+    @NonNull
+    private List<String> createPagePosters() throws Exception {
+        String prefix = String.format(Locale.ROOT, "zzzz_test_%013d_", System.currentTimeMillis());
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < PAGE_POSTERS; i++) {
+            String id = prefix + i;
+            Poster poster = new Poster(TEST_URL, TEST_EVENT_ID_REF, "page_" + i + ".jpg");
+            poster.setId(id);
+            Tasks.await(db.collection("posters").document(id).set(posterCodec.encode(poster)), 10, TimeUnit.SECONDS);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void deletePagePosters(@NonNull List<String> ids) throws Exception {
+        for (String id : ids) {
+            Tasks.await(db.collection("posters").document(id).delete(), 10, TimeUnit.SECONDS);
+        }
+    }
+
+    @NonNull
+    private DocumentSnapshot cursorAt(@NonNull String posterId) throws Exception {
+        return Tasks.await(db.collection("posters").document(posterId).get(), 10, TimeUnit.SECONDS);
+    }
+
     // ==========================================
     // 1. Create Operation
     // ==========================================
 
     @Test
-    public void testA_CreatePosterMetadata() throws InterruptedException {
+    public void testA_CreatePosterMetadata() throws Exception {
         // Manually create a Poster object (simulating what happens after a successful upload)
         Poster poster = new Poster(TEST_URL, TEST_EVENT_ID_REF, TEST_FILENAME);
 
         latch = new CountDownLatch(1);
-        posterManager.createPoster(poster);
-
-        // Wait for Firestore to update
-        assertTrue("Timed out waiting for poster creation", latch.await(10, TimeUnit.SECONDS));
+        Tasks.await(posterManager.createPoster(poster), 10, TimeUnit.SECONDS);
+        assertTrue("Views should be notified of the new poster", latch.await(10, TimeUnit.SECONDS));
 
         // Verify creation
-        boolean found = false;
-        for (Poster p : posterManager.getPosters()) {
-            if (p.getFileName().equals(TEST_FILENAME) && p.getEventId().equals(TEST_EVENT_ID_REF)) {
-                testPosterId = p.getId();
-                found = true;
-                break;
-            }
-        }
-        assertTrue("Poster should be found in manager", found);
+        testPosterId = poster.getId();
         assertNotNull("Poster ID should be generated", testPosterId);
+        Poster created = readPoster(testPosterId);
+        assertNotNull("Poster should be stored", created);
+        assertEquals(TEST_FILENAME, created.getFileName());
+        assertEquals(TEST_EVENT_ID_REF, created.getEventId());
     }
 
     // ==========================================
@@ -117,31 +214,19 @@ public class PosterManagerTest implements View {
     // ==========================================
 
     @Test
-    public void testB_UpdatePosterMetadata() throws InterruptedException {
+    public void testB_UpdatePosterMetadata() throws Exception {
         // Find the poster
-        Poster poster = null;
-        for (Poster p : posterManager.getPosters()) {
-            if (p.getId().equals(testPosterId)) {
-                poster = p;
-                break;
-            }
-        }
+        Poster poster = readPoster(testPosterId);
         assertNotNull("Poster must exist for update test", poster);
 
         // Update the Event ID it points to
         String newEventId = "updated_event_" + UUID.randomUUID();
         poster.setEventId(newEventId);
 
-        latch = new CountDownLatch(1);
-        posterManager.updatePoster(poster);
-
-        assertTrue("Timed out waiting for poster update", latch.await(10, TimeUnit.SECONDS));
+        Tasks.await(posterManager.updatePoster(poster), 10, TimeUnit.SECONDS);
 
         // Verify Update
-        Poster updated = null;
-        for (Poster p : posterManager.getPosters()) {
-            if (p.getId().equals(testPosterId)) updated = p;
-        }
+        Poster updated = readPoster(testPosterId);
         assertNotNull(updated);
         assertEquals("Event ID should be updated", newEventId, updated.getEventId());
     }
@@ -155,7 +240,7 @@ public class PosterManagerTest implements View {
      * must have its 'poster' field set to null.
      */
     @Test
-    public void testC_DeletePosterUpdatesEvent() throws InterruptedException {
+    public void testC_DeletePosterUpdatesEvent() throws Exception {
         // 1. Create a Real Event
         Profile org = new Profile("Org", "email", "123", "dev_id");
 
@@ -187,17 +272,9 @@ public class PosterManagerTest implements View {
         assertNotNull(testEventId);
 
         // 2. Create a Poster and link it to this Event
-        Poster poster = new Poster(TEST_URL, testEventId, "linked_poster.jpg");
-        latch = new CountDownLatch(1);
-        posterManager.createPoster(poster);
-        assertTrue("Wait for poster creation", latch.await(10, TimeUnit.SECONDS));
-
-        // Retrieve the generated poster with ID
-        Poster createdPoster = null;
-        for(Poster p : posterManager.getPosters()) {
-            if(p.getFileName().equals("linked_poster.jpg")) createdPoster = p;
-        }
-        assertNotNull(createdPoster);
+        Poster createdPoster = new Poster(TEST_URL, testEventId, "linked_poster.jpg");
+        Tasks.await(posterManager.createPoster(createdPoster), 10, TimeUnit.SECONDS);
+        assertNotNull(createdPoster.getId());
 
         // 3. Link Poster to Event manually (as the app would do)
         event.setPoster(createdPoster);
@@ -211,11 +288,9 @@ public class PosterManagerTest implements View {
         assertEquals(createdPoster.getId(), linkedEvent.getPoster().getId());
 
         // 4. DELETE THE POSTER
-        latch = new CountDownLatch(1);
-        // We use a latch count of 1. Both PosterManager and EventManager will trigger update().
         // PosterManager deletes the doc, and updates EventManager.
-        posterManager.deletePoster(createdPoster);
-        assertTrue("Wait for deletion logic", latch.await(10, TimeUnit.SECONDS));
+        Tasks.await(posterManager.deletePoster(createdPoster), 10, TimeUnit.SECONDS);
+        assertNull("Poster document should be deleted", readPoster(createdPoster.getId()));
 
         // Give a tiny buffer for the second async call (Event update) to propagate if not caught by latch
         Thread.sleep(1000);
@@ -234,33 +309,86 @@ public class PosterManagerTest implements View {
     // ==========================================
 
     @Test
-    public void testD_DeleteInitialTestPoster() throws InterruptedException {
+    public void testD_DeleteInitialTestPoster() throws Exception {
         // Delete the poster created in Test A
-        Poster poster = null;
-        for (Poster p : posterManager.getPosters()) {
-            if (p.getId().equals(testPosterId)) poster = p;
-        }
+        Poster poster = readPoster(testPosterId);
 
         if (poster != null) {
-            // We use a polling loop here because this test might receive stray updates
-            // from previous tests (like EventManager updates) that trip the latch early.
-            posterManager.deletePoster(poster);
-
-            boolean found = true;
-            long endTime = System.currentTimeMillis() + 10000; // 10s timeout
-
-            while (System.currentTimeMillis() < endTime && found) {
-                latch = new CountDownLatch(1);
-                // Wait for an update notification OR just wait for the next tick
-                latch.await(1, TimeUnit.SECONDS);
-
-                // Check if the poster is gone
-                found = false;
-                for (Poster p : posterManager.getPosters()) {
-                    if (p.getId().equals(testPosterId)) found = true;
-                }
-            }
-            assertFalse("Poster should be removed after delete", found);
+            Tasks.await(posterManager.deletePoster(poster), 10, TimeUnit.SECONDS);
+            assertNull("Poster should be removed after delete", readPoster(testPosterId));
+        }
+    }
+
+    // ==========================================
+    // 5. Paging
+    // ==========================================
+
+    /**
+     * Tests that a full page hands back its last document as the cursor, and that the next page
+     * starts right after it, without repeating or skipping a poster.
+     */
+    @Test
+    public void testE_PageCursorBoundary() throws Exception {
+        List<String> ids = createPagePosters();
+        try {
+            Page first = loadPage(2, cursorAt(ids.get(0)));
+            assertEquals(ids.subList(1, 3), idsOf(first.posters));
+            assertNotNull("A full page should have a cursor", first.next);
+            assertEquals(ids.get(2), first.next.getId());
+
+            Page second = loadPage(2, first.next);
+            assertEquals(ids.subList(3, 5), idsOf(second.posters));
+        } finally {
+            deletePagePosters(ids);
+        }
+    }
+
+    /**
+     * Tests that a short page is the last, and that a full page ending on the last poster is
+     * followed by an empty last page.
+     */
+    @Test
+    public void testF_LastPage() throws Exception {
+        List<String> ids = createPagePosters();
+        try {
+            Page shortPage = loadPage(PAGE_POSTERS, cursorAt(ids.get(0)));
+            assertEquals(ids.subList(1, PAGE_POSTERS), idsOf(shortPage.posters));
+            assertNull("A short page should be the last", shortPage.next);
+
+            Page exact = loadPage(2, cursorAt(ids.get(2)));
+            assertEquals(ids.subList(3, 5), idsOf(exact.posters));
+            assertNotNull("A full page cannot know it is the last", exact.next);
+
+            Page empty = loadPage(2, exact.next);
+            assertTrue("The page after the last poster should be empty", empty.posters.isEmpty());
+            assertNull("An empty page should be the last", empty.next);
+        } finally {
+            deletePagePosters(ids);
+        }
+    }
+
+    /**
+     * Tests that deleting a poster from the middle of a loaded page does not shift the next page,
+     * and that the page reloads without it.
+     */
+    @Test
+    public void testG_DeleteFromMiddleOfPage() throws Exception {
+        List<String> ids = createPagePosters();
+        try {
+            Page page = loadPage(3, cursorAt(ids.get(0)));
+            assertEquals(ids.subList(1, 4), idsOf(page.posters));
+
+            Poster middle = page.posters.get(1);
+            Tasks.await(posterManager.deletePoster(middle), 10, TimeUnit.SECONDS);
+
+            Page next = loadPage(3, page.next);
+            assertEquals(ids.subList(4, 5), idsOf(next.posters));
+            assertNull(next.next);
+
+            Page reloaded = loadPage(3, cursorAt(ids.get(0)));
+            assertEquals(Arrays.asList(ids.get(1), ids.get(3), ids.get(4)), idsOf(reloaded.posters));
+        } finally {
+            deletePagePosters(ids);
         }
     }
 
@@ -13,6 +13,7 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.managers.ProfileManager;
 import com.example.matrix_events.mvc.View;
+import com.google.android.gms.tasks.Tasks;
 
 import org.junit.After;
 import org.junit.Before;
@@ -21,6 +22,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -37,7 +42,7 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  * <li><b>CRUD Operations:</b> Creating, Reading, Updating, and Deleting profiles.</li>
  * <li><b>Existence Checks:</b> Verifying profiles exist by Device ID.</li>
- * <li><b>Lookup Logic:</b> Retrieving profiles by both Firestore ID and Device ID.</li>
+ * <li><b>Lookup Logic:</b> Retrieving profiles by both Firestore ID and Device ID, singly and in batches.</li>
  * <li><b>MVC Pattern:</b> Ensuring the Manager notifies Views upon data changes.</li>
  * </ul>
  * </p>
@@ -120,6 +125,22 @@ public class ProfileManagerTest implements View {
         assertEquals("Device IDs should match between lookups", TEST_DEVICE_ID, byDbId.getDeviceId());
     }
 
+    @Test
+    public void testB2_GetProfilesByDeviceIds() throws Exception {
+        String missingDeviceId = "non_existent_" + UUID.randomUUID();
+        List<String> deviceIds = Arrays.asList(missingDeviceId, TEST_DEVICE_ID, TEST_DEVICE_ID);
+
+        // Misses are queried from Firestore, so wait for the task instead of the view callback
+        Map<String, Profile> profiles = Tasks.await(profileManager.getProfilesByDeviceIds(deviceIds), 10, TimeUnit.SECONDS);
+
+        assertEquals("Only the existing profile should be resolved, once", 1, profiles.size());
+        assertEquals("Resolved profile should match", TEST_NAME, profiles.get(TEST_DEVICE_ID).getName());
+        assertFalse("Missing device ID should be left out", profiles.containsKey(missingDeviceId));
+
+        // An empty batch completes straight away
+        assertTrue(profileManager.getProfilesByDeviceIds(new ArrayList<>()).getResult().isEmpty());
+    }
+
     // ==========================================
     // 3. Update Operation
     // ==========================================
@@ -0,0 +1,106 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.entities.Entrant;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.utils.EntrantExporter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Instrumented unit tests for {@link EntrantExporter}.
+ * <p>
+ * These tests check the CSV and XLSX row writers on in-memory streams, and an export of an event
+ * without entrants, which needs no profile lookups.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantExporterTest {
+
+    /**
+     * Tests that the CSV writer escapes fields and writes UTF-8.
+     */
+    @Test
+    public void testCsvWriter_EscapingAndEncoding() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (EntrantExporter.RowWriter writer = EntrantExporter.openWriter(EntrantExporter.Format.CSV, out)) {
+            writer.writeRow("Name", "Email");
+            writer.writeRow("Smith, Jo", null);
+            writer.writeRow("Say \"hi\"", "zoë@test.com");
+        }
+
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals("Name,Email\n\"Smith, Jo\",\n\"Say \"\"hi\"\"\",zoë@test.com\n", csv);
+    }
+
+    /**
+     * Tests that the XLSX writer produces a workbook package whose sheet holds the escaped rows.
+     */
+    @Test
+    public void testXlsxWriter_Package() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (EntrantExporter.RowWriter writer = EntrantExporter.openWriter(EntrantExporter.Format.XLSX, out)) {
+            writer.writeRow("Name", "List");
+            writer.writeRow("Tom & Jerry <3", null);
+        }
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = zip.read(buffer)) != -1) {
+                    content.write(buffer, 0, read);
+                }
+                entries.put(entry.getName(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(entries.containsKey("[Content_Types].xml"));
+        assertTrue(entries.containsKey("_rels/.rels"));
+        assertTrue(entries.containsKey("xl/workbook.xml"));
+        assertTrue(entries.containsKey("xl/_rels/workbook.xml.rels"));
+
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("Tom &amp; Jerry &lt;3"));
+        assertTrue(sheet.contains("<c/>"));
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+    }
+
+    /**
+     * Tests that exporting an event without entrants writes only the header and reports no rows.
+     */
+    @Test
+    public void testExport_NoEntrants() throws Exception {
+        Event event = new Event();
+        List<Integer> progress = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EntrantExporter exporter = new EntrantExporter(event, Arrays.asList(Entrant.Status.values()), EntrantExporter.Format.CSV);
+        int rows = exporter.export(out, (processed, total) -> progress.add(processed));
+
+        assertEquals(0, rows);
+        assertTrue(progress.isEmpty());
+        assertEquals("Name,Email,Phone Number,List,Latitude,Longitude,Joined At\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
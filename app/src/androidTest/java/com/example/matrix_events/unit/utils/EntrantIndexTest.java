@@ -0,0 +1,148 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.utils.DeviceIdDictionary;
+import com.example.matrix_events.utils.EntrantIndex;
+import com.example.matrix_events.utils.EntrantIndex.ListType;
+import com.example.matrix_events.utils.EntrantList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Instrumented unit tests for {@link EntrantIndex} and {@link DeviceIdDictionary}.
+ * <p>
+ * These tests verify that device IDs are interned to stable codes and shared instances, that
+ * the index answers per-list and combined lookups, and that change sets keep it consistent.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantIndexTest {
+
+    private EntrantIndex index;
+
+    /**
+     * Creates a bare event with only its ID and entrant lists set.
+     */
+    private static Event makeEvent(String id, List<String> waitList, List<String> pendingList) {
+        Event event = new Event();
+        event.setId(id);
+        event.setWaitList(waitList);
+        event.setPendingList(pendingList);
+        return event;
+    }
+
+    private static HashSet<String> ids(List<String> eventIds) {
+        return new HashSet<>(eventIds);
+    }
+
+    @Before
+    public void setUp() {
+        index = new EntrantIndex();
+        index.rebuild(Arrays.asList(
+                makeEvent("e1", Arrays.asList("alice", "bob"), Collections.emptyList()),
+                makeEvent("e2", Arrays.asList("bob"), Arrays.asList("alice")),
+                makeEvent("e3", Collections.emptyList(), Arrays.asList("carol"))
+        ));
+    }
+
+    /**
+     * Tests that interning gives dense stable codes and one shared string per device ID.
+     */
+    @Test
+    public void testDictionary_Interning() {
+        DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance();
+        String id = "device-" + System.nanoTime();
+        assertEquals(-1, dictionary.lookup(id));
+
+        int code = dictionary.intern(id);
+        assertEquals(code, dictionary.intern(new String(id)));
+        assertEquals(code, dictionary.lookup(id));
+        assertEquals(id, dictionary.getDeviceId(code));
+
+        // entrant lists store the shared instance, not their own copy
+        EntrantList first = new EntrantList(Collections.singletonList(new String(id)));
+        EntrantList second = new EntrantList();
+        second.add(new String(id));
+        assertSame(first.get(0), second.get(0));
+    }
+
+    /**
+     * Tests that threads interning the same new device IDs at once agree on one code per ID, and
+     * that every code reads back its ID past the dictionary's initial capacity.
+     */
+    @Test
+    public void testDictionary_ConcurrentInterning() throws InterruptedException {
+        DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance();
+        String prefix = "concurrent-" + System.nanoTime() + "-";
+        int idCount = 1_000;
+        int threadCount = 4;
+        int[][] codes = new int[threadCount][idCount];
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < idCount; i++) {
+                    codes[thread][i] = dictionary.intern(prefix + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HashSet<Integer> distinct = new HashSet<>();
+        for (int i = 0; i < idCount; i++) {
+            for (int t = 1; t < threadCount; t++) {
+                assertEquals(codes[0][i], codes[t][i]);
+            }
+            assertEquals(prefix + i, dictionary.getDeviceId(codes[0][i]));
+            distinct.add(codes[0][i]);
+        }
+        assertEquals(idCount, distinct.size());
+    }
+
+    /**
+     * Tests lookups on a single list and across several lists.
+     */
+    @Test
+    public void testGetEventIds() {
+        assertEquals(ids(Arrays.asList("e1", "e2")), ids(index.getEventIds("bob", ListType.WAITLIST)));
+        assertEquals(ids(Arrays.asList("e1")), ids(index.getEventIds("alice", ListType.WAITLIST)));
+        assertEquals(ids(Arrays.asList("e1", "e2")),
+                ids(index.getEventIds("alice", ListType.WAITLIST, ListType.PENDING)));
+        assertTrue(index.getEventIds("carol", ListType.ACCEPTED).isEmpty());
+        assertTrue(index.getEventIds("nobody-" + System.nanoTime(), ListType.WAITLIST).isEmpty());
+    }
+
+    /**
+     * Tests that added, modified and removed events are reflected after applying a change set.
+     */
+    @Test
+    public void testApply_ChangeSet() {
+        DBChangeSet<Event> changes = new DBChangeSet<>();
+        changes.addModified(makeEvent("e1", Arrays.asList("alice"), Arrays.asList("bob")));
+        changes.addRemoved(makeEvent("e2", Collections.emptyList(), Collections.emptyList()));
+        changes.addAdded(makeEvent("e4", Arrays.asList("bob"), Collections.emptyList()));
+        index.apply(changes);
+
+        assertEquals(ids(Arrays.asList("e4")), ids(index.getEventIds("bob", ListType.WAITLIST)));
+        assertEquals(ids(Arrays.asList("e1")), ids(index.getEventIds("bob", ListType.PENDING)));
+        assertTrue(index.getEventIds("alice", ListType.PENDING).isEmpty());
+        assertEquals(ids(Arrays.asList("e3")), ids(index.getEventIds("carol", ListType.PENDING)));
+    }
+}
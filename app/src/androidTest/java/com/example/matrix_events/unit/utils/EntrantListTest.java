@@ -0,0 +1,144 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.utils.EntrantList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Instrumented unit tests for {@link EntrantList}.
+ * <p>
+ * These tests verify that the set-backed list keeps insertion order, ignores duplicates,
+ * and stays consistent between membership checks and positional access after mutations.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EntrantListTest {
+
+    /**
+     * Tests that the list keeps insertion order, drops duplicates, and equals an ordinary list.
+     */
+    @Test
+    public void testOrderAndDuplicates() {
+        EntrantList list = new EntrantList(Arrays.asList("a", "b", "a", "c"));
+        assertEquals(3, list.size());
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+
+        assertFalse("Duplicate add should be ignored", list.add("b"));
+        assertTrue(list.add("d"));
+        assertEquals("d", list.get(3));
+        assertEquals(new ArrayList<>(Arrays.asList("a", "b", "c", "d")), list);
+    }
+
+    /**
+     * Tests that removals are reflected by membership checks and by index access.
+     */
+    @Test
+    public void testRemoveKeepsPositionsConsistent() {
+        EntrantList list = new EntrantList(Arrays.asList("a", "b", "c"));
+        assertEquals("b", list.get(1));
+
+        assertTrue(list.remove("b"));
+        assertFalse(list.contains("b"));
+        assertFalse("Removing twice should report false", list.remove("b"));
+        assertEquals("c", list.get(1));
+
+        assertEquals("a", list.remove(0));
+        assertEquals(Arrays.asList("c"), list);
+
+        Iterator<String> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Tests that positional inserts and replacements keep the list free of duplicates.
+     */
+    @Test
+    public void testPositionalMutations() {
+        EntrantList list = new EntrantList(Arrays.asList("a", "c"));
+        list.add(1, "b");
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+
+        try {
+            list.add(0, "c");
+            fail("Inserting an ID already in the list should throw");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+
+        assertEquals("b", list.set(1, "x"));
+        assertEquals(Arrays.asList("a", "x", "c"), list);
+        assertTrue(list.contains("x"));
+        assertFalse(list.contains("b"));
+    }
+
+    /**
+     * Tests that wrapping reuses an existing entrant list and copies any other list.
+     */
+    @Test
+    public void testOf() {
+        EntrantList list = new EntrantList();
+        assertTrue(EntrantList.of(list) == list);
+
+        List<String> plain = new ArrayList<>(Arrays.asList("a", "b"));
+        EntrantList wrapped = EntrantList.of(plain);
+        assertEquals(plain, wrapped);
+        assertTrue(EntrantList.of(null).isEmpty());
+    }
+
+    /**
+     * Tests that replacing an element with an ID held elsewhere is rejected instead of shrinking the list.
+     */
+    @Test
+    public void testSetRejectsDuplicate() {
+        EntrantList list = new EntrantList(Arrays.asList("a", "b", "c"));
+        try {
+            list.set(0, "c");
+            fail("Setting an ID held at another position should throw");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+        assertEquals("Setting the same ID in place is allowed", "b", list.set(1, "b"));
+    }
+
+    /**
+     * Tests that indexed reads stay correct while removals and appends are interleaved with them.
+     */
+    @Test
+    public void testInterleavedReadsAndWrites() {
+        EntrantList list = new EntrantList();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add("d" + i);
+            expected.add("d" + i);
+        }
+        for (int i = 0; i < 900; i++) {
+            int index = (i * 7) % expected.size();
+            assertEquals(expected.get(index), list.get(index));
+            assertEquals(expected.remove(index), list.remove(index));
+            if (i % 3 == 0) {
+                list.add("n" + i);
+                expected.add("n" + i);
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.indexOf("n0"), list.indexOf("n0"));
+    }
+}
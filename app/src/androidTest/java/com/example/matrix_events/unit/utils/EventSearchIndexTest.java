@@ -0,0 +1,112 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.entities.EventSummary;
+import com.example.matrix_events.utils.EventSearchIndex;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instrumented unit tests for {@link EventSearchIndex}.
+ * <p>
+ * These tests verify tokenization, prefix and infix matching across the indexed fields,
+ * result ranking, and that incremental change sets keep the index consistent.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    /**
+     * Creates a bare event with only the searchable fields set.
+     */
+    private static EventSummary makeEvent(String id, String name, String location, String description) {
+        EventSummary event = new EventSummary();
+        event.setId(id);
+        event.setName(name);
+        event.setLocation(location);
+        event.setDescription(description);
+        return event;
+    }
+
+    @Before
+    public void setUp() {
+        index = new EventSearchIndex();
+        index.rebuild(Arrays.asList(
+                makeEvent("gala", "Future Gala", "Hall A", "Formal dinner and dancing"),
+                makeEvent("swim", "Swimming Lessons", "Community Pool", "Beginner classes for kids"),
+                makeEvent("cafe", "Café Night", "Downtown", "Live jazz at the gala hall")
+        ));
+    }
+
+    /**
+     * Tests that tokens are normalized by lower-casing and stripping accents.
+     */
+    @Test
+    public void testTokenize_Normalizes() {
+        assertEquals(Arrays.asList("cafe", "night", "2025"), EventSearchIndex.tokenize("  CAFÉ-Night, 2025 "));
+        assertTrue(EventSearchIndex.tokenize(" ,;- ").isEmpty());
+    }
+
+    /**
+     * Tests prefix, infix and accent-insensitive matching, including the description field.
+     */
+    @Test
+    public void testSearch_Matching() {
+        assertEquals(Arrays.asList("swim"), index.search("swim"));
+        assertEquals(Arrays.asList("swim"), index.search("mming"));
+        assertEquals(Arrays.asList("swim"), index.search("KIDS"));
+        assertEquals(Arrays.asList("cafe"), index.search("cafe"));
+        assertEquals(Arrays.asList("cafe"), index.search("ja"));
+        assertTrue(index.search("opera").isEmpty());
+        assertTrue(index.search("").isEmpty());
+    }
+
+    /**
+     * Tests that every term of a multi-term query must match.
+     */
+    @Test
+    public void testSearch_AllTermsRequired() {
+        assertEquals(Arrays.asList("gala"), index.search("gala dinner"));
+        assertTrue(index.search("gala pool").isEmpty());
+    }
+
+    /**
+     * Tests that a match in the event name outranks a match in the description.
+     */
+    @Test
+    public void testSearch_Ranking() {
+        List<String> results = index.search("gala");
+        assertEquals(Arrays.asList("gala", "cafe"), results);
+    }
+
+    /**
+     * Tests that added, modified and removed events are reflected by {@link EventSearchIndex#apply(DBChangeSet)}.
+     */
+    @Test
+    public void testApply_ChangeSet() {
+        DBChangeSet<EventSummary> changes = new DBChangeSet<>();
+        changes.addAdded(makeEvent("chess", "Chess Club", "Library", "Weekly games"));
+        changes.addModified(makeEvent("swim", "Diving Lessons", "Community Pool", "Advanced classes"));
+        changes.addRemoved(makeEvent("cafe", "Café Night", "Downtown", "Live jazz at the gala hall"));
+        index.apply(changes);
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList("chess"), index.search("chess"));
+        assertEquals(Arrays.asList("swim"), index.search("diving"));
+        assertTrue("Old name should no longer match", index.search("swimming").isEmpty());
+        assertTrue("Removed event should no longer match", index.search("jazz").isEmpty());
+        assertEquals(Arrays.asList("gala"), index.search("gala"));
+    }
+}
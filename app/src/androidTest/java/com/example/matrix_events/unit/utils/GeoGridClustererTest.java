@@ -0,0 +1,113 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.utils.GeoGridClusterer;
+import com.google.firebase.firestore.GeoPoint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instrumented unit tests for {@link GeoGridClusterer}.
+ * <p>
+ * These tests cluster generated locations around two cities and check the markers produced
+ * at low and high zoom levels.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class GeoGridClustererTest {
+
+    private static Map<String, GeoPoint> makeLocations() {
+        Map<String, GeoPoint> locations = new HashMap<>();
+        // 50 entrants within a few hundred metres in Edmonton, and one in Calgary
+        for (int i = 0; i < 50; i++) {
+            locations.put("edmonton_" + i, new GeoPoint(53.5461 + i * 0.0001, -113.4938 + i * 0.0001));
+        }
+        locations.put("calgary_0", new GeoPoint(51.0447, -114.0719));
+        return locations;
+    }
+
+    /**
+     * Tests that nearby entrants are collapsed into one cluster at a low zoom level.
+     */
+    @Test
+    public void testCluster_LowZoom() {
+        List<GeoGridClusterer.Cluster> clusters = GeoGridClusterer.cluster(makeLocations(), 6f, null);
+
+        assertEquals(2, clusters.size());
+        int total = 0;
+        for (GeoGridClusterer.Cluster cluster : clusters) {
+            total += cluster.getSize();
+            if (cluster.isCluster()) {
+                assertEquals(50, cluster.getSize());
+                assertNull(cluster.getDeviceId());
+                assertEquals(53.5486, cluster.getLatitude(), 0.001);
+            } else {
+                assertEquals("calgary_0", cluster.getKey());
+                assertEquals("calgary_0", cluster.getDeviceId());
+            }
+        }
+        assertEquals(51, total);
+    }
+
+    /**
+     * Tests that every entrant gets its own marker, keyed by device ID, at a high zoom level.
+     */
+    @Test
+    public void testCluster_HighZoom() {
+        Map<String, GeoPoint> locations = makeLocations();
+        List<GeoGridClusterer.Cluster> clusters = GeoGridClusterer.cluster(locations, 18f, null);
+
+        assertEquals(locations.size(), clusters.size());
+        Set<String> keys = new HashSet<>();
+        for (GeoGridClusterer.Cluster cluster : clusters) {
+            assertFalse(cluster.isCluster());
+            keys.add(cluster.getKey());
+        }
+        assertEquals(locations.keySet(), keys);
+    }
+
+    /**
+     * Tests that the same locations give the same keys, so markers can be diffed between runs.
+     */
+    @Test
+    public void testCluster_StableKeys() {
+        Set<String> first = new HashSet<>();
+        for (GeoGridClusterer.Cluster cluster : GeoGridClusterer.cluster(makeLocations(), 6.2f, null)) {
+            first.add(cluster.getKey());
+        }
+        Set<String> second = new HashSet<>();
+        for (GeoGridClusterer.Cluster cluster : GeoGridClusterer.cluster(makeLocations(), 6.8f, null)) {
+            second.add(cluster.getKey());
+        }
+        assertEquals(first, second);
+    }
+
+    /**
+     * Tests that markers outside the viewport are left out, including across the antimeridian.
+     */
+    @Test
+    public void testCluster_Viewport() {
+        GeoGridClusterer.Viewport calgary = new GeoGridClusterer.Viewport(50, -115, 52, -113);
+        List<GeoGridClusterer.Cluster> clusters = GeoGridClusterer.cluster(makeLocations(), 6f, calgary);
+        assertEquals(1, clusters.size());
+        assertEquals("calgary_0", clusters.get(0).getKey());
+
+        GeoGridClusterer.Viewport pacific = new GeoGridClusterer.Viewport(-10, 170, 10, -170);
+        assertTrue(pacific.contains(0, 179));
+        assertTrue(pacific.contains(0, -179));
+        assertFalse(pacific.contains(0, 0));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.entities.Poster;
+import com.example.matrix_events.utils.PosterTranscoder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Instrumented unit tests for {@link PosterTranscoder}.
+ * <p>
+ * These tests transcode and hash images generated in memory, and check the size of every rendition.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class PosterTranscoderTest {
+
+    private static byte[] makeImage(int width, int height) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.RED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        bitmap.recycle();
+        return out.toByteArray();
+    }
+
+    private static BitmapFactory.Options readBounds(byte[] image) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(image, 0, image.length, bounds);
+        return bounds;
+    }
+
+    /**
+     * Tests that a large image is scaled down into every rendition, keeping its aspect ratio.
+     */
+    @Test
+    public void testTranscode_LargeImage() throws IOException {
+        byte[] image = makeImage(4000, 3000);
+        PosterTranscoder.Result result = PosterTranscoder.transcode(() -> new ByteArrayInputStream(image));
+
+        assertEquals(Poster.Rendition.values().length, result.getImages().size());
+        long total = 0;
+        for (Poster.Rendition rendition : Poster.Rendition.values()) {
+            byte[] encoded = result.getImages().get(rendition);
+            BitmapFactory.Options bounds = readBounds(encoded);
+            assertEquals("Longest edge should fit the rendition", rendition.getMaxEdge(), bounds.outWidth);
+            assertEquals(rendition.getMaxEdge() * 3 / 4, bounds.outHeight);
+            total += encoded.length;
+        }
+        assertEquals(total, result.getTotalBytes());
+        assertTrue("Renditions should be far smaller than the original", total < image.length);
+    }
+
+    /**
+     * Tests that an image smaller than a rendition is never scaled up.
+     */
+    @Test
+    public void testTranscode_SmallImage() throws IOException {
+        byte[] image = makeImage(200, 500);
+        PosterTranscoder.Result result = PosterTranscoder.transcode(() -> new ByteArrayInputStream(image));
+
+        BitmapFactory.Options detail = readBounds(result.getImages().get(Poster.Rendition.DETAIL));
+        assertEquals(200, detail.outWidth);
+        assertEquals(500, detail.outHeight);
+        BitmapFactory.Options thumbnail = readBounds(result.getImages().get(Poster.Rendition.THUMBNAIL));
+        assertEquals(Poster.Rendition.THUMBNAIL.getMaxEdge(), thumbnail.outHeight);
+    }
+
+    /**
+     * Tests that data which is not an image is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testTranscode_NotAnImage() throws IOException {
+        byte[] data = "not an image".getBytes();
+        PosterTranscoder.transcode(() -> new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Tests that images are hashed with SHA-256, so identical bytes share one name.
+     */
+    @Test
+    public void testContentHash() throws IOException {
+        byte[] data = "abc".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                PosterTranscoder.contentHash(() -> new ByteArrayInputStream(data)));
+
+        byte[] image = makeImage(64, 64);
+        assertEquals(PosterTranscoder.contentHash(() -> new ByteArrayInputStream(image)),
+                PosterTranscoder.contentHash(() -> new ByteArrayInputStream(image.clone())));
+    }
+
+    /**
+     * Tests that subsampling never goes below the target size.
+     */
+    @Test
+    public void testCalculateInSampleSize() {
+        assertEquals(1, PosterTranscoder.calculateInSampleSize(1000, 1440));
+        assertEquals(1, PosterTranscoder.calculateInSampleSize(2879, 1440));
+        assertEquals(2, PosterTranscoder.calculateInSampleSize(2880, 1440));
+        assertEquals(2, PosterTranscoder.calculateInSampleSize(4000, 1440));
+        assertEquals(4, PosterTranscoder.calculateInSampleSize(6000, 1440));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.matrix_events.unit.utils;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -12,11 +13,19 @@ import android.graphics.Color;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import com.example.matrix_events.utils.QRCodeGenerator;
+import com.google.android.gms.tasks.Tasks;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.Result;
 import com.google.zxing.WriterException;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Instrumented unit tests for {@link QRCodeGenerator}.
  * <p>
@@ -26,7 +35,6 @@ import org.junit.runner.RunWith;
  */
 @RunWith(AndroidJUnit4.class)
 public class QRCodeGeneratorTest {
-
     /**
      * Tests that {@link QRCodeGenerator#generateQRHash(String)} returns a valid string
      * of the expected length (32 characters hex string).
@@ -134,4 +142,43 @@ public class QRCodeGeneratorTest {
             assertNotNull(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that non-positive dimensions are rejected with an {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerateQRCodeBitmap_NegativeDimensions() throws WriterException {
+        QRCodeGenerator.generateQRCodeBitmap("valid_hash", 512, -1);
+    }
+
+    /**
+     * Tests that the scaled bitmap can be read back as the encoded hash.
+     */
+    @Test
+    public void testGenerateQRCodeBitmap_Decodes() throws Exception {
+        String mockHash = "a1b2c3d4e5f67890a1b2c3d4e5f67890";
+        Bitmap bitmap = QRCodeGenerator.generateQRCodeBitmap(mockHash, 300, 300);
+
+        int[] pixels = new int[300 * 300];
+        bitmap.getPixels(pixels, 0, 300, 0, 0, 300, 300);
+        BinaryBitmap binaryBitmap = new BinaryBitmap(new HybridBinarizer(new RGBLuminanceSource(300, 300, pixels)));
+        Result result = new QRCodeReader().decode(binaryBitmap);
+
+        assertEquals("Decoded QR code should match the hash", mockHash, result.getText());
+    }
+
+    /**
+     * Tests that a QR code loaded twice at the same size is served from the cache.
+     */
+    @Test
+    public void testLoadQRCodeBitmap_Cached() throws Exception {
+        String mockHash = QRCodeGenerator.generateQRHash("cached_event");
+
+        Bitmap first = Tasks.await(QRCodeGenerator.loadQRCodeBitmap(mockHash, 256, 256), 10, TimeUnit.SECONDS);
+        Bitmap second = Tasks.await(QRCodeGenerator.loadQRCodeBitmap(mockHash, 256, 256), 10, TimeUnit.SECONDS);
+        Bitmap other = Tasks.await(QRCodeGenerator.loadQRCodeBitmap(mockHash, 128, 128), 10, TimeUnit.SECONDS);
+
+        assertSame("Repeat loads should return the cached bitmap", first, second);
+        assertEquals("A different size should be rendered separately", 128, other.getWidth());
+    }
+}
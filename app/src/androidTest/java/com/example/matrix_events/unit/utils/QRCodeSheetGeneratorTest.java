@@ -0,0 +1,86 @@
+package com.example.matrix_events.unit.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.utils.QRCodeGenerator;
+import com.example.matrix_events.utils.QRCodeSheetGenerator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumented unit tests for {@link QRCodeSheetGenerator}.
+ * <p>
+ * These tests generate sheets into memory and check the codes included and the PDF produced.
+ * </p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class QRCodeSheetGeneratorTest {
+
+    private static Event makeEvent(int index, boolean withHash) {
+        Event event = new Event();
+        event.setId("sheet_event_" + index);
+        event.setName("Sheet Event " + index);
+        if (withHash) {
+            event.setQrCodeHash(QRCodeGenerator.generateQRHash(event.getId()));
+        }
+        return event;
+    }
+
+    /**
+     * Tests that a multi-page sheet is written as a PDF containing every event with a QR code.
+     */
+    @Test
+    public void testGenerate_MultiplePages() throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            events.add(makeEvent(i, true));
+        }
+        events.add(makeEvent(13, false));   // left out, as it has no QR code
+
+        List<Integer> progress = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int codes = QRCodeSheetGenerator.generate(events, out, (generated, total) -> progress.add(generated));
+
+        assertEquals(13, codes);
+        // Six codes per page, so three pages
+        assertEquals(3, progress.size());
+        assertEquals(Integer.valueOf(13), progress.get(2));
+        String header = new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII);
+        assertEquals("%PDF-", header);
+    }
+
+    /**
+     * Tests that nothing is written when no event has a QR code.
+     */
+    @Test
+    public void testGenerate_NoCodes() throws Exception {
+        List<Event> events = new ArrayList<>();
+        events.add(makeEvent(0, false));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, QRCodeSheetGenerator.generate(events, out, null));
+        assertEquals(0, out.size());
+    }
+
+    /**
+     * Tests that module bitmaps are square and far smaller than a rendered code.
+     */
+    @Test
+    public void testModuleBitmap_Size() throws Exception {
+        Bitmap modules = QRCodeGenerator.generateQRCodeModuleBitmap(QRCodeGenerator.generateQRHash("event"));
+        assertEquals(modules.getWidth(), modules.getHeight());
+        assertTrue("One pixel per module", modules.getWidth() < 100);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.matrix_events.activities;
 import android.content.Intent;
 import android.media.Image;
 import android.os.Bundle;
+import android.text.format.Formatter;
 import android.widget.Button;
 import android.widget.TextView;
 
@@ -13,13 +14,9 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.matrix_events.R;
-import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.fragments.AdminNavigationBarFragment;
-import com.example.matrix_events.managers.EventManager;
-import com.example.matrix_events.managers.NotificationManager;
-import com.example.matrix_events.managers.PosterManager;
-import com.example.matrix_events.managers.ProfileManager;
-import com.example.matrix_events.mvc.Model;
+import com.example.matrix_events.managers.AdminStatsManager;
+import com.example.matrix_events.managers.AdminStatsManager.Stat;
 import com.example.matrix_events.mvc.View;
 
 /**
@@ -29,14 +26,10 @@ import com.example.matrix_events.mvc.View;
  * statistical overview of the application's current state (total users, events, images, etc.).
  * </p>
  * <p>
- * <b>Architecture Note:</b> This class implements {@link View} and observes <b>multiple</b>
- * {@link Model} singletons simultaneously:
- * <ul>
- * <li>{@link ProfileManager} - To count users and admins.</li>
- * <li>{@link EventManager} - To count active events.</li>
- * <li>{@link PosterManager} - To count uploaded images.</li>
- * <li>{@link NotificationManager} - To count system messages.</li>
- * </ul>
+ * <b>Architecture Note:</b> This class implements {@link View} and observes the {@link AdminStatsManager},
+ * which computes every total with server-side aggregation queries. The dashboard therefore renders
+ * without downloading any collection; the full lists are only loaded by the detail screens the
+ * admin navigates to.
  * </p>
  */
 public class AdminActivity extends AppCompatActivity implements View {
@@ -50,8 +43,8 @@ public class AdminActivity extends AppCompatActivity implements View {
      * <ol>
      * <li><b>Navigation:</b> Loads the {@link AdminNavigationBarFragment} (defaulting to Home).</li>
      * <li><b>Role Switching:</b> Configures the button to return to the {@link OrganizerMyEventsActivity}.</li>
-     * <li><b>Observer Registration:</b> Registers this activity as a listener for <i>all four</i> data managers
-     * so that the statistics update in real-time if data changes while the admin is watching.</li>
+     * <li><b>Observer Registration:</b> Registers this activity as a listener of the {@link AdminStatsManager}
+     * so that each total is shown as soon as its aggregation query completes.</li>
      * </ol>
      * </p>
      *
@@ -89,65 +82,72 @@ public class AdminActivity extends AppCompatActivity implements View {
         statsTextView = findViewById(R.id.admin_stats_textview);
 
         // Register as observer
-        ProfileManager.getInstance().addView(this);
-        EventManager.getInstance().addView(this);
-        PosterManager.getInstance().addView(this);
-        NotificationManager.getInstance().addView(this);
+        AdminStatsManager.getInstance().addView(this);
 
         update();
     }
 
+    /**
+     * Re-fetches the totals every time the dashboard comes back into view, since aggregation
+     * queries are not live and data may have changed on a detail screen.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        AdminStatsManager.getInstance().refresh();
+    }
+
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Unregisters this activity from <b>all</b> observed managers to prevent memory leaks
+     * Unregisters this activity from the {@link AdminStatsManager} to prevent memory leaks
      * and ensure the activity does not attempt to update UI elements after destruction.
      * </p>
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        ProfileManager.getInstance().removeView(this);
-        EventManager.getInstance().removeView(this);
-        PosterManager.getInstance().removeView(this);
-        NotificationManager.getInstance().removeView(this);
+        AdminStatsManager.getInstance().removeView(this);
     }
 
     /**
-     * MVC Callback: Updates the dashboard statistics when any Model data changes.
+     * MVC Callback: Updates the dashboard statistics when a total arrives.
      * <p>
-     * This method aggregates data from all managers to provide a system health report.
-     * It calculates:
+     * This method reads the totals fetched by the {@link AdminStatsManager} to provide a system health report:
      * <ul>
-     * <li>Total number of User Profiles.</li>
-     * <li>Number of users with Admin privileges.</li>
-     * <li>Total number of Events.</li>
-     * <li>Total number of Posters (images).</li>
-     * <li>Total number of Notifications sent.</li>
+     * <li>Total number of User Profiles, Admins and Organizers.</li>
+     * <li>Total number of Events, broken down by registration state.</li>
+     * <li>Total number and size of Posters (images).</li>
+     * <li>Total number of Notifications sent, and how many are unread.</li>
      * </ul>
+     * Totals that have not arrived yet are shown as "…".
      * </p>
      */
     @Override
     public void update() {
         if (statsTextView != null) {
-            int totalProfiles = ProfileManager.getInstance().getProfiles().size();
-            int adminProfiles = 0;
-            // Calculate specific metric: How many profiles are admins?
-            for (Profile profile : ProfileManager.getInstance().getProfiles()) {
-                if (profile.isAdmin()) {
-                    adminProfiles++;
-                }
-            }
-            int events = EventManager.getInstance().getEvents().size();
-            int posters = PosterManager.getInstance().getPosters().size();
-            int notifications = NotificationManager.getInstance().getNotifications().size();
-
-            String stats = "Total Profiles: " + totalProfiles + "\n" +
-                    "Admin Accounts: " + adminProfiles + "\n" +
-                    "Events: " + events + "\n" +
-                    "Posters: " + posters + "\n" +
-                    "Notifications: " + notifications;
+            AdminStatsManager statsManager = AdminStatsManager.getInstance();
+            Long posterBytes = statsManager.getStat(Stat.POSTER_BYTES);
+
+            String stats = "Total Profiles: " + format(statsManager.getStat(Stat.PROFILES)) + "\n" +
+                    "Admin Accounts: " + format(statsManager.getStat(Stat.ADMINS)) + "\n" +
+                    "Organizers: " + format(statsManager.getStat(Stat.ORGANIZERS)) + "\n" +
+                    "Events: " + format(statsManager.getStat(Stat.EVENTS)) + "\n" +
+                    "  Registration Not Open: " + format(statsManager.getStat(Stat.EVENTS_REGISTRATION_NOT_OPEN)) + "\n" +
+                    "  Registration Open: " + format(statsManager.getStat(Stat.EVENTS_REGISTRATION_OPEN)) + "\n" +
+                    "  Registration Closed: " + format(statsManager.getStat(Stat.EVENTS_REGISTRATION_CLOSED)) + "\n" +
+                    "Posters: " + format(statsManager.getStat(Stat.POSTERS)) +
+                    (posterBytes != null ? " (" + Formatter.formatShortFileSize(this, posterBytes) + ")" : "") + "\n" +
+                    "Notifications: " + format(statsManager.getStat(Stat.NOTIFICATIONS)) + "\n" +
+                    "Unread Notifications: " + format(statsManager.getStat(Stat.UNREAD_NOTIFICATIONS));
             statsTextView.setText(stats);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Formats a total for display, using a placeholder while it is still loading.
+     */
+    private static String format(Long value) {
+        return value == null ? "…" : String.valueOf(value);
+    }
+}
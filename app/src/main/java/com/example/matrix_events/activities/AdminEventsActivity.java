@@ -13,11 +13,13 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.matrix_events.R;
-import com.example.matrix_events.adapters.EventArrayAdapter;
+import com.example.matrix_events.adapters.EventSummaryArrayAdapter;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.EventSummary;
 import com.example.matrix_events.fragments.AdminNavigationBarFragment;
 import com.example.matrix_events.fragments.EventDetailFragment;
 import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.managers.EventSummaryManager;
 import com.example.matrix_events.mvc.View;
 
 import java.util.ArrayList;
@@ -29,15 +31,17 @@ import java.util.ArrayList;
  * <ul>
  * <li><b>Browse:</b> View every event currently registered in the database.</li>
  * <li><b>Inspect:</b> Open detailed views of specific events via {@link EventDetailFragment}.</li>
- * <li><b>Delete:</b> Permanently remove events using the {@link EventArrayAdapter.OnEventDeleteListener} interface.</li>
+ * <li><b>Delete:</b> Permanently remove events using the {@link EventSummaryArrayAdapter.OnSummaryDeleteListener} interface.</li>
  * </ul>
- * It implements {@link View} to observe changes in the {@link EventManager}.
+ * The list is rendered from the compact {@link EventSummary} projections, so it implements
+ * {@link View} to observe changes in the {@link EventSummaryManager}. The full {@link Event} is
+ * only fetched, through {@link EventSummaryManager#fetchEvent(String)}, when one is opened or deleted.
  * </p>
  */
-public class AdminEventsActivity extends AppCompatActivity implements View, EventArrayAdapter.OnEventDeleteListener {
+public class AdminEventsActivity extends AppCompatActivity implements View, EventSummaryArrayAdapter.OnSummaryDeleteListener {
 
-    private ArrayList<Event> events;
-    private EventArrayAdapter eventArrayAdapter;
+    private ArrayList<EventSummary> summaries;
+    private EventSummaryArrayAdapter summaryArrayAdapter;
     private ListView eventListView;
 
     /**
@@ -46,9 +50,9 @@ public class AdminEventsActivity extends AppCompatActivity implements View, Even
      * Initializes the UI layout (reusing the search layout structure) and performs the following specific setups:
      * <ul>
      * <li><b>Navigation:</b> Loads the {@link AdminNavigationBarFragment}.</li>
-     * <li><b>Adapter:</b> Initializes {@link EventArrayAdapter} with {@code isAdmin = true}, enabling delete buttons on list items.</li>
-     * <li><b>Click Listener:</b> Sets up the list to open {@link EventDetailFragment} in Admin mode when an item is clicked.</li>
-     * <li><b>MVC Registration:</b> Registers this activity as an observer of {@link EventManager}.</li>
+     * <li><b>Adapter:</b> Initializes {@link EventSummaryArrayAdapter} with {@code isAdmin = true}, enabling delete buttons on list items.</li>
+     * <li><b>Click Listener:</b> Sets up the list to fetch the full event and open {@link EventDetailFragment} in Admin mode when an item is clicked.</li>
+     * <li><b>MVC Registration:</b> Registers this activity as an observer of {@link EventSummaryManager}.</li>
      * </ul>
      * </p>
      *
@@ -75,80 +79,98 @@ public class AdminEventsActivity extends AppCompatActivity implements View, Even
                 .replace(R.id.navigation_bar_fragment, AdminNavigationBarFragment.newInstance(R.id.nav_admin_events))
                 .commit();
 
-        events = new ArrayList<>();
+        summaries = new ArrayList<>();
         eventListView = findViewById(R.id.event_search_listview);
 
         // Initialize adapter with admin permissions (true) and 'this' as the delete listener
-        eventArrayAdapter = new EventArrayAdapter(this, events, true, this);
+        summaryArrayAdapter = new EventSummaryArrayAdapter(this, summaries, true, this);
 
-        eventListView.setAdapter(eventArrayAdapter);
+        eventListView.setAdapter(summaryArrayAdapter);
+        eventListView.setOnScrollListener(summaryArrayAdapter.createPosterPreloader());
 
         eventListView.setOnItemClickListener((parent, view, position, id) -> {
-            Event selectedEvent = events.get(position);
-            // Open fragment with admin permissions (true)
-            EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent, true);
-            getSupportFragmentManager().beginTransaction()
-                    .add(R.id.main, fragment)
-                    .addToBackStack(null)
-                    .commit();
+            EventSummary selected = summaries.get(position);
+            EventSummaryManager.getInstance().fetchEvent(selected.getId()).addOnCompleteListener(task -> {
+                Event selectedEvent = task.isSuccessful() ? task.getResult() : null;
+                if (selectedEvent == null) {
+                    Toast.makeText(this, "Could not load event.", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                // Open fragment with admin permissions (true)
+                EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent, true);
+                getSupportFragmentManager().beginTransaction()
+                        .add(R.id.main, fragment)
+                        .addToBackStack(null)
+                        .commit();
+            });
         });
 
         update();
 
-        EventManager.getInstance().addView(this);
+        EventSummaryManager.getInstance().addView(this);
     }
 
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Unregisters this activity from the {@link EventManager} to prevent memory leaks.
+     * Unregisters this activity from the {@link EventSummaryManager} to prevent memory leaks.
      * </p>
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        EventManager.getInstance().removeView(this);
+        EventSummaryManager.getInstance().removeView(this);
     }
 
     /**
      * MVC Callback: Updates the list when the Model data changes.
      * <p>
-     * Fetches the complete list of all events from {@link EventManager#getEvents()}
+     * Fetches the summaries of all events from {@link EventSummaryManager#getSummaries()}
      * and refreshes the adapter.
      * </p>
      */
     @Override
     public void update() {
-        events.clear();
-        events.addAll(EventManager.getInstance().getEvents());
-        if (eventArrayAdapter != null) {
-            eventArrayAdapter.notifyDataSetChanged();
+        summaries.clear();
+        summaries.addAll(EventSummaryManager.getInstance().getSummaries());
+        if (summaryArrayAdapter != null) {
+            summaryArrayAdapter.notifyDataSetChanged();
         }
     }
 
     /**
      * Callback method invoked when the "Delete" button is clicked on an event list item.
      * <p>
-     * This method enforces a safety check via an {@link AlertDialog}. If confirmed, it triggers
-     * {@link EventManager#cancelEventAndNotifyUsers(Event, String)}, which:
+     * This method enforces a safety check via an {@link AlertDialog}. If confirmed, it fetches the
+     * full event and triggers {@link EventManager#cancelEventAndNotifyUsers(Event, String)}, which:
      * <ol>
      * <li>Sends a cancellation notification to all attendees (Waitlist, Pending, Accepted).</li>
      * <li>Deletes the event and its associated poster from the database.</li>
      * </ol>
      * </p>
      *
-     * @param event The {@link Event} selected for deletion.
+     * @param summary The {@link EventSummary} of the event selected for deletion.
      */
     @Override
-    public void onDeleteClick(Event event) {
+    public void onDeleteClick(EventSummary summary) {
         new AlertDialog.Builder(this)
                 .setTitle("Delete Event")
-                .setMessage("Are you sure you want to delete '" + event.getName() + "'? This cannot be undone.")
+                .setMessage("Are you sure you want to delete '" + summary.getName() + "'? This cannot be undone.")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    String adminMessage = "Urgent: The event '" + event.getName() + "' has been cancelled by the admin. Sorry!";
-                    EventManager.getInstance().cancelEventAndNotifyUsers(event, adminMessage);
-
-                    Toast.makeText(this, "Event deleted and users notified.", Toast.LENGTH_SHORT).show();
+                    EventSummaryManager.getInstance().fetchEvent(summary.getId()).addOnCompleteListener(task -> {
+                        Event event = task.isSuccessful() ? task.getResult() : null;
+                        if (event == null) {
+                            Toast.makeText(this, "Could not load event.", Toast.LENGTH_SHORT).show();
+                            return;
+                        }
+                        String adminMessage = "Urgent: The event '" + event.getName() + "' has been cancelled by the admin. Sorry!";
+                        EventManager.getInstance().cancelEventAndNotifyUsers(event, adminMessage);
+
+                        Toast.makeText(this, "Event deleted and users notified.", Toast.LENGTH_SHORT).show();
+                    });
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
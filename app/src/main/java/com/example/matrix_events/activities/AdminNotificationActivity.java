@@ -14,6 +14,7 @@ import com.example.matrix_events.adapters.NotificationArrayAdapter;
 import com.example.matrix_events.entities.Notification;
 import com.example.matrix_events.fragments.AdminNavigationBarFragment;
 import com.example.matrix_events.managers.NotificationManager;
+import com.example.matrix_events.managers.ProfileManager;
 import com.example.matrix_events.mvc.View;
 
 import java.util.ArrayList;
@@ -76,6 +77,8 @@ public class AdminNotificationActivity extends AppCompatActivity implements View
         update();
 
         NotificationManager.getInstance().addView(this);
+        // Sender and receiver names are resolved from the profile cache
+        ProfileManager.getInstance().addView(this);
     }
 
     /**
@@ -88,6 +91,7 @@ public class AdminNotificationActivity extends AppCompatActivity implements View
     protected void onDestroy() {
         super.onDestroy();
         NotificationManager.getInstance().removeView(this);
+        ProfileManager.getInstance().removeView(this);
     }
 
     /**
@@ -1,8 +1,12 @@
 package com.example.matrix_events.activities;
 
 import android.os.Bundle;
+import android.util.Log;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
@@ -15,7 +19,7 @@ import com.example.matrix_events.adapters.PosterAdapter;
 import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.fragments.AdminNavigationBarFragment;
 import com.example.matrix_events.managers.PosterManager;
-import com.example.matrix_events.mvc.View;
+import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,15 +33,29 @@ import java.util.List;
  * visual real estate for image review.
  * </p>
  * <p>
- * It implements {@link View} to observe the {@link PosterManager}, ensuring that if a poster
- * is deleted (either from this screen or elsewhere), the gallery updates immediately.
+ * Posters are paged in from Firestore with {@link PosterManager#loadPosterPage}, {@value #PAGE_SIZE} at a time,
+ * when the grid is scrolled within {@value #PREFETCH_DISTANCE} items of the end, and each page is
+ * appended without rebinding the posters already shown. Only thumbnail renditions are loaded,
+ * and the thumbnails of recycled cells are released, so reviewing a large collection keeps memory
+ * and bandwidth bounded by what is on screen.
  * </p>
  */
-public class AdminPostersActivity extends AppCompatActivity implements View {
+public class AdminPostersActivity extends AppCompatActivity {
+    private static final String TAG = "AdminPostersActivity";
+    private static final int PAGE_SIZE = 60;
+    // Items from the end of the grid at which the next page is requested
+    private static final int PREFETCH_DISTANCE = 12;
 
     private RecyclerView postersRecyclerView;
     private PosterAdapter posterAdapter;
     private List<Poster> posterList;
+    private GridLayoutManager posterLayout;
+
+    // Paging state: the cursor after the last loaded page, and whether a page is in flight
+    @Nullable
+    private DocumentSnapshot nextPage;
+    private boolean loadingPage = false;
+    private boolean reachedEnd = false;
 
     /**
      * Called when the activity is starting.
@@ -46,8 +64,8 @@ public class AdminPostersActivity extends AppCompatActivity implements View {
      * <ul>
      * <li><b>Navigation:</b> Loads the {@link AdminNavigationBarFragment} highlighting the Posters tab.</li>
      * <li><b>Layout Manager:</b> Configures the RecyclerView with a {@link GridLayoutManager} (span count 2).</li>
-     * <li><b>Adapter:</b> Initializes the {@link PosterAdapter} with the current list of posters.</li>
-     * <li><b>MVC Registration:</b> Registers this activity as an observer of {@link PosterManager}.</li>
+     * <li><b>Adapter:</b> Initializes the {@link PosterAdapter} with an initially empty list of posters.</li>
+     * <li><b>Paging:</b> Loads the first page, and the following ones as the grid is scrolled.</li>
      * </ul>
      * </p>
      *
@@ -69,47 +87,71 @@ public class AdminPostersActivity extends AppCompatActivity implements View {
                 .replace(R.id.admin_navigation_bar_fragment, AdminNavigationBarFragment.newInstance(R.id.nav_admin_posters))
                 .commit();
 
-        // Initialize Data Source
-        posterList = new ArrayList<>(PosterManager.getInstance().getPosters());
+        // Initialize Data Source, filled a page at a time
+        posterList = new ArrayList<>();
         posterAdapter = new PosterAdapter(this, posterList);
 
         // Setup RecyclerView with Grid Layout
         postersRecyclerView = findViewById(R.id.posters_recycler_view);
-        GridLayoutManager posterLayout = new GridLayoutManager(this, 2); // 2 columns
+        posterLayout = new GridLayoutManager(this, 2); // 2 columns
 
         postersRecyclerView.setLayoutManager(posterLayout);
         postersRecyclerView.setAdapter(posterAdapter);
+        postersRecyclerView.addOnScrollListener(posterAdapter.createPreloader());
+        postersRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && posterLayout.findLastVisibleItemPosition() >= posterList.size() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
 
-        // Register as Observer
-        PosterManager.getInstance().addView(this);
+        loadNextPage();
     }
 
     /**
-     * Cleanup method called when the activity is destroyed.
+     * Loads the page of posters after the ones already shown and appends it to the grid.
      * <p>
-     * Unregisters this activity from the {@link PosterManager} to prevent memory leaks.
+     * Does nothing while a page is loading or once the last page has been loaded.
      * </p>
      */
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        PosterManager.getInstance().removeView(this);
-    }
-
-    /**
-     * MVC Callback: Updates the gallery when the Model data changes.
-     * <p>
-     * This method clears the current local list and repopulates it with the fresh data
-     * from {@link PosterManager#getPosters()}. It then notifies the adapter to refresh
-     * the grid view.
-     * </p>
-     */
-    @Override
-    public void update() {
-        posterList.clear();
-        posterList.addAll(PosterManager.getInstance().getPosters());
-        if (posterAdapter != null) {
-            posterAdapter.notifyDataSetChanged();
+    private void loadNextPage() {
+        if (loadingPage || reachedEnd) {
+            return;
         }
+        loadingPage = true;
+        PosterManager.getInstance().loadPosterPage(PAGE_SIZE, nextPage, new PosterManager.PosterPageListener() {
+            @Override
+            public void onPosterPageLoaded(@NonNull List<Poster> page, @Nullable DocumentSnapshot next) {
+                if (isDestroyed()) {
+                    return;
+                }
+                loadingPage = false;
+                nextPage = next;
+                reachedEnd = next == null;
+                int start = posterList.size();
+                posterList.addAll(page);
+                posterAdapter.notifyItemRangeInserted(start, page.size());
+                Log.d(TAG, "Loaded " + page.size() + " posters, " + posterList.size() + " shown");
+
+                // a page that does not fill the screen cannot be scrolled to load the next one,
+                // so check again once the new items are laid out
+                postersRecyclerView.post(() -> {
+                    if (posterLayout.findLastVisibleItemPosition() >= posterList.size() - PREFETCH_DISTANCE) {
+                        loadNextPage();
+                    }
+                });
+            }
+
+            @Override
+            public void onPosterPageFailed(@NonNull Exception e) {
+                if (isDestroyed()) {
+                    return;
+                }
+                loadingPage = false;
+                Toast.makeText(AdminPostersActivity.this, "Could not load posters.", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
-}
\ No newline at end of file
+}
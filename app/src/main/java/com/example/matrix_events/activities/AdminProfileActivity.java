@@ -13,7 +13,6 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.example.matrix_events.R;
 import com.example.matrix_events.adapters.ProfileArrayAdapter;
-import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.fragments.AdminNavigationBarFragment;
 import com.example.matrix_events.fragments.AdminProfileDetailsFragment;
@@ -23,6 +22,7 @@ import com.example.matrix_events.mvc.View;
 import com.google.android.material.tabs.TabLayout;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -34,7 +34,7 @@ import java.util.List;
  * <li><b>Filter:</b> Toggle between viewing "All Profiles" and only "Organizers" (users who have created events).</li>
  * <li><b>Manage:</b> Delete user profiles (which cascades to remove them from events or cancel events they organized).</li>
  * </ul>
- * It implements {@link View} to observe changes in the {@link ProfileManager} and uses the
+ * It implements {@link View} to observe changes in the {@link ProfileManager} and {@link EventManager} and uses the
  * {@link ProfileArrayAdapter.Listener} interface to handle delete actions triggered from the list rows.
  * </p>
  */
@@ -52,7 +52,8 @@ public class AdminProfileActivity extends AppCompatActivity implements View, Pro
      * <li><b>List Item Clicks:</b> Opens the {@link AdminProfileDetailsFragment} for the selected user.</li>
      * <li><b>Tab Selection:</b> Triggers {@link #update()} to filter the list based on the selected tab.</li>
      * </ul>
-     * Finally, it registers this activity as an observer of the {@link ProfileManager}.
+     * Finally, it registers this activity as an observer of the {@link ProfileManager} and the
+     * {@link EventManager}, since the organizers tab depends on both.
      * </p>
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being
@@ -105,18 +106,20 @@ public class AdminProfileActivity extends AppCompatActivity implements View, Pro
         update();
 
         ProfileManager.getInstance().addView(this);
+        EventManager.getInstance().addView(this);
     }
 
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Unregisters this activity from the {@link ProfileManager} to prevent memory leaks.
+     * Unregisters this activity from the {@link ProfileManager} and {@link EventManager} to prevent memory leaks.
      * </p>
      */
     @Override
     public void onDestroy() {
         super.onDestroy();
         ProfileManager.getInstance().removeView(this);
+        EventManager.getInstance().removeView(this);
     }
 
     /**
@@ -125,8 +128,8 @@ public class AdminProfileActivity extends AppCompatActivity implements View, Pro
      * This method fetches the master list of profiles and filters it based on the currently selected tab:
      * <ul>
      * <li><b>Tab 0 (All Profiles):</b> Displays every user in the system.</li>
-     * <li><b>Tab 1 (Organizers):</b> Cross-references {@link EventManager} to find users who are listed
-     * as the organizer for at least one event. Only these users are displayed.</li>
+     * <li><b>Tab 1 (Organizers):</b> Looks each user up in the organizer index of the {@link EventManager}
+     * and displays those who organize at least one event, most events first.</li>
      * </ul>
      * </p>
      */
@@ -135,7 +138,6 @@ public class AdminProfileActivity extends AppCompatActivity implements View, Pro
 
         profiles.clear();
         List<Profile> allProfiles = ProfileManager.getInstance().getProfiles();
-        List<Event> allEvents = EventManager.getInstance().getEvents();
         int selectedTab = tabLayout.getSelectedTabPosition();
 
         // just shows all the profiles
@@ -144,24 +146,19 @@ public class AdminProfileActivity extends AppCompatActivity implements View, Pro
 
             // the organizers tab
         } else if (selectedTab == 1) {
+            EventManager eventManager = EventManager.getInstance();
 
             for (Profile profile : allProfiles) {
-
-                boolean isOrganizer = false;
-
-                // go through all events to check for organizer status
-                for (Event event : allEvents) {
-                    // if the event organizer's device id matches the profile's device id, then the profile is an organizer
-                    if (event.getOrganizer().getDeviceId().equals(profile.getDeviceId())) {
-                        isOrganizer = true;
-                        break;
-                    }
-                }
-
-                if (isOrganizer) {
+                // the profile is an organizer if the index holds any event for its device id
+                if (profile.getDeviceId() != null && eventManager.isOrganizer(profile.getDeviceId())) {
                     profiles.add(profile);
                 }
             }
+
+            // busiest organizers first
+            Collections.sort(profiles, (a, b) -> Integer.compare(
+                    eventManager.getOrganizerEventCount(b.getDeviceId()),
+                    eventManager.getOrganizerEventCount(a.getDeviceId())));
         }
 
         if (profileArrayAdapter != null) {
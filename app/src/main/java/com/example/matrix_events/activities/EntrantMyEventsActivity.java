@@ -9,6 +9,7 @@ import android.util.Log;
 import android.widget.Button;
 import android.widget.ListView;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
@@ -17,17 +18,20 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.matrix_events.R;
-import com.example.matrix_events.adapters.EventArrayAdapter;
+import com.example.matrix_events.adapters.EventSummaryArrayAdapter;
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.EventSummary;
 import com.example.matrix_events.fragments.EventDetailFragment;
 import com.example.matrix_events.fragments.NavigationBarFragment;
-import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.managers.EntrantMembershipManager;
+import com.example.matrix_events.managers.EventSummaryManager;
 import com.example.matrix_events.mvc.View;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.button.MaterialButtonToggleGroup;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 /**
  * Activity responsible for displaying the events an entrant is participating in.
@@ -42,7 +46,10 @@ import java.util.List;
  * <li><b>Accepted:</b> Events the user is confirmed to attend.</li>
  * <li><b>Declined:</b> Events the user was invited to but chose not to attend.</li>
  * </ul>
- * This activity implements {@link View} to observe changes in the {@link EventManager}.
+ * The rows are rendered from the compact {@link EventSummary} projections held by the
+ * {@link EventSummaryManager}; only the IDs of the events the entrant is on come from the
+ * {@link EntrantMembershipManager}, which queries for this user alone. This activity implements
+ * {@link View} to observe both, and fetches the full {@link Event} only when one is opened.
  * </p>
  */
 public class EntrantMyEventsActivity extends AppCompatActivity implements View {
@@ -59,8 +66,8 @@ public class EntrantMyEventsActivity extends AppCompatActivity implements View {
     }
     private Selection selection = Selection.Waitlist;
     private String deviceId;
-    private ArrayList<Event> eventArray;
-    private EventArrayAdapter eventAdapter;
+    private ArrayList<EventSummary> eventArray;
+    private EventSummaryArrayAdapter eventAdapter;
     private TextView listTitleTextview;
 
     private MaterialButtonToggleGroup toggleGroup;
@@ -95,22 +102,34 @@ public class EntrantMyEventsActivity extends AppCompatActivity implements View {
                 .commit();
 
         deviceId = Settings.Secure.getString(getContentResolver(), Settings.Secure.ANDROID_ID);
+        // follow the events this device is on, without loading the whole events collection
+        EntrantMembershipManager.getInstance().watch(deviceId);
 
         // Setup List and Adapter
         eventArray = new ArrayList<>();
-        eventAdapter = new EventArrayAdapter(getApplicationContext(), eventArray);
+        eventAdapter = new EventSummaryArrayAdapter(getApplicationContext(), eventArray, false, null);
         ListView eventListview = findViewById(R.id.entrant_listview);
         eventListview.setAdapter(eventAdapter);
+        eventListview.setOnScrollListener(eventAdapter.createPosterPreloader());
 
         // Click Listener to view Event Details
         eventListview.setOnItemClickListener(((parent, view, position, id) -> {
             Log.d("DEBUG", "event clicked");
-            Event selectedEvent = eventArray.get(position);
-            EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent);
-            getSupportFragmentManager().beginTransaction()
-                    .replace(R.id.main, fragment)
-                    .addToBackStack(null)
-                    .commit();
+            EventSummaryManager.getInstance().fetchEvent(eventArray.get(position).getId()).addOnCompleteListener(task -> {
+                Event selectedEvent = task.isSuccessful() ? task.getResult() : null;
+                if (selectedEvent == null) {
+                    Toast.makeText(this, "Could not load event.", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent);
+                getSupportFragmentManager().beginTransaction()
+                        .replace(R.id.main, fragment)
+                        .addToBackStack(null)
+                        .commit();
+            });
         }));
 
         // Go to the Organizer "My Events" Activity
@@ -148,20 +167,22 @@ public class EntrantMyEventsActivity extends AppCompatActivity implements View {
         updateButtonStyles();
         update();
 
-        // observe event manager
-        EventManager.getInstance().addView(this);
+        // observe the summaries shown and the memberships choosing them
+        EventSummaryManager.getInstance().addView(this);
+        EntrantMembershipManager.getInstance().addView(this);
     }
 
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Unregisters this activity from the {@link EventManager} to prevent memory leaks.
+     * Unregisters this activity from the {@link EventSummaryManager} and {@link EntrantMembershipManager} to prevent memory leaks.
      * </p>
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        EventManager.getInstance().removeView(this);
+        EventSummaryManager.getInstance().removeView(this);
+        EntrantMembershipManager.getInstance().removeView(this);
     }
 
     /**
@@ -203,8 +224,8 @@ public class EntrantMyEventsActivity extends AppCompatActivity implements View {
     /**
      * MVC Callback: Updates the list when the Model data changes or a filter is selected.
      * <p>
-     * This method clears the current list and populates it with events from the {@link EventManager}
-     * based on the current {@link Selection}.
+     * This method clears the current list and populates it with the summaries of the events the
+     * {@link EntrantMembershipManager} finds the user on, based on the current {@link Selection}.
      * </p>
      * <p>
      * <b>Special Logic for Waitlists:</b>
@@ -219,40 +240,45 @@ public class EntrantMyEventsActivity extends AppCompatActivity implements View {
     @Override
     public void update() {
         eventArray.clear();
+        EntrantMembershipManager membershipManager = EntrantMembershipManager.getInstance();
+        EventSummaryManager summaryManager = EventSummaryManager.getInstance();
         switch (selection) {
             case Waitlist: {
                 listTitleTextview.setText("Waitlisted:");
-                List<Event> allWaitlistedEvents = EventManager.getInstance().getEventsInWaitlist(deviceId);
-                for (Event event : allWaitlistedEvents) {
-                    if (!event.isRegistrationClosed()) {
-                        eventArray.add(event);
+                Set<String> ids = membershipManager.getEventIds(deviceId, Entrant.Status.WAITLIST);
+                for (EventSummary summary : summaryManager.getSummariesByDBIDs(ids)) {
+                    if (!summary.isRegistrationClosed()) {
+                        eventArray.add(summary);
                     }
                 }
                 break;
             }
             case NotSelected: {
                 listTitleTextview.setText("Not Selected:");
-                List<Event> allWaitlistedEvents = EventManager.getInstance().getEventsInWaitlist(deviceId);
-                for (Event event : allWaitlistedEvents) {
-                    if (event.isRegistrationClosed()) {
-                        eventArray.add(event);
+                Set<String> ids = membershipManager.getEventIds(deviceId, Entrant.Status.WAITLIST);
+                for (EventSummary summary : summaryManager.getSummariesByDBIDs(ids)) {
+                    if (summary.isRegistrationClosed()) {
+                        eventArray.add(summary);
                     }
                 }
                 break;
             }
             case Pending: {
                 listTitleTextview.setText("Pending:");
-                eventArray.addAll(EventManager.getInstance().getEventsInPending(deviceId));
+                eventArray.addAll(summaryManager.getSummariesByDBIDs(
+                        membershipManager.getEventIds(deviceId, Entrant.Status.PENDING)));
                 break;
             }
             case Accepted: {
                 listTitleTextview.setText("Accepted:");
-                eventArray.addAll(EventManager.getInstance().getEventsInAccepted(deviceId));
+                eventArray.addAll(summaryManager.getSummariesByDBIDs(
+                        membershipManager.getEventIds(deviceId, Entrant.Status.ACCEPTED)));
                 break;
             }
             case Declined: {
                 listTitleTextview.setText("Declined:");
-                eventArray.addAll(EventManager.getInstance().getEventsInDeclined(deviceId));
+                eventArray.addAll(summaryManager.getSummariesByDBIDs(
+                        membershipManager.getEventIds(deviceId, Entrant.Status.DECLINED)));
                 break;
             }
         }
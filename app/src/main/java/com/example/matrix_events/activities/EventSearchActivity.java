@@ -1,6 +1,9 @@
 package com.example.matrix_events.activities;
 
+import android.database.SQLException;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.Settings;
 import android.text.Editable;
 import android.text.TextWatcher;
@@ -8,6 +11,7 @@ import android.util.Log;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.ListView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
@@ -16,46 +20,80 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.matrix_events.R;
-import com.example.matrix_events.adapters.EventArrayAdapter;
+import com.example.matrix_events.adapters.EventSummaryArrayAdapter;
+import com.example.matrix_events.database.EventSearchDatabase;
 import com.example.matrix_events.entities.Event;
-import com.example.matrix_events.entities.Profile;
-import com.example.matrix_events.entities.ReoccurringType;
+import com.example.matrix_events.entities.EventSummary;
 import com.example.matrix_events.fragments.EventDetailFragment;
 import com.example.matrix_events.fragments.NavigationBarFragment;
-import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.managers.EventSummaryManager;
 import com.example.matrix_events.mvc.View;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.Timestamp;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Activity responsible for searching, browsing, and filtering the list of events.
  * <p>
- * This class serves as a <b>View</b> in the MVC architecture, observing the {@link EventManager}
+ * This class serves as a <b>View</b> in the MVC architecture, observing the {@link EventSummaryManager}
  * for data updates. It provides a search interface allowing users to find events based on
- * text queries and status criteria.
+ * text queries and status criteria. Rows are rendered from the compact {@link EventSummary}
+ * projections, and the full {@link Event} is only fetched when one is opened.
  * </p>
  * <p>
  * <b>Filtering Logic:</b>
  * The activity applies an "AND" condition to filters:
  * <ul>
- * <li><b>Text Search:</b> Matches against Event Name OR Location (case-insensitive).</li>
+ * <li><b>Text Search:</b> Ranked match against Event Name, Location OR Description, see {@link EventSummaryManager#searchSummaries(String)}.</li>
  * <li><b>Status Dropdown:</b> Filters by logical state (Upcoming, Registration Open, Past, or All).</li>
  * </ul>
  * </p>
+ * <p>
+ * <b>Search Pipeline:</b>
+ * Keystrokes are debounced by {@link #SEARCH_DEBOUNCE_MS} and the matching itself runs on a
+ * background executor against an immutable snapshot of the summaries. Every new query bumps a
+ * generation counter, so a search that is overtaken by newer input is cancelled and its results
+ * are discarded instead of being published. Results are only pushed to the adapter when they differ
+ * from what is already on screen.
+ * </p>
+ * <p>
+ * Queries go to the on-device {@link EventSearchDatabase} mirror, which also works at cold start and
+ * offline, and return at most {@link #MAX_RESULTS} events. Results are shown with the
+ * {@link EventSummary} from the {@link EventSummaryManager} when it has been loaded, or one built
+ * from the mirror row otherwise. If the mirror cannot be queried, the in-memory index of the
+ * {@link EventSummaryManager} is used. Neither needs a full {@link Event}, so this screen never
+ * starts the {@link com.example.matrix_events.managers.EventManager}.
+ * </p>
  */
 public class EventSearchActivity extends AppCompatActivity implements View {
 
     // Data structures
-    ArrayList<Event> allEvents;
-    ArrayList<Event> events;
-    EventArrayAdapter eventArrayAdapter;
+    List<EventSummary> allEvents;           // immutable snapshot, safe to read from the search thread
+    ArrayList<EventSummary> events;
+    EventSummaryArrayAdapter eventArrayAdapter;
 
     // State variables
     private String currentSearchQuery = "";
 
+    // Search pipeline
+    private static final String TAG = "EventSearchActivity";
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;   // events scanned between stale checks
+    private static final int MAX_RESULTS = 200;                   // rows a search database query returns
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+    private final Runnable debouncedSearch = this::filterEvents;
+    private volatile int searchGeneration = 0;
+    private Future<?> pendingSearch;
+    private EventSearchDatabase searchDatabase;
+
     // Filter Constants
     private static final String FILTER_ALL = "All Events";
     private static final String FILTER_UPCOMING = "Upcoming";
@@ -74,10 +112,10 @@ public class EventSearchActivity extends AppCompatActivity implements View {
      * <ol>
      * <li>Sets up the UI layout and edge-to-edge display.</li>
      * <li>Initializes the bottom navigation bar.</li>
-     * <li>Configures the {@link ListView} and {@link EventArrayAdapter}.</li>
+     * <li>Configures the {@link ListView} and {@link EventSummaryArrayAdapter}.</li>
      * <li>Sets up the text search listener to trigger real-time filtering.</li>
      * <li>Configures the status dropdown menu.</li>
-     * <li>Registers this activity as an observer of the {@link EventManager}.</li>
+     * <li>Registers this activity as an observer of the {@link EventSummaryManager}.</li>
      * </ol>
      * </p>
      *
@@ -107,9 +145,10 @@ public class EventSearchActivity extends AppCompatActivity implements View {
         // Initialize Lists and Adapter
         allEvents = new ArrayList<>();
         events = new ArrayList<>();
-        eventArrayAdapter = new EventArrayAdapter(getApplicationContext(), events);
+        eventArrayAdapter = new EventSummaryArrayAdapter(getApplicationContext(), events, false, null);
         ListView eventListView = findViewById(R.id.event_search_listview);
         eventListView.setAdapter(eventArrayAdapter);
+        eventListView.setOnScrollListener(eventArrayAdapter.createPosterPreloader());
 
         // Initialize Inputs
         TextInputEditText searchInput = findViewById(R.id.search_input);
@@ -124,26 +163,42 @@ public class EventSearchActivity extends AppCompatActivity implements View {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override public void onTextChanged(CharSequence s, int start, int before, int count) {
                 currentSearchQuery = s.toString();
-                filterEvents();
+                // Restart the debounce window, only the last keystroke in a burst triggers a search
+                mainThreadHandler.removeCallbacks(debouncedSearch);
+                mainThreadHandler.postDelayed(debouncedSearch, SEARCH_DEBOUNCE_MS);
             }
         });
 
         // Setup Item Click Listener (Open Event Details)
         eventListView.setOnItemClickListener(((parent, view, position, id) -> {
             Log.d("DEBUG", "event clicked");
-            Event selectedEvent = events.get(position);
-            EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent);
-            getSupportFragmentManager().beginTransaction()
-                    .replace(R.id.main, fragment)
-                    .addToBackStack(null)
-                    .commit();
+            // Results are summaries, open the full event instead
+            EventSummaryManager.getInstance().fetchEvent(events.get(position).getId()).addOnCompleteListener(task -> {
+                Event selectedEvent = task.isSuccessful() ? task.getResult() : null;
+                if (selectedEvent == null) {
+                    Toast.makeText(this, "Could not load event.", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                EventDetailFragment fragment = EventDetailFragment.newInstance(selectedEvent);
+                getSupportFragmentManager().beginTransaction()
+                        .replace(R.id.main, fragment)
+                        .addToBackStack(null)
+                        .commit();
+            });
         }));
 
+        // Attach the persistent search mirror so it is kept in sync with summary snapshots
+        searchDatabase = EventSearchDatabase.getInstance(this);
+        EventSummaryManager.getInstance().attachSearchDatabase(searchDatabase);
+
         // Initial Data Load
         update();
 
-        // Observe Event Manager
-        EventManager.getInstance().addView(this);
+        // Observe Event Summary Manager
+        EventSummaryManager.getInstance().addView(this);
     }
 
     /**
@@ -172,86 +227,238 @@ public class EventSearchActivity extends AppCompatActivity implements View {
     /**
      * Core filtering logic that updates the visible event list.
      * <p>
-     * This method iterates through the master list ({@code allEvents}) and checks each event
-     * against two criteria:
+     * This method captures the current query, status filter and event snapshot on the main thread,
+     * cancels any search still in flight, and schedules the matching on the search executor.
+     * Each event is checked against two criteria:
      * <ol>
-     * <li><b>Text Search:</b> Checks if the query string is contained within the Event Name OR Location.</li>
-     * <li><b>Status Filter:</b>
+     * <li><b>Text Search:</b> Looks the query up in the {@link EventSearchDatabase}, which matches
+     * every term against the Event Name, Location OR Description and ranks the results.</li>
+     * <li><b>Status Filter:</b> Applied by the search database, mirroring
      * <ul>
-     * <li>{@code FILTER_UPCOMING}: Uses {@link Event#isBeforeEventStart()}.</li>
-     * <li>{@code FILTER_REG_OPEN}: Uses {@link Event#isRegistrationOpen()}.</li>
-     * <li>{@code FILTER_CLOSED}: Uses {@link Event#isEventComplete()}.</li>
+     * <li>{@code FILTER_UPCOMING}: Uses {@link EventSummary#isBeforeEventStart()}.</li>
+     * <li>{@code FILTER_REG_OPEN}: Uses {@link EventSummary#isRegistrationOpen()}.</li>
+     * <li>{@code FILTER_CLOSED}: Uses {@link EventSummary#isEventComplete()}.</li>
      * </ul>
      * </li>
      * </ol>
-     * Only events satisfying <b>BOTH</b> criteria are added to the display list ({@code events}).
-     * Finally, it notifies the adapter to refresh the UI.
+     * Only events satisfying <b>BOTH</b> criteria are kept. The result is handed back to the main
+     * thread through {@link #publishResults(int, List)}, which drops it if a newer search has started.
      * </p>
      */
     private void filterEvents() {
-        events.clear();
-        String lowerQuery = currentSearchQuery.toLowerCase().trim();
+        mainThreadHandler.removeCallbacks(debouncedSearch);
 
-        for (Event e : allEvents) {
-            boolean matchesSearch = false;
-            boolean matchesFilter = false;
+        final int generation = ++searchGeneration;
+        final String query = currentSearchQuery.trim();
+        final String filterStatus = currentFilterStatus;
+        final List<EventSummary> snapshot = allEvents;
+
+        // Cancel the stale search, it would be discarded anyway
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
 
-            // 1. Check Search Text (Name or Location)
-            if (lowerQuery.isEmpty() ||
-                    e.getName().toLowerCase().contains(lowerQuery) ||
-                    e.getLocation().toLowerCase().contains(lowerQuery)) {
-                matchesSearch = true;
+        pendingSearch = searchExecutor.submit(() -> {
+            List<EventSummary> results;
+            try {
+                results = searchMirror(query, filterStatus);
+            } catch (InterruptedException e) {
+                return; // superseded by newer input
+            } catch (SQLException e) {
+                Log.e(TAG, "Search database query failed, searching in memory", e);
+                results = searchInMemory(query, filterStatus, snapshot, generation);
             }
 
-            // 2. Check Dropdown Filter
-            switch (currentFilterStatus) {
-                case FILTER_UPCOMING:
-                    matchesFilter = e.isBeforeEventStart();
-                    break;
-                case FILTER_REG_OPEN:
-                    matchesFilter = e.isRegistrationOpen();
-                    break;
-                case FILTER_CLOSED:
-                    matchesFilter = e.isEventComplete();
-                    break;
-                default:
-                    matchesFilter = true;
-                    break;
+            if (results != null && !isStale(generation)) {
+                final List<EventSummary> finalResults = results;
+                mainThreadHandler.post(() -> publishResults(generation, finalResults));
+            }
+        });
+    }
+
+    /**
+     * Runs a search against the {@link EventSearchDatabase} mirror.
+     * <p>
+     * Matches are resolved to the {@link EventSummary} held by the {@link EventSummaryManager}; events
+     * whose summary has not loaded yet are represented by one built from the mirror row.
+     * </p>
+     *
+     * @param query        The trimmed search query.
+     * @param filterStatus The selected filter constant.
+     * @return At most {@link #MAX_RESULTS} matching events, best match first.
+     * @throws InterruptedException if the search is cancelled while waiting for the database.
+     */
+    private List<EventSummary> searchMirror(String query, String filterStatus) throws InterruptedException {
+        List<EventSummary> results = new ArrayList<>();
+        for (EventSearchDatabase.Match match : searchDatabase.search(query, toStatusFilter(filterStatus), MAX_RESULTS)) {
+            EventSummary summary = EventSummaryManager.getInstance().getSummaryByDBID(match.getEventId());
+            results.add(summary != null ? summary : toPlaceholderSummary(match));
+        }
+        return results;
+    }
+
+    /**
+     * Fallback search using the in-memory index of the {@link EventSummaryManager}.
+     *
+     * @param query        The trimmed search query.
+     * @param filterStatus The selected filter constant.
+     * @param snapshot     The summaries to list when the query is empty.
+     * @param generation   The generation the search was started with.
+     * @return The matching events, or {@code null} if the search became stale.
+     */
+    private List<EventSummary> searchInMemory(String query, String filterStatus, List<EventSummary> snapshot, int generation) {
+        // 1. Check Search Text (ranked index lookup, every event when the query is empty)
+        List<EventSummary> matches = query.isEmpty() ? snapshot : EventSummaryManager.getInstance().searchSummaries(query);
+
+        List<EventSummary> results = new ArrayList<>();
+        int scanned = 0;
+
+        for (EventSummary e : matches) {
+            // Bail out early if newer input has arrived
+            if (++scanned % CANCELLATION_CHECK_INTERVAL == 0 && isStale(generation)) {
+                return null;
             }
 
-            // 3. If BOTH match, add to list
-            if (matchesSearch && matchesFilter) {
-                events.add(e);
+            // 2. Check Dropdown Filter
+            if (matchesFilter(e, filterStatus)) {
+                // 3. If BOTH match, add to list
+                results.add(e);
             }
         }
+        return results;
+    }
+
+    /**
+     * Maps a dropdown filter constant to the equivalent search database filter.
+     */
+    private static EventSearchDatabase.StatusFilter toStatusFilter(String filterStatus) {
+        switch (filterStatus) {
+            case FILTER_UPCOMING:
+                return EventSearchDatabase.StatusFilter.UPCOMING;
+            case FILTER_REG_OPEN:
+                return EventSearchDatabase.StatusFilter.REGISTRATION_OPEN;
+            case FILTER_CLOSED:
+                return EventSearchDatabase.StatusFilter.COMPLETE;
+            default:
+                return EventSearchDatabase.StatusFilter.ALL;
+        }
+    }
+
+    /**
+     * Builds a display-only summary from a search database row, for events whose summary is not loaded yet.
+     */
+    private static EventSummary toPlaceholderSummary(EventSearchDatabase.Match match) {
+        EventSummary summary = new EventSummary();
+        summary.setId(match.getEventId());
+        summary.setName(match.getName());
+        summary.setLocation(match.getLocation());
+        if (match.getEventStartMillis() > 0) {
+            summary.setEventStartDateTime(new Timestamp(new Date(match.getEventStartMillis())));
+        }
+        summary.setPosterUrl(match.getPosterUrl());
+        return summary;
+    }
+
+    /**
+     * Checks an event summary against the status dropdown selection.
+     *
+     * @param e            The summary to check.
+     * @param filterStatus The selected filter constant.
+     * @return {@code true} if the event belongs to the selected status group.
+     */
+    private static boolean matchesFilter(EventSummary e, String filterStatus) {
+        switch (filterStatus) {
+            case FILTER_UPCOMING:
+                return e.isBeforeEventStart();
+            case FILTER_REG_OPEN:
+                return e.isRegistrationOpen();
+            case FILTER_CLOSED:
+                return e.isEventComplete();
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Checks whether a search has been superseded by newer input or cancelled.
+     *
+     * @param generation The generation the search was started with.
+     * @return {@code true} if the search results should be discarded.
+     */
+    private boolean isStale(int generation) {
+        return generation != searchGeneration || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Publishes search results to the adapter on the main thread.
+     * <p>
+     * Results from an outdated generation are ignored. If the new results are identical to the
+     * list already being displayed (same events in the same order), the adapter is not notified,
+     * which avoids rebinding every visible row while the user is typing.
+     * </p>
+     *
+     * @param generation The generation the results were computed for.
+     * @param results    The filtered summaries.
+     */
+    private void publishResults(int generation, List<EventSummary> results) {
+        if (generation != searchGeneration || isDestroyed()) {
+            return;
+        }
+        if (sameEvents(events, results)) {
+            return;
+        }
+        events.clear();
+        events.addAll(results);
         eventArrayAdapter.notifyDataSetChanged();
     }
 
+    /**
+     * Compares two summary lists element by element using reference equality.
+     * <p>
+     * Reference equality is intentional: a new snapshot from the {@link EventSummaryManager} produces new
+     * {@link EventSummary} instances, which must be rebound even if their IDs have not changed.
+     * </p>
+     */
+    private static boolean sameEvents(List<EventSummary> current, List<EventSummary> next) {
+        if (current.size() != next.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i) != next.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Removes this activity from the {@link EventManager}'s observer list to prevent memory leaks.
+     * Removes this activity from the {@link EventSummaryManager}'s observer list to prevent memory leaks,
+     * drops any pending debounced search and stops the search executor.
      * </p>
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        EventManager.getInstance().removeView(this);
+        EventSummaryManager.getInstance().removeView(this);
+        mainThreadHandler.removeCallbacksAndMessages(null);
+        searchExecutor.shutdownNow();
     }
 
     /**
      * MVC Callback: Updates the list when the Model data changes.
      * <p>
-     * This method fetches the complete, fresh list of events from the {@link EventManager}.
+     * This method takes a fresh snapshot of all event summaries from the {@link EventSummaryManager}.
      * It then calls {@link #filterEvents()} to re-apply the user's current search and
      * filter criteria to the new data set.
      * </p>
      */
     @Override
     public void update() {
-        allEvents.clear();
         // Load ALL events from the Manager so we can filter them locally.
-        allEvents.addAll(EventManager.getInstance().getEvents());
+        // A new list is used rather than clearing the old one, since a search may still be reading it.
+        allEvents = new ArrayList<>(EventSummaryManager.getInstance().getSummaries());
 
         filterEvents();
     }
@@ -17,6 +17,7 @@ import androidx.fragment.app.Fragment;
 
 import com.example.matrix_events.R;
 import com.example.matrix_events.fragments.SignUpFragment;
+import com.example.matrix_events.managers.PosterManager;
 import com.example.matrix_events.managers.ProfileManager;
 
 /**
@@ -68,6 +69,11 @@ public class MainActivity extends AppCompatActivity {
 
         ProfileManager profileManager = ProfileManager.getInstance();
 
+        // finish poster uploads the app was killed in the middle of
+        if (savedInstanceState == null) {
+            PosterManager.getInstance().resumePendingUploads(this);
+        }
+
         Button loginButton = findViewById(R.id.login_button);
         Button signUpButton = findViewById(R.id.signup_button);
 
@@ -15,6 +15,7 @@ import com.example.matrix_events.adapters.NotificationArrayAdapter;
 import com.example.matrix_events.entities.Notification;
 import com.example.matrix_events.fragments.NavigationBarFragment;
 import com.example.matrix_events.managers.NotificationManager;
+import com.example.matrix_events.managers.ProfileManager;
 import com.example.matrix_events.mvc.View;
 
 import java.util.ArrayList;
@@ -85,6 +86,8 @@ public class NotificationActivity extends AppCompatActivity implements View {
 
         // Register as Observer
         NotificationManager.getInstance().addView(this);
+        // Sender and receiver names are resolved from the profile cache
+        ProfileManager.getInstance().addView(this);
     }
 
     /**
@@ -98,6 +101,7 @@ public class NotificationActivity extends AppCompatActivity implements View {
     protected void onDestroy() {
         super.onDestroy();
         NotificationManager.getInstance().removeView(this);
+        ProfileManager.getInstance().removeView(this);
     }
 
     /**
@@ -3,18 +3,26 @@ package com.example.matrix_events.activities;
 import static android.view.View.INVISIBLE;
 import static android.view.View.VISIBLE;
 
+import android.app.Activity;
+import android.content.Context;
 import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.media.Image;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.Settings;
 import android.util.Log;
 import android.widget.Button;
 import android.widget.ListView;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
@@ -22,18 +30,27 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.fragment.app.Fragment;
 
 import com.example.matrix_events.R;
-import com.example.matrix_events.adapters.EventArrayAdapter;
+import com.example.matrix_events.adapters.EventSummaryArrayAdapter;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.EventSummary;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.fragments.EventCreateFragment;
 import com.example.matrix_events.fragments.NavigationBarFragment;
 import com.example.matrix_events.fragments.OrganizerEventFragment;
-import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.managers.EventSummaryManager;
 import com.example.matrix_events.managers.ProfileManager;
 import com.example.matrix_events.mvc.View;
+import com.example.matrix_events.utils.QRCodeSheetGenerator;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.button.MaterialButton;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Activity responsible for the Organizer's dashboard view.
@@ -42,9 +59,12 @@ import java.util.ArrayList;
  * <ul>
  * <li><b>Create Events:</b> Via a floating action button that opens the {@link EventCreateFragment}.</li>
  * <li><b>Filter Events:</b> Toggle between "Registration Open" (Active) and "Registration Closed" (Past/Processing) events.</li>
+ * <li><b>Print QR Codes:</b> Save the QR codes of the listed events as one printable PDF via {@link QRCodeSheetGenerator}.</li>
  * <li><b>Navigate Roles:</b> Switch to the Entrant view or, if permissions allow, the Admin view.</li>
  * </ul>
- * It implements {@link View} to observe changes in the {@link EventManager}.
+ * The list is rendered from the compact {@link EventSummary} projections, so it implements
+ * {@link View} to observe changes in the {@link EventSummaryManager}. Full {@link Event}s are
+ * fetched through {@link EventSummaryManager#fetchEvent(String)} when one is opened or the QR codes are printed.
  * </p>
  */
 public class OrganizerMyEventsActivity extends AppCompatActivity implements View {
@@ -64,14 +84,19 @@ public class OrganizerMyEventsActivity extends AppCompatActivity implements View
     }
     private Selection selection = Selection.NotClosed;
     private String deviceId;
-    private ArrayList<Event> eventArray;
-    private EventArrayAdapter eventAdapter;
+    private ArrayList<EventSummary> eventArray;
+    private EventSummaryArrayAdapter eventAdapter;
     private TextView listTitleTextview;
     private Button createEventButton;
 
     private MaterialButton registrationNotClosedButton;
     private MaterialButton registrationClosedButton;
 
+    private ActivityResultLauncher<Intent> printQRCodesLauncher;
+    private List<EventSummary> eventsToPrint;
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
     /**
      * Called when the activity is starting.
      * <p>
@@ -109,19 +134,29 @@ public class OrganizerMyEventsActivity extends AppCompatActivity implements View
 
         // List and Adapter Setup
         eventArray = new ArrayList<>();
-        eventAdapter = new EventArrayAdapter(getApplicationContext(), eventArray);
+        eventAdapter = new EventSummaryArrayAdapter(getApplicationContext(), eventArray, false, null);
         ListView eventListview = findViewById(R.id.organizer_listview);
         eventListview.setAdapter(eventAdapter);
+        eventListview.setOnScrollListener(eventAdapter.createPosterPreloader());
 
         // Click Listener to manage specific events
         eventListview.setOnItemClickListener(((parent, view, position, id) -> {
             Log.d("DEBUG", "event clicked");
-            Event selectedEvent = eventArray.get(position);
-            OrganizerEventFragment fragment = OrganizerEventFragment.newInstance(selectedEvent);
-            getSupportFragmentManager().beginTransaction()
-                    .replace(R.id.fragment_container, fragment)
-                    .addToBackStack(null)
-                    .commit();
+            EventSummaryManager.getInstance().fetchEvent(eventArray.get(position).getId()).addOnCompleteListener(task -> {
+                Event selectedEvent = task.isSuccessful() ? task.getResult() : null;
+                if (selectedEvent == null) {
+                    Toast.makeText(this, "Could not load event.", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                OrganizerEventFragment fragment = OrganizerEventFragment.newInstance(selectedEvent);
+                getSupportFragmentManager().beginTransaction()
+                        .replace(R.id.fragment_container, fragment)
+                        .addToBackStack(null)
+                        .commit();
+            });
         }));
 
         // Go to the Entrant "My Events" Activity
@@ -171,6 +206,29 @@ public class OrganizerMyEventsActivity extends AppCompatActivity implements View
 
         listTitleTextview = findViewById(R.id.organizer_list_title_textview);
 
+        // Print the QR codes of the listed events on one sheet
+        printQRCodesLauncher = registerForActivityResult(
+                new ActivityResultContracts.StartActivityForResult(),
+                result -> {
+                    if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null && result.getData().getData() != null) {
+                        writeQRCodeSheet(result.getData().getData());
+                    }
+                }
+        );
+        Button printQRButton = findViewById(R.id.organizer_print_qr_button);
+        printQRButton.setOnClickListener(v -> {
+            if (eventArray.isEmpty()) {
+                Toast.makeText(this, "No events to print!", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            eventsToPrint = new ArrayList<>(eventArray);
+            Intent intent = new Intent(Intent.ACTION_CREATE_DOCUMENT);
+            intent.addCategory(Intent.CATEGORY_OPENABLE);
+            intent.setType("application/pdf");
+            intent.putExtra(Intent.EXTRA_TITLE, "Event_QR_Codes_" + System.currentTimeMillis() + ".pdf");
+            printQRCodesLauncher.launch(intent);
+        });
+
         // Filter Button Setup
         registrationNotClosedButton = findViewById(R.id.organizer_reg_not_closed_button);
         registrationClosedButton = findViewById(R.id.organizer_reg_closed_button);
@@ -190,20 +248,74 @@ public class OrganizerMyEventsActivity extends AppCompatActivity implements View
         updateButtonStyles();
         update();
 
-        // observe event manager
-        EventManager.getInstance().addView(this);
+        // observe the event summaries
+        EventSummaryManager.getInstance().addView(this);
     }
 
     /**
      * Cleanup method called when the activity is destroyed.
      * <p>
-     * Unregisters this activity from the {@link EventManager} to prevent memory leaks.
+     * Unregisters this activity from the {@link EventSummaryManager} to prevent memory leaks.
      * </p>
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        EventManager.getInstance().removeView(this);
+        EventSummaryManager.getInstance().removeView(this);
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Fetches the events chosen for printing, then generates their QR code sheet on a background
+     * thread and writes it to the file the user picked.
+     *
+     * @param uri The location of the PDF file to write.
+     */
+    private void writeQRCodeSheet(Uri uri) {
+        // the chosen events are lost if the activity was recreated while the file picker was open
+        final List<EventSummary> summaries = eventsToPrint != null ? eventsToPrint : new ArrayList<>(eventArray);
+        Toast.makeText(this, "Generating QR codes...", Toast.LENGTH_SHORT).show();
+
+        List<Task<Event>> fetches = new ArrayList<>();
+        for (EventSummary summary : summaries) {
+            fetches.add(EventSummaryManager.getInstance().fetchEvent(summary.getId()));
+        }
+        Tasks.whenAllComplete(fetches).addOnSuccessListener(done -> {
+            List<Event> events = new ArrayList<>();
+            for (Task<Event> fetch : fetches) {
+                if (fetch.isSuccessful() && fetch.getResult() != null) {
+                    events.add(fetch.getResult());
+                }
+            }
+            writeQRCodeSheet(uri, events);
+        });
+    }
+
+    /**
+     * Generates the QR code sheet of fetched events on a background thread.
+     *
+     * @param uri    The location of the PDF file to write.
+     * @param events The events whose QR codes are printed.
+     */
+    private void writeQRCodeSheet(Uri uri, List<Event> events) {
+        if (executorService.isShutdown()) {
+            return; // the activity was destroyed while the events were fetched
+        }
+        final Context applicationContext = getApplicationContext();
+        executorService.execute(() -> {
+            try (OutputStream outputStream = applicationContext.getContentResolver().openOutputStream(uri)) {
+                if (outputStream == null) {
+                    throw new IOException("Failed to open output stream.");
+                }
+                int codes = QRCodeSheetGenerator.generate(events, outputStream, null);
+                mainThreadHandler.post(() -> Toast.makeText(applicationContext,
+                        codes > 0 ? codes + " QR codes saved." : "None of these events has a QR code.", Toast.LENGTH_LONG).show());
+            } catch (Exception e) {
+                Log.e("OrganizerMyEvents", "Error writing QR code sheet", e);
+                mainThreadHandler.post(() -> Toast.makeText(applicationContext,
+                        "Error saving file: " + e.getLocalizedMessage(), Toast.LENGTH_LONG).show());
+            }
+        });
     }
 
     /**
@@ -245,25 +357,35 @@ public class OrganizerMyEventsActivity extends AppCompatActivity implements View
     /**
      * MVC Callback: Updates the list when the Model data changes or filter changes.
      * <p>
-     * Fetches events organized by the current user ({@code deviceId}) from the {@link EventManager}, which follows the Singleton pattern as shown below.
+     * Fetches the summaries of the events organized by the current user ({@code deviceId}) from the
+     * {@link EventSummaryManager}, which follows the Singleton pattern, and splits them as shown below.
      * <ul>
-     * <li><b>NotClosed:</b> Calls {@link EventManager#getOrganizerEventsRegistrationNotClosed(String)}.</li>
-     * <li><b>Closed:</b> Calls {@link EventManager#getOrganizerEventsRegistrationClosed(String)}.</li>
+     * <li><b>NotClosed:</b> Summaries for which {@link EventSummary#isRegistrationClosed()} is false.</li>
+     * <li><b>Closed:</b> Summaries for which {@link EventSummary#isRegistrationClosed()} is true.</li>
      * </ul>
      * </p>
      */
     @Override
     public void update() {
         eventArray.clear();
+        List<EventSummary> organized = EventSummaryManager.getInstance().getOrganizerSummaries(deviceId);
         switch (selection) {
             case NotClosed: {
                 listTitleTextview.setText("Upcoming and Registration Open");
-                eventArray.addAll(EventManager.getInstance().getOrganizerEventsRegistrationNotClosed(deviceId));
+                for (EventSummary summary : organized) {
+                    if (!summary.isRegistrationClosed()) {
+                        eventArray.add(summary);
+                    }
+                }
                 break;
             }
             case Closed: {
                 listTitleTextview.setText("Registration Closed");
-                eventArray.addAll(EventManager.getInstance().getOrganizerEventsRegistrationClosed(deviceId));
+                for (EventSummary summary : organized) {
+                    if (summary.isRegistrationClosed()) {
+                        eventArray.add(summary);
+                    }
+                }
                 break;
             }
         }
@@ -0,0 +1,223 @@
+package com.example.matrix_events.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.matrix_events.R;
+import com.example.matrix_events.entities.Profile;
+import com.example.matrix_events.managers.ProfileManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A RecyclerView Adapter for displaying the entrants of an event list by device ID.
+ * <p>
+ * Rows are keyed by device ID and diffed with {@link DiffUtil} on a background thread, so
+ * submitting a new list only rebinds the rows that changed. Profiles are not joined up front:
+ * each row shows the profile cached in {@link ProfileManager}, and {@link #resolveRange(int, int)}
+ * fetches the profiles of a window of rows in one batch, typically the visible rows plus a
+ * prefetch margin. Rows are rebound once their profiles arrive.
+ * </p>
+ * <p>
+ * The rows use the {@code item_profile_list} layout, with the same optional cancel button
+ * as {@link ProfileArrayAdapter}.
+ * </p>
+ */
+public class EntrantAdapter extends ListAdapter<String, EntrantAdapter.EntrantViewHolder> {
+    private static final String LOADING_NAME = "Loading...";
+
+    // Rebinds a row's name without redrawing the rest of it
+    private static final Object PAYLOAD_PROFILE = new Object();
+
+    private static final DiffUtil.ItemCallback<String> DIFF_CALLBACK = new DiffUtil.ItemCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            // a row only shows its device ID's profile, which is rebound separately
+            return true;
+        }
+    };
+
+    private final boolean cancelEnabled;
+    private final ProfileArrayAdapter.Listener listener;   // can be null if items are not cancellable
+
+    // Device IDs whose profiles have been requested, and those that turned out not to exist
+    private final Set<String> requestedDeviceIds = new HashSet<>();
+    private final Set<String> unknownDeviceIds = new HashSet<>();
+
+    /**
+     * Constructs a new {@code EntrantAdapter}.
+     *
+     * @param cancelEnabled {@code true} to display the cancel/remove button, {@code false} to hide it.
+     * @param listener      The callback listener to handle button clicks.
+     * Can be null if {@code cancelEnabled} is false.
+     */
+    public EntrantAdapter(boolean cancelEnabled, @Nullable ProfileArrayAdapter.Listener listener) {
+        super(DIFF_CALLBACK);
+        this.cancelEnabled = cancelEnabled;
+        this.listener = listener;
+    }
+
+    /**
+     * Resolves the profiles of the rows in a range of positions that are not cached yet.
+     * <p>
+     * The missing profiles are fetched in one batch with {@link ProfileManager#getProfilesByDeviceIds},
+     * and each device ID is requested at most once.
+     * The range is clamped to the current list.
+     * </p>
+     *
+     * @param from The first position, inclusive.
+     * @param to   The last position, inclusive.
+     */
+    public void resolveRange(int from, int to) {
+        List<String> entrants = getCurrentList();
+        from = Math.max(from, 0);
+        to = Math.min(to, entrants.size() - 1);
+
+        List<String> missing = new ArrayList<>();
+        for (int position = from; position <= to; position++) {
+            String deviceId = entrants.get(position);
+            if (ProfileManager.getInstance().getProfileByDeviceId(deviceId) == null && requestedDeviceIds.add(deviceId)) {
+                missing.add(deviceId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        ProfileManager.getInstance().getProfilesByDeviceIds(missing)
+                .addOnSuccessListener(profiles -> {
+                    for (String deviceId : missing) {
+                        if (!profiles.containsKey(deviceId)) {
+                            unknownDeviceIds.add(deviceId);
+                        }
+                    }
+                    notifyDeviceIdsChanged(new HashSet<>(missing));
+                });
+    }
+
+    /**
+     * Rebinds the rows in a range of positions to the latest cached profiles, such as after a
+     * {@link ProfileManager} update.
+     *
+     * @param from The first position, inclusive.
+     * @param to   The last position, inclusive.
+     */
+    public void refreshProfiles(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, getItemCount() - 1);
+        if (from <= to) {
+            notifyItemRangeChanged(from, to - from + 1, PAYLOAD_PROFILE);
+        }
+    }
+
+    /**
+     * Forgets which profiles have been requested and which turned out not to exist, so the next
+     * {@link #resolveRange(int, int)} asks for any uncached profile again. Called when the
+     * {@link ProfileManager} notifies its views, as profiles may have been created or deleted.
+     */
+    public void forgetResolvedProfiles() {
+        requestedDeviceIds.clear();
+        unknownDeviceIds.clear();
+    }
+
+    private void notifyDeviceIdsChanged(@NonNull Set<String> deviceIds) {
+        List<String> entrants = getCurrentList();
+        for (int position = 0; position < entrants.size(); position++) {
+            if (deviceIds.contains(entrants.get(position))) {
+                notifyItemChanged(position, PAYLOAD_PROFILE);
+            }
+        }
+    }
+
+    /**
+     * Called when RecyclerView needs a new {@link EntrantViewHolder} to represent an item.
+     * <p>
+     * This method inflates the {@code item_profile_list} layout.
+     * </p>
+     *
+     * @param parent   The ViewGroup into which the new View will be added after it is bound to an adapter position.
+     * @param viewType The view type of the new View.
+     * @return A new EntrantViewHolder that holds a View of the given view type.
+     */
+    @NonNull
+    @Override
+    public EntrantViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_profile_list, parent, false);
+        return new EntrantViewHolder(view);
+    }
+
+    /**
+     * Called by RecyclerView to display the entrant at the specified position.
+     * <p>
+     * The name comes from the cached profile. Until it has been resolved the row shows a loading
+     * placeholder, and entrants without a profile are shown as {@value Profile#UNKNOWN_NAME}.
+     * </p>
+     *
+     * @param holder   The ViewHolder which should be updated to represent the item at the given position.
+     * @param position The position of the item within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull EntrantViewHolder holder, int position) {
+        String deviceId = getItem(position);
+        bindName(holder, deviceId);
+
+        // Enable button only if the flag is set
+        holder.cancelButton.setVisibility(cancelEnabled ? View.VISIBLE : View.INVISIBLE);
+        holder.cancelButton.setOnClickListener(cancelEnabled ? v -> {
+            if (listener != null) {
+                listener.cancelProfile(deviceId);
+            }
+        } : null);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EntrantViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_PROFILE)) {
+            bindName(holder, getItem(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    private void bindName(@NonNull EntrantViewHolder holder, @NonNull String deviceId) {
+        Profile profile = ProfileManager.getInstance().getProfileByDeviceId(deviceId);
+        if (profile != null) {
+            holder.nameTextView.setText(profile.getName());
+        } else if (unknownDeviceIds.contains(deviceId)) {
+            holder.nameTextView.setText(Profile.UNKNOWN_NAME);
+        } else {
+            holder.nameTextView.setText(LOADING_NAME);
+        }
+    }
+
+    /**
+     * A ViewHolder class that holds the name and cancel button of an entrant row.
+     */
+    public static class EntrantViewHolder extends RecyclerView.ViewHolder {
+        TextView nameTextView;
+        ImageButton cancelButton;
+
+        public EntrantViewHolder(@NonNull View itemView) {
+            super(itemView);
+            nameTextView = itemView.findViewById(R.id.item_profile_list_name_textview);
+            cancelButton = itemView.findViewById(R.id.item_profile_list_cancel_button);
+        }
+    }
+}
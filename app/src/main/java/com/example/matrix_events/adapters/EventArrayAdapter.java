@@ -1,9 +1,11 @@
 package com.example.matrix_events.adapters;
 
 import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.ArrayAdapter;
 import android.widget.ImageButton;
 import android.widget.ImageView;
@@ -12,10 +14,16 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.example.matrix_events.R;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.utils.TimestampConverter;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A custom Array Adapter for displaying {@link Event} objects in a ListView.
@@ -25,14 +33,22 @@ import java.util.ArrayList;
  * image loading via Glide.
  * </p>
  * <p>
+ * Posters are loaded as their list rendition at the size of the row's image view. The scroll
+ * listener from {@link #createPosterPreloader()} fetches the same requests for rows about to
+ * scroll into view, so their posters are usually in memory by the time they are shown.
+ * </p>
+ * <p>
  * <b>Role-Based UI:</b> This adapter supports an "Admin Mode" via the {@code isAdmin} flag.
  * If set to true, it reveals administrative controls (like a Delete button) for each list item.
  * </p>
  */
 public class EventArrayAdapter extends ArrayAdapter<Event> {
+    // Rows past the visible ones whose posters are fetched ahead of scrolling
+    private static final int PRELOAD_ROWS = 6;
 
     private boolean isAdmin;
     private OnEventDeleteListener deleteListener;
+    private final ViewPreloadSizeProvider<Event> preloadSizeProvider = new ViewPreloadSizeProvider<>();
 
     /**
      * Interface definition for a callback to be invoked when an event is deleted.
@@ -136,8 +152,8 @@ public class EventArrayAdapter extends ArrayAdapter<Event> {
                 posterImageView.setVisibility(View.VISIBLE);
 
                 // Load image asynchronously
-                Glide.with(getContext())
-                        .load(event.getPoster().getImageUrl())
+                preloadSizeProvider.setView(posterImageView);
+                loadPoster(event)
                         .placeholder(R.drawable.placeholder) // placeholder while loading
                         .into(posterImageView);
             } else {
@@ -167,4 +183,44 @@ public class EventArrayAdapter extends ArrayAdapter<Event> {
 
         return convertView;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a scroll listener that fetches the posters of rows about to scroll into view.
+     * <p>
+     * The listener should be set on the {@link android.widget.ListView} showing this adapter.
+     * </p>
+     *
+     * @return The preloading scroll listener.
+     */
+    @NonNull
+    public AbsListView.OnScrollListener createPosterPreloader() {
+        ListPreloader.PreloadModelProvider<Event> provider = new ListPreloader.PreloadModelProvider<Event>() {
+            @NonNull
+            @Override
+            public List<Event> getPreloadItems(int position) {
+                Event event = position < getCount() ? getItem(position) : null;
+                if (event == null || event.getPoster() == null || event.getPoster().getImageUrl() == null) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(event);
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Event event) {
+                return loadPoster(event);
+            }
+        };
+        return new ListPreloader<>(Glide.with(getContext()), provider, preloadSizeProvider, PRELOAD_ROWS);
+    }
+
+    /**
+     * Builds the poster request of a row, shared by binding and preloading so both hit the same cache entry.
+     */
+    @NonNull
+    private RequestBuilder<Drawable> loadPoster(@NonNull Event event) {
+        return Glide.with(getContext())
+                .load(event.getPoster().getImageUrl(Poster.Rendition.LIST))
+                .centerCrop();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.matrix_events.adapters;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.ArrayAdapter;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.example.matrix_events.R;
+import com.example.matrix_events.entities.EventSummary;
+import com.example.matrix_events.utils.TimestampConverter;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A custom Array Adapter for displaying {@link EventSummary} objects in a ListView.
+ * <p>
+ * This is the summary counterpart of {@link EventArrayAdapter}: it binds the same
+ * {@code item_event} layout (Title, Date/Time, Location, Poster) from the compact projection,
+ * so a list screen can render without holding full events. Like it, it can preload the posters of
+ * rows about to scroll into view.
+ * </p>
+ * <p>
+ * <b>Role-Based UI:</b> If {@code isAdmin} is true, a Delete button is shown for each list item.
+ * </p>
+ */
+public class EventSummaryArrayAdapter extends ArrayAdapter<EventSummary> {
+    // Rows past the visible ones whose posters are fetched ahead of scrolling
+    private static final int PRELOAD_ROWS = 6;
+
+    private boolean isAdmin;
+    private OnSummaryDeleteListener deleteListener;
+    private final ViewPreloadSizeProvider<EventSummary> preloadSizeProvider = new ViewPreloadSizeProvider<>();
+
+    /**
+     * Interface definition for a callback to be invoked when an event is deleted.
+     */
+    public interface OnSummaryDeleteListener {
+        /**
+         * Called when the admin delete button is clicked for a specific event.
+         *
+         * @param summary The {@link EventSummary} associated with the clicked item.
+         */
+        void onDeleteClick(EventSummary summary);
+    }
+
+    /**
+     * Constructs a new {@code EventSummaryArrayAdapter}.
+     *
+     * @param context   The current context.
+     * @param arrayList The list of {@link EventSummary} objects to display.
+     * @param isAdmin   {@code true} to show admin-specific controls (delete button), {@code false} otherwise.
+     * @param listener  The listener to handle delete button clicks. Required if isAdmin is true.
+     */
+    public EventSummaryArrayAdapter(@NonNull Context context, @NonNull ArrayList<EventSummary> arrayList, boolean isAdmin, @Nullable OnSummaryDeleteListener listener) {
+        super(context, 0, arrayList);
+        this.isAdmin = isAdmin;
+        this.deleteListener = listener;
+    }
+
+    /**
+     * Gets a View that displays the summary at the specified position in the data set.
+     *
+     * @param position    The position of the item within the adapter's data set.
+     * @param convertView The old view to reuse, if possible.
+     * @param parent      The parent that this view will eventually be attached to.
+     * @return A View corresponding to the data at the specified position.
+     */
+    @NonNull
+    @Override
+    public View getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
+
+        if (convertView == null) {
+            convertView = LayoutInflater.from(getContext()).inflate(R.layout.item_event, parent, false);
+        }
+
+        EventSummary summary = getItem(position);
+        if (summary == null) {
+            return convertView;
+        }
+
+        TextView titleTextview = convertView.findViewById(R.id.title_textview);
+        if (titleTextview != null) {
+            titleTextview.setText(summary.getName());
+        }
+
+        TextView startDateTimeTextview = convertView.findViewById(R.id.date_time_textview);
+        if (startDateTimeTextview != null) {
+            startDateTimeTextview.setText(TimestampConverter.convertFirebaseTimestampToString(summary.getEventStartDateTime()));
+        }
+
+        TextView locationTextview = convertView.findViewById(R.id.location_textview);
+        if (locationTextview != null) {
+            locationTextview.setText(summary.getLocation());
+        }
+
+        ImageView posterImageView = convertView.findViewById(R.id.poster_imageview);
+        if (posterImageView != null) {
+            View posterContainer = (View) posterImageView.getParent();
+
+            if (summary.getPosterUrl() != null) {
+                if (posterContainer != null) {
+                    posterContainer.setVisibility(View.VISIBLE);
+                }
+                posterImageView.setVisibility(View.VISIBLE);
+
+                preloadSizeProvider.setView(posterImageView);
+                loadPoster(summary)
+                        .placeholder(R.drawable.placeholder) // placeholder while loading
+                        .into(posterImageView);
+            } else {
+                // If no poster, collapse the container to avoid empty whitespace
+                if (posterContainer != null) {
+                    posterContainer.setVisibility(View.GONE);
+                } else {
+                    posterImageView.setVisibility(View.GONE);
+                }
+            }
+        }
+
+        ImageButton deleteButton = convertView.findViewById(R.id.admin_delete_button);
+        if (deleteButton != null) {
+            if (isAdmin) {
+                deleteButton.setVisibility(View.VISIBLE);
+                deleteButton.setOnClickListener(v -> {
+                    if (deleteListener != null) {
+                        deleteListener.onDeleteClick(summary);
+                    }
+                });
+            } else {
+                deleteButton.setVisibility(View.GONE);
+            }
+        }
+
+        return convertView;
+    }
+
+    /**
+     * Creates a scroll listener that fetches the posters of rows about to scroll into view.
+     *
+     * @return The preloading scroll listener, to set on the list showing this adapter.
+     */
+    @NonNull
+    public AbsListView.OnScrollListener createPosterPreloader() {
+        ListPreloader.PreloadModelProvider<EventSummary> provider = new ListPreloader.PreloadModelProvider<EventSummary>() {
+            @NonNull
+            @Override
+            public List<EventSummary> getPreloadItems(int position) {
+                EventSummary summary = position < getCount() ? getItem(position) : null;
+                if (summary == null || summary.getPosterUrl() == null) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(summary);
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull EventSummary summary) {
+                return loadPoster(summary);
+            }
+        };
+        return new ListPreloader<>(Glide.with(getContext()), provider, preloadSizeProvider, PRELOAD_ROWS);
+    }
+
+    @NonNull
+    private RequestBuilder<Drawable> loadPoster(@NonNull EventSummary summary) {
+        return Glide.with(getContext())
+                .load(summary.getPosterUrl())
+                .centerCrop();
+    }
+}
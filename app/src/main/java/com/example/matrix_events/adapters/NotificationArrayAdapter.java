@@ -94,10 +94,10 @@ public class NotificationArrayAdapter extends ArrayAdapter<Notification> {
             String title;
             // the notification title the admin sees
             if ("admin".equals(adapterType)) {
-                title = notification.getSender().getName() + " sent to " + notification.getReceiver().getName();
+                title = notification.getSenderName() + " sent to " + notification.getReceiverName();
                 // the notification title the entrant sees
             } else {
-                title = "New message from: " + notification.getSender().getName();
+                title = "New message from: " + notification.getSenderName();
             }
             titleTextview.setText(title);
         }
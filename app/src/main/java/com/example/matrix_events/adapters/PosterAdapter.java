@@ -1,19 +1,26 @@
 package com.example.matrix_events.adapters;
 
 import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageButton;
 import android.widget.ImageView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.matrix_events.R;
 import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.managers.PosterManager;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,11 +31,18 @@ import java.util.List;
  * asynchronous image loading and interacts directly with the {@link PosterManager} singleton
  * to handle permanent deletions.
  * </p>
+ * <p>
+ * Thumbnails are requested at the size of the grid cell, and the scroll listener from
+ * {@link #createPreloader()} fetches the thumbnails of the next rows before they are shown.
+ * </p>
  */
 public class PosterAdapter extends RecyclerView.Adapter<PosterAdapter.PosterViewHolder> {
+    // Items past the visible ones whose thumbnails are fetched ahead of scrolling
+    private static final int PRELOAD_ITEMS = 8;
 
     private final Context context;
     private final List<Poster> posterList;
+    private final ViewPreloadSizeProvider<Poster> preloadSizeProvider = new ViewPreloadSizeProvider<>();
 
     /**
      * Constructs a new PosterAdapter.
@@ -65,10 +79,10 @@ public class PosterAdapter extends RecyclerView.Adapter<PosterAdapter.PosterView
      * <p>
      * This method performs two main tasks:
      * <ol>
-     * <li><b>Image Loading:</b> Uses {@link Glide} to fetch the image from the poster's URL.
+     * <li><b>Image Loading:</b> Uses {@link Glide} to fetch the poster's thumbnail rendition.
      * A placeholder (notification logo) is shown while loading.</li>
      * <li><b>Delete Logic:</b> Sets an {@code OnClickListener} on the delete button which triggers
-     * {@link PosterManager#deletePoster(Poster)}.</li>
+     * {@link PosterManager#deletePoster(Poster)} and removes the poster from the list.</li>
      * </ol>
      * </p>
      *
@@ -79,17 +93,38 @@ public class PosterAdapter extends RecyclerView.Adapter<PosterAdapter.PosterView
     public void onBindViewHolder(@NonNull PosterViewHolder holder, int position) {
         Poster poster = posterList.get(position);
 
-        Glide.with(context)
-                .load(poster.getImageUrl())
+        preloadSizeProvider.setView(holder.posterView);
+        loadThumbnail(poster)
                 .placeholder(R.drawable.ic_notification_logo) // the temp image to be replaced
                 .into(holder.posterView);
 
-        // to delete a poster
+        // to delete a poster, removing it from the grid without rebinding the other items
         holder.deleteButton.setOnClickListener(v -> {
+            int adapterPosition = holder.getBindingAdapterPosition();
+            if (adapterPosition == RecyclerView.NO_POSITION) {
+                return;
+            }
             PosterManager.getInstance().deletePoster(poster);
+            posterList.remove(adapterPosition);
+            notifyItemRemoved(adapterPosition);
         });
     }
 
+    /**
+     * Called when a view created by this adapter has been recycled.
+     * <p>
+     * Cancels the thumbnail request of the view and releases its bitmap back to Glide, so only
+     * the posters on screen hold decoded images however far the grid is scrolled.
+     * </p>
+     *
+     * @param holder The ViewHolder for the view being recycled.
+     */
+    @Override
+    public void onViewRecycled(@NonNull PosterViewHolder holder) {
+        super.onViewRecycled(holder);
+        Glide.with(context).clear(holder.posterView);
+    }
+
     /**
      * Returns the total number of items in the data set held by the adapter.
      *
@@ -100,6 +135,42 @@ public class PosterAdapter extends RecyclerView.Adapter<PosterAdapter.PosterView
         return posterList.size();
     }
 
+    /**
+     * Creates a scroll listener that fetches the thumbnails of items about to scroll into view.
+     *
+     * @return The preloading scroll listener, to add to the RecyclerView showing this adapter.
+     */
+    @NonNull
+    public RecyclerView.OnScrollListener createPreloader() {
+        ListPreloader.PreloadModelProvider<Poster> provider = new ListPreloader.PreloadModelProvider<Poster>() {
+            @NonNull
+            @Override
+            public List<Poster> getPreloadItems(int position) {
+                if (position >= posterList.size()) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(posterList.get(position));
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Poster poster) {
+                return loadThumbnail(poster);
+            }
+        };
+        return new RecyclerViewPreloader<>(Glide.with(context), provider, preloadSizeProvider, PRELOAD_ITEMS);
+    }
+
+    /**
+     * Builds the thumbnail request of a poster, shared by binding and preloading so both hit the same cache entry.
+     */
+    @NonNull
+    private RequestBuilder<Drawable> loadThumbnail(@NonNull Poster poster) {
+        return Glide.with(context)
+                .load(poster.getImageUrl(Poster.Rendition.THUMBNAIL))
+                .centerCrop();
+    }
+
     /**
      * A ViewHolder class that describes an item view and metadata about its place within the RecyclerView.
      * <p>
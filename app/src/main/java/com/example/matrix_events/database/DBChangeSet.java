@@ -0,0 +1,92 @@
+package com.example.matrix_events.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the documents that changed between two consecutive Firestore snapshots of a collection.
+ * <p>
+ * {@link DBConnector} builds a change set from {@code QuerySnapshot.getDocumentChanges()} alongside
+ * the full object list, so that listeners maintaining derived data (indexes, counters, mirrors)
+ * can update it incrementally instead of rebuilding it from the whole collection.
+ * </p>
+ * <p>
+ * On the first snapshot every document in the collection is reported as added.
+ * </p>
+ *
+ * @param <T> The type of {@link DBObject} contained in the change set.
+ */
+public class DBChangeSet<T extends DBObject> {
+    private final List<T> added = new ArrayList<>();
+    private final List<T> modified = new ArrayList<>();
+    private final List<T> removed = new ArrayList<>();
+
+    /**
+     * Records a document that was added to the collection.
+     *
+     * @param object The newly added object.
+     */
+    public void addAdded(@NonNull T object) {
+        added.add(object);
+    }
+
+    /**
+     * Records a document whose contents changed.
+     *
+     * @param object The object holding the new contents.
+     */
+    public void addModified(@NonNull T object) {
+        modified.add(object);
+    }
+
+    /**
+     * Records a document that was removed from the collection.
+     *
+     * @param object The object holding the last known contents of the removed document.
+     */
+    public void addRemoved(@NonNull T object) {
+        removed.add(object);
+    }
+
+    /**
+     * Gets the objects added since the previous snapshot.
+     *
+     * @return An unmodifiable list of added objects.
+     */
+    @NonNull
+    public List<T> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * Gets the objects whose contents changed since the previous snapshot.
+     *
+     * @return An unmodifiable list of modified objects, holding their new contents.
+     */
+    @NonNull
+    public List<T> getModified() {
+        return Collections.unmodifiableList(modified);
+    }
+
+    /**
+     * Gets the objects removed since the previous snapshot.
+     *
+     * @return An unmodifiable list of removed objects, holding their last known contents.
+     */
+    @NonNull
+    public List<T> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * Checks whether the snapshot contained any document changes.
+     *
+     * @return {@code true} if nothing was added, modified or removed.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.matrix_events.database;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+
+/**
+ * Converts an entity to and from the plain field map stored in a Firestore document.
+ * <p>
+ * By default a {@link DBConnector} maps documents with Firestore's reflective mapper, which
+ * inspects the entity's getters and setters on every document. A codec does the same
+ * conversion with plain field reads and writes, which is much cheaper when a snapshot holds
+ * thousands of documents. Codecs must use the same field names and value types as the
+ * reflective mapper, so documents written by either path can be read by the other.
+ * </p>
+ *
+ * @param <T> The type of object this codec converts, which must extend {@link DBObject}.
+ */
+public interface DBCodec<T extends DBObject> {
+
+    /**
+     * Builds an entity from the data of a Firestore document.
+     *
+     * @param data The document data, as returned by {@link com.google.firebase.firestore.DocumentSnapshot#getData()}.
+     * @return The decoded entity. Its ID is set by the caller.
+     */
+    @NonNull
+    T decode(@NonNull Map<String, Object> data);
+
+    /**
+     * Converts an entity to the data of a Firestore document.
+     *
+     * @param object The entity to convert.
+     * @return A map of field names to Firestore-compatible values.
+     */
+    @NonNull
+    Map<String, Object> encode(@NonNull T object);
+}
@@ -2,12 +2,18 @@ package com.example.matrix_events.database;
 
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A generic connector class for interacting with a Google Firestore collection.
@@ -20,7 +26,12 @@ import java.util.ArrayList;
  * Uniquely, this connector establishes a real-time {@link com.google.firebase.firestore.EventListener}
  * upon instantiation. This means the associated {@link DBListener} will be triggered
  * not only on the initial data fetch but also whenever the database contents change
- * on the server side.
+ * on the server side. Collections too large to hold in memory can be given a write-only
+ * connector instead, which attaches no listener.
+ * </p>
+ * <p>
+ * Documents are mapped with Firestore's reflective mapper, unless the connector is given a
+ * {@link DBCodec}, in which case all reads and writes go through the codec instead.
  * </p>
  *
  * @param <T> The type of object this connector will handle, which must extend {@link DBObject}.
@@ -30,13 +41,17 @@ public class DBConnector<T extends DBObject> {
 
     // Firestore collection reference
     private final CollectionReference collectionRef;
+    private final Class<T> objectType;
+    @Nullable
+    private final DBCodec<T> codec;
 
     /**
      * Constructs a DBConnector and sets up a real-time listener on a specified Firestore collection.
      * <p>
      * The listener will asynchronously provide updates to the caller via the {@link DBListener} interface.
      * When data is received, it deserializes the Firestore documents into objects of type {@code T}
-     * and automatically populates their internal ID fields.
+     * and automatically populates their internal ID fields. The document changes reported by the
+     * snapshot are passed along as a {@link DBChangeSet}, reusing the already deserialized objects.
      * </p>
      *
      * @param collection The name of the Firestore collection to connect to (e.g., "events", "users").
@@ -45,8 +60,24 @@ public class DBConnector<T extends DBObject> {
      * automatic JSON-to-Object mapping.
      */
     public DBConnector(@NonNull String collection, @NonNull DBListener<T> listener, @NonNull Class<T> objectType) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        collectionRef = db.collection(collection);
+        this(collection, listener, objectType, null);
+    }
+
+    /**
+     * Constructs a DBConnector that maps documents with a {@link DBCodec} instead of reflection.
+     * <p>
+     * Behaves exactly like {@link #DBConnector(String, DBListener, Class)}, but every document is
+     * decoded with {@link DBCodec#decode} and every write is encoded with {@link DBCodec#encode}.
+     * </p>
+     *
+     * @param collection The name of the Firestore collection to connect to (e.g., "events", "users").
+     * @param listener   The listener that will receive callbacks with the data from the collection.
+     * @param objectType The class of the object type T.
+     * @param codec      The codec converting documents to and from objects of type T.
+     */
+    public DBConnector(@NonNull String collection, @NonNull DBListener<T> listener, @NonNull Class<T> objectType,
+                       @Nullable DBCodec<T> codec) {
+        this(collection, objectType, codec);
         collectionRef
                 .addSnapshotListener((snapshots, e) -> {
                     if (e != null) {
@@ -60,17 +91,88 @@ public class DBConnector<T extends DBObject> {
                     Log.d(TAG, "FireStore collection registered an update. Reading collection of " + snapshots.size() + " documents");
 
                     ArrayList<T> objectList = new ArrayList<>();
+                    Map<String, T> objectsById = new HashMap<>();
                     for (DocumentSnapshot documentSnapshot : snapshots.getDocuments()) {
-                        T object = documentSnapshot.toObject(objectType);
+                        T object = decode(documentSnapshot);
                         if (object != null) {
                             object.setId(documentSnapshot.getId());
                             objectList.add(object);
+                            objectsById.put(documentSnapshot.getId(), object);
+                        }
+                    }
+
+                    DBChangeSet<T> changes = new DBChangeSet<>();
+                    for (DocumentChange change : snapshots.getDocumentChanges()) {
+                        String documentId = change.getDocument().getId();
+                        switch (change.getType()) {
+                            case ADDED: {
+                                T object = objectsById.get(documentId);
+                                if (object != null) changes.addAdded(object);
+                                break;
+                            }
+                            case MODIFIED: {
+                                T object = objectsById.get(documentId);
+                                if (object != null) changes.addModified(object);
+                                break;
+                            }
+                            case REMOVED: {
+                                // Removed documents are no longer in the snapshot, decode their last known state
+                                T object = decode(change.getDocument());
+                                if (object != null) {
+                                    object.setId(documentId);
+                                    changes.addRemoved(object);
+                                }
+                                break;
+                            }
                         }
                     }
-                    listener.readAllAsync_Complete(objectList);
+                    listener.readAllAsync_Complete(objectList, changes);
                 });
     }
 
+    /**
+     * Constructs a write-only DBConnector, which does not listen to the collection.
+     * <p>
+     * Documents are written exactly as by the other constructors, but nothing is read, so the
+     * owner reads the documents it needs with its own queries.
+     * </p>
+     *
+     * @param collection The name of the Firestore collection to write to.
+     * @param objectType The class of the object type T.
+     * @param codec      The codec encoding objects of type T, or {@code null} to use reflection.
+     */
+    public DBConnector(@NonNull String collection, @NonNull Class<T> objectType, @Nullable DBCodec<T> codec) {
+        this.objectType = objectType;
+        this.codec = codec;
+        collectionRef = FirebaseFirestore.getInstance().collection(collection);
+    }
+
+    /**
+     * Decodes a document with the codec, or with the reflective mapper if there is none.
+     *
+     * @param documentSnapshot The document to decode.
+     * @return The decoded object, or {@code null} if the document has no data.
+     */
+    @Nullable
+    private T decode(@NonNull DocumentSnapshot documentSnapshot) {
+        if (codec == null) {
+            return documentSnapshot.toObject(objectType);
+        }
+        Map<String, Object> data = documentSnapshot.getData();
+        return data != null ? codec.decode(data) : null;
+    }
+
+    /**
+     * Encodes an object with the codec, or leaves it to the reflective mapper if there is none.
+     *
+     * @param object The object to encode.
+     * @return The value to pass to Firestore.
+     */
+    @NonNull
+    private Object encode(@NonNull T object) {
+        return codec != null ? codec.encode(object) : object;
+    }
+
     /**
      * Asynchronously creates a new document in the Firestore collection.
      * <p>
@@ -80,16 +182,18 @@ public class DBConnector<T extends DBObject> {
      * </p>
      *
      * @param object The object to be added to the Firestore collection. Cannot be null.
+     * @return A {@link Task} completing once the document is created and its ID field is synced.
      */
-    public void createAsync(@NonNull T object) {
+    @NonNull
+    public Task<Void> createAsync(@NonNull T object) {
         Log.d(TAG, "Attempting to create document");
-        collectionRef
-                .add(object)
-                .addOnSuccessListener(documentReference -> {
+        return collectionRef
+                .add(encode(object))
+                .onSuccessTask(documentReference -> {
                     Log.d(TAG, "Document created with ID: " + documentReference.getId());
                     object.setId(documentReference.getId());
                     // Sync the generated ID back into the document fields
-                    collectionRef.document(object.getId()).update("id", object.getId());
+                    return collectionRef.document(object.getId()).update("id", object.getId());
                 })
                 .addOnFailureListener(e -> Log.w(TAG, "Error creating document", e));
     }
@@ -103,16 +207,18 @@ public class DBConnector<T extends DBObject> {
      * </p>
      *
      * @param object The object containing the updated data. Must have a non-null and non-empty ID.
+     * @return A {@link Task} completing once the document is written, failing if the object has no ID.
      */
-    public void updateAsync(@NonNull T object) {
+    @NonNull
+    public Task<Void> updateAsync(@NonNull T object) {
         Log.d(TAG, "Attempting to update document");
         if (object == null || object.getId() == null || object.getId().isEmpty()) {
             Log.w(TAG, "Cannot update object with null or empty ID");
-            return;
+            return Tasks.forException(new IllegalArgumentException("Cannot update object with null or empty ID"));
         }
-        collectionRef
+        return collectionRef
                 .document(object.getId())
-                .set(object)
+                .set(encode(object))
                 .addOnSuccessListener(command -> {
                     Log.d(TAG, "Document with ID: " + object.getId() + " successfully updated");
                 })
@@ -126,14 +232,16 @@ public class DBConnector<T extends DBObject> {
      * </p>
      *
      * @param object The object to be deleted. Must have a non-null and non-empty ID.
+     * @return A {@link Task} completing once the document is deleted, failing if the object has no ID.
      */
-    public void deleteAsync(@NonNull T object) {
+    @NonNull
+    public Task<Void> deleteAsync(@NonNull T object) {
         Log.d(TAG, "Attempting to delete document");
         if (object == null || object.getId() == null || object.getId().isEmpty()) {
             Log.w(TAG, "Cannot delete object with null or empty ID");
-            return;
+            return Tasks.forException(new IllegalArgumentException("Cannot delete object with null or empty ID"));
         }
-        collectionRef
+        return collectionRef
                 .document(object.getId())
                 .delete()
                 .addOnSuccessListener(command -> {
@@ -29,4 +29,19 @@ public interface DBListener<T extends DBObject> {
      * This list will be empty (not null) if the collection contains no documents.
      */
     void readAllAsync_Complete(@NonNull List<T> objects);
+
+    /**
+     * Called when an asynchronous read completes, together with the documents that changed.
+     * <p>
+     * {@link DBConnector} invokes this variant on every snapshot. Listeners that maintain
+     * derived data (such as lookup indexes) can override it to apply only the changed documents.
+     * By default it simply delegates to {@link #readAllAsync_Complete(List)}.
+     * </p>
+     *
+     * @param objects A list of all objects of type T currently in the collection.
+     * @param changes The objects added, modified or removed since the previous snapshot.
+     */
+    default void readAllAsync_Complete(@NonNull List<T> objects, @NonNull DBChangeSet<T> changes) {
+        readAllAsync_Complete(objects);
+    }
 }
\ No newline at end of file
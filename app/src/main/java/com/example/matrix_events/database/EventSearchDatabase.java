@@ -0,0 +1,431 @@
+package com.example.matrix_events.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.matrix_events.entities.EventSummary;
+import com.example.matrix_events.utils.EventSearchIndex;
+import com.google.firebase.Timestamp;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A persistent, on-device SQLite mirror of the searchable fields of every event.
+ * <p>
+ * The mirror consists of two tables: {@code events_meta}, holding one row per event with the
+ * few fields needed to display and filter a search result, and {@code events_fts}, an FTS4 full
+ * text table over the event name, location and description whose {@code docid} matches the
+ * meta row. Because the mirror survives restarts, search works immediately at cold start and
+ * while offline, before the {@link com.example.matrix_events.managers.EventSummaryManager} has
+ * received its first snapshot. It is filled from {@link EventSummary} documents only, so searching
+ * never needs a full event in memory.
+ * </p>
+ * <p>
+ * <b>Updates:</b> the mirror is kept current by {@link #applyAsync(DBChangeSet)} with the change
+ * set of every snapshot, and reconciled against the full collection with {@link #replaceAllAsync(List)}
+ * once per process. Rows are extracted from the summaries on the calling thread and written on a
+ * single background thread.
+ * </p>
+ * <p>
+ * <b>Queries:</b> {@link #search(String, StatusFilter, int)} runs a prefix match for every query
+ * term, applies the status filter in SQL, ranks candidates with {@code matchinfo} and returns
+ * a bounded list of lightweight {@link Match} rows. Queries run on the same background thread as
+ * the writes, queued behind them, so a search always sees every snapshot applied before it was
+ * issued. It blocks the caller and must not be called on the main thread.
+ * </p>
+ */
+public class EventSearchDatabase extends SQLiteOpenHelper {
+    private static final String TAG = "EventSearchDatabase";
+    private static final String DATABASE_NAME = "event_search.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_META = "events_meta";
+    private static final String TABLE_FTS = "events_fts";
+
+    // Upper bound on rows ranked for a single text query
+    private static final int MAX_CANDIDATES = 500;
+
+    // Rank weights of the FTS columns, in declaration order: name, location, description
+    private static final int[] COLUMN_WEIGHTS = {3, 2, 1};
+
+    private static EventSearchDatabase instance;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * The lifecycle states a search can be restricted to.
+     */
+    public enum StatusFilter {
+        /** Every event. */
+        ALL,
+        /** Events that have not started yet, see {@link EventSummary#isBeforeEventStart()}. */
+        UPCOMING,
+        /** Events currently accepting registrations, see {@link EventSummary#isRegistrationOpen()}. */
+        REGISTRATION_OPEN,
+        /** Events that have ended, see {@link EventSummary#isEventComplete()}. */
+        COMPLETE
+    }
+
+    /**
+     * A single search result, holding only what is needed to list the event.
+     */
+    public static class Match {
+        private final String eventId;
+        private final String name;
+        private final String location;
+        private final String posterUrl;
+        private final long eventStartMillis;
+
+        Match(@NonNull String eventId, String name, String location, String posterUrl, long eventStartMillis) {
+            this.eventId = eventId;
+            this.name = name;
+            this.location = location;
+            this.posterUrl = posterUrl;
+            this.eventStartMillis = eventStartMillis;
+        }
+
+        /** @return The Firestore document ID of the event. */
+        @NonNull
+        public String getEventId() { return eventId; }
+
+        /** @return The event name. */
+        public String getName() { return name; }
+
+        /** @return The event location. */
+        public String getLocation() { return location; }
+
+        /** @return The poster image URL, or {@code null} if the event has no poster. */
+        @Nullable
+        public String getPosterUrl() { return posterUrl; }
+
+        /** @return The event start time in epoch milliseconds, or 0 if unknown. */
+        public long getEventStartMillis() { return eventStartMillis; }
+    }
+
+    /**
+     * Gets the process-wide instance of the search database.
+     *
+     * @param context Any context, only its application context is retained.
+     * @return The shared {@code EventSearchDatabase}.
+     */
+    public static synchronized EventSearchDatabase getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new EventSearchDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private EventSearchDatabase(@NonNull Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_META + " ("
+                + "_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "event_id TEXT NOT NULL UNIQUE, "
+                + "name TEXT, "
+                + "location TEXT, "
+                + "poster_url TEXT, "
+                + "event_start INTEGER NOT NULL DEFAULT 0, "
+                + "complete_at INTEGER NOT NULL DEFAULT 0, "
+                + "registration_opened INTEGER NOT NULL DEFAULT 0, "
+                + "lottery_processed INTEGER NOT NULL DEFAULT 0, "
+                + "pending_expired INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE VIRTUAL TABLE " + TABLE_FTS
+                + " USING fts4(name, location, description, tokenize=unicode61, prefix=\"2,3\")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The mirror can always be rebuilt from Firestore, so simply start over
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_META);
+        onCreate(db);
+    }
+
+    /**
+     * Asynchronously applies the changes of a single snapshot to the mirror.
+     *
+     * @param changes The event summaries added, modified or removed since the previous snapshot.
+     */
+    public void applyAsync(@NonNull DBChangeSet<EventSummary> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        final List<Row> upserts = new ArrayList<>();
+        for (EventSummary summary : changes.getAdded()) addRow(upserts, summary);
+        for (EventSummary summary : changes.getModified()) addRow(upserts, summary);
+        final List<String> removals = new ArrayList<>();
+        for (EventSummary summary : changes.getRemoved()) {
+            if (summary.getId() != null) removals.add(summary.getId());
+        }
+
+        executor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (String eventId : removals) delete(db, eventId);
+                for (Row row : upserts) upsert(db, row);
+                db.setTransactionSuccessful();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to apply event changes to search database", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Asynchronously replaces the whole mirror with the given event summaries.
+     * <p>
+     * Used for the first snapshot after launch, which only reports the events that exist,
+     * so that events deleted while the app was not running are dropped from the mirror.
+     * </p>
+     *
+     * @param summaries The complete list of event summaries.
+     */
+    public void replaceAllAsync(@NonNull List<EventSummary> summaries) {
+        final List<Row> rows = new ArrayList<>();
+        for (EventSummary summary : summaries) addRow(rows, summary);
+
+        executor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(TABLE_FTS, null, null);
+                db.delete(TABLE_META, null, null);
+                for (Row row : rows) upsert(db, row);
+                db.setTransactionSuccessful();
+                Log.d(TAG, "Search database rebuilt with " + rows.size() + " events");
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to rebuild search database", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Searches the mirror once all pending writes have been applied. Must be called from a background thread.
+     *
+     * @param query  The raw user query. A blank query lists events by start time.
+     * @param filter The lifecycle state to restrict results to.
+     * @param limit  The maximum number of results to return.
+     * @return Up to {@code limit} matches, best match first.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     * @throws android.database.SQLException if the query fails.
+     */
+    @NonNull
+    public List<Match> search(@NonNull String query, @NonNull StatusFilter filter, int limit) throws InterruptedException {
+        try {
+            return executor.submit(() -> runSearch(query, filter, limit)).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @NonNull
+    private List<Match> runSearch(@NonNull String query, @NonNull StatusFilter filter, int limit) {
+        List<String> terms = EventSearchIndex.tokenize(query);
+        List<String> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(filterClause(filter, args));
+
+        SQLiteDatabase db = getReadableDatabase();
+        if (terms.isEmpty()) {
+            String sql = "SELECT event_id, name, location, poster_url, event_start FROM " + TABLE_META
+                    + (where.length() > 0 ? " WHERE " + where : "")
+                    + " ORDER BY event_start, name LIMIT " + limit;
+            List<Match> matches = new ArrayList<>();
+            try (Cursor cursor = db.rawQuery(sql, args.toArray(new String[0]))) {
+                while (cursor.moveToNext()) {
+                    matches.add(readMatch(cursor));
+                }
+            }
+            return matches;
+        }
+
+        // Every term must match the start of a word, e.g. "gal* hal*"
+        StringBuilder matchExpression = new StringBuilder();
+        for (String term : terms) {
+            if (matchExpression.length() > 0) matchExpression.append(' ');
+            matchExpression.append(term).append('*');
+        }
+        args.add(0, matchExpression.toString());
+
+        String sql = "SELECT m.event_id, m.name, m.location, m.poster_url, m.event_start, matchinfo(" + TABLE_FTS + ", 'pcx')"
+                + " FROM " + TABLE_FTS + " JOIN " + TABLE_META + " m ON m._id = " + TABLE_FTS + ".docid"
+                + " WHERE " + TABLE_FTS + " MATCH ?"
+                + (where.length() > 0 ? " AND " + where : "")
+                + " LIMIT " + MAX_CANDIDATES;
+
+        List<Match> matches = new ArrayList<>();
+        final List<Integer> scores = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery(sql, args.toArray(new String[0]))) {
+            while (cursor.moveToNext()) {
+                matches.add(readMatch(cursor));
+                scores.add(score(cursor.getBlob(5)));
+            }
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) order.add(i);
+        final List<Match> unsorted = matches;
+        Collections.sort(order, (a, b) -> {
+            int byScore = Integer.compare(scores.get(b), scores.get(a));
+            if (byScore != 0) return byScore;
+            String nameA = unsorted.get(a).getName() == null ? "" : unsorted.get(a).getName();
+            String nameB = unsorted.get(b).getName() == null ? "" : unsorted.get(b).getName();
+            return nameA.compareToIgnoreCase(nameB);
+        });
+
+        List<Match> ranked = new ArrayList<>();
+        for (int i = 0; i < order.size() && i < limit; i++) {
+            ranked.add(matches.get(order.get(i)));
+        }
+        return ranked;
+    }
+
+    /**
+     * Builds the SQL condition for a status filter, mirroring the checks in {@link EventSummary}.
+     */
+    @NonNull
+    private static String filterClause(@NonNull StatusFilter filter, @NonNull List<String> args) {
+        switch (filter) {
+            case UPCOMING:
+                return "pending_expired = 0";
+            case REGISTRATION_OPEN:
+                return "registration_opened = 1 AND lottery_processed = 0";
+            case COMPLETE:
+                args.add(String.valueOf(System.currentTimeMillis()));
+                return "complete_at < ?";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Scores a row from its {@code matchinfo(..., 'pcx')} blob: the number of hits of every
+     * phrase in every column, weighted by column.
+     */
+    private static int score(@Nullable byte[] matchInfo) {
+        if (matchInfo == null) return 0;
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        int score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < COLUMN_WEIGHTS.length; column++) {
+                int hitsInRow = buffer.getInt(4 * (2 + 3 * (phrase * columns + column)));
+                score += hitsInRow * COLUMN_WEIGHTS[column];
+            }
+        }
+        return score;
+    }
+
+    @NonNull
+    private static Match readMatch(@NonNull Cursor cursor) {
+        return new Match(cursor.getString(0), cursor.getString(1), cursor.getString(2),
+                cursor.getString(3), cursor.getLong(4));
+    }
+
+    private static void upsert(@NonNull SQLiteDatabase db, @NonNull Row row) {
+        ContentValues meta = new ContentValues();
+        meta.put("event_id", row.eventId);
+        meta.put("name", row.name);
+        meta.put("location", row.location);
+        meta.put("poster_url", row.posterUrl);
+        meta.put("event_start", row.eventStart);
+        meta.put("complete_at", row.completeAt);
+        meta.put("registration_opened", row.registrationOpened ? 1 : 0);
+        meta.put("lottery_processed", row.lotteryProcessed ? 1 : 0);
+        meta.put("pending_expired", row.pendingExpired ? 1 : 0);
+
+        ContentValues text = new ContentValues();
+        text.put("name", row.name);
+        text.put("location", row.location);
+        text.put("description", row.description);
+
+        long docId = findDocId(db, row.eventId);
+        if (docId < 0) {
+            docId = db.insertOrThrow(TABLE_META, null, meta);
+            text.put("docid", docId);
+            db.insertOrThrow(TABLE_FTS, null, text);
+        } else {
+            String[] whereArgs = {String.valueOf(docId)};
+            db.update(TABLE_META, meta, "_id = ?", whereArgs);
+            db.update(TABLE_FTS, text, "docid = ?", whereArgs);
+        }
+    }
+
+    private static void delete(@NonNull SQLiteDatabase db, @NonNull String eventId) {
+        long docId = findDocId(db, eventId);
+        if (docId < 0) return;
+        String[] whereArgs = {String.valueOf(docId)};
+        db.delete(TABLE_FTS, "docid = ?", whereArgs);
+        db.delete(TABLE_META, "_id = ?", whereArgs);
+    }
+
+    private static long findDocId(@NonNull SQLiteDatabase db, @NonNull String eventId) {
+        try (Cursor cursor = db.rawQuery("SELECT _id FROM " + TABLE_META + " WHERE event_id = ?", new String[]{eventId})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+
+    private static void addRow(@NonNull List<Row> rows, @NonNull EventSummary summary) {
+        if (summary.getId() != null) {
+            rows.add(new Row(summary));
+        }
+    }
+
+    private static long toMillis(@Nullable Timestamp timestamp) {
+        return timestamp == null ? 0 : timestamp.toDate().getTime();
+    }
+
+    /**
+     * An immutable copy of the mirrored fields of a summary, taken on the calling thread so that
+     * the write thread never reads a live {@link EventSummary}.
+     */
+    private static class Row {
+        final String eventId;
+        final String name;
+        final String location;
+        final String description;
+        final String posterUrl;
+        final long eventStart;
+        final long completeAt;
+        final boolean registrationOpened;
+        final boolean lotteryProcessed;
+        final boolean pendingExpired;
+
+        Row(@NonNull EventSummary summary) {
+            eventId = summary.getId();
+            name = summary.getName();
+            location = summary.getLocation();
+            description = summary.getDescription();
+            posterUrl = summary.getPosterUrl();
+            eventStart = toMillis(summary.getEventStartDateTime());
+            completeAt = summary.getCompletionDateTime() != null ? toMillis(summary.getCompletionDateTime()) : Long.MAX_VALUE;
+            registrationOpened = summary.isRegistrationOpened();
+            lotteryProcessed = summary.isLotteryProcessed();
+            pendingExpired = summary.isPendingExpired();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.matrix_events.database.codecs;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBCodec;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.ReoccurringType;
+import com.google.firebase.firestore.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reflection-free {@link DBCodec} for {@link Event}. The poster is converted with a
+ * {@link PosterCodec}; the organizer is stored as a device ID reference.
+ * <p>
+ * Field names follow the reflective mapper, which names properties after their getters: the
+ * reoccurring flag is stored as {@code reoccurring} and the geolocation requirement as
+ * {@code geolocationTrackingRequired}. Events written before organizers were stored as
+ * references still embed the whole organizer profile, from which only the device ID is read.
+ * </p>
+ */
+public class EventCodec implements DBCodec<Event> {
+    private final PosterCodec posterCodec = new PosterCodec();
+
+    /**
+     * Builds an event from document data.
+     *
+     * @param data The document data.
+     * @return The decoded {@link Event}.
+     */
+    @NonNull
+    @Override
+    public Event decode(@NonNull Map<String, Object> data) {
+        Event event = new Event();
+        event.setId(Fields.getString(data, "id"));
+        event.setName(Fields.getString(data, "name"));
+        event.setDescription(Fields.getString(data, "description"));
+        event.setOrganizerDeviceId(Fields.getReference(data, "organizerDeviceId", "organizer"));
+        event.setLocation(Fields.getString(data, "location"));
+        event.setEventStartDateTime(Fields.getTimestamp(data, "eventStartDateTime"));
+        event.setEventEndDateTime(Fields.getTimestamp(data, "eventEndDateTime"));
+        event.setEventCapacity(Fields.getInteger(data, "eventCapacity"));
+        event.setWaitlistCapacity(Fields.getInteger(data, "waitlistCapacity"));
+        event.setRegistrationStartDateTime(Fields.getTimestamp(data, "registrationStartDateTime"));
+        event.setRegistrationEndDateTime(Fields.getTimestamp(data, "registrationEndDateTime"));
+        event.setReoccurring(Fields.getBoolean(data, "reoccurring", false));
+        event.setReoccurringEndDateTime(Fields.getTimestamp(data, "reoccurringEndDateTime"));
+        event.setReoccurringType(decodeReoccurringType(Fields.getString(data, "reoccurringType")));
+        event.setRequireGeolocationTracking(Fields.getBoolean(data, "geolocationTrackingRequired", true));
+        event.setGeolocationMap(decodeGeolocationMap(Fields.getMap(data, "geolocationMap")));
+        Map<String, Object> poster = Fields.getMap(data, "poster");
+        event.setPoster(poster != null ? posterCodec.decode(poster) : null);
+        event.setQrCodeHash(Fields.getString(data, "qrCodeHash"));
+        event.setWaitList(Fields.getStringList(data, "waitList"));
+        event.setPendingList(Fields.getStringList(data, "pendingList"));
+        event.setAcceptedList(Fields.getStringList(data, "acceptedList"));
+        event.setDeclinedList(Fields.getStringList(data, "declinedList"));
+        event.setRegistrationOpened(Fields.getBoolean(data, "registrationOpened", false));
+        event.setLotteryProcessed(Fields.getBoolean(data, "lotteryProcessed", false));
+        event.setPendingExpired(Fields.getBoolean(data, "pendingExpired", false));
+        event.setEntrantSubcollection(Fields.getBoolean(data, "entrantSubcollection", false));
+        event.setWaitlistCount(Fields.getInt(data, "waitlistCount", 0));
+        event.setPendingCount(Fields.getInt(data, "pendingCount", 0));
+        event.setAcceptedCount(Fields.getInt(data, "acceptedCount", 0));
+        event.setDeclinedCount(Fields.getInt(data, "declinedCount", 0));
+        event.setWaitlistShards(Fields.getInt(data, "waitlistShards", 0));
+        return event;
+    }
+
+    /**
+     * Converts an event to document data.
+     *
+     * @param event The event to convert.
+     * @return The document data.
+     */
+    @NonNull
+    @Override
+    public Map<String, Object> encode(@NonNull Event event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", event.getId());
+        data.put("name", event.getName());
+        data.put("description", event.getDescription());
+        data.put("organizerDeviceId", event.getOrganizerDeviceId());
+        data.put("location", event.getLocation());
+        data.put("eventStartDateTime", event.getEventStartDateTime());
+        data.put("eventEndDateTime", event.getEventEndDateTime());
+        data.put("eventCapacity", event.getEventCapacity());
+        data.put("waitlistCapacity", event.getWaitlistCapacity());
+        data.put("registrationStartDateTime", event.getRegistrationStartDateTime());
+        data.put("registrationEndDateTime", event.getRegistrationEndDateTime());
+        data.put("reoccurring", event.isReoccurring());
+        data.put("reoccurringEndDateTime", event.getReoccurringEndDateTime());
+        data.put("reoccurringType", event.getReoccurringType() != null ? event.getReoccurringType().name() : null);
+        data.put("geolocationTrackingRequired", event.isGeolocationTrackingRequired());
+        data.put("geolocationMap", event.getGeolocationMap() != null ? new HashMap<>(event.getGeolocationMap()) : null);
+        data.put("poster", event.getPoster() != null ? posterCodec.encode(event.getPoster()) : null);
+        data.put("qrCodeHash", event.getQrCodeHash());
+        data.put("waitList", new ArrayList<>(event.getWaitList()));
+        data.put("pendingList", new ArrayList<>(event.getPendingList()));
+        data.put("acceptedList", new ArrayList<>(event.getAcceptedList()));
+        data.put("declinedList", new ArrayList<>(event.getDeclinedList()));
+        data.put("registrationOpened", event.isRegistrationOpened());
+        data.put("lotteryProcessed", event.isLotteryProcessed());
+        data.put("pendingExpired", event.isPendingExpired());
+        data.put("entrantSubcollection", event.isEntrantSubcollection());
+        data.put("waitlistCount", event.getWaitlistCount());
+        data.put("pendingCount", event.getPendingCount());
+        data.put("acceptedCount", event.getAcceptedCount());
+        data.put("declinedCount", event.getDeclinedCount());
+        data.put("waitlistShards", event.getWaitlistShards());
+        return data;
+    }
+
+    private static ReoccurringType decodeReoccurringType(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return ReoccurringType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static HashMap<String, GeoPoint> decodeGeolocationMap(Map<String, Object> map) {
+        HashMap<String, GeoPoint> geolocationMap = new HashMap<>();
+        if (map == null) {
+            return geolocationMap;
+        }
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getValue() instanceof GeoPoint) {
+                geolocationMap.put(entry.getKey(), (GeoPoint) entry.getValue());
+            }
+        }
+        return geolocationMap;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.matrix_events.database.codecs;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed reads of Firestore document fields shared by the codecs.
+ * <p>
+ * Firestore returns every integer as a {@link Long} and every nested object as a map, so these
+ * helpers narrow the values the same way the reflective mapper does, and treat a missing or
+ * mistyped field as absent instead of throwing.
+ * </p>
+ */
+final class Fields {
+
+    private Fields() {}
+
+    @Nullable
+    static String getString(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    @Nullable
+    static Integer getInteger(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).intValue() : null;
+    }
+
+    static int getInt(@NonNull Map<String, Object> data, @NonNull String field, int defaultValue) {
+        Integer value = getInteger(data, field);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    static Long getLong(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    @Nullable
+    static Boolean getBoolean(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof Boolean ? (Boolean) value : null;
+    }
+
+    static boolean getBoolean(@NonNull Map<String, Object> data, @NonNull String field, boolean defaultValue) {
+        Boolean value = getBoolean(data, field);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    static Timestamp getTimestamp(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof Timestamp ? (Timestamp) value : null;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> getMap(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    /**
+     * Reads a profile reference, falling back to the device ID of a legacy embedded profile.
+     */
+    @Nullable
+    static String getReference(@NonNull Map<String, Object> data, @NonNull String field, @NonNull String legacyField) {
+        String deviceId = getString(data, field);
+        if (deviceId != null) {
+            return deviceId;
+        }
+        Map<String, Object> embedded = getMap(data, legacyField);
+        return embedded != null ? getString(embedded, "deviceId") : null;
+    }
+
+    @NonNull
+    static List<String> getStringList(@NonNull Map<String, Object> data, @NonNull String field) {
+        Object value = data.get(field);
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<?> items = (List<?>) value;
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof String) {
+                strings.add((String) item);
+            }
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.matrix_events.database.codecs;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBCodec;
+import com.example.matrix_events.entities.Notification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reflection-free {@link DBCodec} for {@link Notification}. The sender and receiver are stored
+ * as device ID references; notifications written before that embed whole profiles, from which
+ * only the device IDs are read.
+ */
+public class NotificationCodec implements DBCodec<Notification> {
+
+    /**
+     * Builds a notification from document data.
+     *
+     * @param data The document data.
+     * @return The decoded {@link Notification}.
+     */
+    @NonNull
+    @Override
+    public Notification decode(@NonNull Map<String, Object> data) {
+        Notification notification = new Notification();
+        notification.setId(Fields.getString(data, "id"));
+        notification.setSenderDeviceId(Fields.getReference(data, "senderDeviceId", "sender"));
+        notification.setReceiverDeviceId(Fields.getReference(data, "receiverDeviceId", "receiver"));
+        notification.setMessage(Fields.getString(data, "message"));
+        notification.setTimestamp(Fields.getTimestamp(data, "timestamp"));
+        notification.setReadFlag(Fields.getBoolean(data, "readFlag", false));
+        return notification;
+    }
+
+    /**
+     * Converts a notification to document data.
+     *
+     * @param notification The notification to convert.
+     * @return The document data.
+     */
+    @NonNull
+    @Override
+    public Map<String, Object> encode(@NonNull Notification notification) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", notification.getId());
+        data.put("senderDeviceId", notification.getSenderDeviceId());
+        data.put("receiverDeviceId", notification.getReceiverDeviceId());
+        data.put("message", notification.getMessage());
+        data.put("timestamp", notification.getTimestamp());
+        data.put("readFlag", notification.getReadFlag());
+        return data;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.matrix_events.database.codecs;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBCodec;
+import com.example.matrix_events.entities.Poster;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reflection-free {@link DBCodec} for {@link Poster}, used for the 'posters' collection and
+ * for the posters embedded in events.
+ */
+public class PosterCodec implements DBCodec<Poster> {
+
+    /**
+     * Builds a poster from document data.
+     *
+     * @param data The document data.
+     * @return The decoded {@link Poster}.
+     */
+    @NonNull
+    @Override
+    public Poster decode(@NonNull Map<String, Object> data) {
+        Poster poster = new Poster();
+        poster.setId(Fields.getString(data, "id"));
+        poster.setImageUrl(Fields.getString(data, "imageUrl"));
+        poster.setEventId(Fields.getString(data, "eventId"));
+        poster.setFileName(Fields.getString(data, "fileName"));
+        poster.setSizeBytes(Fields.getLong(data, "sizeBytes"));
+        Map<String, Object> renditions = Fields.getMap(data, "renditionUrls");
+        if (renditions != null) {
+            HashMap<String, String> renditionUrls = new HashMap<>();
+            for (Map.Entry<String, Object> entry : renditions.entrySet()) {
+                if (entry.getValue() instanceof String) {
+                    renditionUrls.put(entry.getKey(), (String) entry.getValue());
+                }
+            }
+            poster.setRenditionUrls(renditionUrls);
+        }
+        return poster;
+    }
+
+    /**
+     * Converts a poster to document data.
+     *
+     * @param poster The poster to convert.
+     * @return The document data.
+     */
+    @NonNull
+    @Override
+    public Map<String, Object> encode(@NonNull Poster poster) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", poster.getId());
+        data.put("imageUrl", poster.getImageUrl());
+        data.put("eventId", poster.getEventId());
+        data.put("fileName", poster.getFileName());
+        data.put("sizeBytes", poster.getSizeBytes());
+        data.put("renditionUrls", poster.getRenditionUrls());
+        return data;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.matrix_events.database.codecs;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBCodec;
+import com.example.matrix_events.entities.Profile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reflection-free {@link DBCodec} for {@link Profile}, used for the 'profiles' collection.
+ */
+public class ProfileCodec implements DBCodec<Profile> {
+
+    /**
+     * Builds a profile from document data.
+     *
+     * @param data The document data.
+     * @return The decoded {@link Profile}.
+     */
+    @NonNull
+    @Override
+    public Profile decode(@NonNull Map<String, Object> data) {
+        Profile profile = new Profile();
+        profile.setId(Fields.getString(data, "id"));
+        profile.setName(Fields.getString(data, "name"));
+        profile.setEmail(Fields.getString(data, "email"));
+        profile.setPhoneNumber(Fields.getString(data, "phoneNumber"));
+        profile.setDeviceId(Fields.getString(data, "deviceId"));
+        profile.setProfilePictureUrl(Fields.getString(data, "profilePictureUrl"));
+        profile.setAdminPushNotifications(Fields.getBoolean(data, "adminPushNotifications", true));
+        profile.setOrganizerPushNotifications(Fields.getBoolean(data, "organizerPushNotifications", true));
+        profile.setAdmin(Fields.getBoolean(data, "admin", false));
+        return profile;
+    }
+
+    /**
+     * Converts a profile to document data.
+     *
+     * @param profile The profile to convert.
+     * @return The document data.
+     */
+    @NonNull
+    @Override
+    public Map<String, Object> encode(@NonNull Profile profile) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", profile.getId());
+        data.put("name", profile.getName());
+        data.put("email", profile.getEmail());
+        data.put("phoneNumber", profile.getPhoneNumber());
+        data.put("deviceId", profile.getDeviceId());
+        data.put("profilePictureUrl", profile.getProfilePictureUrl());
+        data.put("adminPushNotifications", profile.isAdminPushNotifications());
+        data.put("organizerPushNotifications", profile.isOrganizerPushNotifications());
+        data.put("admin", profile.isAdmin());
+        return data;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.matrix_events.entities;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBObject;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.GeoPoint;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Represents one entrant of an event whose entrants are stored in a subcollection.
+ * <p>
+ * For events with {@link Event#isEntrantSubcollection()} set, each entrant is a document in
+ * {@code events/{eventId}/entrants/{deviceId}} instead of an entry in the event's lists, so the
+ * event document stays the same size however many users join. The entrant's {@link Status} says
+ * which list it is on, and the event keeps a denormalized count per status.
+ * </p>
+ * <p>
+ * This class extends {@link DBObject} to be compatible with the Firestore database; its ID is
+ * the entrant's device ID.
+ * </p>
+ */
+public class Entrant extends DBObject implements Serializable {
+
+    /**
+     * The list of an event an entrant is on.
+     */
+    public enum Status {
+        WAITLIST("waitlistCount"),
+        PENDING("pendingCount"),
+        ACCEPTED("acceptedCount"),
+        DECLINED("declinedCount");
+
+        private final String countField;
+
+        Status(String countField) {
+            this.countField = countField;
+        }
+
+        /**
+         * Gets the name of the {@link Event} field that counts the entrants with this status.
+         *
+         * @return The Firestore field name of the count.
+         */
+        @NonNull
+        public String getCountField() {
+            return countField;
+        }
+    }
+
+    private String deviceId;
+    private Status status;
+    private transient Timestamp joinedAt;
+    private transient GeoPoint location;                   // can be null if not tracked
+    private Integer shard;                                  // waitlist shard holding this entrant's slot, null if unsharded
+
+    /**
+     * Default constructor required for Firestore data mapping.
+     */
+    public Entrant() {}
+
+    /**
+     * Constructs a new Entrant object.
+     *
+     * @param deviceId The device ID of the entrant. Cannot be null.
+     * @param status   The list the entrant is on. Cannot be null.
+     * @param joinedAt The time the entrant joined the event. Cannot be null.
+     * @param location Where the entrant joined from. Can be null if geolocation is not tracked.
+     */
+    public Entrant(@NonNull String deviceId, @NonNull Status status, @NonNull Timestamp joinedAt, GeoPoint location) {
+        this.deviceId = deviceId;
+        this.status = status;
+        this.joinedAt = joinedAt;
+        this.location = location;
+        setId(deviceId);
+    }
+
+    /**
+     * Gets the device ID of the entrant.
+     * @return The device ID.
+     */
+    public String getDeviceId() { return deviceId; }
+
+    /**
+     * Sets the device ID of the entrant.
+     * @param deviceId The device ID. Cannot be null.
+     */
+    public void setDeviceId(@NonNull String deviceId) { this.deviceId = deviceId; }
+
+    /**
+     * Gets the list the entrant is on.
+     * @return The entrant's status.
+     */
+    public Status getStatus() { return status; }
+
+    /**
+     * Sets the list the entrant is on.
+     * @param status The new status. Cannot be null.
+     */
+    public void setStatus(@NonNull Status status) { this.status = status; }
+
+    /**
+     * Gets the time the entrant joined the event.
+     * @return The join timestamp.
+     */
+    public Timestamp getJoinedAt() { return joinedAt; }
+
+    /**
+     * Sets the time the entrant joined the event.
+     * @param joinedAt The join timestamp. Cannot be null.
+     */
+    public void setJoinedAt(@NonNull Timestamp joinedAt) { this.joinedAt = joinedAt; }
+
+    /**
+     * Gets where the entrant joined the event from.
+     * @return The location, or null if it was not tracked.
+     */
+    public GeoPoint getLocation() { return location; }
+
+    /**
+     * Sets where the entrant joined the event from.
+     * @param location The location, can be null.
+     */
+    public void setLocation(GeoPoint location) { this.location = location; }
+
+    /**
+     * Gets the waitlist capacity shard this entrant took its slot from.
+     * @return The shard index, or null if the waitlist was not sharded when the entrant joined.
+     */
+    public Integer getShard() { return shard; }
+
+    /**
+     * Sets the waitlist capacity shard this entrant took its slot from.
+     * @param shard The shard index, can be null.
+     */
+    public void setShard(Integer shard) { this.shard = shard; }
+
+    /**
+     * Custom serialization logic to handle the Firebase {@link Timestamp} and {@link GeoPoint} fields,
+     * which are not {@code Serializable}.
+     *
+     * @param out The {@link java.io.ObjectOutputStream} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeLong(joinedAt != null ? joinedAt.toDate().getTime() : -1L);
+        out.writeBoolean(location != null);
+        if (location != null) {
+            out.writeDouble(location.getLatitude());
+            out.writeDouble(location.getLongitude());
+        }
+    }
+
+    /**
+     * Custom deserialization logic to reconstruct the Firebase {@link Timestamp} and {@link GeoPoint} fields.
+     *
+     * @param in The {@link java.io.ObjectInputStream} to read from.
+     * @throws IOException            If an I/O error occurs.
+     * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+     */
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        long joined = in.readLong();
+        joinedAt = joined != -1L ? new Timestamp(new java.util.Date(joined)) : null;
+        location = in.readBoolean() ? new GeoPoint(in.readDouble(), in.readDouble()) : null;
+    }
+}
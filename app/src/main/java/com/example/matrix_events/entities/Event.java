@@ -7,13 +7,14 @@ import androidx.annotation.NonNull;
 import com.example.matrix_events.database.DBObject;
 import com.example.matrix_events.managers.NotificationManager;
 import com.example.matrix_events.managers.ProfileManager;
+import com.example.matrix_events.utils.EntrantList;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.Exclude;
 import com.google.firebase.firestore.GeoPoint;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,11 +27,23 @@ import java.util.Map;
  * It holds all the details about an event, including its name, description, organizer,
  * location, timing, capacity, and attendee lists.
  * </p>
+ * <p>
+ * The attendee lists are stored as {@link EntrantList}s, so checking, adding and removing a
+ * device ID takes constant time while Firestore still reads and writes them as ordinary arrays.
+ * </p>
+ * <p>
+ * For very popular events the lists can instead be kept out of the document: with
+ * {@link #isEntrantSubcollection()} set, every entrant is an {@link Entrant} document in the
+ * {@code entrants} subcollection, the lists and geolocation map stay empty, and the event only
+ * holds a count per list. Such entrants are loaded and moved through the
+ * {@link com.example.matrix_events.managers.EventManager}, not the list mechanics below.
+ * </p>
  */
 public class Event extends DBObject implements Serializable {
     private String name;
     private String description;
-    private Profile organizer;
+    private String organizerDeviceId;
+    private Profile organizer;                              // organizer profile given on construction, not stored
     private String location;
     private transient Timestamp eventStartDateTime;
     private transient Timestamp eventEndDateTime;
@@ -45,13 +58,19 @@ public class Event extends DBObject implements Serializable {
     private transient HashMap<String, GeoPoint> geolocationMap = new HashMap<>();   // store deviceID -> location of where entrants joined the event IF requireGeolocationTracking
     private Poster poster;                                  // can be null if no poster
     private String qrCodeHash;
-    private List<String> waitList = new ArrayList<>();      // holds profile deviceId
-    private List<String> pendingList = new ArrayList<>();
-    private List<String> acceptedList = new ArrayList<>();
-    private List<String> declinedList = new ArrayList<>();
+    private List<String> waitList = new EntrantList();      // holds profile deviceId, O(1) membership
+    private List<String> pendingList = new EntrantList();
+    private List<String> acceptedList = new EntrantList();
+    private List<String> declinedList = new EntrantList();
     private boolean registrationOpened = false;             // set by firestore cloud function
     private boolean lotteryProcessed = false;               // set by firestore cloud function
     private boolean pendingExpired = false;                 // set by firestore cloud function
+    private boolean entrantSubcollection = false;           // entrants stored in events/{id}/entrants instead of the lists
+    private int waitlistCount = 0;                          // entrant counts, only maintained with entrantSubcollection
+    private int pendingCount = 0;
+    private int acceptedCount = 0;
+    private int declinedCount = 0;
+    private int waitlistShards = 0;                         // number of waitlist capacity shards, 0 if unsharded
 
     /**
      * Default constructor required for Firestore data mapping.
@@ -108,6 +127,7 @@ public class Event extends DBObject implements Serializable {
         this.name = name;
         this.description = description;
         this.organizer = organizer;
+        this.organizerDeviceId = organizer.getDeviceId();
         this.location = location;
         this.eventStartDateTime = eventStartDateTime;
         this.eventEndDateTime = eventEndDateTime;
@@ -132,7 +152,6 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isBeforeRegistrationStart() {
-        Timestamp now = Timestamp.now();
         // Check if registration is yet to open
         return !registrationOpened;
     }
@@ -143,7 +162,6 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isRegistrationOpen() {
-        Timestamp now = Timestamp.now();
         // Check if registration is currently open
         return registrationOpened && !lotteryProcessed;
     }
@@ -154,7 +172,6 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isRegistrationClosed() {
-        Timestamp now = Timestamp.now();
         // Check if registration is closed
         return registrationOpened && lotteryProcessed;
     }
@@ -165,7 +182,6 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isBeforeEventStart() {
-        Timestamp now = Timestamp.now();
         // Check if event is yet to start
         return !pendingExpired;
     }
@@ -176,7 +192,6 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isEventOngoing() {
-        Timestamp now = Timestamp.now();
         // Check if event is currently going on
         return pendingExpired && !isEventComplete();
     }
@@ -187,15 +202,22 @@ public class Event extends DBObject implements Serializable {
      */
     @Exclude
     public boolean isEventComplete() {
-        Timestamp now = Timestamp.now();
-        if (isReoccurring) {
-            // Check if reoccurring event has ended
-            return reoccurringEndDateTime.compareTo(now) < 0;
-        }
-        else {
-            // Check if event has ended
-            return eventEndDateTime.compareTo(now) < 0;
+        Timestamp completion = getCompletionDateTime();
+        return completion != null && completion.compareTo(Timestamp.now()) < 0;
+    }
+
+    /**
+     * Gets the moment the event (or its reoccurrence period) concludes, which is when
+     * {@link #isEventComplete()} becomes {@code true}.
+     * @return The reoccurrence end for reoccurring events, the event end otherwise, or {@code null} if unset.
+     */
+    @Exclude
+    public Timestamp getCompletionDateTime() {
+        if (Boolean.TRUE.equals(isReoccurring)) {
+            // Reoccurring event ends with its last occurrence
+            return reoccurringEndDateTime;
         }
+        return eventEndDateTime;
     }
 
     // Event join / leave / accept / decline list mechanics
@@ -333,28 +355,38 @@ public class Event extends DBObject implements Serializable {
 
         // Second Chance! Lottery select another entrant in the waitlist
         if (!waitList.isEmpty()) {
-            String secondChance = waitList.get(0);
+            String secondChance = waitList.iterator().next();
             waitList.remove(secondChance);
             pendingList.add(secondChance);
 
-            // Send notification to winner
-            Profile sender = this.organizer;
-            Profile receiver = ProfileManager.getInstance().getProfileByDeviceId(secondChance);
-            if (receiver == null) {
-                Log.d("DEBUG", "Error: Profile for winner deviceId " + secondChance + " not found. Skipping notification for this user.");
-                return;
-            }
-            String message = "It's your lucky day! You have been "
-                    + "second chance selected for the " + name + " "
-                    + "event. Please accept or decline the invitation "
-                    + "at your earliest convenience.\n\n"
-                    + "This is an automated message.";
-            Timestamp now = Timestamp.now();
-            Notification notification = new Notification(sender, receiver, message, now);
-            NotificationManager.getInstance().createNotification(notification);
+            sendSecondChanceNotification(secondChance);
         }
     }
 
+    /**
+     * Sends the automated notification telling an entrant they were second chance selected.
+     * @param deviceId The device ID of the entrant moved from the waitlist to the pending list.
+     */
+    public void sendSecondChanceNotification(@NonNull String deviceId) {
+        String message = "It's your lucky day! You have been "
+                + "second chance selected for the " + name + " "
+                + "event. Please accept or decline the invitation "
+                + "at your earliest convenience.\n\n"
+                + "This is an automated message.";
+        Timestamp now = Timestamp.now();
+        String senderDeviceId = organizerDeviceId;
+        // the winner's profile may not be cached, so resolve it through the batch lookup
+        ProfileManager.getInstance().getProfilesByDeviceIds(Collections.singletonList(deviceId))
+                .addOnSuccessListener(profiles -> {
+                    if (!profiles.containsKey(deviceId)) {
+                        Log.d("DEBUG", "Error: Profile for winner deviceId " + deviceId + " not found. Skipping notification for this user.");
+                        return;
+                    }
+                    Notification notification = new Notification(senderDeviceId, deviceId, message, now);
+                    NotificationManager.getInstance().createNotification(notification);
+                });
+    }
+
     // Event getters and setters
 
     /**
@@ -390,21 +422,38 @@ public class Event extends DBObject implements Serializable {
     }
 
     /**
-     * Gets the profile of the event organizer.
-     * @return The organizer's profile.
+     * Gets the profile of the event organizer, resolved from its device ID through the
+     * shared {@link ProfileManager} cache.
+     * @return The organizer's profile, or null if it is not cached.
      */
+    @Exclude
     public Profile getOrganizer() {
-        return organizer;
+        Profile cached = organizerDeviceId != null ? ProfileManager.getInstance().getProfileByDeviceId(organizerDeviceId) : null;
+        return cached != null ? cached : organizer;
     }
 
     /**
      * Sets the profile of the event organizer.
      * @param organizer The new organizer's profile. Cannot be null.
      */
+    @Exclude
     public void setOrganizer(@NonNull Profile organizer) {
         this.organizer = organizer;
+        this.organizerDeviceId = organizer.getDeviceId();
     }
 
+    /**
+     * Gets the device ID of the event organizer, which is what the event document stores.
+     * @return The organizer's device ID.
+     */
+    public String getOrganizerDeviceId() { return organizerDeviceId; }
+
+    /**
+     * Sets the device ID of the event organizer.
+     * @param organizerDeviceId The organizer's device ID.
+     */
+    public void setOrganizerDeviceId(String organizerDeviceId) { this.organizerDeviceId = organizerDeviceId; }
+
     /**
      * Gets the location of the event.
      * @return The event's string location.
@@ -623,7 +672,7 @@ public class Event extends DBObject implements Serializable {
      * Sets the list of device IDs on the waitlist.
      * @param waitList The new waitlist.
      */
-    public void setWaitList(@NonNull List<String> waitList) { this.waitList = waitList; }
+    public void setWaitList(@NonNull List<String> waitList) { this.waitList = EntrantList.of(waitList); }
 
     /**
      * Gets the list of device IDs on the pending list.
@@ -635,7 +684,7 @@ public class Event extends DBObject implements Serializable {
      * Sets the list of device IDs on the pending list.
      * @param pendingList The new pending list.
      */
-    public void setPendingList(@NonNull List<String> pendingList) { this.pendingList = pendingList; }
+    public void setPendingList(@NonNull List<String> pendingList) { this.pendingList = EntrantList.of(pendingList); }
 
     /**
      * Gets the list of device IDs on the accepted (attending) list.
@@ -647,7 +696,7 @@ public class Event extends DBObject implements Serializable {
      * Sets the list of device IDs on the accepted (attending) list.
      * @param acceptedList The new accepted list.
      */
-    public void setAcceptedList(@NonNull List<String> acceptedList) { this.acceptedList = acceptedList; }
+    public void setAcceptedList(@NonNull List<String> acceptedList) { this.acceptedList = EntrantList.of(acceptedList); }
 
     /**
      * Gets the list of device IDs on the declined list.
@@ -659,7 +708,7 @@ public class Event extends DBObject implements Serializable {
      * Sets the list of device IDs on the declined list.
      * @param declinedList The new declined list.
      */
-    public void setDeclinedList(@NonNull List<String> declinedList) { this.declinedList = declinedList; }
+    public void setDeclinedList(@NonNull List<String> declinedList) { this.declinedList = EntrantList.of(declinedList); }
 
     /**
      * Checks if the registration opened flag is set.
@@ -697,6 +746,104 @@ public class Event extends DBObject implements Serializable {
      */
     public void setPendingExpired(boolean pendingExpired) { this.pendingExpired = pendingExpired; }
 
+    /**
+     * Checks if the entrants are stored in the {@code entrants} subcollection instead of the lists.
+     * @return {@code true} if the event uses subcollection entrant storage.
+     */
+    public boolean isEntrantSubcollection() { return entrantSubcollection; }
+
+    /**
+     * Sets whether the entrants are stored in the {@code entrants} subcollection instead of the lists.
+     * Only set this on a new event, or through {@link com.example.matrix_events.managers.EventManager#moveEntrantsToSubcollection(Event)}.
+     * @param entrantSubcollection The new storage mode.
+     */
+    public void setEntrantSubcollection(boolean entrantSubcollection) { this.entrantSubcollection = entrantSubcollection; }
+
+    /**
+     * Gets the number of entrants on the waitlist, only maintained with subcollection storage.
+     * @return The waitlist count.
+     */
+    public int getWaitlistCount() { return waitlistCount; }
+
+    /**
+     * Sets the number of entrants on the waitlist.
+     * @param waitlistCount The new waitlist count.
+     */
+    public void setWaitlistCount(int waitlistCount) { this.waitlistCount = waitlistCount; }
+
+    /**
+     * Gets the number of entrants on the pending list, only maintained with subcollection storage.
+     * @return The pending count.
+     */
+    public int getPendingCount() { return pendingCount; }
+
+    /**
+     * Sets the number of entrants on the pending list.
+     * @param pendingCount The new pending count.
+     */
+    public void setPendingCount(int pendingCount) { this.pendingCount = pendingCount; }
+
+    /**
+     * Gets the number of entrants on the accepted list, only maintained with subcollection storage.
+     * @return The accepted count.
+     */
+    public int getAcceptedCount() { return acceptedCount; }
+
+    /**
+     * Sets the number of entrants on the accepted list.
+     * @param acceptedCount The new accepted count.
+     */
+    public void setAcceptedCount(int acceptedCount) { this.acceptedCount = acceptedCount; }
+
+    /**
+     * Gets the number of entrants on the declined list, only maintained with subcollection storage.
+     * @return The declined count.
+     */
+    public int getDeclinedCount() { return declinedCount; }
+
+    /**
+     * Sets the number of entrants on the declined list.
+     * @param declinedCount The new declined count.
+     */
+    public void setDeclinedCount(int declinedCount) { this.declinedCount = declinedCount; }
+
+    /**
+     * Gets the number of shards the waitlist capacity is split across.
+     * <p>
+     * While registration is open, joins to a sharded waitlist only write one shard document of
+     * {@code events/{id}/waitlist_shards}, so {@link #getWaitlistCount()} is refreshed from the
+     * shards by the {@link com.example.matrix_events.managers.EventManager} rather than stored.
+     * </p>
+     * @return The shard count, or 0 if the waitlist is not sharded.
+     */
+    public int getWaitlistShards() { return waitlistShards; }
+
+    /**
+     * Sets the number of shards the waitlist capacity is split across.
+     * Only set through {@link com.example.matrix_events.managers.EventManager#shardWaitlist(Event, int)}.
+     * @param waitlistShards The new shard count.
+     */
+    public void setWaitlistShards(int waitlistShards) { this.waitlistShards = waitlistShards; }
+
+    /**
+     * Gets the number of entrants on a list, whichever way the entrants are stored.
+     * @param status The list to count.
+     * @return The stored count with subcollection storage, otherwise the size of the list.
+     */
+    @Exclude
+    public int getEntrantCount(@NonNull Entrant.Status status) {
+        switch (status) {
+            case WAITLIST:
+                return entrantSubcollection ? waitlistCount : waitList.size();
+            case PENDING:
+                return entrantSubcollection ? pendingCount : pendingList.size();
+            case ACCEPTED:
+                return entrantSubcollection ? acceptedCount : acceptedList.size();
+            default:
+                return entrantSubcollection ? declinedCount : declinedList.size();
+        }
+    }
+
     /**
      * Custom serialization logic to handle Firebase {@link Timestamp} and {@link GeoPoint} fields.
      * <p>
@@ -0,0 +1,229 @@
+package com.example.matrix_events.entities;
+
+import com.example.matrix_events.database.DBObject;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Exclude;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * A compact projection of an {@link Event}, holding only what list screens display and search.
+ * <p>
+ * Summaries live in the {@code event_summaries} collection under the same document ID as their
+ * event, and are written by the {@code sync_event_summary} cloud function whenever a displayed
+ * field of the event changes. They carry no entrant lists, geolocation map or nested profiles,
+ * so listening to them costs a fraction of listening to full events. The full {@link Event} is
+ * only loaded when a detail screen is opened.
+ * </p>
+ * <p>
+ * This class extends {@link DBObject} to be compatible with the Firestore database and
+ * implements {@link Serializable} to be passable between Android components.
+ * </p>
+ */
+public class EventSummary extends DBObject implements Serializable {
+    private String name;
+    private String location;
+    private String description;
+    private String posterUrl;                               // can be null if no poster
+    private String organizerDeviceId;
+    private transient Timestamp eventStartDateTime;
+    private transient Timestamp completionDateTime;        // end of the event or of its reoccurrence
+    private boolean registrationOpened = false;
+    private boolean lotteryProcessed = false;
+    private boolean pendingExpired = false;
+
+    /**
+     * Default constructor required for Firestore data mapping.
+     */
+    public EventSummary() {}
+
+    // Event state checks, matching those of Event
+
+    /**
+     * Checks if the current time is before the registration period begins.
+     * @return {@code true} if registration has not yet started, {@code false} otherwise.
+     */
+    @Exclude
+    public boolean isBeforeRegistrationStart() { return !registrationOpened; }
+
+    /**
+     * Checks if the event is currently within its registration period.
+     * @return {@code true} if registration is currently open, {@code false} otherwise.
+     */
+    @Exclude
+    public boolean isRegistrationOpen() { return registrationOpened && !lotteryProcessed; }
+
+    /**
+     * Checks if the registration period for the event has ended.
+     * @return {@code true} if registration is closed, {@code false} otherwise.
+     */
+    @Exclude
+    public boolean isRegistrationClosed() { return registrationOpened && lotteryProcessed; }
+
+    /**
+     * Checks if the current time is before the event is scheduled to start.
+     * @return {@code true} if the event has not yet started, {@code false} otherwise.
+     */
+    @Exclude
+    public boolean isBeforeEventStart() { return !pendingExpired; }
+
+    /**
+     * Checks if the event (or its reoccurrence period) has concluded.
+     * @return {@code true} if the event is complete, {@code false} otherwise.
+     */
+    @Exclude
+    public boolean isEventComplete() {
+        return completionDateTime != null && completionDateTime.compareTo(Timestamp.now()) < 0;
+    }
+
+    // Getters and setters
+
+    /**
+     * Gets the name of the event.
+     * @return The event name.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the name of the event.
+     * @param name The event name.
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the location of the event.
+     * @return The event's string location.
+     */
+    public String getLocation() { return location; }
+
+    /**
+     * Sets the location of the event.
+     * @param location The event's string location.
+     */
+    public void setLocation(String location) { this.location = location; }
+
+    /**
+     * Gets the description of the event, which event search matches against.
+     * @return The event description.
+     */
+    public String getDescription() { return description; }
+
+    /**
+     * Sets the description of the event.
+     * @param description The event description.
+     */
+    public void setDescription(String description) { this.description = description; }
+
+    /**
+     * Gets the URL of the event's poster image.
+     * @return The poster URL, or null if the event has no poster.
+     */
+    public String getPosterUrl() { return posterUrl; }
+
+    /**
+     * Sets the URL of the event's poster image.
+     * @param posterUrl The poster URL, can be null.
+     */
+    public void setPosterUrl(String posterUrl) { this.posterUrl = posterUrl; }
+
+    /**
+     * Gets the device ID of the event's organizer.
+     * @return The organizer's device ID.
+     */
+    public String getOrganizerDeviceId() { return organizerDeviceId; }
+
+    /**
+     * Sets the device ID of the event's organizer.
+     * @param organizerDeviceId The organizer's device ID.
+     */
+    public void setOrganizerDeviceId(String organizerDeviceId) { this.organizerDeviceId = organizerDeviceId; }
+
+    /**
+     * Gets the start date and time of the event.
+     * @return The event start timestamp.
+     */
+    public Timestamp getEventStartDateTime() { return eventStartDateTime; }
+
+    /**
+     * Sets the start date and time of the event.
+     * @param eventStartDateTime The event start timestamp.
+     */
+    public void setEventStartDateTime(Timestamp eventStartDateTime) { this.eventStartDateTime = eventStartDateTime; }
+
+    /**
+     * Gets the moment the event (or its reoccurrence period) concludes.
+     * @return The completion timestamp, see {@link Event#getCompletionDateTime()}.
+     */
+    public Timestamp getCompletionDateTime() { return completionDateTime; }
+
+    /**
+     * Sets the moment the event (or its reoccurrence period) concludes.
+     * @param completionDateTime The completion timestamp.
+     */
+    public void setCompletionDateTime(Timestamp completionDateTime) { this.completionDateTime = completionDateTime; }
+
+    /**
+     * Checks if the registration opened flag is set.
+     * @return The registration opened status.
+     */
+    public boolean isRegistrationOpened() { return registrationOpened; }
+
+    /**
+     * Sets the registration opened flag.
+     * @param registrationOpened The registration opened status.
+     */
+    public void setRegistrationOpened(boolean registrationOpened) { this.registrationOpened = registrationOpened; }
+
+    /**
+     * Checks if the lottery processed flag is set.
+     * @return The lottery processed status.
+     */
+    public boolean isLotteryProcessed() { return lotteryProcessed; }
+
+    /**
+     * Sets the lottery processed flag.
+     * @param lotteryProcessed The lottery processed status.
+     */
+    public void setLotteryProcessed(boolean lotteryProcessed) { this.lotteryProcessed = lotteryProcessed; }
+
+    /**
+     * Checks if the pending expired flag is set.
+     * @return The pending expired status.
+     */
+    public boolean isPendingExpired() { return pendingExpired; }
+
+    /**
+     * Sets the pending expired flag.
+     * @param pendingExpired The pending expired status.
+     */
+    public void setPendingExpired(boolean pendingExpired) { this.pendingExpired = pendingExpired; }
+
+    /**
+     * Custom serialization logic to handle the Firebase {@link Timestamp} fields, which are not
+     * {@code Serializable}, by writing them as milliseconds.
+     *
+     * @param out The {@link java.io.ObjectOutputStream} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeLong(eventStartDateTime != null ? eventStartDateTime.toDate().getTime() : -1L);
+        out.writeLong(completionDateTime != null ? completionDateTime.toDate().getTime() : -1L);
+    }
+
+    /**
+     * Custom deserialization logic to reconstruct the Firebase {@link Timestamp} fields.
+     *
+     * @param in The {@link java.io.ObjectInputStream} to read from.
+     * @throws IOException            If an I/O error occurs.
+     * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+     */
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        long start = in.readLong();
+        eventStartDateTime = start != -1L ? new Timestamp(new java.util.Date(start)) : null;
+        long completion = in.readLong();
+        completionDateTime = completion != -1L ? new Timestamp(new java.util.Date(completion)) : null;
+    }
+}
@@ -3,10 +3,12 @@ package com.example.matrix_events.entities;
 import androidx.annotation.NonNull;
 
 import com.example.matrix_events.database.DBObject;
+import com.example.matrix_events.managers.ProfileManager;
 
 import java.io.IOException;
 import java.io.Serializable;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Exclude;
 
 /**
  * Represents a notification to be sent from one user profile to another.
@@ -15,9 +17,17 @@ import com.google.firebase.Timestamp;
  * {@link Serializable} to be passed between Android components (e.g., via Intents).
  * It includes details about the sender, receiver, message content, and a timestamp.
  * </p>
+ * <p>
+ * The sender and receiver are stored as device ID references rather than copies of their
+ * profiles, so a notification document stays small and always shows the current profile.
+ * {@link #getSender()} and {@link #getReceiver()} resolve the references through the shared
+ * {@link ProfileManager} cache.
+ * </p>
  */
 public class Notification extends DBObject implements Serializable {
-    private Profile sender;
+    private String senderDeviceId;
+    private String receiverDeviceId;
+    private Profile sender;                                 // profiles given on construction, not stored
     private Profile receiver;
     private String message;
     private transient Timestamp timestamp;
@@ -37,19 +47,42 @@ public class Notification extends DBObject implements Serializable {
      * @param timestamp The time at which the notification was sent. Cannot be null.
      */
     public Notification(@NonNull Profile sender, @NonNull Profile receiver, @NonNull String message, @NonNull Timestamp timestamp) {
+        this(sender.getDeviceId(), receiver.getDeviceId(), message, timestamp);
         this.sender = sender;
         this.receiver = receiver;
+    }
+
+    /**
+     * Constructs a new Notification object from the device IDs of its sender and receiver.
+     *
+     * @param senderDeviceId   The device ID of the user sending the notification. Cannot be null.
+     * @param receiverDeviceId The device ID of the user receiving the notification. Cannot be null.
+     * @param message          The content of the notification message. Cannot be null.
+     * @param timestamp        The time at which the notification was sent. Cannot be null.
+     */
+    public Notification(@NonNull String senderDeviceId, @NonNull String receiverDeviceId, @NonNull String message, @NonNull Timestamp timestamp) {
+        this.senderDeviceId = senderDeviceId;
+        this.receiverDeviceId = receiverDeviceId;
         this.message = message;
         this.timestamp = timestamp;
     }
 
+    /**
+     * Resolves a profile reference, preferring the current cached profile over a held copy.
+     */
+    private static Profile resolve(String deviceId, Profile held) {
+        Profile cached = deviceId != null ? ProfileManager.getInstance().getProfileByDeviceId(deviceId) : null;
+        return cached != null ? cached : held;
+    }
+
     /**
      * Gets the sender's profile.
      *
-     * @return The {@link Profile} of the sender.
+     * @return The {@link Profile} of the sender, or {@code null} if it is not cached.
      */
+    @Exclude
     public Profile getSender() {
-        return sender;
+        return resolve(senderDeviceId, sender);
     }
 
     /**
@@ -57,17 +90,20 @@ public class Notification extends DBObject implements Serializable {
      *
      * @param sender The {@link Profile} of the sender. Cannot be null.
      */
+    @Exclude
     public void setSender(@NonNull Profile sender) {
         this.sender = sender;
+        this.senderDeviceId = sender.getDeviceId();
     }
 
     /**
      * Gets the receiver's profile.
      *
-     * @return The {@link Profile} of the receiver.
+     * @return The {@link Profile} of the receiver, or {@code null} if it is not cached.
      */
+    @Exclude
     public Profile getReceiver() {
-        return receiver;
+        return resolve(receiverDeviceId, receiver);
     }
 
     /**
@@ -75,8 +111,68 @@ public class Notification extends DBObject implements Serializable {
      *
      * @param receiver The {@link Profile} of the receiver. Cannot be null.
      */
+    @Exclude
     public void setReceiver(@NonNull Profile receiver) {
         this.receiver = receiver;
+        this.receiverDeviceId = receiver.getDeviceId();
+    }
+
+    /**
+     * Gets the sender's name for display.
+     *
+     * @return The name of the sender, or a placeholder if their profile is not cached.
+     */
+    @Exclude
+    public String getSenderName() {
+        Profile profile = getSender();
+        return profile != null ? profile.getName() : Profile.UNKNOWN_NAME;
+    }
+
+    /**
+     * Gets the receiver's name for display.
+     *
+     * @return The name of the receiver, or a placeholder if their profile is not cached.
+     */
+    @Exclude
+    public String getReceiverName() {
+        Profile profile = getReceiver();
+        return profile != null ? profile.getName() : Profile.UNKNOWN_NAME;
+    }
+
+    /**
+     * Gets the device ID of the sender.
+     *
+     * @return The sender's device ID.
+     */
+    public String getSenderDeviceId() {
+        return senderDeviceId;
+    }
+
+    /**
+     * Sets the device ID of the sender.
+     *
+     * @param senderDeviceId The sender's device ID.
+     */
+    public void setSenderDeviceId(String senderDeviceId) {
+        this.senderDeviceId = senderDeviceId;
+    }
+
+    /**
+     * Gets the device ID of the receiver.
+     *
+     * @return The receiver's device ID.
+     */
+    public String getReceiverDeviceId() {
+        return receiverDeviceId;
+    }
+
+    /**
+     * Sets the device ID of the receiver.
+     *
+     * @param receiverDeviceId The receiver's device ID.
+     */
+    public void setReceiverDeviceId(String receiverDeviceId) {
+        this.receiverDeviceId = receiverDeviceId;
     }
 
     /**
@@ -1,16 +1,20 @@
 package com.example.matrix_events.entities;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.example.matrix_events.database.DBObject;
 
 import java.io.Serializable;
+import java.util.HashMap;
 
 /**
  * Represents an event poster.
  * <p>
  * This class stores information about the poster image, including its URL in Firebase Storage,
  * the ID of the event it is associated with, and the specific file name.
+ * Posters are uploaded as several {@link Rendition}s of increasing size, so screens can download
+ * the smallest image that fills their view rather than the original.
  * It extends {@link DBObject} to be compatible with the Firestore database and
  * implements {@link Serializable} to be passable between Android components.
  * </p>
@@ -19,6 +23,33 @@ public class Poster extends DBObject implements Serializable {
     private String imageUrl;
     private String eventId;
     private String fileName;
+    private Long sizeBytes;                                 // can be null for posters uploaded before sizes were recorded
+    private HashMap<String, String> renditionUrls;          // can be null for posters uploaded before renditions
+
+    /**
+     * The sizes a poster image is stored at, from smallest to largest.
+     */
+    public enum Rendition {
+        /** Small grid and preview tiles. */
+        THUMBNAIL(320),
+        /** Rows of event lists. */
+        LIST(720),
+        /** Full width poster on event details. */
+        DETAIL(1440);
+
+        private final int maxEdge;
+
+        Rendition(int maxEdge) {
+            this.maxEdge = maxEdge;
+        }
+
+        /**
+         * Gets the longest edge images of this rendition are scaled down to.
+         *
+         * @return The maximum width or height in pixels.
+         */
+        public int getMaxEdge() { return maxEdge; }
+    }
 
     /**
      * Default constructor required for Firestore data mapping.
@@ -83,4 +114,62 @@ public class Poster extends DBObject implements Serializable {
      * @param fileName The file name string. Cannot be null.
      */
     public void setFileName(@NonNull String fileName) { this.fileName = fileName; }
-}
\ No newline at end of file
+
+    /**
+     * Gets the size of the poster image file in Firebase Storage.
+     * <p>
+     * Posters using the same image report the same size. The admin dashboard sums the sizes
+     * recorded per image in the {@code poster_files} collection instead, so shared files are
+     * counted once.
+     * </p>
+     *
+     * @return The file size in bytes, or {@code null} if it was not recorded.
+     */
+    public Long getSizeBytes() { return sizeBytes; }
+
+    /**
+     * Sets the size of the poster image file in Firebase Storage.
+     *
+     * @param sizeBytes The file size in bytes.
+     */
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    /**
+     * Gets the download URLs of the poster's renditions.
+     *
+     * @return A map from {@link Rendition} name to download URL, or {@code null} if the poster was
+     *         uploaded before renditions were made.
+     */
+    public HashMap<String, String> getRenditionUrls() { return renditionUrls; }
+
+    /**
+     * Sets the download URLs of the poster's renditions.
+     *
+     * @param renditionUrls A map from {@link Rendition} name to download URL, can be null.
+     */
+    public void setRenditionUrls(HashMap<String, String> renditionUrls) { this.renditionUrls = renditionUrls; }
+
+    /**
+     * Gets the URL of the smallest stored image at least as large as a rendition.
+     * <p>
+     * If that rendition was not stored, the next larger one is used, and posters uploaded before
+     * renditions fall back to {@link #getImageUrl()}.
+     * </p>
+     *
+     * @param rendition The smallest rendition adequate for the view. Cannot be null.
+     * @return The image URL, or {@code null} if the poster has no image.
+     */
+    @Nullable
+    public String getImageUrl(@NonNull Rendition rendition) {
+        if (renditionUrls != null) {
+            Rendition[] renditions = Rendition.values();
+            for (int i = rendition.ordinal(); i < renditions.length; i++) {
+                String url = renditionUrls.get(renditions[i].name());
+                if (url != null) {
+                    return url;
+                }
+            }
+        }
+        return imageUrl;
+    }
+}
@@ -16,6 +16,9 @@ import java.io.Serializable;
  * </p>
  */
 public class Profile extends DBObject implements Serializable {
+    /** Shown in place of the name of a profile that cannot be resolved. */
+    public static final String UNKNOWN_NAME = "Unknown user";
+
     // Attribute Declarations
     private String name;
     private String email;
@@ -114,6 +117,15 @@ public class Profile extends DBObject implements Serializable {
         return deviceId;
     }
 
+    /**
+     * Sets the unique device ID associated with the profile.
+     *
+     * @param deviceId The unique device identifier. Cannot be null.
+     */
+    public void setDeviceId(@NonNull String deviceId) {
+        this.deviceId = deviceId;
+    }
+
     /**
      * Gets the URL of the user's profile picture.
      *
@@ -148,7 +148,7 @@ public class AdminProfileDetailsFragment extends Fragment implements com.example
 
         for (Event event : allEvents) {
             // check for organizer
-            if (event.getOrganizer().getDeviceId().equals(deviceId)) {
+            if (deviceId.equals(event.getOrganizerDeviceId())) {
                 organizerEvents.add(event);
             }
             // check for entrant
@@ -193,7 +193,7 @@ public class AdminProfileDetailsFragment extends Fragment implements com.example
 
                     String status = "";
                     if (event != null) {
-                        if (event.getOrganizer().getDeviceId().equals(profileId)) {
+                        if (profileId.equals(event.getOrganizerDeviceId())) {
                             status = "";
                         } else if (event.inWaitList(profileId)) {
                             status = " (Waitlist)";
@@ -211,6 +211,7 @@ public class AdminProfileDetailsFragment extends Fragment implements com.example
                 }
             };
             eventsListView.setAdapter(eventArrayAdapter);
+            eventsListView.setOnScrollListener(eventArrayAdapter.createPosterPreloader());
         }
     }
 }
\ No newline at end of file
@@ -257,7 +257,7 @@ public class EventCreateFragment extends Fragment {
                             for (Event event : currentEvents) {
                                 if (event.getId() != null && !event.getId().isEmpty() &&
                                         event.getName().equals(name) &&
-                                        event.getOrganizer().getDeviceId().equals(deviceId)) {
+                                        deviceId.equals(event.getOrganizerDeviceId())) {
                                     createdEvent = event;
                                     break;
                                 }
@@ -266,7 +266,7 @@ public class EventCreateFragment extends Fragment {
                                 // event has its ID
                                 String eventId = createdEvent.getId();
 
-                                PosterManager.getInstance().uploadPosterImage(posterUri, eventId,
+                                PosterManager.getInstance().uploadPosterImage(requireContext(), posterUri, eventId,
                                         new PosterManager.PosterUploadCallback() {
                                             @Override
                                             public void onSuccess(Poster poster) {
@@ -23,8 +23,11 @@ import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
 import com.example.matrix_events.R;
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.utils.MatrixGlideModule;
 import com.example.matrix_events.utils.TimestampConverter;
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
@@ -40,6 +43,9 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
     private Boolean isAdmin;
     private FusedLocationProviderClient fusedLocationClient;
     private String deviceId;
+    // This user's entrant status, only used for events whose entrants are stored in a subcollection
+    private Entrant.Status ownStatus = null;
+    private int ownStatusRequest = 0;
 
     // Geolocation permission Launcher
     private final ActivityResultLauncher<String> requestPermissionLauncher =
@@ -111,6 +117,8 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
 
         // observe event manager
         EventManager.getInstance().addView(this);
+        // snapshots do not include joins to a sharded waitlist, so count them once for this screen
+        EventManager.getInstance().refreshWaitlistCount(event);
     }
 
     @Override
@@ -126,9 +134,51 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
             return;
         }
 
-        event = EventManager.getInstance().getEventByDBID(event.getId());
-        if (event != null) {
-            render();
+        // an event fetched for a detail screen is only in the manager once a snapshot includes it,
+        // so keep the one passed in until then
+        Event latest = EventManager.getInstance().getEventByDBID(event.getId());
+        if (latest != null) {
+            event = latest;
+        }
+        render();
+        if (event.isEntrantSubcollection()) {
+            refreshOwnStatus();
+        }
+    }
+
+    /**
+     * Re-reads this user's entrant document for an event with subcollection entrant storage,
+     * then renders again. Responses to older requests are ignored.
+     */
+    private void refreshOwnStatus() {
+        final int request = ++ownStatusRequest;
+        EventManager.getInstance().getEntrant(event, deviceId)
+                .addOnSuccessListener(entrant -> {
+                    if (request != ownStatusRequest || !isAdded()) {
+                        return;
+                    }
+                    ownStatus = entrant != null ? entrant.getStatus() : null;
+                    render();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to read entrant status", e));
+    }
+
+    /**
+     * Checks if this user is on one of the event's lists, wherever the entrants are stored.
+     */
+    private boolean isOn(Entrant.Status status) {
+        if (event.isEntrantSubcollection()) {
+            return ownStatus == status;
+        }
+        switch (status) {
+            case WAITLIST:
+                return event.inWaitList(deviceId);
+            case PENDING:
+                return event.inPendingList(deviceId);
+            case ACCEPTED:
+                return event.inAcceptedList(deviceId);
+            default:
+                return event.inDeclinedList(deviceId);
         }
     }
 
@@ -171,9 +221,12 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
     }
 
     private void performJoin(GeoPoint location) {
-        event.joinWaitList(deviceId, location);
-        EventManager.getInstance().updateEvent(event);
-        Toast.makeText(requireContext(), "Joined Waitlist!", Toast.LENGTH_SHORT).show();
+        EventManager.getInstance().joinWaitList(event, deviceId, location)
+                .addOnSuccessListener(joined -> {
+                    if (isAdded()) {
+                        Toast.makeText(requireContext(), joined ? "Joined Waitlist!" : "Unable to join the waitlist.", Toast.LENGTH_SHORT).show();
+                    }
+                });
     }
 
     public void render() {
@@ -192,9 +245,10 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
         ImageView posterImage = view.findViewById(R.id.event_poster_image);
 
         if (event.getPoster() != null && event.getPoster().getImageUrl() != null) {
-            String posterUrl = event.getPoster().getImageUrl();
+            String posterUrl = event.getPoster().getImageUrl(Poster.Rendition.DETAIL);
             Glide.with(context)
                     .load(posterUrl)
+                    .apply(MatrixGlideModule.posterBannerOptions(context))
                     .placeholder(R.drawable.placeholder)        // optional
                     .error(R.drawable.placeholder)              // optional
                     .into(posterImage);
@@ -258,7 +312,7 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
         maxEventCapTextview.setText(String.valueOf(event.getEventCapacity()));
 
         // Current Waitlist Size
-        int waitListSize = event.getWaitList().size();
+        int waitListSize = event.getEntrantCount(Entrant.Status.WAITLIST);
         TextView currentWaitlistTextview = view.findViewById(R.id.current_waitlist_textview);
         if (event.getWaitlistCapacity() != null) {
             currentWaitlistTextview.setText(waitListSize + "/" + event.getWaitlistCapacity());
@@ -267,7 +321,7 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
         }
 
         // Current Accepted Size
-        int acceptedListSize = event.getAcceptedList().size();
+        int acceptedListSize = event.getEntrantCount(Entrant.Status.ACCEPTED);
         TextView currentAcceptedListTextview = view.findViewById(R.id.current_accepted_textview);
         currentAcceptedListTextview.setText(acceptedListSize + "/" + event.getEventCapacity());
 
@@ -304,12 +358,11 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
             messageTextview.setText("Registration is open! You can join the waitlist.");
             waitlistButton.setVisibility(View.VISIBLE);
 
-            if (event.inWaitList(deviceId)) {
+            if (isOn(Entrant.Status.WAITLIST)) {
                 listStatusTextview.setText("On the Waitlist");
                 waitlistButton.setText("Leave Waitlist");
                 waitlistButton.setOnClickListener(v -> {
-                    event.leaveWaitList(deviceId);
-                    EventManager.getInstance().updateEvent(event);
+                    EventManager.getInstance().leaveWaitList(event, deviceId);
                 });
             } else {
                 listStatusTextview.setText("Not on the Waitlist");
@@ -321,30 +374,38 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
         }
         else if (event.isRegistrationClosed() && event.isBeforeEventStart()) {
             // State: Registration is closed, but event hasn't started. Users can accept/decline invitations.
-            if (event.inPendingList(deviceId)) {
+            if (isOn(Entrant.Status.PENDING)) {
                 listStatusTextview.setText("You've Been Selected!");
                 messageTextview.setText("Please respond to your invitation to attend.");
                 acceptButton.setVisibility(View.VISIBLE);
                 declineButton.setVisibility(View.VISIBLE);
 
                 acceptButton.setOnClickListener(v -> {
+                    if (event.isEntrantSubcollection()) {
+                        EventManager.getInstance().moveEntrant(event, deviceId, Entrant.Status.PENDING, Entrant.Status.ACCEPTED, null);
+                        return;
+                    }
                     event.joinAcceptedList(deviceId);
                     EventManager.getInstance().updateEvent(event);
                 });
                 declineButton.setOnClickListener(v -> {
+                    if (event.isEntrantSubcollection()) {
+                        EventManager.getInstance().declineInvitation(event, deviceId);
+                        return;
+                    }
                     event.joinDeclinedList(deviceId);
                     EventManager.getInstance().updateEvent(event);
                 });
             }
-            else if (event.inAcceptedList(deviceId)) {
+            else if (isOn(Entrant.Status.ACCEPTED)) {
                 listStatusTextview.setText("Accepted");
                 messageTextview.setText("You have successfully accepted the invitation. See you there!");
             }
-            else if (event.inDeclinedList(deviceId)) {
+            else if (isOn(Entrant.Status.DECLINED)) {
                 listStatusTextview.setText("Declined");
                 messageTextview.setText("You have declined the invitation.");
             }
-            else if (event.inWaitList(deviceId)) {
+            else if (isOn(Entrant.Status.WAITLIST)) {
                 listStatusTextview.setText("On the Waitlist");
                 messageTextview.setText("You were not selected in the initial lottery. A spot may open up if others decline.");
             }
@@ -357,13 +418,13 @@ public class EventDetailFragment extends Fragment implements com.example.matrix_
         } else {
             // This final block handles both Ongoing and Completed events, as the lists are fixed.
 
-            if (event.inAcceptedList(deviceId)) {
+            if (isOn(Entrant.Status.ACCEPTED)) {
                 listStatusTextview.setText("Accepted");
             }
-            else if (event.inDeclinedList(deviceId)) {
+            else if (isOn(Entrant.Status.DECLINED)) {
                 listStatusTextview.setText("Declined");
             }
-            else if (event.inWaitList(deviceId)) {
+            else if (isOn(Entrant.Status.WAITLIST)) {
                 listStatusTextview.setText("Not Selected");
             }
             else {
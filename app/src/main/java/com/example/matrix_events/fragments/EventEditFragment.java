@@ -22,6 +22,7 @@ import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.managers.EventManager;
 import com.example.matrix_events.managers.PosterManager;
+import com.example.matrix_events.utils.MatrixGlideModule;
 import com.google.android.material.materialswitch.MaterialSwitch;
 
 /**
@@ -53,6 +54,7 @@ public class EventEditFragment extends Fragment implements com.example.matrix_ev
                     if (isAdded() && getContext() != null) {
                         Glide.with(this)
                                 .load(posterUri)
+                                .apply(MatrixGlideModule.posterBannerOptions(requireContext()))
                                 .into(posterImage);
                         Toast.makeText(requireContext(), "Poster selected!", Toast.LENGTH_SHORT).show();
                     }
@@ -108,10 +110,12 @@ public class EventEditFragment extends Fragment implements com.example.matrix_ev
 
     @Override
     public void update() {
-        event = EventManager.getInstance().getEventByDBID(event.getId());
-        if (event != null) {
-            render();
+        // keep the event passed in while the manager has not loaded it
+        Event latest = EventManager.getInstance().getEventByDBID(event.getId());
+        if (latest != null) {
+            event = latest;
         }
+        render();
     }
 
     public void setLoading(boolean loading) {
@@ -133,7 +137,8 @@ public class EventEditFragment extends Fragment implements com.example.matrix_ev
 
         if (event.getPoster() != null && event.getPoster().getImageUrl() != null) {
             Glide.with(requireContext())
-                    .load(event.getPoster().getImageUrl())
+                    .load(event.getPoster().getImageUrl(Poster.Rendition.DETAIL))
+                    .apply(MatrixGlideModule.posterBannerOptions(requireContext()))
                     .placeholder(R.drawable.placeholder)
                     .error(R.drawable.placeholder)
                     .into(posterImage);
@@ -208,7 +213,7 @@ public class EventEditFragment extends Fragment implements com.example.matrix_ev
             Poster currentPoster = event.getPoster();
             if (currentPoster != null) {
                 // updating poster
-                PosterManager.getInstance().updatePosterImage(posterUri, currentPoster,
+                PosterManager.getInstance().updatePosterImage(requireContext(), posterUri, currentPoster,
                         new PosterManager.PosterUploadCallback() {
                             @Override
                             public void onSuccess(Poster poster) {
@@ -235,7 +240,7 @@ public class EventEditFragment extends Fragment implements com.example.matrix_ev
             // if poster doesn't exist (uploads)
             else {
                 // creating poster
-                PosterManager.getInstance().uploadPosterImage(posterUri, event.getId(),
+                PosterManager.getInstance().uploadPosterImage(requireContext(), posterUri, event.getId(),
                         new PosterManager.PosterUploadCallback() {
                             @Override
                             public void onSuccess(Poster poster) {
@@ -11,30 +11,51 @@ import android.os.Looper;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
-import android.widget.ListView;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import com.example.matrix_events.R;
+import com.example.matrix_events.adapters.EntrantAdapter;
 import com.example.matrix_events.adapters.ProfileArrayAdapter;
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Notification;
-import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.managers.EventManager;
 import com.example.matrix_events.managers.NotificationManager;
 import com.example.matrix_events.managers.ProfileManager;
+import com.example.matrix_events.utils.EntrantExporter;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+/**
+ * Shows one entrant list of an event, such as its waiting list, with actions to message the
+ * entrants, export them as CSV or Excel and, for pending entrants, cancel their invitations.
+ * <p>
+ * The list is a {@link RecyclerView} of device IDs, diffed by {@link EntrantAdapter}. Profiles
+ * are resolved lazily for the visible rows plus {@value #PROFILE_PREFETCH_DISTANCE} rows either
+ * side, so opening a long list does not wait for every entrant's profile. Events storing their
+ * entrants in a subcollection are paged in as the end of the list comes into view.
+ * </p>
+ */
 public class EventEntrantListFragment extends Fragment implements com.example.matrix_events.mvc.View, ProfileArrayAdapter.Listener {
 
     public enum ListType {
@@ -46,12 +67,28 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
     View view;
     private Event event;
     private ListType listType;
-    private ArrayList<Profile> profileArray;
-    private ProfileArrayAdapter profileAdapter;
+    // device IDs of the entrants shown, in list order
+    private final List<String> entrantDeviceIds = new ArrayList<>();
+    private EntrantAdapter entrantAdapter;
+    private LinearLayoutManager layoutManager;
+    // profiles may have been created, edited or deleted, so rebind the rows from scratch
+    private final com.example.matrix_events.mvc.View profileObserver = this::onProfilesChanged;
+    private static final int PROFILE_PREFETCH_DISTANCE = 20;
     private ActivityResultLauncher<Intent> downloadCSVLauncher;
+    private List<Entrant.Status> exportStatuses;
+    private EntrantExporter.Format exportFormat = EntrantExporter.Format.CSV;
+    private boolean exporting = false;
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
     private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
 
+    // Paging state for events whose entrants are stored in a subcollection
+    private static final int PAGE_PREFETCH_DISTANCE = 10;
+    private DocumentSnapshot nextPage = null;
+    private boolean loadingPage = false;
+    private boolean allPagesLoaded = false;
+    private int pageGeneration = 0;
+    private int pagedCount = -1;
+
     public EventEntrantListFragment() {
         super(R.layout.fragment_event_entrant_list);
     }
@@ -74,7 +111,7 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
                     if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
                         Uri uri = result.getData().getData();
                         if (uri != null) {
-                            writeCSVToURI(uri);
+                            writeExportToURI(uri);
                         } else {
                             // handle case where URI is null (e.g. user canceled after initial selection)
                             Toast.makeText(requireContext(), "File location selection canceled.", Toast.LENGTH_SHORT).show();
@@ -100,10 +137,22 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
 
         boolean cancelEnabled = listType == ListType.PENDING_LIST;
 
-        profileArray = new ArrayList<>();
-        profileAdapter = new ProfileArrayAdapter(requireContext(), profileArray, cancelEnabled, this);
-        ListView profileListView = view.findViewById(R.id.ent_list_listview);
-        profileListView.setAdapter(profileAdapter);
+        entrantAdapter = new EntrantAdapter(cancelEnabled, this);
+        layoutManager = new LinearLayoutManager(requireContext());
+        RecyclerView entrantRecyclerView = view.findViewById(R.id.ent_list_listview);
+        entrantRecyclerView.setLayoutManager(layoutManager);
+        entrantRecyclerView.setAdapter(entrantAdapter);
+        entrantRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                resolveVisibleProfiles();
+                // load the next page of a subcollection as the end of the list comes into view
+                if (event != null && event.isEntrantSubcollection()
+                        && layoutManager.findLastVisibleItemPosition() >= entrantAdapter.getItemCount() - PAGE_PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
 
         Button backButton = view.findViewById(R.id.ent_list_back_button);
         backButton.setOnClickListener(v -> {
@@ -112,7 +161,7 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
 
         Button messageButton = view.findViewById(R.id.ent_list_message_button);
         messageButton.setOnClickListener(v -> {
-            if (profileArray.isEmpty()) {
+            if (entrantDeviceIds.isEmpty()) {
                 Toast.makeText(requireContext(), "No entrants in list!", Toast.LENGTH_LONG).show();
             }
             else {
@@ -134,11 +183,15 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
         Button downloadCSVButton = view.findViewById(R.id.ent_list_download_button);
         downloadCSVButton.setOnClickListener(v -> {
             Log.d("DEBUG", "Starting list CSV download");
-            if (profileArray.isEmpty()) {
-                Toast.makeText(requireContext(), "No entrants in list!", Toast.LENGTH_LONG).show();
+            int entrantCount = 0;
+            for (Entrant.Status status : Entrant.Status.values()) {
+                entrantCount += event.getEntrantCount(status);
+            }
+            if (entrantCount == 0) {
+                Toast.makeText(requireContext(), "No entrants in any list!", Toast.LENGTH_LONG).show();
             }
             else {
-                createCSVFile();
+                showExportOptions();
             }
         });
 
@@ -146,137 +199,279 @@ public class EventEntrantListFragment extends Fragment implements com.example.ma
 
         // observe event manager and profile manager
         EventManager.getInstance().addView(this);
-        ProfileManager.getInstance().addView(this);
+        ProfileManager.getInstance().addView(profileObserver);
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
         EventManager.getInstance().removeView(this);
-        ProfileManager.getInstance().removeView(this);
+        ProfileManager.getInstance().removeView(profileObserver);
         executorService.shutdownNow();
     }
 
-    private void createCSVFile() {
+    /**
+     * Asks whether to export only the list on screen or all four lists, and in which format.
+     */
+    private void showExportOptions() {
+        String[] options = {"This list (CSV)", "All lists (CSV)", "All lists (Excel)"};
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Export Entrants")
+                .setItems(options, (dialog, which) -> {
+                    if (which == 0) {
+                        createExportFile(Collections.singletonList(toStatus(listType)), EntrantExporter.Format.CSV);
+                    } else {
+                        EntrantExporter.Format format = which == 1 ? EntrantExporter.Format.CSV : EntrantExporter.Format.XLSX;
+                        createExportFile(Arrays.asList(Entrant.Status.values()), format);
+                    }
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void createExportFile(List<Entrant.Status> statuses, EntrantExporter.Format format) {
+        exportStatuses = statuses;
+        exportFormat = format;
+
         Intent intent = new Intent(Intent.ACTION_CREATE_DOCUMENT);
         intent.addCategory(Intent.CATEGORY_OPENABLE);
-        intent.setType("text/csv");
+        intent.setType(format.getMimeType());
 
         String timestamp = String.valueOf(System.currentTimeMillis());
-        String filename = "Entrants_" + listType.toString() + "_" + timestamp + ".csv";
+        String lists = statuses.size() == 1 ? listType.toString() : "ALL_LISTS";
+        String filename = "Entrants_" + lists + "_" + timestamp + format.getExtension();
 
         intent.putExtra(Intent.EXTRA_TITLE, filename);
         downloadCSVLauncher.launch(intent);
     }
 
-    private void writeCSVToURI(Uri uri) {
-        final ArrayList<Profile> dataToWrite = new ArrayList<>(profileArray);
+    /**
+     * Streams the chosen lists to the file on a background thread, showing progress on the download button.
+     */
+    private void writeExportToURI(Uri uri) {
+        if (exporting || executorService.isShutdown()) {
+            return;
+        }
         final Context applicationContext = requireContext().getApplicationContext();
+        // the choice is lost if the fragment was recreated while the file picker was open
+        List<Entrant.Status> statuses = exportStatuses != null ? exportStatuses : Collections.singletonList(toStatus(listType));
+        final EntrantExporter exporter = new EntrantExporter(event, statuses, exportFormat);
+        final Button downloadButton = view.findViewById(R.id.ent_list_download_button);
+        final CharSequence downloadLabel = downloadButton.getText();
+        exporting = true;
+        downloadButton.setEnabled(false);
 
         executorService.execute(() -> {
-            try {
-                try (OutputStream outputStream = applicationContext.getContentResolver().openOutputStream(uri)) {
-                    if (outputStream == null) {
-                        throw new Exception("Failed to open output stream.");
-                    }
-
-                    StringBuilder csvContent = new StringBuilder();
-                    csvContent.append("Name,Email,Phone Number\n");
-
-                    for (Profile profile : dataToWrite) {
-                        String name = escapeCSVField(profile.getName());
-                        String email = escapeCSVField(profile.getEmail());
-                        String phone = escapeCSVField(profile.getPhoneNumber());
-
-                        csvContent.append(name).append(",")
-                                .append(email).append(",")
-                                .append(phone).append("\n");
-                    }
-
-                    outputStream.write(csvContent.toString().getBytes());
-                    mainThreadHandler.post(() -> {
-                        Toast.makeText(applicationContext, "Export successful!", Toast.LENGTH_LONG).show();
-                    });
-
+            try (OutputStream outputStream = applicationContext.getContentResolver().openOutputStream(uri)) {
+                if (outputStream == null) {
+                    throw new IOException("Failed to open output stream.");
                 }
+                int rows = exporter.export(outputStream, (processed, total) -> mainThreadHandler.post(() -> {
+                    downloadButton.setText("Exporting " + (100 * processed / Math.max(total, 1)) + "%");
+                }));
+                mainThreadHandler.post(() -> {
+                    Toast.makeText(applicationContext, "Export successful! " + rows + " entrants saved.", Toast.LENGTH_LONG).show();
+                });
             } catch (Exception e) {
-                Log.e("EventEntrantList", "Error writing CSV file", e);
+                Log.e("EventEntrantList", "Error writing export file", e);
                 mainThreadHandler.post(() -> {
                     Toast.makeText(applicationContext, "Error saving file: " + e.getLocalizedMessage(), Toast.LENGTH_LONG).show();
                 });
+            } finally {
+                mainThreadHandler.post(() -> {
+                    exporting = false;
+                    downloadButton.setEnabled(true);
+                    downloadButton.setText(downloadLabel);
+                });
             }
         });
     }
 
-    private String escapeCSVField(String field) {
-        if (field == null) {
-            return "";
+    @Override
+    public void update() {
+        // the manager may not hold the event yet, keep rendering the one passed in
+        Event latest = EventManager.getInstance().getEventByDBID(event.getId());
+        if (latest != null) {
+            event = latest;
         }
-        // if the field contains a comma, newline, or double quote, wrap it in double quotes.
-        if (field.contains(",") || field.contains("\n") || field.contains("\"")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+        render();
+        resolveVisibleProfiles();
+    }
+
+    /**
+     * Called when the {@link ProfileManager} notifies its views.
+     * <p>
+     * The adapter forgets which profiles it has requested and which were missing, since a missing
+     * profile may have been created since, then the rows on screen are rebound and resolved again.
+     * </p>
+     */
+    private void onProfilesChanged() {
+        if (entrantAdapter == null) {
+            return;
         }
-        return field;
+        entrantAdapter.forgetResolvedProfiles();
+        entrantAdapter.refreshProfiles(layoutManager.findFirstVisibleItemPosition(), layoutManager.findLastVisibleItemPosition());
+        resolveVisibleProfiles();
     }
 
-    @Override
-    public void update() {
-        event = EventManager.getInstance().getEventByDBID(event.getId());
-        if (event != null) {
-            render();
+    /**
+     * Resolves the profiles of the visible rows and of the rows within the prefetch distance of them.
+     */
+    private void resolveVisibleProfiles() {
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            // nothing laid out yet, resolve the rows that will fill the first screen
+            first = 0;
+            last = 0;
         }
+        entrantAdapter.resolveRange(first - PROFILE_PREFETCH_DISTANCE, last + PROFILE_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * Shows the current entrant device IDs, resolving the visible profiles once the list is diffed.
+     */
+    private void submitEntrants() {
+        entrantAdapter.submitList(new ArrayList<>(entrantDeviceIds), this::resolveVisibleProfiles);
     }
 
     @Override
     public void cancelProfile(String deviceID) {
+        if (event.isEntrantSubcollection()) {
+            EventManager.getInstance().declineInvitation(event, deviceID)
+                    .addOnSuccessListener(declined -> {
+                        if (declined && isAdded()) {
+                            Toast.makeText(requireContext(), "Entrant successfully removed!", Toast.LENGTH_LONG).show();
+                        }
+                    });
+            return;
+        }
         event.joinDeclinedList(deviceID);
         EventManager.getInstance().updateEvent(event);
         Toast.makeText(requireContext(), "Entrant successfully removed!", Toast.LENGTH_LONG).show();
     }
 
     public void createNotification(String message) {
-        Profile sender = event.getOrganizer();
         Timestamp now = Timestamp.now();
-        for (Profile receiver : profileArray) {
-            Notification notification = new Notification(sender, receiver, message, now);
-            NotificationManager.getInstance().createNotification(notification);
-        }
+        String organizerDeviceId = event.getOrganizerDeviceId();
+        // only the loaded pages of a subcollection are on screen, so read the whole list to message it
+        Task<List<String>> receivers = event.isEntrantSubcollection()
+                ? EventManager.getInstance().getEntrantDeviceIds(event, toStatus(listType))
+                : Tasks.forResult(new ArrayList<>(entrantDeviceIds));
+        // only entrants that still have a profile are messaged
+        receivers.onSuccessTask(deviceIds -> ProfileManager.getInstance().getProfilesByDeviceIds(deviceIds))
+                .addOnSuccessListener(profiles -> {
+                    for (String receiverDeviceId : profiles.keySet()) {
+                        Notification notification = new Notification(organizerDeviceId, receiverDeviceId, message, now);
+                        NotificationManager.getInstance().createNotification(notification);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e("EventEntrantList", "Failed to message entrants of event " + event.getId(), e));
         Toast.makeText(requireContext(), "Message sent to entrants!", Toast.LENGTH_LONG).show();
     }
 
     public void render() {
         TextView listTitleTextview = view.findViewById(R.id.ent_list_title_textview);
-        ArrayList<String> profileStringArray = new ArrayList<>();
+        List<String> profileStringArray = new ArrayList<>();
         switch (listType) {
             case WAITING_LIST: {
                 listTitleTextview.setText("Waiting List");
-                profileStringArray = (ArrayList<String>) event.getWaitList();
+                profileStringArray = event.getWaitList();
                 break;
             }
             case PENDING_LIST: {
                 listTitleTextview.setText("Pending List");
-                profileStringArray = (ArrayList<String>) event.getPendingList();
+                profileStringArray = event.getPendingList();
                 break;
             }
             case ACCEPTED_LIST: {
                 listTitleTextview.setText("Accepted List");
-                profileStringArray = (ArrayList<String>) event.getAcceptedList();
+                profileStringArray = event.getAcceptedList();
                 break;
             }
             case DECLINED_LIST: {
                 listTitleTextview.setText("Declined List");
-                profileStringArray = (ArrayList<String>) event.getDeclinedList();
+                profileStringArray = event.getDeclinedList();
                 break;
             }
         }
 
-        profileArray.clear();
-        for (String deviceID : profileStringArray) {
-            Profile profile = ProfileManager.getInstance().getProfileByDeviceId(deviceID);
-            if (profile != null) {
-                profileArray.add(profile);
+        if (event.isEntrantSubcollection()) {
+            // entrants are paged in from the subcollection, start over when the list changes size
+            int count = event.getEntrantCount(toStatus(listType));
+            if (count != pagedCount) {
+                pagedCount = count;
+                resetPages();
+                loadNextPage();
             }
+            return;
+        }
+
+        // the adapter diffs the device IDs off the main thread and resolves profiles as rows are shown
+        entrantDeviceIds.clear();
+        entrantDeviceIds.addAll(profileStringArray);
+        submitEntrants();
+    }
+
+    /**
+     * Clears the loaded entrants and starts paging from the beginning; pages still in flight are ignored.
+     */
+    private void resetPages() {
+        pageGeneration++;
+        nextPage = null;
+        loadingPage = false;
+        allPagesLoaded = false;
+        entrantDeviceIds.clear();
+        submitEntrants();
+    }
+
+    /**
+     * Loads the next page of entrants from the event's entrant subcollection, unless a page is
+     * already loading or every page has been loaded.
+     */
+    private void loadNextPage() {
+        if (loadingPage || allPagesLoaded) {
+            return;
+        }
+        loadingPage = true;
+        final int generation = pageGeneration;
+        EventManager.getInstance().loadEntrantPage(event, toStatus(listType), EventManager.ENTRANT_PAGE_SIZE, nextPage,
+                new EventManager.EntrantPageListener() {
+                    @Override
+                    public void onEntrantPageLoaded(@NonNull List<Entrant> entrants, DocumentSnapshot next) {
+                        if (generation != pageGeneration || !isAdded()) {
+                            return;
+                        }
+                        loadingPage = false;
+                        nextPage = next;
+                        allPagesLoaded = next == null;
+                        for (Entrant entrant : entrants) {
+                            entrantDeviceIds.add(entrant.getDeviceId());
+                        }
+                        submitEntrants();
+                    }
+
+                    @Override
+                    public void onEntrantPageFailed(@NonNull Exception e) {
+                        if (generation != pageGeneration || !isAdded()) {
+                            return;
+                        }
+                        loadingPage = false;
+                        Toast.makeText(requireContext(), "Failed to load entrants.", Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    private static Entrant.Status toStatus(ListType listType) {
+        switch (listType) {
+            case WAITING_LIST:
+                return Entrant.Status.WAITLIST;
+            case PENDING_LIST:
+                return Entrant.Status.PENDING;
+            case ACCEPTED_LIST:
+                return Entrant.Status.ACCEPTED;
+            default:
+                return Entrant.Status.DECLINED;
         }
-        profileAdapter.notifyDataSetChanged();
     }
-}
\ No newline at end of file
+}
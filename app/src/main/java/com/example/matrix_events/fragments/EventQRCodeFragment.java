@@ -1,6 +1,5 @@
 package com.example.matrix_events.fragments;
 
-import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -15,7 +14,6 @@ import androidx.fragment.app.Fragment;
 import com.example.matrix_events.R;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.utils.QRCodeGenerator;
-import com.google.zxing.WriterException;
 
 
 public class EventQRCodeFragment extends Fragment {
@@ -56,13 +54,14 @@ public class EventQRCodeFragment extends Fragment {
 
         ImageView qrCodeImageView = view.findViewById(R.id.qr_code_image);
 
-        // Generate and display QR code
-        try {
-            Bitmap qrBitmap = QRCodeGenerator.generateQRCodeBitmap(event.getQrCodeHash(), 512, 512);
-            qrCodeImageView.setImageBitmap(qrBitmap);
-        } catch (WriterException e) {
-            Log.e(TAG, "Error generating QR code", e);
-            Toast.makeText(requireContext(), "Error generating QR code", Toast.LENGTH_SHORT).show();
-        }
+        // Generate and display QR code, rendered off the main thread unless it is cached
+        QRCodeGenerator.loadQRCodeBitmap(event.getQrCodeHash(), 512, 512)
+                .addOnSuccessListener(qrBitmap -> qrCodeImageView.setImageBitmap(qrBitmap))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error generating QR code", e);
+                    if (isAdded()) {
+                        Toast.makeText(requireContext(), "Error generating QR code", Toast.LENGTH_SHORT).show();
+                    }
+                });
     }
 }
\ No newline at end of file
@@ -59,9 +59,9 @@ public class NotificationSeeMoreFragment extends Fragment {
             String title;
 
             if ("admin".equals(adapterType)) {
-                title = notification.getSender().getName() + " sent to " + notification.getReceiver().getName();
+                title = notification.getSenderName() + " sent to " + notification.getReceiverName();
             } else {
-                title = "New message from: " + notification.getSender().getName();
+                title = "New message from: " + notification.getSenderName();
             }
 
             titleTextView.setText(title);
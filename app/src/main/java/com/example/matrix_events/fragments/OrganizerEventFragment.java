@@ -3,6 +3,8 @@ package com.example.matrix_events.fragments;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.View;
@@ -16,18 +18,31 @@ import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
 import com.example.matrix_events.R;
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.utils.GeoGridClusterer;
+import com.example.matrix_events.utils.MatrixGlideModule;
 import com.example.matrix_events.utils.TimestampConverter;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.firebase.firestore.GeoPoint;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class OrganizerEventFragment extends Fragment implements com.example.matrix_events.mvc.View, OnMapReadyCallback {
 
@@ -36,6 +51,17 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
     private Event event = null;
     private GoogleMap googleMap;
 
+    // Markers on the map by cluster key, diffed against each new clustering
+    private final Map<String, Marker> renderedMarkers = new HashMap<>();
+    private final ExecutorService clusterExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+    // Incremented for every clustering requested, so only the latest one is computed and shown
+    private final AtomicInteger clusterGeneration = new AtomicInteger();
+    private boolean cameraPositioned = false;
+    // Entrant locations of an event storing entrants in a subcollection, reloaded when entrants join or leave
+    private Map<String, GeoPoint> subcollectionLocations = Collections.emptyMap();
+    private int locatedEntrantCount = -1;
+
     public OrganizerEventFragment() {
         super(R.layout.fragment_organizer_event);
     }
@@ -90,12 +116,25 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
 
         // observe event manager
         EventManager.getInstance().addView(this);
+        // snapshots do not include joins to a sharded waitlist, so count them once for this screen
+        EventManager.getInstance().refreshWaitlistCount(event);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // the map goes with the view, so its markers are rebuilt if the view is recreated
+        googleMap = null;
+        renderedMarkers.clear();
+        cameraPositioned = false;
+        clusterGeneration.incrementAndGet();
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
         EventManager.getInstance().removeView(this);
+        clusterExecutor.shutdownNow();
     }
 
     @Override
@@ -105,15 +144,47 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
             return;
         }
 
-        event = EventManager.getInstance().getEventByDBID(event.getId());
-        if (event != null) {
-            render();
+        // events opened from a summary reach the manager with its next snapshot
+        Event latest = EventManager.getInstance().getEventByDBID(event.getId());
+        if (latest != null) {
+            event = latest;
+        }
+        render();
+        if (event.isEntrantSubcollection()) {
+            loadSubcollectionLocations();
         }
     }
 
+    /**
+     * Reads the entrant locations of an event storing entrants in a subcollection, if the number
+     * of entrants has changed since they were last read, and shows them on the map.
+     */
+    private void loadSubcollectionLocations() {
+        int count = 0;
+        for (Entrant.Status status : Entrant.Status.values()) {
+            count += event.getEntrantCount(status);
+        }
+        if (count == locatedEntrantCount) {
+            return;
+        }
+        locatedEntrantCount = count;
+        String eventId = event.getId();
+        EventManager.getInstance().getEntrantLocations(event)
+                .addOnSuccessListener(locations -> {
+                    if (!isAdded() || event == null || !eventId.equals(event.getId())) {
+                        return;
+                    }
+                    subcollectionLocations = locations;
+                    updateMapMarkers();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to load entrant locations of event " + eventId, e));
+    }
+
     @Override
     public void onMapReady(@NonNull GoogleMap googleMap) {
         this.googleMap = googleMap;
+        // clusters depend on the zoom level and visible region, so recompute them once the camera settles
+        googleMap.setOnCameraIdleListener(this::updateMapMarkers);
         updateMapMarkers();
     }
 
@@ -127,24 +198,102 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
         });
     }
 
+    /**
+     * Clusters the entrant locations for the current camera on a background thread, then shows them.
+     * <p>
+     * The event is replaced rather than modified by {@link EventManager}, so its location map is
+     * read on the background thread without copying it.
+     * </p>
+     */
     private void updateMapMarkers() {
-        if (googleMap == null || event == null) return;
+        if (googleMap == null || event == null || clusterExecutor.isShutdown()) return;
 
-        googleMap.clear();
+        HashMap<String, GeoPoint> geolocationMap = event.getGeolocationMap();
+        Map<String, GeoPoint> locations;
+        if (event.isEntrantSubcollection()) {
+            locations = subcollectionLocations;
+        } else {
+            locations = geolocationMap != null ? geolocationMap : Collections.emptyMap();
+        }
 
-        HashMap<String, GeoPoint> locations = event.getGeolocationMap();
-        if (locations != null && !locations.isEmpty()) {
-            LatLng lastLocation = null;
-            for (GeoPoint geoPoint : locations.values()) {
-                LatLng latLng = new LatLng(geoPoint.getLatitude(), geoPoint.getLongitude());
-                googleMap.addMarker(new MarkerOptions().position(latLng));
-                lastLocation = latLng;
+        // Move the camera to an entrant the first time there is one, rather than on every update
+        if (!cameraPositioned && !locations.isEmpty()) {
+            GeoPoint first = locations.values().iterator().next();
+            googleMap.moveCamera(CameraUpdateFactory.newLatLngZoom(new LatLng(first.getLatitude(), first.getLongitude()), 10f));
+            cameraPositioned = true;
+        }
+
+        float zoom = googleMap.getCameraPosition().zoom;
+        GeoGridClusterer.Viewport viewport = paddedViewport(googleMap.getProjection().getVisibleRegion().latLngBounds);
+        int generation = clusterGeneration.incrementAndGet();
+        clusterExecutor.execute(() -> {
+            if (generation != clusterGeneration.get()) {
+                return; // superseded before it started
             }
+            List<GeoGridClusterer.Cluster> clusters = GeoGridClusterer.cluster(locations, zoom, viewport);
+            mainThreadHandler.post(() -> {
+                if (generation == clusterGeneration.get() && googleMap != null) {
+                    applyClusters(clusters);
+                }
+            });
+        });
+    }
+
+    /**
+     * Extends the visible region by half its size on every side, so markers just off screen are
+     * already placed when the map is panned. Returns {@code null} for the whole world when the
+     * region wraps around it.
+     */
+    private static GeoGridClusterer.Viewport paddedViewport(LatLngBounds bounds) {
+        double latitudePadding = (bounds.northeast.latitude - bounds.southwest.latitude) / 2;
+        double longitudeSpan = bounds.northeast.longitude - bounds.southwest.longitude;
+        if (longitudeSpan < 0) {
+            longitudeSpan += 360;
+        }
+        if (longitudeSpan * 2 >= 360) {
+            return null;
+        }
+        double west = bounds.southwest.longitude - longitudeSpan / 2;
+        double east = bounds.northeast.longitude + longitudeSpan / 2;
+        return new GeoGridClusterer.Viewport(
+                Math.max(-90, bounds.southwest.latitude - latitudePadding),
+                west < -180 ? west + 360 : west,
+                Math.min(90, bounds.northeast.latitude + latitudePadding),
+                east > 180 ? east - 360 : east);
+    }
 
-            // Move camera to the last added point, or general view
-            if (lastLocation != null) {
-                googleMap.moveCamera(CameraUpdateFactory.newLatLngZoom(lastLocation, 10f));
+    /**
+     * Shows a clustering by diffing it against the markers on the map by key: unchanged markers
+     * are left alone, changed ones are moved or relabelled, and only new and stale markers are
+     * added and removed.
+     */
+    private void applyClusters(List<GeoGridClusterer.Cluster> clusters) {
+        Map<String, Marker> stale = new HashMap<>(renderedMarkers);
+        for (GeoGridClusterer.Cluster cluster : clusters) {
+            LatLng position = new LatLng(cluster.getLatitude(), cluster.getLongitude());
+            String title = cluster.isCluster() ? cluster.getSize() + " entrants" : null;
+            Marker marker = stale.remove(cluster.getKey());
+            if (marker == null) {
+                MarkerOptions options = new MarkerOptions().position(position).title(title);
+                if (cluster.isCluster()) {
+                    options.icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_AZURE));
+                }
+                marker = googleMap.addMarker(options);
+                if (marker != null) {
+                    renderedMarkers.put(cluster.getKey(), marker);
+                }
+                continue;
             }
+            if (!position.equals(marker.getPosition())) {
+                marker.setPosition(position);
+            }
+            if (title != null && !title.equals(marker.getTitle())) {
+                marker.setTitle(title);
+            }
+        }
+        for (Map.Entry<String, Marker> entry : stale.entrySet()) {
+            entry.getValue().remove();
+            renderedMarkers.remove(entry.getKey());
         }
     }
 
@@ -215,9 +364,10 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
         ImageView posterImage = view.findViewById(R.id.org_event_poster_image);
 
         if (event.getPoster() != null && event.getPoster().getImageUrl() != null) {
-            String posterUrl = event.getPoster().getImageUrl();
+            String posterUrl = event.getPoster().getImageUrl(Poster.Rendition.DETAIL);
             Glide.with(context)
                     .load(posterUrl)
+                    .apply(MatrixGlideModule.posterBannerOptions(context))
                     .placeholder(R.drawable.placeholder)        // optional
                     .error(R.drawable.placeholder)              // optional
                     .into(posterImage);
@@ -275,7 +425,7 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
         maxEventCapTextview.setText(String.valueOf(event.getEventCapacity()));
 
         // Current Waitlist Size
-        int waitListSize = event.getWaitList().size();
+        int waitListSize = event.getEntrantCount(Entrant.Status.WAITLIST);
         TextView currentWaitlistTextview = view.findViewById(R.id.org_event_current_waitlist_textview);
         if (event.getWaitlistCapacity() != null) {
             currentWaitlistTextview.setText(waitListSize + "/" + event.getWaitlistCapacity());
@@ -284,7 +434,7 @@ public class OrganizerEventFragment extends Fragment implements com.example.matr
         }
 
         // Current Accepted Size
-        int acceptedListSize = event.getAcceptedList().size();
+        int acceptedListSize = event.getEntrantCount(Entrant.Status.ACCEPTED);
         TextView currentAcceptedListTextview = view.findViewById(R.id.org_event_current_accepted_textview);
         currentAcceptedListTextview.setText(acceptedListSize + "/" + event.getEventCapacity());
     }
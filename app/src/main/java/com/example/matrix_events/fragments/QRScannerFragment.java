@@ -17,20 +17,34 @@ import androidx.fragment.app.Fragment;
 import com.example.matrix_events.R;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.managers.EventManager;
+import com.google.zxing.BarcodeFormat;
 import com.journeyapps.barcodescanner.BarcodeCallback;
 import com.journeyapps.barcodescanner.BarcodeResult;
 import com.journeyapps.barcodescanner.DecoratedBarcodeView;
-
-import java.util.List;
-
+import com.journeyapps.barcodescanner.DefaultDecoderFactory;
+
+import java.util.Collections;
+
+/**
+ * Scans event QR codes with the camera and offers to open the scanned event.
+ * <p>
+ * Only the QR code format is decoded, and only within a centered region of the preview. The
+ * scanner reports the same code on every frame it stays in view, so a code is resolved once
+ * through {@link EventManager#findEventByQRHash(String)} and repeats are ignored until a different
+ * code is scanned.
+ * </p>
+ */
 public class QRScannerFragment extends Fragment {
 
     private static final String TAG = "QRScannerFragment";
+    // Fraction of the preview left undecoded on each side of the scanning region
+    private static final double SCAN_MARGIN_FRACTION = 0.15;
 
     private DecoratedBarcodeView barcodeView;
     private Button openEventButton;
     private Event currentValidEvent = null; // currently visible valid QR
     private boolean invalidToastShown = false;
+    private String lastScannedHash = null;  // last code resolved or being resolved
 
     // Permission launcher
     private final ActivityResultLauncher<String> requestPermissionLauncher =
@@ -55,6 +69,11 @@ public class QRScannerFragment extends Fragment {
         openEventButton = view.findViewById(R.id.open_event_button);
         openEventButton.setVisibility(View.GONE);
 
+        // Decode QR codes only, within the center of the preview
+        barcodeView.getBarcodeView().setDecoderFactory(
+                new DefaultDecoderFactory(Collections.singletonList(BarcodeFormat.QR_CODE)));
+        barcodeView.getBarcodeView().setMarginFraction(SCAN_MARGIN_FRACTION);
+
         openEventButton.setOnClickListener(v -> {
             if (currentValidEvent != null) {
                 navigateToEvent(currentValidEvent);
@@ -76,38 +95,54 @@ public class QRScannerFragment extends Fragment {
         barcodeView.decodeContinuous(new BarcodeCallback() {
             @Override
             public void barcodeResult(BarcodeResult result) {
-                if (result.getText() == null) return;
-
-                Event event = findEventByQRHash(result.getText());
-                if (event != null) {
-                    // Valid QR: show button and store current event
-                    currentValidEvent = event;
-                    openEventButton.setVisibility(View.VISIBLE);
-                    invalidToastShown = false; // reset invalid toast flag
-                } else {
-                    // Invalid QR: hide button
-                    currentValidEvent = null;
-                    openEventButton.setVisibility(View.GONE);
-
-                    if (!invalidToastShown) {
-                        Toast.makeText(requireContext(), "Invalid QR code", Toast.LENGTH_SHORT).show();
-                        invalidToastShown = true; // prevent multiple toasts
-                    }
-                }
+                String qrHash = result.getText();
+                if (qrHash == null || qrHash.equals(lastScannedHash)) return;
+
+                lastScannedHash = qrHash;
+                EventManager.getInstance().findEventByQRHash(qrHash)
+                        .addOnSuccessListener(event -> showScanResult(qrHash, event))
+                        .addOnFailureListener(e -> showScanFailure(qrHash, e));
             }
         });
 
         barcodeView.resume();
     }
 
-    private Event findEventByQRHash(String qrHash) {
-        List<Event> events = EventManager.getInstance().getEvents();
-        for (Event event : events) {
-            if (qrHash.equals(event.getQrCodeHash())) {
-                return event;
+    /**
+     * Shows the outcome of resolving a scanned code, unless another code has been scanned since.
+     */
+    private void showScanResult(String qrHash, Event event) {
+        if (barcodeView == null || !qrHash.equals(lastScannedHash)) return;
+
+        if (event != null) {
+            // Valid QR: show button and store current event
+            currentValidEvent = event;
+            openEventButton.setVisibility(View.VISIBLE);
+            invalidToastShown = false; // reset invalid toast flag
+        } else {
+            // Invalid QR: hide button
+            currentValidEvent = null;
+            openEventButton.setVisibility(View.GONE);
+
+            if (!invalidToastShown) {
+                Toast.makeText(requireContext(), "Invalid QR code", Toast.LENGTH_SHORT).show();
+                invalidToastShown = true; // prevent multiple toasts
             }
         }
-        return null;
+    }
+
+    /**
+     * Reports a code that could not be resolved, such as while offline, and forgets it so that
+     * scanning it again retries the lookup.
+     */
+    private void showScanFailure(String qrHash, Exception e) {
+        Log.e(TAG, "Failed to resolve QR code", e);
+        if (barcodeView == null || !qrHash.equals(lastScannedHash)) return;
+
+        lastScannedHash = null;
+        currentValidEvent = null;
+        openEventButton.setVisibility(View.GONE);
+        Toast.makeText(requireContext(), "Could not look up this QR code, try again", Toast.LENGTH_SHORT).show();
     }
 
     private void navigateToEvent(Event event) {
@@ -127,6 +162,7 @@ public class QRScannerFragment extends Fragment {
         super.onResume();
         currentValidEvent = null;
         invalidToastShown = false;
+        lastScannedHash = null;
         openEventButton.setVisibility(View.GONE);
         if (barcodeView != null) {
             barcodeView.resume();
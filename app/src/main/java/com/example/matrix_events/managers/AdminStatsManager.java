@@ -0,0 +1,137 @@
+package com.example.matrix_events.managers;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.matrix_events.mvc.Model;
+import com.google.firebase.firestore.AggregateField;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Provides the totals shown on the admin dashboard without downloading any collection.
+ * <p>
+ * This class follows the <b>Singleton Pattern</b>. Unlike the other managers it does not keep a
+ * snapshot listener on a collection; instead {@link #refresh()} issues Firestore {@code count()} and
+ * {@code sum()} aggregation queries, which are evaluated on the server and only return the numbers.
+ * The number of distinct organizers cannot be aggregated this way, so it is read from the counter
+ * document {@code admin_stats/organizers}, which the {@code count_event_organizers} cloud function
+ * maintains as events are written.
+ * </p>
+ * <p>
+ * As a {@link Model}, it notifies registered views each time one of the totals arrives.
+ * </p>
+ */
+public class AdminStatsManager extends Model {
+    private static final String TAG = "AdminStatsManager";
+
+    /**
+     * The totals available on the dashboard.
+     */
+    public enum Stat {
+        PROFILES,
+        ADMINS,
+        EVENTS,
+        EVENTS_REGISTRATION_NOT_OPEN,
+        EVENTS_REGISTRATION_OPEN,
+        EVENTS_REGISTRATION_CLOSED,
+        ORGANIZERS,
+        POSTERS,
+        POSTER_BYTES,
+        NOTIFICATIONS,
+        UNREAD_NOTIFICATIONS
+    }
+
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final Map<Stat, Long> stats = new EnumMap<>(Stat.class);
+
+    // Singleton
+    private static final AdminStatsManager manager = new AdminStatsManager();
+
+    /**
+     * Gets the singleton instance of the AdminStatsManager.
+     *
+     * @return The single, static instance of AdminStatsManager.
+     */
+    public static AdminStatsManager getInstance() {
+        return manager;
+    }
+
+    /**
+     * Gets the most recently fetched value of a total.
+     *
+     * @param stat The total to read.
+     * @return The value, or {@code null} if it has not been fetched yet or the query failed.
+     */
+    @Nullable
+    public Long getStat(@NonNull Stat stat) {
+        return stats.get(stat);
+    }
+
+    /**
+     * Asynchronously re-fetches every total from the server.
+     * <p>
+     * Each aggregation completes independently and notifies the views as soon as it arrives.
+     * </p>
+     */
+    public void refresh() {
+        Query profiles = db.collection("profiles");
+        Query events = db.collection("events");
+        Query notifications = db.collection("notifications");
+
+        count(Stat.PROFILES, profiles);
+        count(Stat.ADMINS, profiles.whereEqualTo("admin", true));
+
+        count(Stat.EVENTS, events);
+        count(Stat.EVENTS_REGISTRATION_NOT_OPEN, events.whereEqualTo("registrationOpened", false));
+        count(Stat.EVENTS_REGISTRATION_OPEN, events.whereEqualTo("registrationOpened", true)
+                .whereEqualTo("lotteryProcessed", false));
+        count(Stat.EVENTS_REGISTRATION_CLOSED, events.whereEqualTo("lotteryProcessed", true));
+
+        count(Stat.NOTIFICATIONS, notifications);
+        count(Stat.UNREAD_NOTIFICATIONS, notifications.whereEqualTo("readFlag", false));
+
+        count(Stat.POSTERS, db.collection("posters"));
+
+        // Posters sharing an image share its files, so the size is summed once per stored image
+        AggregateField.SumAggregateField fileBytes = AggregateField.sum("sizeBytes");
+        db.collection("poster_files").aggregate(fileBytes)
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    Long bytes = snapshot.getLong(fileBytes);
+                    stats.put(Stat.POSTER_BYTES, bytes == null ? 0L : bytes);
+                    notifyViews();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to sum poster file sizes", e));
+
+        // Distinct organizers come from the counter document maintained by the cloud function
+        db.collection("admin_stats").document("organizers").get()
+                .addOnSuccessListener(document -> {
+                    Long organizers = document.getLong("count");
+                    stats.put(Stat.ORGANIZERS, organizers == null ? 0L : organizers);
+                    notifyViews();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to read organizer counter", e));
+    }
+
+    /**
+     * Runs a server-side count aggregation and stores the result.
+     *
+     * @param stat  The total the count is stored under.
+     * @param query The query to count the results of.
+     */
+    private void count(@NonNull Stat stat, @NonNull Query query) {
+        query.count().get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    stats.put(stat, snapshot.getCount());
+                    notifyViews();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to count " + stat, e));
+    }
+}
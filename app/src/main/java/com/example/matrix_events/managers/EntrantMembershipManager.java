@@ -0,0 +1,158 @@
+package com.example.matrix_events.managers;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.entities.Entrant;
+import com.example.matrix_events.mvc.Model;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which events one user is waitlisted, pending, accepted or declined in.
+ * <p>
+ * This class follows the <b>Singleton Pattern</b>. It exists so that the entrant's "My Events"
+ * screen can pick its {@link com.example.matrix_events.entities.EventSummary} rows without the
+ * {@link EventManager}, whose listener downloads every event with all of its entrant lists.
+ * Instead, {@link #watch(String)} attaches only queries scoped to the user:
+ * <ul>
+ * <li>one {@code whereArrayContains} query per entrant list field of the {@code events} collection,
+ * which returns just the events holding the user in that list, and</li>
+ * <li>one collection group query on {@code entrants} by device ID, for events storing their entrants
+ * in a subcollection (see {@link com.example.matrix_events.entities.Event#isEntrantSubcollection()}),
+ * which needs a collection group index exemption on {@code entrants.deviceId}.</li>
+ * </ul>
+ * Only the document IDs of the results are kept; the event documents are never decoded.
+ * </p>
+ * <p>
+ * As a {@link Model}, it notifies registered views whenever the user's memberships change.
+ * </p>
+ */
+public class EntrantMembershipManager extends Model {
+    private static final String TAG = "EntrantMembershipManager";
+    private static final String ENTRANTS = "entrants";
+    private static final Map<Entrant.Status, String> LIST_FIELDS = new EnumMap<>(Entrant.Status.class);
+
+    static {
+        LIST_FIELDS.put(Entrant.Status.WAITLIST, "waitList");
+        LIST_FIELDS.put(Entrant.Status.PENDING, "pendingList");
+        LIST_FIELDS.put(Entrant.Status.ACCEPTED, "acceptedList");
+        LIST_FIELDS.put(Entrant.Status.DECLINED, "declinedList");
+    }
+
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final List<ListenerRegistration> registrations = new ArrayList<>();
+    private String watchedDeviceId;
+    // Status -> IDs of the events whose entrant list of that status holds the user
+    private volatile Map<Entrant.Status, Set<String>> listMemberships = new EnumMap<>(Entrant.Status.class);
+    // Event ID -> status of the user, for events with subcollection entrant storage
+    private volatile Map<String, Entrant.Status> subcollectionMemberships = new HashMap<>();
+
+    // Singleton
+    private static final EntrantMembershipManager manager = new EntrantMembershipManager();
+
+    /**
+     * Gets the singleton instance of the EntrantMembershipManager.
+     *
+     * @return The single, static instance of EntrantMembershipManager.
+     */
+    public static EntrantMembershipManager getInstance() {
+        return manager;
+    }
+
+    /**
+     * Starts following the events a user is on. Watching another user stops watching the previous one.
+     *
+     * @param deviceId The device ID of the user, normally the user of this device.
+     */
+    public void watch(@NonNull String deviceId) {
+        if (deviceId.equals(watchedDeviceId)) {
+            return;
+        }
+        for (ListenerRegistration registration : registrations) {
+            registration.remove();
+        }
+        registrations.clear();
+        watchedDeviceId = deviceId;
+        listMemberships = new EnumMap<>(Entrant.Status.class);
+        subcollectionMemberships = new HashMap<>();
+
+        for (Map.Entry<Entrant.Status, String> field : LIST_FIELDS.entrySet()) {
+            Entrant.Status status = field.getKey();
+            registrations.add(db.collection("events").whereArrayContains(field.getValue(), deviceId)
+                    .addSnapshotListener((snapshot, e) -> {
+                        if (e != null || snapshot == null) {
+                            Log.e(TAG, "Failed to watch the " + status + " events of " + deviceId, e);
+                            return;
+                        }
+                        Set<String> ids = new HashSet<>();
+                        for (DocumentSnapshot document : snapshot.getDocuments()) {
+                            ids.add(document.getId());
+                        }
+                        Map<Entrant.Status, Set<String>> memberships = new EnumMap<>(listMemberships);
+                        memberships.put(status, ids);
+                        listMemberships = memberships;
+                        notifyViews();
+                    }));
+        }
+
+        registrations.add(db.collectionGroup(ENTRANTS).whereEqualTo("deviceId", deviceId)
+                .addSnapshotListener((snapshot, e) -> {
+                    if (e != null || snapshot == null) {
+                        Log.e(TAG, "Failed to watch the subcollection events of " + deviceId, e);
+                        return;
+                    }
+                    Map<String, Entrant.Status> memberships = new HashMap<>();
+                    for (DocumentSnapshot document : snapshot.getDocuments()) {
+                        DocumentReference eventRef = document.getReference().getParent().getParent();
+                        Entrant entrant = document.toObject(Entrant.class);
+                        if (eventRef != null && entrant != null && entrant.getStatus() != null) {
+                            memberships.put(eventRef.getId(), entrant.getStatus());
+                        }
+                    }
+                    subcollectionMemberships = memberships;
+                    notifyViews();
+                }));
+    }
+
+    /**
+     * Retrieves the IDs of the events for which a user is on any of the given entrant lists.
+     *
+     * @param deviceId The device ID of the user. Only the watched user has memberships.
+     * @param statuses The entrant lists to look in.
+     * @return The Firestore document IDs of the events holding the user, in no particular order.
+     *         Empty if the user is not the one being watched.
+     */
+    @NonNull
+    public Set<String> getEventIds(@NonNull String deviceId, @NonNull Entrant.Status... statuses) {
+        Set<String> ids = new HashSet<>();
+        if (!deviceId.equals(watchedDeviceId)) {
+            return ids;
+        }
+        Map<Entrant.Status, Set<String>> lists = listMemberships;
+        Map<String, Entrant.Status> subcollections = subcollectionMemberships;
+        for (Entrant.Status status : statuses) {
+            Set<String> listIds = lists.get(status);
+            if (listIds != null) {
+                ids.addAll(listIds);
+            }
+            for (Map.Entry<String, Entrant.Status> membership : subcollections.entrySet()) {
+                if (membership.getValue() == status) {
+                    ids.add(membership.getKey());
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -5,16 +5,40 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.example.matrix_events.database.DBChangeSet;
 import com.example.matrix_events.database.DBConnector;
 import com.example.matrix_events.database.DBListener;
+import com.example.matrix_events.database.codecs.EventCodec;
+import com.example.matrix_events.entities.Entrant;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Notification;
-import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.mvc.Model;
+import com.example.matrix_events.utils.EntrantIndex;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.AggregateField;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Manages all event-related data and operations within the application.
@@ -28,15 +52,102 @@ import java.util.List;
  * It also handles complex logic such as cascading deletions (removing posters when events are deleted)
  * and mass notifications upon event cancellation.
  * </p>
+ * <p>
+ * Alongside the event list it keeps ID and QR code hash lookup tables, which are refreshed from the
+ * {@link DBChangeSet} delivered with every snapshot. Event search does not use this manager; it runs
+ * on the {@link EventSummaryManager}, so the search screen never loads full events.
+ * </p>
+ * <p>
+ * <b>Organizer Index:</b> the IDs of the events each organizer runs are kept per organizer device ID,
+ * maintained from the same change sets, so organizer lookups and event counts do not scan all events.
+ * </p>
+ * <p>
+ * <b>Entrant Index:</b> which events each user is waitlisted, pending, accepted or declined in is kept
+ * in an {@link EntrantIndex}, as sorted arrays of events keyed by interned device IDs, so the per-user list
+ * lookups do not scan every event's lists either.
+ * </p>
+ * <p>
+ * <b>Entrant Subcollections:</b> for events with {@link Event#isEntrantSubcollection()} set, entrants are
+ * {@link Entrant} documents under {@code events/{id}/entrants}. They are never part of the snapshot;
+ * instead they are loaded a page at a time with {@link #loadEntrantPage}, and moved between lists with
+ * transactions that keep the counts on the event document in step. {@link #createEvent} stores the
+ * entrants of every event whose waitlist may grow past {@value #SUBCOLLECTION_WAITLIST_CAPACITY} this way,
+ * with the waitlist split across shard documents so concurrent joins do not all write the event document,
+ * and {@link #updateEvent} migrates older events with such waitlists before their registration opens.
+ * The events the current user has joined this way are followed by the {@link EntrantMembershipManager}.
+ * </p>
  */
 public class EventManager extends Model implements DBListener<Event> {
     private static final String TAG = "EventManager";
-    private List<Event> events = new ArrayList<>();
-    private final DBConnector<Event> connector = new DBConnector<>("events", this, Event.class);
+    private volatile List<Event> events = new ArrayList<>();
+    private volatile Map<String, Event> eventsById = new HashMap<>();
+    private volatile Map<String, Event> eventsByQRHash = new HashMap<>();
+    // Event ID -> position in events, so index lookups can be returned in the same order
+    private volatile Map<String, Integer> eventPositions = new HashMap<>();
+    private final EntrantIndex entrantIndex = new EntrantIndex();
+
+    // Organizer device ID -> IDs of the events they organize, and the reverse mapping
+    private final Map<String, Set<String>> organizerEvents = new HashMap<>();
+    private final Map<String, String> eventOrganizers = new HashMap<>();
+    private final EventCodec eventCodec = new EventCodec();
+    private final DBConnector<Event> connector = new DBConnector<>("events", this, Event.class, eventCodec);
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+
+    /**
+     * The default number of entrants loaded per page from an entrant subcollection.
+     */
+    public static final int ENTRANT_PAGE_SIZE = 50;
+    // Firestore allows at most 500 writes in one batch
+    private static final int MAX_BATCH_WRITES = 500;
+    private static final String WAITLIST_SHARDS = "waitlist_shards";
+    private static final String ENTRANTS = "entrants";
+    /**
+     * Events whose waitlist capacity is above this, or unlimited, store their entrants in a subcollection.
+     */
+    public static final int SUBCOLLECTION_WAITLIST_CAPACITY = 200;
+    // Waitlists created with subcollection storage get a shard per this many slots, up to MAX_WAITLIST_SHARDS
+    private static final int SLOTS_PER_SHARD = 50;
+    private static final int MAX_WAITLIST_SHARDS = 10;
+    // Fields of subcollection events written only by the entrant transactions, the cloud functions
+    // and the migration, so updateEvent never writes them
+    private static final Set<String> ENTRANT_FIELDS = new HashSet<>(Arrays.asList(
+            "waitList", "pendingList", "acceptedList", "declinedList", "geolocationMap", "entrantSubcollection",
+            "waitlistCount", "pendingCount", "acceptedCount", "declinedCount", "waitlistShards"));
+
+    // Event ID -> waitlist count last summed from the shards, applied to the stale count of new snapshots
+    private final Map<String, Integer> shardedWaitlistCounts = new HashMap<>();
+    // Event ID -> fields of each subcollection event as last received, to find what updateEvent changed
+    private final Map<String, Map<String, Object>> receivedFields = new HashMap<>();
+
+    // Outcome of one entrant move transaction
+    private enum MoveResult { MOVED, SHARD_FULL, REJECTED }
+
+    /**
+     * A callback interface for receiving a page of entrants from an entrant subcollection.
+     */
+    public interface EntrantPageListener {
+        /**
+         * Called when a page of entrants has been loaded.
+         *
+         * @param entrants The entrants on the page, ordered by device ID.
+         * @param next     The last document of the page to pass to {@link #loadEntrantPage} for the
+         *                 next page, or {@code null} if this was the last page.
+         */
+        void onEntrantPageLoaded(@NonNull List<Entrant> entrants, @Nullable DocumentSnapshot next);
+
+        /**
+         * Called when the page could not be loaded.
+         *
+         * @param e The exception that occurred.
+         */
+        void onEntrantPageFailed(@NonNull Exception e);
+    }
 
     // Singleton
     private static final EventManager manager = new EventManager();
 
+    private EventManager() {}
+
     /**
      * Gets the singleton instance of the EventManager.
      *
@@ -65,12 +176,66 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     @Nullable
     public Event getEventByDBID(@NonNull String id) {
-        for (Event event : events) {
-            if (id.equals(event.getId())) {
-                return event;
+        return eventsById.get(id);
+    }
+
+    /**
+     * Finds a loaded event by the hash encoded in its QR code.
+     *
+     * @param qrHash The QR code hash. Cannot be null.
+     * @return The {@link Event} with the matching hash, or {@code null} if no loaded event has it.
+     */
+    @Nullable
+    public Event getEventByQRHash(@NonNull String qrHash) {
+        return eventsByQRHash.get(qrHash);
+    }
+
+    /**
+     * Resolves a scanned QR code hash to its event.
+     * <p>
+     * The hash is looked up in the loaded events first. If it is not there, for instance because
+     * the events snapshot has not arrived yet, a single {@code qrCodeHash} equality query limited
+     * to one document is made instead of waiting for the whole collection.
+     * </p>
+     *
+     * @param qrHash The QR code hash. Cannot be null.
+     * @return A {@link Task} with the {@link Event}, or {@code null} if no event has the hash.
+     */
+    @NonNull
+    public Task<Event> findEventByQRHash(@NonNull String qrHash) {
+        Event cached = eventsByQRHash.get(qrHash);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        return db.collection("events").whereEqualTo("qrCodeHash", qrHash).limit(1).get().continueWith(task -> {
+            List<DocumentSnapshot> documents = task.getResult().getDocuments();
+            if (documents.isEmpty()) {
+                return null;
             }
+            DocumentSnapshot document = documents.get(0);
+            Event event = eventCodec.decode(document.getData());
+            event.setId(document.getId());
+            return event;
+        });
+    }
+
+    /**
+     * Gets the full event for a detail screen opened from an {@link com.example.matrix_events.entities.EventSummary}.
+     * <p>
+     * The cached event is returned when the manager already holds it, otherwise the event
+     * document is read once through {@link EventSummaryManager#fetchEvent(String)}.
+     * </p>
+     *
+     * @param id The Firestore document ID of the event. Cannot be null.
+     * @return A {@link Task} with the {@link Event}, or {@code null} if it no longer exists.
+     */
+    @NonNull
+    public Task<Event> fetchEvent(@NonNull String id) {
+        Event cached = eventsById.get(id);
+        if (cached != null) {
+            return Tasks.forResult(cached);
         }
-        return null;
+        return EventSummaryManager.getInstance().fetchEvent(id);
     }
 
     /**
@@ -101,8 +266,8 @@ public class EventManager extends Model implements DBListener<Event> {
     @NonNull
     public List<Event> getOrganizerEventsRegistrationNotClosed(@NonNull String deviceID) {
         List<Event> organizerEventsNotClosed = new ArrayList<>();
-        for (Event event : events) {
-            if (event.getOrganizer() != null && !event.isRegistrationClosed() && deviceID.equals(event.getOrganizer().getDeviceId())) {
+        for (Event event : getOrganizerEvents(deviceID)) {
+            if (!event.isRegistrationClosed()) {
                 // Registration closes in the future and deviceID is the organizer
                 organizerEventsNotClosed.add(event);
             }
@@ -137,8 +302,8 @@ public class EventManager extends Model implements DBListener<Event> {
     @NonNull
     public List<Event> getOrganizerEventsRegistrationClosed(@NonNull String deviceID) {
         List<Event> organizerEventsClosed = new ArrayList<>();
-        for (Event event : events) {
-            if (event.getOrganizer() != null && event.isRegistrationClosed() && deviceID.equals(event.getOrganizer().getDeviceId())) {
+        for (Event event : getOrganizerEvents(deviceID)) {
+            if (event.isRegistrationClosed()) {
                 // Registration is closed and deviceID is the organizer
                 organizerEventsClosed.add(event);
             }
@@ -146,6 +311,48 @@ public class EventManager extends Model implements DBListener<Event> {
         return organizerEventsClosed;
     }
 
+    /**
+     * Retrieves all events organized by a specific user, using the organizer index.
+     *
+     * @param deviceID The device ID of the organizer.
+     * @return A list of the {@link Event} objects the user organizes.
+     */
+    @NonNull
+    public List<Event> getOrganizerEvents(@NonNull String deviceID) {
+        List<Event> organizedEvents = new ArrayList<>();
+        Set<String> ids = organizerEvents.get(deviceID);
+        if (ids != null) {
+            for (String id : ids) {
+                Event event = eventsById.get(id);
+                if (event != null) {
+                    organizedEvents.add(event);
+                }
+            }
+        }
+        return organizedEvents;
+    }
+
+    /**
+     * Gets the number of events organized by a specific user.
+     *
+     * @param deviceID The device ID of the organizer.
+     * @return The number of events the user organizes, 0 if they are not an organizer.
+     */
+    public int getOrganizerEventCount(@NonNull String deviceID) {
+        Set<String> ids = organizerEvents.get(deviceID);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Checks whether a user organizes at least one event.
+     *
+     * @param deviceID The device ID of the user.
+     * @return {@code true} if the user is the organizer of any event.
+     */
+    public boolean isOrganizer(@NonNull String deviceID) {
+        return organizerEvents.containsKey(deviceID);
+    }
+
     /**
      * Retrieves all events for which a specific user is on the waitlist.
      *
@@ -154,13 +361,7 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     @NonNull
     public List<Event> getEventsInWaitlist(@NonNull String deviceID) {
-        List<Event> eventsInWaitlist = new ArrayList<>();
-        for (Event event : events) {
-            if (event.inWaitList(deviceID)) {
-                eventsInWaitlist.add(event);
-            }
-        }
-        return eventsInWaitlist;
+        return getEventsInLists(deviceID, EntrantIndex.ListType.WAITLIST);
     }
 
     /**
@@ -171,13 +372,7 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     @NonNull
     public List<Event> getEventsInPending(@NonNull String deviceID) {
-        List<Event> eventsInPending = new ArrayList<>();
-        for (Event event : events) {
-            if (event.inPendingList(deviceID)) {
-                eventsInPending.add(event);
-            }
-        }
-        return eventsInPending;
+        return getEventsInLists(deviceID, EntrantIndex.ListType.PENDING);
     }
 
     /**
@@ -188,13 +383,7 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     @NonNull
     public List<Event> getEventsInAccepted(@NonNull String deviceID) {
-        List<Event> eventsInAccepted = new ArrayList<>();
-        for (Event event : events) {
-            if (event.inAcceptedList(deviceID)) {
-                eventsInAccepted.add(event);
-            }
-        }
-        return eventsInAccepted;
+        return getEventsInLists(deviceID, EntrantIndex.ListType.ACCEPTED);
     }
 
     /**
@@ -205,49 +394,202 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     @NonNull
     public List<Event> getEventsInDeclined(@NonNull String deviceID) {
-        List<Event> eventsInDeclined = new ArrayList<>();
-        for (Event event : events) {
-            if (event.inDeclinedList(deviceID)) {
-                eventsInDeclined.add(event);
+        return getEventsInLists(deviceID, EntrantIndex.ListType.DECLINED);
+    }
+
+    /**
+     * Retrieves all events for which a user is on any of the given entrant lists.
+     *
+     * @param deviceID The device ID of the user.
+     * @param types    The entrant lists to look in.
+     * @return A list of {@link Event} objects holding the user on any of the lists.
+     */
+    @NonNull
+    public List<Event> getEventsInLists(@NonNull String deviceID, @NonNull EntrantIndex.ListType... types) {
+        Map<String, Event> byId = eventsById;
+        Map<String, Integer> positions = eventPositions;
+        List<Event> result = new ArrayList<>();
+        for (String id : getEventIdsInLists(deviceID, types)) {
+            Event event = byId.get(id);
+            if (event != null) {
+                result.add(event);
             }
         }
-        return eventsInDeclined;
+        // the index returns events in no particular order, keep the order of getEvents()
+        Collections.sort(result, (a, b) -> Integer.compare(positionOf(positions, a), positionOf(positions, b)));
+        return result;
+    }
+
+    /**
+     * Retrieves the IDs of the events for which a user is on any of the given entrant lists.
+     * <p>
+     * Events storing entrants in a subcollection are not in the entrant index; they are included
+     * when the {@link EntrantMembershipManager} is watching the user.
+     * </p>
+     *
+     * @param deviceID The device ID of the user.
+     * @param types    The entrant lists to look in.
+     * @return The Firestore document IDs of the events holding the user, in no particular order.
+     */
+    @NonNull
+    private Set<String> getEventIdsInLists(@NonNull String deviceID, @NonNull EntrantIndex.ListType... types) {
+        Set<String> ids = new HashSet<>(entrantIndex.getEventIds(deviceID, types));
+        Entrant.Status[] statuses = new Entrant.Status[types.length];
+        for (int i = 0; i < types.length; i++) {
+            statuses[i] = Entrant.Status.valueOf(types[i].name());
+        }
+        ids.addAll(EntrantMembershipManager.getInstance().getEventIds(deviceID, statuses));
+        return ids;
+    }
+
+    private static int positionOf(@NonNull Map<String, Integer> positions, @NonNull Event event) {
+        Integer position = positions.get(event.getId());
+        return position == null ? Integer.MAX_VALUE : position;
     }
 
     // Create, update, delete operations for organizers and admins
 
     /**
      * Asynchronously creates a new event in the Firestore database.
+     * <p>
+     * Events whose waitlist capacity is unlimited or above {@value #SUBCOLLECTION_WAITLIST_CAPACITY}
+     * are created with subcollection entrant storage, so their document does not grow with the waitlist,
+     * and with their waitlist already sharded (see {@link #shardWaitlist(Event, int)}), so joins do not
+     * contend on the event document. Such events are written in one batch with their shards, and
+     * their ID is set before this returns.
+     * </p>
      *
      * @param event The {@link Event} object to create. Cannot be null.
      */
     public void createEvent(@NonNull Event event) {
-        connector.createAsync(event);
+        Integer waitlistCapacity = event.getWaitlistCapacity();
+        if (!needsSubcollection(waitlistCapacity)) {
+            connector.createAsync(event);
+            return;
+        }
+        int shardCount = shardCountFor(waitlistCapacity);
+        DocumentReference eventRef = db.collection("events").document();
+        event.setId(eventRef.getId());
+        event.setEntrantSubcollection(true);
+        event.setWaitlistShards(shardCount);
+        WriteBatch batch = db.batch();
+        batch.set(eventRef, eventCodec.encode(event));
+        addWaitlistShards(batch, eventRef, waitlistCapacity, shardCount);
+        batch.commit().addOnFailureListener(e -> Log.e(TAG, "Failed to create event " + event.getId(), e));
     }
 
     /**
      * Asynchronously updates an existing event in the Firestore database.
+     * <p>
+     * Events with inline lists are overwritten. For events with subcollection entrant storage only
+     * the fields that differ from the last snapshot are written, and never the entrant counts,
+     * which transactions keep in step with the subcollection and a full overwrite would reset.
+     * </p>
+     * <p>
+     * An event with inline lists whose waitlist capacity calls for subcollection storage, such as one
+     * created before {@link #createEvent} chose the storage, is migrated once it has been written,
+     * provided registration has not opened: its entrants are moved with
+     * {@link #moveEntrantsToSubcollection(Event)} and, if its waitlist is still empty, the waitlist
+     * is sharded as {@link #createEvent} would have.
+     * </p>
      *
      * @param event The {@link Event} object with updated data. Its ID must be set. Cannot be null.
      */
     public void updateEvent(@NonNull Event event) {
+        if (event.isEntrantSubcollection()) {
+            updateChangedFields(event);
+            return;
+        }
         connector.updateAsync(event);
+        if (needsSubcollection(event.getWaitlistCapacity()) && !event.isRegistrationOpened()) {
+            migrateToSubcollection(event);
+        }
+    }
+
+    /**
+     * Moves the entrants of an inline event into its subcollection, then shards its waitlist if no
+     * one is on it yet. Sharding requires an empty waitlist, so a migrated waitlist stays unsharded.
+     */
+    private void migrateToSubcollection(@NonNull Event event) {
+        boolean waitlistEmpty = event.getWaitList().isEmpty();
+        moveEntrantsToSubcollection(event).addOnSuccessListener(ignored -> {
+            event.setEntrantSubcollection(true);
+            if (waitlistEmpty) {
+                shardWaitlist(event, shardCountFor(event.getWaitlistCapacity()));
+            }
+        });
+    }
+
+    /**
+     * Checks whether an event with a waitlist capacity should store its entrants in a subcollection.
+     *
+     * @param waitlistCapacity The waitlist capacity, or {@code null} if unlimited.
+     */
+    private static boolean needsSubcollection(@Nullable Integer waitlistCapacity) {
+        return waitlistCapacity == null || waitlistCapacity > SUBCOLLECTION_WAITLIST_CAPACITY;
+    }
+
+    /**
+     * Gets the number of waitlist shards for a capacity: one per {@value #SLOTS_PER_SHARD} slots,
+     * up to {@value #MAX_WAITLIST_SHARDS}.
+     */
+    private static int shardCountFor(@Nullable Integer waitlistCapacity) {
+        return waitlistCapacity == null ? MAX_WAITLIST_SHARDS
+                : Math.min(MAX_WAITLIST_SHARDS, (waitlistCapacity + SLOTS_PER_SHARD - 1) / SLOTS_PER_SHARD);
+    }
+
+    /**
+     * Writes the fields of a subcollection event that differ from the last snapshot of it.
+     */
+    private void updateChangedFields(@NonNull Event event) {
+        Map<String, Object> received = receivedFields.get(event.getId());
+        Map<String, Object> changed = new HashMap<>();
+        for (Map.Entry<String, Object> field : eventCodec.encode(event).entrySet()) {
+            String name = field.getKey();
+            if (!ENTRANT_FIELDS.contains(name) && (received == null || !Objects.equals(received.get(name), field.getValue()))) {
+                changed.put(name, field.getValue());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        db.collection("events").document(event.getId()).update(changed)
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to update event " + event.getId(), e));
     }
 
     /**
      * Asynchronously deletes an event from the Firestore database.
      * <p>
-     * <b>Cascading Delete:</b> If the event has an associated poster image,
+     * <b>Cascading Delete:</b> If the event has an associated poster,
      * this method automatically invokes the {@link PosterManager} to delete
-     * the image from Firebase Storage before deleting the event document.
+     * its document and images before deleting the event document.
      * </p>
      *
      * @param event The {@link Event} object to delete. Its ID must be set. Cannot be null.
      */
     public void deleteEvent(@NonNull Event event) {
-        if (event.getPoster() != null && event.getPoster().getImageUrl() != null) {
+        if (event.getPoster() != null) {
             PosterManager.getInstance().deletePoster(event.getPoster());
         }
+        if (event.isEntrantSubcollection()) {
+            // subcollections are not deleted with their parent document
+            entrantsOf(event).get()
+                    .addOnSuccessListener(snapshot -> {
+                        List<DocumentReference> references = new ArrayList<>();
+                        for (DocumentSnapshot document : snapshot.getDocuments()) {
+                            references.add(document.getReference());
+                        }
+                        deleteInBatches(references);
+                    })
+                    .addOnFailureListener(e -> Log.e(TAG, "Failed to load entrants of deleted event " + event.getId(), e));
+        }
+        if (event.getWaitlistShards() > 0) {
+            List<DocumentReference> shards = new ArrayList<>();
+            for (int shard = 0; shard < event.getWaitlistShards(); shard++) {
+                shards.add(db.collection("events").document(event.getId()).collection(WAITLIST_SHARDS).document(String.valueOf(shard)));
+            }
+            deleteInBatches(shards);
+        }
         connector.deleteAsync(event);
     }
 
@@ -264,6 +606,21 @@ public class EventManager extends Model implements DBListener<Event> {
      */
     public void cancelEventAndNotifyUsers(@NonNull Event event, @NonNull String message) {
 
+        if (event.isEntrantSubcollection()) {
+            // entrants are not held locally, so read every entrant document once before deleting
+            entrantsOf(event).get()
+                    .addOnSuccessListener(snapshot -> {
+                        List<String> usersToNotify = new ArrayList<>();
+                        for (DocumentSnapshot document : snapshot.getDocuments()) {
+                            usersToNotify.add(document.getId());
+                        }
+                        notifyUsers(event, usersToNotify, message);
+                        deleteEvent(event);
+                    })
+                    .addOnFailureListener(e -> Log.e(TAG, "Failed to load entrants of cancelled event " + event.getId(), e));
+            return;
+        }
+
         List<String> usersToNotify = new ArrayList<>();
 
         if (event.getWaitList() != null) {
@@ -279,21 +636,33 @@ public class EventManager extends Model implements DBListener<Event> {
             usersToNotify.addAll(event.getDeclinedList());
         }
 
-        Profile sender = event.getOrganizer();
-        Timestamp currentTime = Timestamp.now();
-
-        for (String userId : usersToNotify) {
-            Profile receiver = ProfileManager.getInstance().getProfileByDeviceId(userId);
-            if (receiver != null) {
-                Notification notification = new Notification(sender, receiver, message, currentTime);
-                NotificationManager.getInstance().createNotification(notification);
-            }
-        }
-
+        notifyUsers(event, usersToNotify, message);
         deleteEvent(event);
     }
 
+    /**
+     * Sends the same notification from the organizer of an event to each of the given users.
+     * <p>
+     * The users are resolved in one batch through {@link ProfileManager#getProfilesByDeviceIds},
+     * and users without a profile are skipped.
+     * </p>
+     *
+     * @param event   The event the notification is about.
+     * @param userIds The device IDs of the users to notify.
+     * @param message The message to send.
+     */
+    private void notifyUsers(@NonNull Event event, @NonNull List<String> userIds, @NonNull String message) {
+        Timestamp currentTime = Timestamp.now();
+        String organizerDeviceId = event.getOrganizerDeviceId();
 
+        ProfileManager.getInstance().getProfilesByDeviceIds(userIds)
+                .addOnSuccessListener(profiles -> {
+                    for (String userId : profiles.keySet()) {
+                        Notification notification = new Notification(organizerDeviceId, userId, message, currentTime);
+                        NotificationManager.getInstance().createNotification(notification);
+                    }
+                });
+    }
 
     /**
      * Removes a specific user from all events in the system.
@@ -314,13 +683,16 @@ public class EventManager extends Model implements DBListener<Event> {
         for (Event event : allEvents) {
 
             // Case 1: The user is the Organizer
-            if (event.getOrganizer() != null && deviceId.equals(event.getOrganizer().getDeviceId())) {
+            if (deviceId.equals(event.getOrganizerDeviceId())) {
                 String organizerRemovedMessage = "Urgent: The event '" + event.getName() + "' has been cancelled because the organizer's account was removed.";
                 cancelEventAndNotifyUsers(event, organizerRemovedMessage);
                 continue;
             }
 
-            // Case 2: The user is a Participant
+            // Case 2: The user is a Participant, subcollection events are handled together below
+            if (event.isEntrantSubcollection()) {
+                continue;
+            }
             boolean removeFromWaitlist = event.getWaitList().remove(deviceId);
             boolean removeFromPendingList = event.getPendingList().remove(deviceId);
             boolean removeFromAcceptedList = event.getAcceptedList().remove(deviceId);
@@ -331,13 +703,663 @@ public class EventManager extends Model implements DBListener<Event> {
                 updateEvent(event);
             }
         }
+
+        db.collectionGroup(ENTRANTS).whereEqualTo("deviceId", deviceId).get()
+                .addOnSuccessListener(snapshot -> removeEntrantDocuments(snapshot.getDocuments()))
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to find the subcollection events of " + deviceId, e));
+    }
+
+    /**
+     * Removes entrant documents from their events, a few hundred to a transaction.
+     * <p>
+     * Each transaction re-reads its entrants and their events, then deletes the entrants and gives
+     * back their place in the count (or waitlist shard) of the list they are on, as
+     * {@link #moveEntrant} does for one entrant.
+     * </p>
+     *
+     * @param entrants The entrant documents, from any events.
+     */
+    private void removeEntrantDocuments(@NonNull List<DocumentSnapshot> entrants) {
+        // every removal writes the entrant and a count
+        int perTransaction = MAX_BATCH_WRITES / 2;
+        for (int start = 0; start < entrants.size(); start += perTransaction) {
+            List<DocumentSnapshot> chunk = entrants.subList(start, Math.min(start + perTransaction, entrants.size()));
+            db.runTransaction(transaction -> {
+                // all reads come before the writes
+                List<DocumentSnapshot> current = new ArrayList<>();
+                Map<DocumentReference, DocumentSnapshot> eventDocuments = new HashMap<>();
+                for (DocumentSnapshot entrantDocument : chunk) {
+                    DocumentReference eventRef = entrantDocument.getReference().getParent().getParent();
+                    if (eventRef != null && !eventDocuments.containsKey(eventRef)) {
+                        eventDocuments.put(eventRef, transaction.get(eventRef));
+                    }
+                    current.add(transaction.get(entrantDocument.getReference()));
+                }
+                for (DocumentSnapshot entrantDocument : current) {
+                    DocumentReference eventRef = entrantDocument.getReference().getParent().getParent();
+                    Entrant entrant = entrantDocument.exists() ? entrantDocument.toObject(Entrant.class) : null;
+                    if (eventRef == null || entrant == null || entrant.getStatus() == null) {
+                        continue;
+                    }
+                    if (entrant.getStatus() == Entrant.Status.WAITLIST && entrant.getShard() != null
+                            && shardsActive(eventDocuments.get(eventRef))) {
+                        transaction.update(eventRef.collection(WAITLIST_SHARDS).document(String.valueOf(entrant.getShard())),
+                                "count", FieldValue.increment(-1));
+                    } else if (eventDocuments.get(eventRef).exists()) {
+                        transaction.update(eventRef, entrant.getStatus().getCountField(), FieldValue.increment(-1));
+                    }
+                    transaction.delete(entrantDocument.getReference());
+                }
+                return null;
+            }).addOnFailureListener(e -> Log.e(TAG, "Failed to remove entrant documents", e));
+        }
+    }
+
+    /**
+     * Asynchronously reads the device IDs of every entrant with a status from an event's entrant subcollection.
+     *
+     * @param event  The event, which must use subcollection entrant storage.
+     * @param status The list to read.
+     * @return A {@link Task} with the device IDs, ordered by device ID.
+     */
+    @NonNull
+    public Task<List<String>> getEntrantDeviceIds(@NonNull Event event, @NonNull Entrant.Status status) {
+        return entrantsOf(event).whereEqualTo("status", status.name()).orderBy(FieldPath.documentId()).get()
+                .continueWith(task -> {
+                    List<String> deviceIds = new ArrayList<>();
+                    for (DocumentSnapshot document : task.getResult().getDocuments()) {
+                        deviceIds.add(document.getId());
+                    }
+                    return deviceIds;
+                });
+    }
+
+    /**
+     * Asynchronously reads where each entrant of an event's entrant subcollection joined from.
+     *
+     * @param event The event, which must use subcollection entrant storage.
+     * @return A {@link Task} with the location of every entrant that has one, by device ID.
+     */
+    @NonNull
+    public Task<Map<String, GeoPoint>> getEntrantLocations(@NonNull Event event) {
+        return entrantsOf(event).whereNotEqualTo("location", null).get()
+                .continueWith(task -> {
+                    Map<String, GeoPoint> locations = new HashMap<>();
+                    for (DocumentSnapshot document : task.getResult().getDocuments()) {
+                        GeoPoint location = document.getGeoPoint("location");
+                        if (location != null) {
+                            locations.put(document.getId(), location);
+                        }
+                    }
+                    return locations;
+                });
+    }
+
+    // Entrant subcollection storage
+
+    /**
+     * Gets the entrant subcollection of an event.
+     *
+     * @param event The event. Its ID must be set.
+     * @return The {@code events/{id}/entrants} collection.
+     */
+    @NonNull
+    private CollectionReference entrantsOf(@NonNull Event event) {
+        return db.collection("events").document(event.getId()).collection(ENTRANTS);
+    }
+
+    /**
+     * Asynchronously loads one page of the entrants with a status from an event's entrant subcollection.
+     * <p>
+     * Pages are ordered by device ID, so the query is served by Firestore's automatic indexes.
+     * Pass the {@code next} document from the previous page to continue after it.
+     * </p>
+     *
+     * @param event    The event, which must use subcollection entrant storage.
+     * @param status   The list to load.
+     * @param pageSize The maximum number of entrants to load.
+     * @param after    The last document of the previous page, or {@code null} for the first page.
+     * @param listener The callback receiving the page.
+     */
+    public void loadEntrantPage(@NonNull Event event, @NonNull Entrant.Status status, int pageSize,
+                                @Nullable DocumentSnapshot after, @NonNull EntrantPageListener listener) {
+        Query query = entrantsOf(event)
+                .whereEqualTo("status", status.name())
+                .orderBy(FieldPath.documentId())
+                .limit(pageSize);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        query.get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    List<Entrant> entrants = new ArrayList<>();
+                    for (DocumentSnapshot document : documents) {
+                        Entrant entrant = document.toObject(Entrant.class);
+                        if (entrant != null) {
+                            entrant.setId(document.getId());
+                            entrants.add(entrant);
+                        }
+                    }
+                    DocumentSnapshot next = documents.size() < pageSize ? null : documents.get(documents.size() - 1);
+                    listener.onEntrantPageLoaded(entrants, next);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to load " + status + " entrants of event " + event.getId(), e);
+                    listener.onEntrantPageFailed(e);
+                });
+    }
+
+    /**
+     * Asynchronously reads a single entrant from an event's entrant subcollection.
+     *
+     * @param event    The event, which must use subcollection entrant storage.
+     * @param deviceId The device ID of the entrant.
+     * @return A {@link Task} with the {@link Entrant}, or {@code null} if the user has not joined the event.
+     */
+    @NonNull
+    public Task<Entrant> getEntrant(@NonNull Event event, @NonNull String deviceId) {
+        return entrantsOf(event).document(deviceId).get().continueWith(task -> {
+            DocumentSnapshot document = task.getResult();
+            if (!document.exists()) {
+                return null;
+            }
+            Entrant entrant = document.toObject(Entrant.class);
+            if (entrant != null) {
+                entrant.setId(document.getId());
+            }
+            return entrant;
+        });
+    }
+
+    /**
+     * Adds a user to the waitlist of an event, whichever way its entrants are stored.
+     * <p>
+     * For events with inline lists a transaction re-reads the event, applies the same checks as
+     * {@link Event#joinWaitList(String, GeoPoint)} to the fresh copy, and then only appends the
+     * device ID (and location) instead of rewriting the document, so concurrent joins can neither
+     * overshoot the waitlist capacity nor overwrite each other. For events with subcollection
+     * storage this is {@link #moveEntrant} onto the waitlist.
+     * </p>
+     *
+     * @param event    The event to join. Its ID must be set.
+     * @param deviceId The device ID of the user joining.
+     * @param location Where the user is joining from. Can be null.
+     * @return A {@link Task} resolving to {@code true} if the user was added.
+     */
+    @NonNull
+    public Task<Boolean> joinWaitList(@NonNull Event event, @NonNull String deviceId, @Nullable GeoPoint location) {
+        if (event.isEntrantSubcollection()) {
+            return moveEntrant(event, deviceId, null, Entrant.Status.WAITLIST, location);
+        }
+        DocumentReference eventRef = db.collection("events").document(event.getId());
+        return db.runTransaction(transaction -> {
+            Map<String, Object> data = transaction.get(eventRef).getData();
+            if (data == null) {
+                return false;
+            }
+            Event current = eventCodec.decode(data);
+            if (current.inWaitList(deviceId)) {
+                return false;
+            }
+            current.joinWaitList(deviceId, location);
+            if (!current.inWaitList(deviceId)) {
+                return false;
+            }
+            if (current.getGeolocationMap().containsKey(deviceId)) {
+                transaction.update(eventRef, FieldPath.of("waitList"), FieldValue.arrayUnion(deviceId),
+                        FieldPath.of("geolocationMap", deviceId), location);
+            } else {
+                transaction.update(eventRef, "waitList", FieldValue.arrayUnion(deviceId));
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes a user from the waitlist of an event, whichever way its entrants are stored.
+     * <p>
+     * For events with inline lists this only removes the device ID (and location) from the
+     * document, without rewriting the rest of it.
+     * </p>
+     *
+     * @param event    The event to leave. Its ID must be set.
+     * @param deviceId The device ID of the user leaving.
+     * @return A {@link Task} that completes once the write has been applied.
+     */
+    @NonNull
+    public Task<?> leaveWaitList(@NonNull Event event, @NonNull String deviceId) {
+        if (event.isEntrantSubcollection()) {
+            return moveEntrant(event, deviceId, Entrant.Status.WAITLIST, null, null);
+        }
+        return db.collection("events").document(event.getId())
+                .update(FieldPath.of("waitList"), FieldValue.arrayRemove(deviceId),
+                        FieldPath.of("geolocationMap", deviceId), FieldValue.delete())
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to leave waitlist of event " + event.getId(), e));
+    }
+
+    /**
+     * Atomically moves a user between the lists of an event that uses subcollection entrant storage.
+     * <p>
+     * A transaction re-reads the event and the entrant, so the move only happens if the user is
+     * still on the {@code from} list and the same rules as the {@link Event} list mechanics hold:
+     * joining the waitlist needs registration to be open and the waitlist not full, and accepting or
+     * declining needs registration to be closed before the event starts, with room left to accept.
+     * The entrant document and the counts on the event are written together.
+     * </p>
+     * <p>
+     * If the waitlist is sharded (see {@link #shardWaitlist(Event, int)}), joining it claims a slot
+     * from one shard document instead, trying the shards in random order until one has room, and
+     * leaving it while registration is open frees the slot in that shard. The event document is
+     * not written at all, so many users can join at once without contending on it.
+     * </p>
+     *
+     * @param event    The event, which must use subcollection entrant storage.
+     * @param deviceId The device ID of the user.
+     * @param from     The list the user must currently be on, or {@code null} if they must not have joined.
+     * @param to       The list to move the user to, or {@code null} to remove them from the event.
+     * @param location Where the user joined from, only stored when they first join. Can be null.
+     * @return A {@link Task} resolving to {@code true} if the user was moved, {@code false} if a check failed.
+     */
+    @NonNull
+    public Task<Boolean> moveEntrant(@NonNull Event event, @NonNull String deviceId,
+                                     @Nullable Entrant.Status from, @Nullable Entrant.Status to,
+                                     @Nullable GeoPoint location) {
+        if (from == to) {
+            return Tasks.forResult(false);
+        }
+        if (to == Entrant.Status.WAITLIST && event.getWaitlistShards() > 0) {
+            List<Integer> shards = new ArrayList<>();
+            for (int shard = 0; shard < event.getWaitlistShards(); shard++) {
+                shards.add(shard);
+            }
+            Collections.shuffle(shards);
+            return joinShardedWaitlist(event, deviceId, from, location, shards, 0, null);
+        }
+        return runEntrantMove(event, deviceId, from, to, location, -1).continueWith(task -> {
+            boolean moved = task.getResult() == MoveResult.MOVED;
+            if (moved && from == Entrant.Status.WAITLIST) {
+                refreshWaitlistCount(event);
+            }
+            return moved;
+        });
+    }
+
+    /**
+     * Tries to claim a waitlist slot from each of the given shards in turn.
+     * <p>
+     * A shard whose transaction fails, for instance because too many joins contend on it, is
+     * skipped like a full one. Only when no shard admits the user does the join fail, with the
+     * last error if any shard could not be tried.
+     * </p>
+     *
+     * @param lastFailure The error of the latest shard that failed, or {@code null} if none has.
+     */
+    @NonNull
+    private Task<Boolean> joinShardedWaitlist(@NonNull Event event, @NonNull String deviceId,
+                                              @Nullable Entrant.Status from, @Nullable GeoPoint location,
+                                              @NonNull List<Integer> shards, int attempt, @Nullable Exception lastFailure) {
+        if (attempt >= shards.size()) {
+            // every shard is full, so the waitlist is, unless some could not be tried
+            return lastFailure != null ? Tasks.forException(lastFailure) : Tasks.forResult(false);
+        }
+        return runEntrantMove(event, deviceId, from, Entrant.Status.WAITLIST, location, shards.get(attempt))
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        // contention on this shard outlasted the transaction retries, other shards may still have room
+                        Log.w(TAG, "Join of shard " + shards.get(attempt) + " of event " + event.getId() + " failed", task.getException());
+                        return joinShardedWaitlist(event, deviceId, from, location, shards, attempt + 1, task.getException());
+                    }
+                    MoveResult result = task.getResult();
+                    if (result == MoveResult.SHARD_FULL) {
+                        return joinShardedWaitlist(event, deviceId, from, location, shards, attempt + 1, lastFailure);
+                    }
+                    if (result == MoveResult.MOVED) {
+                        refreshWaitlistCount(event);
+                    }
+                    return Tasks.forResult(result == MoveResult.MOVED);
+                });
+    }
+
+    /**
+     * Runs the transaction behind {@link #moveEntrant}.
+     *
+     * @param shard The waitlist shard to claim a slot from when moving onto a sharded waitlist, otherwise -1.
+     */
+    @NonNull
+    private Task<MoveResult> runEntrantMove(@NonNull Event event, @NonNull String deviceId,
+                                            @Nullable Entrant.Status from, @Nullable Entrant.Status to,
+                                            @Nullable GeoPoint location, int shard) {
+        DocumentReference eventRef = db.collection("events").document(event.getId());
+        DocumentReference entrantRef = eventRef.collection(ENTRANTS).document(deviceId);
+        DocumentReference shardRef = shard >= 0 ? eventRef.collection(WAITLIST_SHARDS).document(String.valueOf(shard)) : null;
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot eventDocument = transaction.get(eventRef);
+            DocumentSnapshot entrantDocument = transaction.get(entrantRef);
+            DocumentSnapshot shardDocument = shardRef != null ? transaction.get(shardRef) : null;
+            Entrant entrant = entrantDocument.exists() ? entrantDocument.toObject(Entrant.class) : null;
+            Entrant.Status current = entrant != null ? entrant.getStatus() : null;
+            if (current != from || (to != null && !canEnter(eventDocument, to, shardDocument != null))) {
+                return MoveResult.REJECTED;
+            }
+            if (shardDocument != null && !hasRoom(shardDocument)) {
+                return MoveResult.SHARD_FULL;
+            }
+
+            Map<String, Object> counts = new HashMap<>();
+            if (from != null) {
+                Integer fromShard = entrant.getShard();
+                if (from == Entrant.Status.WAITLIST && fromShard != null && shardsActive(eventDocument)) {
+                    // give the slot back to the shard it was claimed from
+                    transaction.update(eventRef.collection(WAITLIST_SHARDS).document(String.valueOf(fromShard)),
+                            "count", FieldValue.increment(-1));
+                } else {
+                    counts.put(from.getCountField(), FieldValue.increment(-1));
+                }
+            }
+            if (to != null) {
+                if (shardRef != null) {
+                    transaction.update(shardRef, "count", FieldValue.increment(1));
+                } else {
+                    counts.put(to.getCountField(), FieldValue.increment(1));
+                }
+            }
+            if (!counts.isEmpty()) {
+                transaction.update(eventRef, counts);
+            }
+
+            if (to == null) {
+                transaction.delete(entrantRef);
+            } else {
+                if (entrant == null) {
+                    entrant = new Entrant(deviceId, to, Timestamp.now(), location);
+                }
+                entrant.setStatus(to);
+                entrant.setShard(shardRef != null ? shard : null);
+                transaction.set(entrantRef, entrant);
+            }
+            return MoveResult.MOVED;
+        });
+    }
+
+    /**
+     * Splits the waitlist capacity of an event across shard documents, so that joins while
+     * registration is open each write one shard instead of the event document.
+     * <p>
+     * Every shard holds a fixed share of the capacity and a count of the slots taken from it, so
+     * admissions stay exact: a join only succeeds in a transaction that finds its shard below its
+     * share. This must be done before anyone joins, on an event with subcollection entrant storage.
+     * {@link #createEvent} already shards the waitlists of the events it creates with subcollection
+     * storage, and {@link #updateEvent} those it migrates, so this is only needed for events created
+     * without it.
+     * </p>
+     *
+     * @param event      The event to shard. Its ID must be set.
+     * @param shardCount The number of shards, bounding how many joins can be written at once.
+     * @return A {@link Task} that completes when the shards and the event have been written.
+     */
+    @NonNull
+    public Task<Void> shardWaitlist(@NonNull Event event, int shardCount) {
+        if (shardCount <= 0 || !event.isEntrantSubcollection() || event.getWaitlistShards() > 0
+                || event.getEntrantCount(Entrant.Status.WAITLIST) > 0) {
+            return Tasks.forException(new IllegalStateException("Waitlist of event " + event.getId() + " cannot be sharded"));
+        }
+        DocumentReference eventRef = db.collection("events").document(event.getId());
+        WriteBatch batch = db.batch();
+        addWaitlistShards(batch, eventRef, event.getWaitlistCapacity(), shardCount);
+        batch.update(eventRef, "waitlistShards", shardCount);
+        return batch.commit()
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to shard waitlist of event " + event.getId(), e));
+    }
+
+    /**
+     * Adds the writes creating the empty waitlist shards of an event to a batch.
+     *
+     * @param capacity The waitlist capacity to split across the shards, or {@code null} if unlimited.
+     */
+    private static void addWaitlistShards(@NonNull WriteBatch batch, @NonNull DocumentReference eventRef,
+                                          @Nullable Integer capacity, int shardCount) {
+        int[] shares = capacity != null ? splitCapacity(capacity, shardCount) : null;
+        for (int shard = 0; shard < shardCount; shard++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("count", 0);
+            data.put("capacity", shares != null ? shares[shard] : null);     // null: no limit
+            batch.set(eventRef.collection(WAITLIST_SHARDS).document(String.valueOf(shard)), data);
+        }
+    }
+
+    /**
+     * Splits a capacity into near-equal shares that add up to it exactly.
+     *
+     * @param capacity   The total capacity.
+     * @param shardCount The number of shares, must be positive.
+     * @return The share of each shard; the first {@code capacity % shardCount} shards get one extra slot.
+     */
+    @NonNull
+    public static int[] splitCapacity(int capacity, int shardCount) {
+        int[] shares = new int[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shares[shard] = capacity / shardCount + (shard < capacity % shardCount ? 1 : 0);
+        }
+        return shares;
+    }
+
+    /**
+     * Asynchronously sums the shards of a sharded waitlist into the event's waitlist count, then
+     * notifies the views. Does nothing unless the event's waitlist shards are in use.
+     * <p>
+     * Joins to a sharded waitlist do not write the event document, so snapshots carry a stale count.
+     * This costs one aggregation query, so it is only run by the screens showing the count and after
+     * this device joins or leaves, never per snapshot. The sum is remembered and applied to later
+     * snapshots of the event until the next refresh.
+     * </p>
+     *
+     * @param event The event whose waitlist count to refresh. Its count is updated as well as the cached event's.
+     */
+    public void refreshWaitlistCount(@NonNull Event event) {
+        if (event.getWaitlistShards() <= 0 || event.isLotteryProcessed()) {
+            return;
+        }
+        AggregateField.SumAggregateField taken = AggregateField.sum("count");
+        db.collection("events").document(event.getId()).collection(WAITLIST_SHARDS)
+                .aggregate(taken)
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    Long total = snapshot.getLong(taken);
+                    int count = total == null ? 0 : total.intValue();
+                    shardedWaitlistCounts.put(event.getId(), count);
+                    event.setWaitlistCount(count);
+                    Event cached = eventsById.get(event.getId());
+                    if (cached != null) {
+                        cached.setWaitlistCount(count);
+                    }
+                    notifyViews();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to sum waitlist shards of event " + event.getId(), e));
+    }
+
+    /**
+     * Declines a pending invitation to an event that uses subcollection entrant storage, and offers
+     * the freed spot to the next user on the waitlist, as {@link Event#joinDeclinedList(String)} does
+     * for events with inline lists.
+     *
+     * @param event    The event, which must use subcollection entrant storage.
+     * @param deviceId The device ID of the user declining.
+     * @return A {@link Task} resolving to {@code true} if the invitation was declined.
+     */
+    @NonNull
+    public Task<Boolean> declineInvitation(@NonNull Event event, @NonNull String deviceId) {
+        Task<Boolean> declined = moveEntrant(event, deviceId, Entrant.Status.PENDING, Entrant.Status.DECLINED, null);
+        declined.addOnSuccessListener(success -> {
+            if (!success) {
+                return;
+            }
+            // Second Chance! Offer the spot to the first entrant on the waitlist
+            loadEntrantPage(event, Entrant.Status.WAITLIST, 1, null, new EntrantPageListener() {
+                @Override
+                public void onEntrantPageLoaded(@NonNull List<Entrant> entrants, @Nullable DocumentSnapshot next) {
+                    if (entrants.isEmpty()) {
+                        return;
+                    }
+                    String secondChance = entrants.get(0).getDeviceId();
+                    moveEntrant(event, secondChance, Entrant.Status.WAITLIST, Entrant.Status.PENDING, null)
+                            .addOnSuccessListener(moved -> {
+                                if (moved) {
+                                    event.sendSecondChanceNotification(secondChance);
+                                }
+                            });
+                }
+
+                @Override
+                public void onEntrantPageFailed(@NonNull Exception e) { }
+            });
+        });
+        return declined;
+    }
+
+    /**
+     * Moves the entrants of an event with inline lists into its entrant subcollection, and switches
+     * the event to subcollection entrant storage.
+     * <p>
+     * The entrant documents are written in batches first; only once they have all been committed
+     * is the event document updated with the counts and emptied lists. Entrants joining while this
+     * runs may be lost, so it should be used while registration is not open.
+     * </p>
+     *
+     * @param event The event to migrate. Its ID must be set.
+     * @return A {@link Task} that completes when the event document has been updated.
+     */
+    @NonNull
+    public Task<Void> moveEntrantsToSubcollection(@NonNull Event event) {
+        if (event.isEntrantSubcollection()) {
+            return Tasks.forResult(null);
+        }
+        CollectionReference entrants = entrantsOf(event);
+        Timestamp now = Timestamp.now();
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int writes = 0;
+
+        Map<String, Object> update = new HashMap<>();
+        for (Entrant.Status status : Entrant.Status.values()) {
+            List<String> deviceIds = inlineList(event, status);
+            for (String deviceId : deviceIds) {
+                GeoPoint location = event.getGeolocationMap().get(deviceId);
+                batch.set(entrants.document(deviceId), new Entrant(deviceId, status, now, location));
+                if (++writes == MAX_BATCH_WRITES) {
+                    commits.add(batch.commit());
+                    batch = db.batch();
+                    writes = 0;
+                }
+            }
+            update.put(status.getCountField(), deviceIds.size());
+        }
+        if (writes > 0) {
+            commits.add(batch.commit());
+        }
+
+        update.put("waitList", new ArrayList<String>());
+        update.put("pendingList", new ArrayList<String>());
+        update.put("acceptedList", new ArrayList<String>());
+        update.put("declinedList", new ArrayList<String>());
+        update.put("geolocationMap", new HashMap<String, Object>());
+        update.put("entrantSubcollection", true);
+
+        return Tasks.whenAll(commits)
+                .onSuccessTask(ignored -> db.collection("events").document(event.getId()).update(update))
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to move entrants of event " + event.getId(), e));
+    }
+
+    /**
+     * Checks, inside a transaction, whether a user may be moved onto a list of an event.
+     *
+     * @param eventDocument The current event document.
+     * @param status        The list the user is moving to.
+     * @param sharded       Whether a waitlist shard checks the capacity instead of the event.
+     * @return {@code true} if the event is in the right state and the list has room.
+     */
+    private static boolean canEnter(@NonNull DocumentSnapshot eventDocument, @NonNull Entrant.Status status,
+                                    boolean sharded) {
+        boolean registrationOpened = Boolean.TRUE.equals(eventDocument.getBoolean("registrationOpened"));
+        boolean lotteryProcessed = Boolean.TRUE.equals(eventDocument.getBoolean("lotteryProcessed"));
+        boolean pendingExpired = Boolean.TRUE.equals(eventDocument.getBoolean("pendingExpired"));
+        Long capacity;
+        switch (status) {
+            case WAITLIST:
+                if (!registrationOpened || lotteryProcessed) return false;
+                if (sharded) return true;
+                capacity = eventDocument.getLong("waitlistCapacity");
+                break;
+            case ACCEPTED:
+                if (!lotteryProcessed || pendingExpired) return false;
+                capacity = eventDocument.getLong("eventCapacity");
+                break;
+            case DECLINED:
+                return lotteryProcessed && !pendingExpired;
+            default:
+                return true;
+        }
+        Long count = eventDocument.getLong(status.getCountField());
+        return capacity == null || count == null || count < capacity;
+    }
+
+    /**
+     * Checks, inside a transaction, whether a waitlist shard has a free slot.
+     */
+    private static boolean hasRoom(@NonNull DocumentSnapshot shardDocument) {
+        Long capacity = shardDocument.getLong("capacity");
+        Long count = shardDocument.getLong("count");
+        return capacity == null || (count != null ? count : 0) < capacity;
+    }
+
+    /**
+     * Checks if waitlist slots are currently counted by shards rather than the event document.
+     * Once the lottery has run it sets the event's waitlist count, and shards are no longer used.
+     */
+    private static boolean shardsActive(@NonNull DocumentSnapshot eventDocument) {
+        Long shards = eventDocument.getLong("waitlistShards");
+        return shards != null && shards > 0 && !Boolean.TRUE.equals(eventDocument.getBoolean("lotteryProcessed"));
+    }
+
+    /**
+     * Gets the inline list of an event that holds the entrants with a status.
+     */
+    @NonNull
+    private static List<String> inlineList(@NonNull Event event, @NonNull Entrant.Status status) {
+        switch (status) {
+            case WAITLIST:
+                return event.getWaitList();
+            case PENDING:
+                return event.getPendingList();
+            case ACCEPTED:
+                return event.getAcceptedList();
+            default:
+                return event.getDeclinedList();
+        }
+    }
+
+    /**
+     * Deletes documents in as few batched writes as Firestore allows.
+     *
+     * @param references The documents to delete.
+     */
+    private void deleteInBatches(@NonNull List<DocumentReference> references) {
+        for (int start = 0; start < references.size(); start += MAX_BATCH_WRITES) {
+            WriteBatch batch = db.batch();
+            for (DocumentReference reference : references.subList(start, Math.min(start + MAX_BATCH_WRITES, references.size()))) {
+                batch.delete(reference);
+            }
+            batch.commit().addOnFailureListener(e -> Log.e(TAG, "Failed to delete documents", e));
+        }
     }
 
     /**
      * Callback method invoked by {@link DBConnector} when the event data changes in Firestore.
      * <p>
-     * It updates the local event cache and immediately triggers {@link #notifyViews()}
-     * to refresh the UI for all active observers.
+     * It updates the local event cache, rebuilds the organizer index
+     * and entrant index from scratch and immediately
+     * triggers {@link #notifyViews()} to refresh the UI for all active observers.
      * </p>
      *
      * @param objects The updated list of {@link Event} objects from Firestore.
@@ -345,8 +1367,146 @@ public class EventManager extends Model implements DBListener<Event> {
     @Override
     public void readAllAsync_Complete(@NonNull List<Event> objects) {
         Log.d(TAG, "EventManager read all complete, notifying views");
-        events = objects;
+        rebuildOrganizerIndex(objects);
+        entrantIndex.rebuild(objects);
+        receivedFields.clear();
+        rememberReceivedFields(objects);
+        setEvents(objects);
         // Notify views of event changes
         notifyViews();
     }
-}
\ No newline at end of file
+
+    /**
+     * Callback method invoked by {@link DBConnector} when the event data changes in Firestore.
+     * <p>
+     * Unlike {@link #readAllAsync_Complete(List)}, only the changed events are
+     * re-indexed by organizer and entrant before the views are notified.
+     * </p>
+     *
+     * @param objects The updated list of {@link Event} objects from Firestore.
+     * @param changes The events added, modified or removed since the previous snapshot.
+     */
+    @Override
+    public void readAllAsync_Complete(@NonNull List<Event> objects, @NonNull DBChangeSet<Event> changes) {
+        Log.d(TAG, "EventManager read all complete with " + changes.getAdded().size() + " added, "
+                + changes.getModified().size() + " modified, " + changes.getRemoved().size() + " removed");
+        applyOrganizerChanges(changes);
+        entrantIndex.apply(changes);
+        for (Event event : changes.getRemoved()) {
+            receivedFields.remove(event.getId());
+        }
+        rememberReceivedFields(changes.getAdded());
+        rememberReceivedFields(changes.getModified());
+        setEvents(objects);
+        // Notify views of event changes
+        notifyViews();
+    }
+
+    /**
+     * Clears the organizer index and rebuilds it from every event.
+     *
+     * @param objects The complete list of events.
+     */
+    private void rebuildOrganizerIndex(@NonNull List<Event> objects) {
+        organizerEvents.clear();
+        eventOrganizers.clear();
+        for (Event event : objects) {
+            indexOrganizer(event);
+        }
+    }
+
+    /**
+     * Updates the organizer index with only the events changed by a snapshot.
+     *
+     * @param changes The events added, modified or removed since the previous snapshot.
+     */
+    private void applyOrganizerChanges(@NonNull DBChangeSet<Event> changes) {
+        for (Event event : changes.getRemoved()) {
+            if (event.getId() != null) {
+                unindexOrganizer(event.getId());
+            }
+        }
+        for (Event event : changes.getModified()) {
+            indexOrganizer(event);
+        }
+        for (Event event : changes.getAdded()) {
+            indexOrganizer(event);
+        }
+    }
+
+    private void indexOrganizer(@NonNull Event event) {
+        String id = event.getId();
+        if (id == null) {
+            return;
+        }
+        // The organizer of a modified event may have changed, so drop the previous entry first
+        unindexOrganizer(id);
+        String deviceId = event.getOrganizerDeviceId();
+        if (deviceId == null) {
+            return;
+        }
+        Set<String> ids = organizerEvents.get(deviceId);
+        if (ids == null) {
+            ids = new HashSet<>();
+            organizerEvents.put(deviceId, ids);
+        }
+        ids.add(id);
+        eventOrganizers.put(id, deviceId);
+    }
+
+    private void unindexOrganizer(@NonNull String eventId) {
+        String deviceId = eventOrganizers.remove(eventId);
+        if (deviceId == null) {
+            return;
+        }
+        Set<String> ids = organizerEvents.get(deviceId);
+        if (ids != null) {
+            ids.remove(eventId);
+            if (ids.isEmpty()) organizerEvents.remove(deviceId);
+        }
+    }
+
+    /**
+     * Records the fields of freshly received subcollection events, before any view can modify them,
+     * for {@link #updateEvent} to compare against.
+     *
+     * @param received Events decoded from the latest snapshot.
+     */
+    private void rememberReceivedFields(@NonNull Collection<Event> received) {
+        for (Event event : received) {
+            if (event.isEntrantSubcollection()) {
+                receivedFields.put(event.getId(), eventCodec.encode(event));
+            } else {
+                receivedFields.remove(event.getId());
+            }
+        }
+    }
+
+    /**
+     * Replaces the local event cache and its ID and QR code hash lookup tables, and carries the last
+     * summed count of each sharded waitlist over to the new copies of its event.
+     *
+     * @param objects The complete list of events.
+     */
+    private void setEvents(@NonNull List<Event> objects) {
+        Map<String, Event> lookup = new HashMap<>();
+        Map<String, Event> qrLookup = new HashMap<>();
+        Map<String, Integer> positions = new HashMap<>();
+        for (Event event : objects) {
+            lookup.put(event.getId(), event);
+            positions.put(event.getId(), positions.size());
+            if (event.getQrCodeHash() != null) {
+                qrLookup.put(event.getQrCodeHash(), event);
+            }
+            Integer shardedCount = shardedWaitlistCounts.get(event.getId());
+            if (shardedCount != null && event.getWaitlistShards() > 0 && !event.isLotteryProcessed()) {
+                event.setWaitlistCount(shardedCount);
+            }
+        }
+        shardedWaitlistCounts.keySet().retainAll(lookup.keySet());
+        events = objects;
+        eventsById = lookup;
+        eventsByQRHash = qrLookup;
+        eventPositions = positions;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.matrix_events.managers;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.database.DBConnector;
+import com.example.matrix_events.database.DBListener;
+import com.example.matrix_events.database.EventSearchDatabase;
+import com.example.matrix_events.database.codecs.EventCodec;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.EventSummary;
+import com.example.matrix_events.mvc.Model;
+import com.example.matrix_events.utils.EventSearchIndex;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manages the compact {@link EventSummary} projections that list screens display.
+ * <p>
+ * This class follows the <b>Singleton Pattern</b>. It listens to the Firestore
+ * 'event_summaries' collection, which the {@code sync_event_summary} cloud function keeps in
+ * step with 'events', so a screen that only lists events never downloads entrant lists or
+ * geolocation maps. Summaries are read-only on the client; events are still created, edited
+ * and deleted through the {@link EventManager}. A full {@link Event} for a detail screen is read
+ * once with {@link #fetchEvent(String)}, which does not start the {@link EventManager}'s listener
+ * on the whole events collection.
+ * </p>
+ * <p>
+ * <b>Search:</b> summaries carry the event name, location and description, so event search runs
+ * here. The manager keeps an {@link EventSearchIndex} over them and, once an
+ * {@link EventSearchDatabase} is attached, keeps its on-device mirror current from the
+ * {@link DBChangeSet} of every snapshot.
+ * </p>
+ * <p>
+ * As a {@link Model}, it notifies registered views whenever the summaries change.
+ * </p>
+ */
+public class EventSummaryManager extends Model implements DBListener<EventSummary> {
+    private static final String TAG = "EventSummaryManager";
+    private volatile List<EventSummary> summaries = new ArrayList<>();
+    private volatile Map<String, EventSummary> summariesById = new HashMap<>();
+    private final EventSearchIndex searchIndex = new EventSearchIndex();
+    private EventSearchDatabase searchDatabase;
+    private boolean summariesLoaded = false;
+    private boolean searchDatabaseSynced = false;
+    private final DBConnector<EventSummary> connector = new DBConnector<>("event_summaries", this, EventSummary.class);
+    private final EventCodec eventCodec = new EventCodec();
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+
+    // Singleton
+    private static final EventSummaryManager manager = new EventSummaryManager();
+
+    /**
+     * Gets the singleton instance of the EventSummaryManager.
+     *
+     * @return The single, static instance of EventSummaryManager.
+     */
+    public static EventSummaryManager getInstance() {
+        return manager;
+    }
+
+    /**
+     * Retrieves the local cache of all event summaries.
+     *
+     * @return A list of all {@link EventSummary} objects currently held by the manager.
+     */
+    public List<EventSummary> getSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Finds the summary of an event by the event's Firestore document ID.
+     *
+     * @param id The Firestore document ID of the event. Cannot be null.
+     * @return The {@link EventSummary}, or {@code null} if there is none.
+     */
+    @Nullable
+    public EventSummary getSummaryByDBID(@NonNull String id) {
+        return summariesById.get(id);
+    }
+
+    /**
+     * Retrieves the summaries of the events created by a specific organizer.
+     *
+     * @param deviceID The device ID of the organizer.
+     * @return The organizer's {@link EventSummary} objects, in the order of {@link #getSummaries()}.
+     */
+    @NonNull
+    public List<EventSummary> getOrganizerSummaries(@NonNull String deviceID) {
+        List<EventSummary> result = new ArrayList<>();
+        for (EventSummary summary : summaries) {
+            if (deviceID.equals(summary.getOrganizerDeviceId())) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the summaries of a set of events, such as those an entrant is on a list of.
+     *
+     * @param ids The Firestore document IDs of the events.
+     * @return The {@link EventSummary} objects that exist for the IDs, in the order of {@link #getSummaries()}.
+     */
+    @NonNull
+    public List<EventSummary> getSummariesByDBIDs(@NonNull Collection<String> ids) {
+        List<EventSummary> result = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        for (EventSummary summary : summaries) {
+            if (ids.contains(summary.getId())) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the full event behind a summary once, for a detail screen opened from a list.
+     *
+     * @param id The Firestore document ID of the event. Cannot be null.
+     * @return A {@link Task} with the {@link Event}, or {@code null} if it no longer exists.
+     */
+    @NonNull
+    public Task<Event> fetchEvent(@NonNull String id) {
+        return db.collection("events").document(id).get().continueWith(task -> {
+            DocumentSnapshot document = task.getResult();
+            Map<String, Object> data = document.getData();
+            if (data == null) {
+                return null;
+            }
+            Event event = eventCodec.decode(data);
+            event.setId(document.getId());
+            return event;
+        });
+    }
+
+    /**
+     * Attaches the persistent search mirror, which is kept current from then on.
+     * <p>
+     * If summaries have already been loaded, the mirror is reconciled with them straight away,
+     * otherwise with the first snapshot that arrives.
+     * </p>
+     *
+     * @param database The {@link EventSearchDatabase} to maintain.
+     */
+    public void attachSearchDatabase(@NonNull EventSearchDatabase database) {
+        if (searchDatabase == database) {
+            return;
+        }
+        searchDatabase = database;
+        searchDatabaseSynced = false;
+        if (summariesLoaded) {
+            syncSearchDatabase(summaries, null);
+        }
+    }
+
+    /**
+     * Searches the name, location and description of all events using the {@link EventSearchIndex}.
+     * <p>
+     * Every term of the query must match the start or inside of a word in one of the fields.
+     * Results are ranked, with exact word matches and matches in the event name first.
+     * This method is safe to call from a background thread.
+     * </p>
+     *
+     * @param query The raw search query.
+     * @return The matching {@link EventSummary} objects, best match first. All summaries if the query is blank.
+     */
+    @NonNull
+    public List<EventSummary> searchSummaries(@NonNull String query) {
+        if (query.trim().isEmpty()) {
+            return new ArrayList<>(summaries);
+        }
+        Map<String, EventSummary> lookup = summariesById;
+        List<EventSummary> results = new ArrayList<>();
+        for (String id : searchIndex.search(query)) {
+            EventSummary summary = lookup.get(id);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Callback method invoked by {@link DBConnector} when the summaries change in Firestore.
+     * <p>
+     * It replaces the local cache and its ID lookup table, rebuilds the search index and
+     * mirror, then notifies the views.
+     * </p>
+     *
+     * @param objects The updated list of {@link EventSummary} objects from Firestore.
+     */
+    @Override
+    public void readAllAsync_Complete(@NonNull List<EventSummary> objects) {
+        Log.d(TAG, "EventSummaryManager read all complete, notifying views");
+        searchIndex.rebuild(objects);
+        syncSearchDatabase(objects, null);
+        setSummaries(objects);
+        // Notify views of summary changes
+        notifyViews();
+    }
+
+    /**
+     * Callback method invoked by {@link DBConnector} when the summaries change in Firestore.
+     * <p>
+     * Unlike {@link #readAllAsync_Complete(List)}, only the changed summaries are re-indexed
+     * and written to the search mirror before the views are notified.
+     * </p>
+     *
+     * @param objects The updated list of {@link EventSummary} objects from Firestore.
+     * @param changes The summaries added, modified or removed since the previous snapshot.
+     */
+    @Override
+    public void readAllAsync_Complete(@NonNull List<EventSummary> objects, @NonNull DBChangeSet<EventSummary> changes) {
+        Log.d(TAG, "EventSummaryManager read all complete with " + changes.getAdded().size() + " added, "
+                + changes.getModified().size() + " modified, " + changes.getRemoved().size() + " removed");
+        searchIndex.apply(changes);
+        syncSearchDatabase(objects, changes);
+        setSummaries(objects);
+        // Notify views of summary changes
+        notifyViews();
+    }
+
+    /**
+     * Forwards a snapshot to the attached search mirror, if any.
+     * <p>
+     * The first snapshot after attaching replaces the mirror completely, so that events deleted
+     * while the app was not running are dropped. Later snapshots only apply their changes.
+     * </p>
+     *
+     * @param objects The complete list of summaries.
+     * @param changes The changes of the snapshot, or {@code null} if unknown.
+     */
+    private void syncSearchDatabase(@NonNull List<EventSummary> objects, @Nullable DBChangeSet<EventSummary> changes) {
+        if (searchDatabase == null) {
+            return;
+        }
+        if (!searchDatabaseSynced || changes == null) {
+            searchDatabase.replaceAllAsync(objects);
+            searchDatabaseSynced = true;
+        } else {
+            searchDatabase.applyAsync(changes);
+        }
+    }
+
+    private void setSummaries(@NonNull List<EventSummary> objects) {
+        Map<String, EventSummary> byId = new HashMap<>();
+        for (EventSummary summary : objects) {
+            if (summary.getId() != null) {
+                byId.put(summary.getId(), summary);
+            }
+        }
+        summariesById = byId;
+        summaries = objects;
+        summariesLoaded = true;
+    }
+}
@@ -6,11 +6,14 @@ import androidx.annotation.Nullable;
 
 import com.example.matrix_events.database.DBConnector;
 import com.example.matrix_events.database.DBListener;
+import com.example.matrix_events.database.codecs.NotificationCodec;
 import com.example.matrix_events.entities.Notification;
 import com.example.matrix_events.mvc.Model;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Manages all notification-related data and operations within the application.
@@ -28,7 +31,7 @@ import java.util.List;
 public class NotificationManager extends Model implements DBListener<Notification> {
     private static final String TAG = "NotificationManager";
     private List<Notification> notifications = new ArrayList<>();
-    private final DBConnector<Notification> connector = new DBConnector<>("notifications", this, Notification.class);
+    private final DBConnector<Notification> connector = new DBConnector<>("notifications", this, Notification.class, new NotificationCodec());
 
     // Singleton
     private static final NotificationManager manager = new NotificationManager();
@@ -78,8 +81,7 @@ public class NotificationManager extends Model implements DBListener<Notificatio
     public List<Notification> getReceivedNotificationsByDeviceID(@NonNull String deviceID) {
         List<Notification> recvNotifications = new ArrayList<>();
         for (Notification notification : notifications) {
-            // Check for null receiver to prevent crashes if data is malformed
-            if (notification.getReceiver() != null && deviceID.equals(notification.getReceiver().getDeviceId())) {
+            if (deviceID.equals(notification.getReceiverDeviceId())) {
                 recvNotifications.add(notification);
             }
         }
@@ -97,8 +99,7 @@ public class NotificationManager extends Model implements DBListener<Notificatio
     public List<Notification> getSentNotificationsByDeviceID(@NonNull String deviceID) {
         List<Notification> sentNotifications = new ArrayList<>();
         for (Notification notification : notifications) {
-            // Check for null sender to prevent crashes if data is malformed
-            if (notification.getSender() != null && deviceID.equals(notification.getSender().getDeviceId())) {
+            if (deviceID.equals(notification.getSenderDeviceId())) {
                 sentNotifications.add(notification);
             }
         }
@@ -133,7 +134,8 @@ public class NotificationManager extends Model implements DBListener<Notificatio
      * <p>
      * This method updates the local cache with the fresh list of notifications and
      * immediately invokes {@link #notifyViews()} to trigger a UI refresh for all
-     * observing Views.
+     * observing Views. Senders and receivers missing from the shared profile cache are
+     * fetched in the background; views showing their names also observe the {@link ProfileManager}.
      * </p>
      *
      * @param objects The updated list of {@link Notification} objects from Firestore.
@@ -142,6 +144,14 @@ public class NotificationManager extends Model implements DBListener<Notificatio
     public void readAllAsync_Complete(@NonNull List<Notification> objects) {
         Log.d(TAG, "NotificationManager read all complete, notifying views");
         notifications = objects;
+
+        Set<String> deviceIds = new HashSet<>();
+        for (Notification notification : objects) {
+            deviceIds.add(notification.getSenderDeviceId());
+            deviceIds.add(notification.getReceiverDeviceId());
+        }
+        ProfileManager.getInstance().fetchMissingProfiles(deviceIds);
+
         // Notify views of notification changes
         notifyViews();
     }
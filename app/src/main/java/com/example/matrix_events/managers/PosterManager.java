@@ -1,5 +1,7 @@
 package com.example.matrix_events.managers;
 
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.net.Uri;
 import android.util.Log;
 
@@ -7,16 +9,35 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.example.matrix_events.database.DBConnector;
-import com.example.matrix_events.database.DBListener;
+import com.example.matrix_events.database.codecs.PosterCodec;
 import com.example.matrix_events.entities.Event;
 import com.example.matrix_events.entities.Poster;
 import com.example.matrix_events.mvc.Model;
+import com.example.matrix_events.utils.PosterTranscoder;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
 import com.google.firebase.storage.StorageReference;
 import com.google.firebase.storage.UploadTask;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages event posters by handling both the image file uploads to Firebase Storage
@@ -26,18 +47,69 @@ import java.util.List;
  * It acts as a bridge between the binary data storage (images) and the structured database (document links).
  * </p>
  * <p>
- * As a {@link Model}, it maintains a local cache of {@link Poster} objects and notifies
- * registered views of any data changes.
+ * Picked images are never uploaded as they are. They are transcoded off the main thread by
+ * {@link PosterTranscoder} into every {@link Poster.Rendition}, which are uploaded in parallel and
+ * recorded on the {@link Poster}, so screens can load the smallest adequate image.
+ * </p>
+ * <p>
+ * Files are named by the SHA-256 hash of the picked image, so an image that is already stored is
+ * not uploaded again, and its size is recorded once in the {@code poster_files} collection however
+ * many posters use it. Files are never deleted here: the {@code collect_orphan_posters} cloud
+ * function removes them once no poster or event uses them, so a file another poster has just
+ * started using is never deleted from under it.
+ * </p>
+ * <p>
+ * Renditions are written to app storage and uploaded as resumable sessions whose URIs are kept in
+ * {@link SharedPreferences}, so an upload interrupted by a lost connection or the app being killed
+ * continues where it stopped, either when {@link #resumePendingUploads(Context)} runs at startup
+ * or the next time the same image is uploaded.
+ * </p>
+ * <p>
+ * Unlike the other managers it keeps no snapshot listener or cache of its collection, which grows
+ * with every poster ever uploaded. Posters are read a page at a time with
+ * {@link #loadPosterPage}, and as a {@link Model} it notifies registered views once one of its own
+ * writes completes.
  * </p>
  */
-public class PosterManager extends Model implements DBListener<Poster> {
+public class PosterManager extends Model {
     private static final String TAG = "PosterManager";
+    private static final String UPLOAD_SESSIONS = "poster_upload_sessions";
+    private static final String UPLOAD_DIRECTORY = "poster_uploads";
+    private static final String PARTIAL_SUFFIX = ".part";
+    // Storage keeps an upload session for a week, so older files cannot be resumed
+    private static final long STALE_UPLOAD_MILLIS = 7L * 24 * 60 * 60 * 1000;
 
-    private final List<Poster> posters = new ArrayList<>();
-    private final DBConnector<Poster> connector = new DBConnector<>("posters", this, Poster.class);
+    private final PosterCodec posterCodec = new PosterCodec();
+    private final DBConnector<Poster> connector = new DBConnector<>("posters", Poster.class, posterCodec);
 
     private final FirebaseStorage storage = FirebaseStorage.getInstance();
     private final StorageReference posterStorageRef = storage.getReference("posters");
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    // Decoding and encoding posters is memory heavy, so one is transcoded at a time
+    private final ExecutorService transcodeExecutor = Executors.newSingleThreadExecutor();
+    // Uploads in progress by Storage path, only touched on the main thread
+    private final Map<String, Task<Uri>> activeUploads = new HashMap<>();
+
+    /**
+     * A callback interface for receiving one page of posters from {@link #loadPosterPage}.
+     */
+    public interface PosterPageListener {
+        /**
+         * Called when a page of posters has been loaded.
+         *
+         * @param page The posters on the page, ordered by ID.
+         * @param next The last document of the page to pass to {@link #loadPosterPage} for the
+         *             next page, or {@code null} if this was the last page.
+         */
+        void onPosterPageLoaded(@NonNull List<Poster> page, @Nullable DocumentSnapshot next);
+
+        /**
+         * Called when the page could not be loaded.
+         *
+         * @param e The exception that occurred.
+         */
+        void onPosterPageFailed(@NonNull Exception e);
+    }
 
     // Singleton
     private static final PosterManager manager = new PosterManager();
@@ -56,197 +128,489 @@ public class PosterManager extends Model implements DBListener<Poster> {
      * <p>
      * This method performs a multi-step process:
      * <ol>
-     * <li>Uploads the raw image file to Firebase Storage.</li>
-     * <li>Retrieves the public download URL.</li>
-     * <li>Creates a {@link Poster} document in Firestore.</li>
-     * <li>Polls the local cache until the new ID is assigned by the DB listener (resolving the race condition).</li>
+     * <li>Transcodes the image into its renditions and uploads the ones not already stored to Firebase Storage in parallel.</li>
+     * <li>Retrieves their public download URLs.</li>
+     * <li>Creates a {@link Poster} document in Firestore, which assigns the poster its ID.</li>
      * </ol>
      * </p>
      *
+     * @param context  The context used to read the image. Cannot be null.
      * @param imageUri The local URI of the image to be uploaded. Cannot be null.
      * @param eventId  The ID of the event to which this poster belongs. Cannot be null.
      * @param callback A callback to handle the success (returning the created Poster) or failure.
      */
-    public void uploadPosterImage(@NonNull Uri imageUri, @NonNull String eventId, @NonNull PosterUploadCallback callback) {
+    public void uploadPosterImage(@NonNull Context context, @NonNull Uri imageUri, @NonNull String eventId,
+                                  @NonNull PosterUploadCallback callback) {
         if (imageUri == null) {
             callback.onFailure(new IllegalArgumentException("No image selected"));
             return;
         }
 
-        String fileName = "poster_" + System.currentTimeMillis() + ".jpg";
-        StorageReference posterRef = posterStorageRef.child(fileName);
+        storeRenditions(context, imageUri, callback).addOnSuccessListener(stored -> {
+            Poster poster = new Poster(stored.imageUrl, eventId, stored.fileName);
+            stored.applyTo(poster);
+            createPoster(poster)
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d(TAG, "Poster created with ID: " + poster.getId());
+                        callback.onSuccess(poster);
+                    })
+                    .addOnFailureListener(callback::onFailure);
+        }).addOnFailureListener(callback::onFailure);
+    }
+
+    /**
+     * Asynchronously updates the image file for an existing poster.
+     * <p>
+     * The new image's renditions are stored under their own content hash, so views holding the old
+     * URLs never show a mix of old and new renditions. The old files are left in Firebase Storage
+     * for the {@code collect_orphan_posters} cloud function to delete once nothing uses them.
+     * </p>
+     *
+     * @param context  The context used to read the image. Cannot be null.
+     * @param imageUri The new image URI. Cannot be null.
+     * @param poster   The existing poster object to update. Cannot be null.
+     * @param callback A callback to handle success or failure.
+     */
+    public void updatePosterImage(@NonNull Context context, @NonNull Uri imageUri, @NonNull Poster poster,
+                                  @NonNull PosterUploadCallback callback) {
+        if (imageUri == null) {
+            callback.onFailure(new IllegalArgumentException("No image selected"));
+            return;
+        }
 
-        UploadTask uploadTask = posterRef.putFile(imageUri);
+        storeRenditions(context, imageUri, callback).addOnSuccessListener(stored -> {
+            poster.setImageUrl(stored.imageUrl);
+            poster.setFileName(stored.fileName);
+            stored.applyTo(poster);
+            updatePoster(poster)
+                    .addOnSuccessListener(aVoid -> callback.onSuccess(poster))
+                    .addOnFailureListener(callback::onFailure);
+        }).addOnFailureListener(callback::onFailure);
+    }
 
-        uploadTask.continueWithTask(task -> {
-            if (!task.isSuccessful()) {
-                throw task.getException();
+    /**
+     * Stores the renditions of an image, uploading only those not already in Firebase Storage.
+     * <p>
+     * The image is hashed first and each rendition's file looked up by name. The image is only
+     * transcoded if a missing rendition has not been prepared by an earlier, interrupted attempt.
+     * </p>
+     *
+     * @param context  The context used to read the image and keep upload state.
+     * @param imageUri The image to store.
+     * @param callback The callback receiving upload progress.
+     * @return A {@link Task} with the stored renditions, failing if any of them could not be uploaded.
+     */
+    @NonNull
+    private Task<StoredRenditions> storeRenditions(@NonNull Context context, @NonNull Uri imageUri,
+                                                   @NonNull PosterUploadCallback callback) {
+        Context appContext = context.getApplicationContext();
+        PosterTranscoder.Source source = PosterTranscoder.fromUri(appContext.getContentResolver(), imageUri);
+        Poster.Rendition[] renditions = Poster.Rendition.values();
+
+        return Tasks.call(transcodeExecutor, () -> PosterTranscoder.contentHash(source)).continueWithTask(hashTask -> {
+            if (!hashTask.isSuccessful()) {
+                throw hashTask.getException();
+            }
+            String contentHash = hashTask.getResult();
+            List<StorageReference> refs = new ArrayList<>();
+            List<Task<StorageMetadata>> lookups = new ArrayList<>();
+            for (Poster.Rendition rendition : renditions) {
+                StorageReference ref = posterStorageRef.child(getRenditionFileName(contentHash, rendition));
+                refs.add(ref);
+                lookups.add(ref.getMetadata());
             }
-            return posterRef.getDownloadUrl();
-        }).addOnSuccessListener(downloadUri -> {
-            Poster poster = new Poster(downloadUri.toString(), eventId, fileName);
-            createPoster(poster);
-
-            // Polling mechanism: waiting for the poster to appear in the local cache with its generated ID
-            new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(new Runnable() {
-                private int attempts = 0;
-                private final int MAX_ATTEMPTS = 50; // 5 seconds max (50 * 100ms)
-
-                @Override
-                public void run() {
-                    // look for the poster in the synced list
-                    Poster createdPoster = findPosterByEventIdAndFileName(eventId, fileName);
-
-                    if (createdPoster != null && createdPoster.getId() != null && !createdPoster.getId().isEmpty()) {
-                        // found with an ID
-                        Log.d(TAG, "Poster created with ID: " + createdPoster.getId());
-                        callback.onSuccess(createdPoster);
-                    } else if (attempts < MAX_ATTEMPTS) {
-                        // try again in 100ms
-                        attempts++;
-                        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(this, 100);
+
+            return Tasks.whenAllComplete(lookups).continueWithTask(lookedUp -> {
+                StoredRenditions stored = new StoredRenditions();
+                List<Poster.Rendition> missing = new ArrayList<>();
+                for (int i = 0; i < renditions.length; i++) {
+                    Task<StorageMetadata> lookup = lookups.get(i);
+                    if (lookup.isSuccessful()) {
+                        stored.sizeBytes += lookup.getResult().getSizeBytes();
+                    } else if (isNotFound(lookup.getException())) {
+                        missing.add(renditions[i]);
                     } else {
-                        // timeout
-                        callback.onFailure(new Exception("Timeout waiting for poster ID assignment"));
+                        throw lookup.getException();
                     }
                 }
-            }, 100);
+                if (!missing.isEmpty()) {
+                    Log.d(TAG, "Uploading " + missing.size() + " renditions of " + contentHash);
+                }
 
-        }).addOnFailureListener(callback::onFailure);
+                return Tasks.call(transcodeExecutor, () -> prepareUploads(appContext, source, contentHash, missing))
+                        .continueWithTask(prepared -> {
+                            if (!prepared.isSuccessful()) {
+                                throw prepared.getException();
+                            }
+                            Map<Poster.Rendition, File> files = prepared.getResult();
+                            StorageMetadata metadata = new StorageMetadata.Builder()
+                                    .setContentType(PosterTranscoder.getContentType())
+                                    .build();
+
+                            long totalBytes = 0;
+                            for (File file : files.values()) {
+                                totalBytes += file.length();
+                            }
+                            long[] transferred = new long[renditions.length];
+                            long uploadBytes = totalBytes;
+
+                            List<Task<Uri>> urls = new ArrayList<>();
+                            for (int i = 0; i < renditions.length; i++) {
+                                StorageReference ref = refs.get(i);
+                                File file = files.get(renditions[i]);
+                                if (file == null) {
+                                    urls.add(ref.getDownloadUrl());
+                                    continue;
+                                }
+                                stored.sizeBytes += file.length();
+                                int index = i;
+                                urls.add(uploadResumable(appContext, ref, file, metadata, bytes -> {
+                                    transferred[index] = bytes;
+                                    long sum = 0;
+                                    for (long value : transferred) {
+                                        sum += value;
+                                    }
+                                    callback.onProgress(sum, uploadBytes);
+                                }));
+                            }
+
+                            return Tasks.<Uri>whenAllSuccess(urls).continueWith(uploaded -> {
+                                if (!uploaded.isSuccessful()) {
+                                    throw uploaded.getException();
+                                }
+                                List<Uri> downloadUrls = uploaded.getResult();
+                                for (int i = 0; i < renditions.length; i++) {
+                                    stored.urls.put(renditions[i].name(), downloadUrls.get(i).toString());
+                                }
+                                stored.imageUrl = stored.urls.get(Poster.Rendition.DETAIL.name());
+                                stored.fileName = getRenditionFileName(contentHash, Poster.Rendition.DETAIL);
+                                recordStoredFile(contentHash, stored.sizeBytes);
+                                return stored;
+                            });
+                        });
+            });
+        });
     }
 
     /**
-     * Helper method to find a specific poster in the cache based on event ID and file name.
-     * Used primarily by the polling logic in {@link #uploadPosterImage(Uri, String, PosterUploadCallback)}.
+     * Records the combined size of an image's renditions under its content hash.
+     * <p>
+     * Posters sharing the image write the same document, so the admin dashboard counts its bytes once.
+     * </p>
+     */
+    private void recordStoredFile(@NonNull String contentHash, long sizeBytes) {
+        Map<String, Object> file = new HashMap<>();
+        file.put("sizeBytes", sizeBytes);
+        db.collection("poster_files").document(contentHash).set(file)
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to record the size of " + contentHash, e));
+    }
+
+    /**
+     * Gets the Storage file name of an image's rendition.
+     */
+    @NonNull
+    private static String getRenditionFileName(@NonNull String contentHash, @NonNull Poster.Rendition rendition) {
+        return contentHash + "_" + rendition.name().toLowerCase(Locale.ROOT) + "." + PosterTranscoder.getExtension();
+    }
+
+    /**
+     * Writes the missing renditions of an image to app storage, for uploading.
+     * <p>
+     * Files left by an earlier attempt are reused, so a resumed upload session receives the same
+     * bytes it started with.
+     * </p>
      *
-     * @param eventId  The event ID.
-     * @param fileName The unique file name.
-     * @return The {@link Poster} if found, null otherwise.
+     * @return The file of each missing rendition.
      */
-    @Nullable
-    private Poster findPosterByEventIdAndFileName(String eventId, String fileName) {
-        for (Poster poster : posters) {
-            if (eventId.equals(poster.getEventId()) && fileName.equals(poster.getFileName())) {
-                return poster;
+    @NonNull
+    private static Map<Poster.Rendition, File> prepareUploads(@NonNull Context appContext, @NonNull PosterTranscoder.Source source,
+                                                              @NonNull String contentHash, @NonNull List<Poster.Rendition> missing) throws IOException {
+        File directory = new File(appContext.getFilesDir(), UPLOAD_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        Map<Poster.Rendition, File> files = new EnumMap<>(Poster.Rendition.class);
+        boolean prepared = true;
+        for (Poster.Rendition rendition : missing) {
+            File file = new File(directory, getRenditionFileName(contentHash, rendition));
+            files.put(rendition, file);
+            prepared &= file.isFile();
+        }
+        if (prepared) {
+            return files;
+        }
+
+        PosterTranscoder.Result result = PosterTranscoder.transcode(source);
+        for (Map.Entry<Poster.Rendition, File> entry : files.entrySet()) {
+            // write then rename, so a partly written file is never mistaken for a prepared one
+            File partial = new File(directory, entry.getValue().getName() + PARTIAL_SUFFIX);
+            try (OutputStream out = new FileOutputStream(partial)) {
+                out.write(result.getImages().get(entry.getKey()));
+            }
+            if (!partial.renameTo(entry.getValue())) {
+                throw new IOException("Cannot write " + entry.getValue());
             }
         }
-        return null;
+        return files;
     }
 
     /**
-     * Asynchronously updates the image file for an existing poster.
+     * Uploads a file as a resumable session, continuing an earlier session for the same file.
      * <p>
-     * This overwrites the file in Firebase Storage and updates the download URL in the Firestore document.
+     * The session URI is saved as soon as Storage reports it, and forgotten along with the file
+     * once the upload completes. If the saved session has expired, the upload starts over. If the
+     * file is already being uploaded, that upload's task is returned without reporting progress.
      * </p>
      *
-     * @param imageUri The new image URI. Cannot be null.
-     * @param poster   The existing poster object to update. Cannot be null.
-     * @param callback A callback to handle success or failure.
+     * @return A {@link Task} with the download URL of the uploaded file.
      */
-    public void updatePosterImage(@NonNull Uri imageUri, @NonNull Poster poster, @NonNull PosterUploadCallback callback) {
-        if (imageUri == null) {
-            callback.onFailure(new IllegalArgumentException("No image selected"));
-            return;
+    @NonNull
+    private Task<Uri> uploadResumable(@NonNull Context appContext, @NonNull StorageReference ref, @NonNull File file,
+                                      @NonNull StorageMetadata metadata, @NonNull ProgressListener listener) {
+        String key = ref.getPath();
+        Task<Uri> active = activeUploads.get(key);
+        if (active != null) {
+            return active;
         }
 
-        StorageReference posterRef = posterStorageRef.child(poster.getFileName());
+        SharedPreferences sessions = appContext.getSharedPreferences(UPLOAD_SESSIONS, Context.MODE_PRIVATE);
+        String session = sessions.getString(key, null);
 
-        UploadTask uploadTask = posterRef.putFile(imageUri);
+        UploadTask upload = session != null
+                ? ref.putFile(Uri.fromFile(file), metadata, Uri.parse(session))
+                : ref.putFile(Uri.fromFile(file), metadata);
+        upload.addOnProgressListener(snapshot -> {
+            Uri sessionUri = snapshot.getUploadSessionUri();
+            if (sessionUri != null && !sessionUri.toString().equals(sessions.getString(key, null))) {
+                sessions.edit().putString(key, sessionUri.toString()).apply();
+            }
+            listener.onProgress(snapshot.getBytesTransferred());
+        });
+
+        Task<Uri> result = upload.continueWithTask(task -> {
+            if (task.isSuccessful()) {
+                sessions.edit().remove(key).apply();
+                if (!file.delete()) {
+                    Log.w(TAG, "Failed to delete uploaded file " + file);
+                }
+                return ref.getDownloadUrl();
+            }
+            Exception e = task.getException();
+            if (session != null && e instanceof StorageException) {
+                int status = ((StorageException) e).getHttpResultCode();
+                if (status >= 400 && status < 500) {
+                    Log.w(TAG, "Upload session for " + key + " expired, starting over", e);
+                    sessions.edit().remove(key).apply();
+                    activeUploads.remove(key);
+                    return uploadResumable(appContext, ref, file, metadata, listener);
+                }
+            }
+            throw e;
+        });
+        activeUploads.put(key, result);
+        result.addOnCompleteListener(task -> {
+            // a restarted upload has replaced this one under the same key
+            if (activeUploads.get(key) == result) {
+                activeUploads.remove(key);
+            }
+        });
+        return result;
+    }
 
-        uploadTask.continueWithTask(task -> {
-            if (!task.isSuccessful()) {
-                throw task.getException();
+    /**
+     * Resumes the poster uploads left unfinished when the app last stopped, and prunes the files
+     * staged for them in app storage.
+     * <p>
+     * Partly written files, files older than an upload session lasts, and sessions whose file is
+     * gone are deleted. Every other saved session is continued in the background. A resumed file
+     * no poster was created for is removed by the {@code collect_orphan_posters} cloud function.
+     * Call this once when the app starts.
+     * </p>
+     *
+     * @param context The context used to find the staged files and saved sessions.
+     */
+    public void resumePendingUploads(@NonNull Context context) {
+        Context appContext = context.getApplicationContext();
+        // pruned on the transcoding thread, so no rendition is being written while its directory is cleaned
+        Tasks.call(transcodeExecutor, () -> prunePendingUploads(appContext))
+                .addOnSuccessListener(pending -> {
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    Log.d(TAG, "Resuming " + pending.size() + " poster uploads");
+                    StorageMetadata metadata = new StorageMetadata.Builder()
+                            .setContentType(PosterTranscoder.getContentType())
+                            .build();
+                    for (Map.Entry<String, File> entry : pending.entrySet()) {
+                        String path = entry.getKey();
+                        uploadResumable(appContext, storage.getReference(path), entry.getValue(), metadata, bytes -> {})
+                                .addOnSuccessListener(uri -> Log.d(TAG, "Resumed upload of " + path + " finished"))
+                                .addOnFailureListener(e -> Log.w(TAG, "Resumed upload of " + path + " failed", e));
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to prune pending poster uploads", e));
+    }
+
+    /**
+     * Deletes the staged files and saved sessions that cannot be resumed.
+     *
+     * @return The staged file of each session to resume, by Storage path.
+     */
+    @NonNull
+    private static Map<String, File> prunePendingUploads(@NonNull Context appContext) {
+        SharedPreferences sessions = appContext.getSharedPreferences(UPLOAD_SESSIONS, Context.MODE_PRIVATE);
+        File directory = new File(appContext.getFilesDir(), UPLOAD_DIRECTORY);
+        long staleBefore = System.currentTimeMillis() - STALE_UPLOAD_MILLIS;
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if ((file.getName().endsWith(PARTIAL_SUFFIX) || file.lastModified() < staleBefore) && !file.delete()) {
+                    Log.w(TAG, "Failed to delete stale upload file " + file);
+                }
             }
-            return posterRef.getDownloadUrl();
-        }).addOnSuccessListener(downloadUri -> {
-            poster.setImageUrl(downloadUri.toString());
-            updatePoster(poster);
-            callback.onSuccess(poster);
-        }).addOnFailureListener(callback::onFailure);
+        }
+
+        Map<String, File> pending = new HashMap<>();
+        SharedPreferences.Editor editor = sessions.edit();
+        for (String path : sessions.getAll().keySet()) {
+            File file = new File(directory, path.substring(path.lastIndexOf('/') + 1));
+            if (file.isFile()) {
+                pending.put(path, file);
+            } else {
+                editor.remove(path);
+            }
+        }
+        editor.apply();
+        return pending;
+    }
+
+    /**
+     * Checks whether a Storage lookup failed because the file does not exist.
+     */
+    private static boolean isNotFound(@Nullable Exception e) {
+        return e instanceof StorageException
+                && ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND;
     }
 
     /**
-     * Gets the local cache of posters.
+     * Asynchronously loads one page of posters directly from Firestore.
+     * <p>
+     * Pages are ordered by document ID, so the query is served by Firestore's automatic indexes.
+     * Pass the {@code next} document from the previous page to continue after it. Posters
+     * deleted from a page already shown do not shift the pages after it, since the cursor is a
+     * document ID rather than an offset.
+     * </p>
      *
-     * @return The list of {@link Poster} objects.
+     * @param pageSize The maximum number of posters to load.
+     * @param after    The last document of the previous page, or {@code null} for the first page.
+     * @param listener The callback receiving the page.
      */
-    public List<Poster> getPosters() {
-        return posters;
+    public void loadPosterPage(int pageSize, @Nullable DocumentSnapshot after, @NonNull PosterPageListener listener) {
+        Query query = db.collection("posters")
+                .orderBy(FieldPath.documentId())
+                .limit(pageSize);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        query.get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    List<Poster> page = new ArrayList<>();
+                    for (DocumentSnapshot document : documents) {
+                        Map<String, Object> data = document.getData();
+                        if (data != null) {
+                            Poster poster = posterCodec.decode(data);
+                            poster.setId(document.getId());
+                            page.add(poster);
+                        }
+                    }
+                    DocumentSnapshot next = documents.size() < pageSize ? null : documents.get(documents.size() - 1);
+                    listener.onPosterPageLoaded(page, next);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to load a page of posters", e);
+                    listener.onPosterPageFailed(e);
+                });
     }
 
     /**
      * Asynchronously creates a new poster document in the Firestore database.
      *
-     * @param poster The {@link Poster} object to create.
+     * @param poster The {@link Poster} object to create. Its ID is set once the document is created.
+     * @return A {@link Task} completing once the poster is created.
      */
-    public void createPoster(Poster poster) {
-        connector.createAsync(poster);
+    @NonNull
+    public Task<Void> createPoster(@NonNull Poster poster) {
+        return connector.createAsync(poster).addOnSuccessListener(aVoid -> notifyViews());
     }
 
     /**
      * Asynchronously updates an existing poster document in the Firestore database.
      *
      * @param poster The {@link Poster} object with updated data. Its ID must be set.
+     * @return A {@link Task} completing once the poster is written.
      */
-    public void updatePoster(Poster poster) {
-        connector.updateAsync(poster);
+    @NonNull
+    public Task<Void> updatePoster(@NonNull Poster poster) {
+        return connector.updateAsync(poster).addOnSuccessListener(aVoid -> notifyViews());
     }
 
     /**
-     * Asynchronously deletes a poster document and its associated image file.
+     * Asynchronously deletes a poster document.
      * <p>
      * This method ensures data consistency by:
      * <ol>
-     * <li>Nullifying the poster reference in the associated {@link Event} via {@link EventManager}.</li>
-     * <li>Deleting the actual image binary from Firebase Storage.</li>
+     * <li>Nullifying the poster reference in the associated {@link Event} with a single field update,
+     * so the admin poster list never has to load the events.</li>
      * <li>Deleting the poster metadata document from Firestore.</li>
      * </ol>
+     * The image and its renditions stay in Firebase Storage until the {@code collect_orphan_posters}
+     * cloud function finds no poster or event still using them.
      * </p>
      *
      * @param poster The {@link Poster} object to delete. Its ID must be set.
+     * @return A {@link Task} completing once the poster document is deleted.
      */
-    public void deletePoster(@NonNull Poster poster) {
+    @NonNull
+    public Task<Void> deletePoster(@NonNull Poster poster) {
 
         String eventId = poster.getEventId();
 
         if (eventId != null) {
-            Event event = EventManager.getInstance().getEventByDBID(eventId);
-
-            // if the event still exists, set the poster to null to prevent broken links
-            if (event != null) {
-                event.setPoster(null);
-                EventManager.getInstance().updateEvent(event);
-            }
+            // set the event's poster to null to prevent broken links, this fails harmlessly if the event is gone
+            db.collection("events").document(eventId).update("poster", null)
+                    .addOnFailureListener(e -> Log.w(TAG, "Could not clear the poster of event " + eventId, e));
+        }
 
-            // Delete from Storage
-            if (poster.getImageUrl() != null) {
-                StorageReference imageRef = storage.getReferenceFromUrl(poster.getImageUrl());
-                imageRef.delete().addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Poster deleted successfully from Storage");
-                }).addOnFailureListener(exception -> {
-                    Log.e(TAG, "Error deleting poster from Storage", exception);
-                });
-            }
+        // Delete from Firestore
+        return connector.deleteAsync(poster).addOnSuccessListener(aVoid -> notifyViews());
+    }
 
-            // Delete from Firestore
-            connector.deleteAsync(poster);
-        }
+    /**
+     * Receives the bytes transferred by one upload.
+     */
+    private interface ProgressListener {
+        void onProgress(long bytesTransferred);
     }
 
     /**
-     * Callback method invoked by {@link DBConnector} when poster data changes in Firestore.
-     * <p>
-     * It updates the local poster cache and notifies all registered views of the change.
-     * </p>
-     *
-     * @param objects The updated list of {@link Poster} objects from Firestore.
+     * The renditions of one image once they are all uploaded.
      */
-    @Override
-    public void readAllAsync_Complete(List<Poster> objects) {
-        Log.d(TAG, "PosterManager read all complete, notifying views");
-        posters.clear();
-        posters.addAll(objects);
-        notifyViews();
+    private static class StoredRenditions {
+        final Map<String, String> urls = new HashMap<>();
+        String imageUrl;
+        String fileName;
+        long sizeBytes;
+
+        /**
+         * Records the renditions and their combined size on a poster.
+         */
+        void applyTo(@NonNull Poster poster) {
+            poster.setRenditionUrls(new HashMap<>(urls));
+            poster.setSizeBytes(sizeBytes);
+        }
     }
 
     /**
@@ -267,5 +631,17 @@ public class PosterManager extends Model implements DBListener<Poster> {
          * @param e The exception that occurred during the process.
          */
         void onFailure(Exception e);
+
+        /**
+         * Called on the main thread as the poster's files are uploaded.
+         * <p>
+         * Files already in Firebase Storage are not uploaded, so this is not called at all when
+         * the same image was stored before.
+         * </p>
+         *
+         * @param bytesTransferred The number of bytes uploaded so far, across all files.
+         * @param totalBytes       The number of bytes to upload.
+         */
+        default void onProgress(long bytesTransferred, long totalBytes) {}
     }
 }
\ No newline at end of file
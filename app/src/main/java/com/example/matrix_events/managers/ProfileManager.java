@@ -7,11 +7,24 @@ import androidx.annotation.Nullable;
 
 import com.example.matrix_events.database.DBConnector;
 import com.example.matrix_events.database.DBListener;
+import com.example.matrix_events.database.codecs.ProfileCodec;
 import com.example.matrix_events.entities.Profile;
 import com.example.matrix_events.mvc.Model;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages all user profile data and operations within the application.
@@ -24,11 +37,29 @@ import java.util.List;
  * with the database via the {@link DBListener} interface. It handles looking up users by both
  * their database ID and their unique device ID.
  * </p>
+ * <p>
+ * <b>Shared Profile Cache:</b> events and notifications only store the device IDs of the profiles
+ * they refer to, and resolve them here. Device ID lookups are served from an index rebuilt with
+ * every snapshot; device IDs it cannot answer can be fetched in batches with
+ * {@link #fetchMissingProfiles(Collection)}, and the results are kept alongside the index.
+ * Code resolving a whole list of device IDs should use {@link #getProfilesByDeviceIds(Collection)},
+ * which answers from the cache and fetches only what it is missing.
+ * </p>
  */
 public class ProfileManager extends Model implements DBListener<Profile> {
     private static final String TAG = "ProfileManager";
+    // Firestore allows at most 30 values in one whereIn filter
+    private static final int MAX_WHERE_IN = 30;
     private List<Profile> profiles = new ArrayList<>();
-    private final DBConnector<Profile> connector = new DBConnector<>("profiles", this, Profile.class);
+    private volatile Map<String, Profile> profilesByDeviceId = new HashMap<>();
+    // Profiles fetched individually for device IDs the snapshot did not contain
+    private final Map<String, Profile> fetchedProfiles = new ConcurrentHashMap<>();
+    // Device IDs already fetched, or waiting for the first snapshot, so they are requested only once
+    private final Set<String> requestedDeviceIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> deferredDeviceIds = new HashSet<>();
+    private boolean profilesLoaded = false;
+    private final ProfileCodec profileCodec = new ProfileCodec();
+    private final DBConnector<Profile> connector = new DBConnector<>("profiles", this, Profile.class, profileCodec);
 
     // Singleton
     private static final ProfileManager manager = new ProfileManager();
@@ -84,13 +115,138 @@ public class ProfileManager extends Model implements DBListener<Profile> {
      */
     @Nullable
     public Profile getProfileByDeviceId(@NonNull String deviceId) {
-        for (Profile profile : profiles) {
-            // Check for null to prevent crashes on malformed data
-            if (profile.getDeviceId() != null && profile.getDeviceId().equals(deviceId)) {
-                return profile;
+        Profile profile = profilesByDeviceId.get(deviceId);
+        return profile != null ? profile : fetchedProfiles.get(deviceId);
+    }
+
+    /**
+     * Fetches the profiles of the given device IDs that are not cached yet.
+     * <p>
+     * Device IDs are fetched with {@code whereIn} queries of up to {@value #MAX_WHERE_IN} at a time,
+     * and each is requested at most once. Until the first profile snapshot has arrived the request
+     * is deferred, since the snapshot usually answers it. Views are notified once fetched profiles
+     * are available from {@link #getProfileByDeviceId(String)}.
+     * </p>
+     *
+     * @param deviceIds The device IDs to resolve.
+     * @return A {@link Task} resolving to {@code true} if any profiles were fetched, which
+     * completes straight away if nothing needs to be fetched.
+     */
+    @NonNull
+    public Task<Boolean> fetchMissingProfiles(@NonNull Collection<String> deviceIds) {
+        List<String> missing = new ArrayList<>();
+        for (String deviceId : deviceIds) {
+            if (deviceId != null && getProfileByDeviceId(deviceId) == null && requestedDeviceIds.add(deviceId)) {
+                missing.add(deviceId);
             }
         }
-        return null;
+        if (missing.isEmpty()) {
+            return Tasks.forResult(false);
+        }
+        if (!profilesLoaded) {
+            deferredDeviceIds.addAll(missing);
+            return Tasks.forResult(false);
+        }
+
+        return queryByDeviceIds(missing).continueWith(task -> {
+            boolean found = !task.getResult().isEmpty();
+            if (found) {
+                notifyViews();
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Resolves a batch of device IDs to profiles.
+     * <p>
+     * Device IDs found in the cache are answered straight away; the rest are fetched in parallel
+     * {@code whereIn} queries of up to {@value #MAX_WHERE_IN} at a time, so a long list resolves in
+     * a few round trips without waiting for the whole profiles collection to load. Fetched profiles
+     * are kept in the cache, but views are not notified, since the caller receives them directly.
+     * </p>
+     *
+     * @param deviceIds The device IDs to resolve.
+     * @return A {@link Task} resolving to the profiles found, keyed by device ID in the order the
+     * IDs were given. Device IDs without a profile, or whose query failed, are left out.
+     */
+    @NonNull
+    public Task<Map<String, Profile>> getProfilesByDeviceIds(@NonNull Collection<String> deviceIds) {
+        Map<String, Profile> found = new LinkedHashMap<>();
+        List<String> ordered = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String deviceId : deviceIds) {
+            if (deviceId == null || !seen.add(deviceId)) {
+                continue;
+            }
+            ordered.add(deviceId);
+            Profile profile = getProfileByDeviceId(deviceId);
+            if (profile != null) {
+                found.put(deviceId, profile);
+            } else {
+                missing.add(deviceId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Tasks.forResult(found);
+        }
+
+        return queryByDeviceIds(missing).continueWith(task -> {
+            Map<String, Profile> fetched = task.getResult();
+            if (fetched.isEmpty()) {
+                return found;
+            }
+            // Rebuild in the order the device IDs were given
+            Map<String, Profile> result = new LinkedHashMap<>();
+            for (String deviceId : ordered) {
+                Profile profile = found.containsKey(deviceId) ? found.get(deviceId) : fetched.get(deviceId);
+                if (profile != null) {
+                    result.put(deviceId, profile);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Queries the profiles of the given device IDs in parallel {@code whereIn} chunks, and keeps
+     * the results in the cache of fetched profiles.
+     *
+     * @param deviceIds The device IDs to query; none may be {@code null}.
+     * @return A {@link Task} resolving to the profiles found, keyed by device ID. Chunks whose
+     * query fails are logged and skipped, so the task itself always succeeds.
+     */
+    @NonNull
+    private Task<Map<String, Profile>> queryByDeviceIds(@NonNull List<String> deviceIds) {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (int start = 0; start < deviceIds.size(); start += MAX_WHERE_IN) {
+            List<String> chunk = deviceIds.subList(start, Math.min(start + MAX_WHERE_IN, deviceIds.size()));
+            queries.add(db.collection("profiles").whereIn("deviceId", new ArrayList<>(chunk)).get());
+        }
+        return Tasks.whenAllComplete(queries).continueWith(task -> {
+            Map<String, Profile> found = new HashMap<>();
+            for (Task<QuerySnapshot> query : queries) {
+                if (!query.isSuccessful()) {
+                    Log.w(TAG, "Error fetching profiles by device ID", query.getException());
+                    continue;
+                }
+                for (DocumentSnapshot document : query.getResult().getDocuments()) {
+                    Map<String, Object> data = document.getData();
+                    Profile profile = data != null ? profileCodec.decode(data) : null;
+                    if (profile != null && profile.getDeviceId() != null) {
+                        profile.setId(document.getId());
+                        // A snapshot may have arrived while the query was in flight
+                        if (!profilesByDeviceId.containsKey(profile.getDeviceId())) {
+                            fetchedProfiles.put(profile.getDeviceId(), profile);
+                        }
+                        found.put(profile.getDeviceId(), profile);
+                    }
+                }
+            }
+            return found;
+        });
     }
 
     /**
@@ -148,7 +304,24 @@ public class ProfileManager extends Model implements DBListener<Profile> {
     @Override
     public void readAllAsync_Complete(@NonNull List<Profile> objects) {
         Log.d(TAG, "ProfileManager read all complete, notifying views");
+        Map<String, Profile> byDeviceId = new HashMap<>();
+        for (Profile profile : objects) {
+            // Skip malformed profiles without a device ID
+            if (profile.getDeviceId() != null) {
+                byDeviceId.put(profile.getDeviceId(), profile);
+                fetchedProfiles.remove(profile.getDeviceId());
+            }
+        }
+        profilesByDeviceId = byDeviceId;
         profiles = objects;
+
+        if (!profilesLoaded) {
+            profilesLoaded = true;
+            List<String> deferred = new ArrayList<>(deferredDeviceIds);
+            deferredDeviceIds.clear();
+            requestedDeviceIds.removeAll(deferred);
+            fetchMissingProfiles(deferred);
+        }
         // Notify views of profile changes
         notifyViews();
     }
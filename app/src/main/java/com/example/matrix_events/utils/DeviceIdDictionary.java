@@ -0,0 +1,126 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide dictionary that maps device IDs to dense integer codes.
+ * <p>
+ * The same device IDs appear in the entrant lists of many events and in every notification
+ * addressed to a user. Interning them here means each distinct ID is held in memory once, as a
+ * single canonical {@link String}, and lets indexes refer to users by a small {@code int} instead
+ * of a string, which is how {@link EntrantList} stores entrants and {@link EntrantIndex} keys them.
+ * </p>
+ * <p>
+ * Codes are assigned in order starting at 0 and are never reused, so they stay valid for the
+ * lifetime of the process. All methods are thread safe. Lookups in either direction take no lock:
+ * IDs are found through a {@link ConcurrentHashMap}, and codes index an array that is only ever
+ * replaced by a larger copy. Only assigning a new code is synchronized.
+ * </p>
+ * <p>
+ * Since {@link EntrantList}s hold codes rather than strings, a code cannot be released while any
+ * list might still hold it, and the dictionary is never trimmed. Its size is bounded by the number
+ * of distinct device IDs the process has seen in loaded events and notifications, at roughly a
+ * hundred bytes each, so ten thousand users cost about a megabyte.
+ * </p>
+ */
+public class DeviceIdDictionary {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    // slot i holds the device ID of code i; written before the code is published in codes or size
+    private volatile String[] deviceIds = new String[INITIAL_CAPACITY];
+    private volatile int size = 0;
+
+    // Singleton
+    private static final DeviceIdDictionary dictionary = new DeviceIdDictionary();
+
+    /**
+     * Gets the singleton instance of the DeviceIdDictionary.
+     *
+     * @return The single, static instance of DeviceIdDictionary.
+     */
+    public static DeviceIdDictionary getInstance() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the code of a device ID, assigning the next free code if it is new.
+     *
+     * @param deviceId The device ID to intern.
+     * @return The dense integer code of the device ID.
+     */
+    public int intern(@NonNull String deviceId) {
+        Integer code = codes.get(deviceId);
+        return code != null ? code : assign(deviceId);
+    }
+
+    private synchronized int assign(@NonNull String deviceId) {
+        Integer existing = codes.get(deviceId);
+        if (existing != null) {
+            return existing;
+        }
+        int code = size;
+        String[] ids = deviceIds;
+        if (code == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[code] = deviceId;
+        deviceIds = ids;
+        size = code + 1;
+        codes.put(deviceId, code);
+        return code;
+    }
+
+    /**
+     * Gets the canonical instance of a device ID, interning it if it is new.
+     * <p>
+     * Storing the returned instance instead of the argument lets equal IDs share one string.
+     * </p>
+     *
+     * @param deviceId The device ID.
+     * @return A string equal to {@code deviceId} that is shared by every caller.
+     */
+    @NonNull
+    public String canonical(@NonNull String deviceId) {
+        int code = intern(deviceId);
+        return deviceIds[code];
+    }
+
+    /**
+     * Gets the code of a device ID without interning it.
+     *
+     * @param deviceId The device ID to look up.
+     * @return The code of the device ID, or -1 if it has never been interned.
+     */
+    public int lookup(@NonNull String deviceId) {
+        Integer code = codes.get(deviceId);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Gets the device ID for a code.
+     *
+     * @param code A code returned by {@link #intern(String)}.
+     * @return The device ID, or {@code null} if the code was never assigned.
+     */
+    @Nullable
+    public String getDeviceId(int code) {
+        // read size first: every slot below it was written before it was published
+        int assigned = size;
+        return code >= 0 && code < assigned ? deviceIds[code] : null;
+    }
+
+    /**
+     * Gets the number of distinct device IDs interned so far.
+     *
+     * @return The number of assigned codes.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.matrix_events.entities.Entrant;
+import com.example.matrix_events.entities.Event;
+import com.example.matrix_events.entities.Profile;
+import com.example.matrix_events.managers.EventManager;
+import com.example.matrix_events.managers.ProfileManager;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the entrants of an event to a CSV or XLSX file.
+ * <p>
+ * The export walks the chosen lists in one pass, {@value #BATCH_SIZE} entrants at a time: each
+ * batch's profiles are resolved with {@link ProfileManager#getProfilesByDeviceIds} and its rows are
+ * written through a buffered UTF-8 writer before the next batch is read. Only one batch is held in
+ * memory, so exporting a hundred thousand entrants takes no more memory than exporting a hundred.
+ * Events storing their entrants in a subcollection are read page by page.
+ * </p>
+ * <p>
+ * Every row carries the entrant's list, and where known the location they joined from and when.
+ * Entrants without a profile are left out. {@link #export} blocks while profiles and pages load,
+ * so it must be called off the main thread.
+ * </p>
+ */
+public class EntrantExporter {
+    /** Number of entrants read and resolved at a time. */
+    public static final int BATCH_SIZE = 500;
+
+    private static final String[] HEADER = {
+            "Name", "Email", "Phone Number", "List", "Latitude", "Longitude", "Joined At"
+    };
+
+    /**
+     * The file formats an export can be written in.
+     */
+    public enum Format {
+        CSV("text/csv", ".csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx");
+
+        private final String mimeType;
+        private final String extension;
+
+        Format(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+
+        /**
+         * Gets the MIME type of files in this format.
+         *
+         * @return The MIME type.
+         */
+        @NonNull
+        public String getMimeType() { return mimeType; }
+
+        /**
+         * Gets the file name extension of this format, including the dot.
+         *
+         * @return The extension.
+         */
+        @NonNull
+        public String getExtension() { return extension; }
+    }
+
+    /**
+     * A callback interface for following the progress of an export.
+     */
+    public interface ProgressListener {
+        /**
+         * Called on the exporting thread after each batch has been written.
+         *
+         * @param processed The number of entrants processed so far.
+         * @param total     The number of entrants expected in total.
+         */
+        void onProgress(int processed, int total);
+    }
+
+    private final Event event;
+    private final List<Entrant.Status> statuses;
+    private final Format format;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+
+    /**
+     * Constructs an exporter for some of the lists of an event.
+     *
+     * @param event    The event whose entrants to export.
+     * @param statuses The lists to export, in the order they are written.
+     * @param format   The file format to write.
+     */
+    public EntrantExporter(@NonNull Event event, @NonNull List<Entrant.Status> statuses, @NonNull Format format) {
+        this.event = event;
+        this.statuses = new ArrayList<>(statuses);
+        this.format = format;
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    /**
+     * Writes the export to a stream, which is closed afterwards.
+     *
+     * @param out      The stream to write to.
+     * @param listener The callback receiving progress, or {@code null}.
+     * @return The number of rows written, not counting the header.
+     * @throws IOException          If writing fails, or a batch of entrants could not be loaded.
+     * @throws InterruptedException If the exporting thread is interrupted.
+     */
+    @WorkerThread
+    public int export(@NonNull OutputStream out, @Nullable ProgressListener listener) throws IOException, InterruptedException {
+        int total = 0;
+        for (Entrant.Status status : statuses) {
+            total += event.getEntrantCount(status);
+        }
+
+        int processed = 0;
+        int written = 0;
+        try (RowWriter writer = openWriter(format, out)) {
+            writer.writeRow(HEADER);
+            for (Entrant.Status status : statuses) {
+                if (event.isEntrantSubcollection()) {
+                    DocumentSnapshot after = null;
+                    do {
+                        EntrantPage page = loadPage(status, after);
+                        written += writeBatch(writer, status, page.entrants);
+                        processed += page.entrants.size();
+                        after = page.next;
+                        if (listener != null) {
+                            listener.onProgress(processed, Math.max(total, processed));
+                        }
+                    } while (after != null);
+                } else {
+                    List<String> deviceIds = new ArrayList<>(getList(status));
+                    for (int start = 0; start < deviceIds.size(); start += BATCH_SIZE) {
+                        List<Entrant> batch = new ArrayList<>();
+                        for (String deviceId : deviceIds.subList(start, Math.min(start + BATCH_SIZE, deviceIds.size()))) {
+                            GeoPoint location = event.getGeolocationMap() != null ? event.getGeolocationMap().get(deviceId) : null;
+                            Entrant entrant = new Entrant();
+                            entrant.setDeviceId(deviceId);
+                            entrant.setLocation(location);
+                            batch.add(entrant);
+                        }
+                        written += writeBatch(writer, status, batch);
+                        processed += batch.size();
+                        if (listener != null) {
+                            listener.onProgress(processed, Math.max(total, processed));
+                        }
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Resolves the profiles of a batch of entrants and writes a row for each one that has a profile.
+     */
+    private int writeBatch(@NonNull RowWriter writer, @NonNull Entrant.Status status, @NonNull List<Entrant> batch)
+            throws IOException, InterruptedException {
+        List<String> deviceIds = new ArrayList<>(batch.size());
+        for (Entrant entrant : batch) {
+            deviceIds.add(entrant.getDeviceId());
+        }
+        Map<String, Profile> profiles = await(ProfileManager.getInstance().getProfilesByDeviceIds(deviceIds));
+
+        int written = 0;
+        for (Entrant entrant : batch) {
+            Profile profile = profiles.get(entrant.getDeviceId());
+            if (profile == null) {
+                continue;
+            }
+            GeoPoint location = entrant.getLocation();
+            Timestamp joinedAt = entrant.getJoinedAt();
+            writer.writeRow(
+                    profile.getName(),
+                    profile.getEmail(),
+                    profile.getPhoneNumber(),
+                    statusLabel(status),
+                    location != null ? String.valueOf(location.getLatitude()) : null,
+                    location != null ? String.valueOf(location.getLongitude()) : null,
+                    joinedAt != null ? dateFormat.format(joinedAt.toDate()) : null);
+            written++;
+        }
+        return written;
+    }
+
+    @NonNull
+    private List<String> getList(@NonNull Entrant.Status status) {
+        List<String> list;
+        switch (status) {
+            case WAITLIST:
+                list = event.getWaitList();
+                break;
+            case PENDING:
+                list = event.getPendingList();
+                break;
+            case ACCEPTED:
+                list = event.getAcceptedList();
+                break;
+            default:
+                list = event.getDeclinedList();
+                break;
+        }
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * Gets the label written in the list column for a status.
+     *
+     * @param status The list.
+     * @return The label, such as {@code "Waiting List"}.
+     */
+    @NonNull
+    public static String statusLabel(@NonNull Entrant.Status status) {
+        switch (status) {
+            case WAITLIST:
+                return "Waiting List";
+            case PENDING:
+                return "Pending List";
+            case ACCEPTED:
+                return "Accepted List";
+            default:
+                return "Declined List";
+        }
+    }
+
+    private static final class EntrantPage {
+        final List<Entrant> entrants;
+        final DocumentSnapshot next;
+
+        EntrantPage(List<Entrant> entrants, DocumentSnapshot next) {
+            this.entrants = entrants;
+            this.next = next;
+        }
+    }
+
+    @NonNull
+    private EntrantPage loadPage(@NonNull Entrant.Status status, @Nullable DocumentSnapshot after)
+            throws IOException, InterruptedException {
+        TaskCompletionSource<EntrantPage> source = new TaskCompletionSource<>();
+        EventManager.getInstance().loadEntrantPage(event, status, BATCH_SIZE, after, new EventManager.EntrantPageListener() {
+            @Override
+            public void onEntrantPageLoaded(@NonNull List<Entrant> entrants, @Nullable DocumentSnapshot next) {
+                source.setResult(new EntrantPage(entrants, next));
+            }
+
+            @Override
+            public void onEntrantPageFailed(@NonNull Exception e) {
+                source.setException(e);
+            }
+        });
+        return await(source.getTask());
+    }
+
+    private static <T> T await(@NonNull Task<T> task) throws IOException, InterruptedException {
+        try {
+            return Tasks.await(task);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to load entrants", e.getCause());
+        }
+    }
+
+    // Row writers
+
+    /**
+     * Writes rows of text cells to a file, streaming them through a buffered UTF-8 writer.
+     */
+    public interface RowWriter extends AutoCloseable {
+        /**
+         * Writes one row.
+         *
+         * @param cells The cell values; {@code null} values are written as empty cells.
+         * @throws IOException If writing fails.
+         */
+        void writeRow(@NonNull String... cells) throws IOException;
+
+        /**
+         * Finishes the file and closes the underlying stream.
+         *
+         * @throws IOException If writing fails.
+         */
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Opens a row writer for a format.
+     *
+     * @param format The file format to write.
+     * @param out    The stream to write to; it is closed with the writer.
+     * @return The {@link RowWriter}.
+     * @throws IOException If the file preamble cannot be written.
+     */
+    @NonNull
+    public static RowWriter openWriter(@NonNull Format format, @NonNull OutputStream out) throws IOException {
+        return format == Format.CSV ? new CsvRowWriter(out) : new XlsxRowWriter(out);
+    }
+
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+        }
+
+        @Override
+        public void writeRow(@NonNull String... cells) throws IOException {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escapeCSVField(cells[i]));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Escapes a CSV field: fields containing a comma, newline or double quote are wrapped in double quotes.
+     *
+     * @param field The field value, may be {@code null}.
+     * @return The escaped field, empty for {@code null}.
+     */
+    @NonNull
+    public static String escapeCSVField(@Nullable String field) {
+        if (field == null) {
+            return "";
+        }
+        if (field.contains(",") || field.contains("\n") || field.contains("\r") || field.contains("\"")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+
+    /**
+     * Writes a single-sheet XLSX workbook. The fixed parts of the package are written up front and
+     * the sheet is streamed last, with every cell as an inline string, so no shared string table
+     * has to be built in memory.
+     */
+    private static final class XlsxRowWriter implements RowWriter {
+        private final ZipOutputStream zip;
+        private final Writer writer;
+
+        XlsxRowWriter(OutputStream out) throws IOException {
+            zip = new ZipOutputStream(out);
+            writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+            writeEntry("[Content_Types].xml",
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                    + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                    + "</Types>");
+            writeEntry("_rels/.rels",
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                    + "</Relationships>");
+            writeEntry("xl/workbook.xml",
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                    + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                    + "<sheets><sheet name=\"Entrants\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                    + "</workbook>");
+            writeEntry("xl/_rels/workbook.xml.rels",
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                    + "</Relationships>");
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        }
+
+        private void writeEntry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            writer.write(content);
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        @Override
+        public void writeRow(@NonNull String... cells) throws IOException {
+            writer.write("<row>");
+            for (String cell : cells) {
+                if (cell == null || cell.isEmpty()) {
+                    writer.write("<c/>");
+                } else {
+                    writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                    writeEscaped(cell);
+                    writer.write("</t></is></c>");
+                }
+            }
+            writer.write("</row>");
+        }
+
+        private void writeEscaped(String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&': writer.write("&amp;"); break;
+                    case '<': writer.write("&lt;"); break;
+                    case '>': writer.write("&gt;"); break;
+                    case '"': writer.write("&quot;"); break;
+                    default:
+                        // control characters other than tab and newlines are not allowed in XML
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            writer.write(c);
+                        }
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.write("</sheetData></worksheet>");
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.entities.Event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index from entrants to the events whose lists they are on.
+ * <p>
+ * Every event is given a dense ordinal, and every device ID a dense code by the
+ * {@link DeviceIdDictionary}. For each {@link ListType}, the index keeps one sorted {@code int[]}
+ * per device code holding the ordinals of the events whose list contains that device. A user is
+ * on a handful of events out of the whole catalog, so these sparse arrays cost four bytes per
+ * membership, where a bitmap over every event ordinal would cost a bit per event in the catalog
+ * for every user. Looking up the events a user has joined is a single array access, and combining
+ * lists (for example "waitlisted or pending") merges a few short arrays, with no boxed strings or
+ * per-event list scans involved.
+ * </p>
+ * <p>
+ * The index is kept up to date incrementally through {@link #apply(DBChangeSet)}, and all methods
+ * are synchronized.
+ * </p>
+ */
+public class EntrantIndex {
+
+    /**
+     * The entrant lists of an {@link Event}.
+     */
+    public enum ListType {
+        WAITLIST,
+        PENDING,
+        ACCEPTED,
+        DECLINED
+    }
+
+    private static final int[] EMPTY = new int[0];
+
+    private final DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance();
+
+    // Event ID <-> ordinal, ordinals of removed events are reused
+    private final Map<String, Integer> eventOrdinals = new HashMap<>();
+    private final List<String> eventIdsByOrdinal = new ArrayList<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    // List type -> device code -> sorted ordinals of the events whose list holds that device
+    private final Map<ListType, List<int[]>> eventsByDevice = new EnumMap<>(ListType.class);
+    // Event ID -> device codes per list type, needed to clear its memberships when the event changes
+    private final Map<String, int[][]> membersByEvent = new HashMap<>();
+
+    /**
+     * Constructs an empty index.
+     */
+    public EntrantIndex() {
+        for (ListType type : ListType.values()) {
+            eventsByDevice.put(type, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Clears the index and re-indexes every given event.
+     *
+     * @param events The complete collection of events to index.
+     */
+    public synchronized void rebuild(@NonNull Collection<Event> events) {
+        eventOrdinals.clear();
+        eventIdsByOrdinal.clear();
+        freeOrdinals.clear();
+        membersByEvent.clear();
+        for (List<int[]> ordinals : eventsByDevice.values()) {
+            ordinals.clear();
+        }
+        for (Event event : events) {
+            put(event);
+        }
+    }
+
+    /**
+     * Applies the document changes of a single snapshot to the index.
+     *
+     * @param changes The events added, modified and removed since the previous snapshot.
+     */
+    public synchronized void apply(@NonNull DBChangeSet<Event> changes) {
+        for (Event event : changes.getRemoved()) {
+            if (event.getId() != null) {
+                remove(event.getId());
+            }
+        }
+        for (Event event : changes.getModified()) {
+            put(event);
+        }
+        for (Event event : changes.getAdded()) {
+            put(event);
+        }
+    }
+
+    /**
+     * Gets the IDs of the events whose given lists contain a device.
+     *
+     * @param deviceId The device ID of the entrant.
+     * @param types    The lists to look in; an event matches if any of them holds the device.
+     * @return The IDs of the matching events, in no particular order.
+     */
+    @NonNull
+    public synchronized List<String> getEventIds(@NonNull String deviceId, @NonNull ListType... types) {
+        List<String> eventIds = new ArrayList<>();
+        int code = dictionary.lookup(deviceId);
+        if (code < 0) {
+            return eventIds;
+        }
+
+        int[] matches = EMPTY;
+        for (ListType type : types) {
+            int[] ordinals = ordinalsOf(type, code);
+            matches = matches.length == 0 ? ordinals : union(matches, ordinals);
+        }
+        for (int ordinal : matches) {
+            eventIds.add(eventIdsByOrdinal.get(ordinal));
+        }
+        return eventIds;
+    }
+
+    private void put(@NonNull Event event) {
+        String eventId = event.getId();
+        if (eventId == null) {
+            return;
+        }
+        remove(eventId);
+
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = eventIdsByOrdinal.size();
+            eventIdsByOrdinal.add(eventId);
+        } else {
+            ordinal = freeOrdinals.poll();
+            eventIdsByOrdinal.set(ordinal, eventId);
+        }
+        eventOrdinals.put(eventId, ordinal);
+
+        int[][] members = new int[ListType.values().length][];
+        for (ListType type : ListType.values()) {
+            int[] codes = encode(listOf(event, type));
+            members[type.ordinal()] = codes;
+            for (int code : codes) {
+                setOrdinals(type, code, insert(ordinalsOf(type, code), ordinal));
+            }
+        }
+        membersByEvent.put(eventId, members);
+    }
+
+    private void remove(@NonNull String eventId) {
+        Integer ordinal = eventOrdinals.remove(eventId);
+        if (ordinal == null) {
+            return;
+        }
+        int[][] members = membersByEvent.remove(eventId);
+        if (members != null) {
+            for (ListType type : ListType.values()) {
+                for (int code : members[type.ordinal()]) {
+                    setOrdinals(type, code, delete(ordinalsOf(type, code), ordinal));
+                }
+            }
+        }
+        eventIdsByOrdinal.set(ordinal, null);
+        freeOrdinals.add(ordinal);
+    }
+
+    /**
+     * Gets the sorted event ordinals of a device for a list type.
+     */
+    @NonNull
+    private int[] ordinalsOf(@NonNull ListType type, int code) {
+        List<int[]> byDevice = eventsByDevice.get(type);
+        if (code >= byDevice.size()) {
+            return EMPTY;
+        }
+        int[] ordinals = byDevice.get(code);
+        return ordinals == null ? EMPTY : ordinals;
+    }
+
+    private void setOrdinals(@NonNull ListType type, int code, @NonNull int[] ordinals) {
+        List<int[]> byDevice = eventsByDevice.get(type);
+        if (code >= byDevice.size()) {
+            if (ordinals.length == 0) return;
+            while (byDevice.size() <= code) byDevice.add(null);
+        }
+        byDevice.set(code, ordinals.length == 0 ? null : ordinals);
+    }
+
+    /**
+     * Returns a sorted array with an ordinal added, copying rather than growing in place so
+     * arrays are always exactly as long as the memberships they hold.
+     */
+    @NonNull
+    private static int[] insert(@NonNull int[] ordinals, int ordinal) {
+        int position = Arrays.binarySearch(ordinals, ordinal);
+        if (position >= 0) {
+            return ordinals;
+        }
+        position = -position - 1;
+        int[] inserted = new int[ordinals.length + 1];
+        System.arraycopy(ordinals, 0, inserted, 0, position);
+        inserted[position] = ordinal;
+        System.arraycopy(ordinals, position, inserted, position + 1, ordinals.length - position);
+        return inserted;
+    }
+
+    @NonNull
+    private static int[] delete(@NonNull int[] ordinals, int ordinal) {
+        int position = Arrays.binarySearch(ordinals, ordinal);
+        if (position < 0) {
+            return ordinals;
+        }
+        int[] deleted = new int[ordinals.length - 1];
+        System.arraycopy(ordinals, 0, deleted, 0, position);
+        System.arraycopy(ordinals, position + 1, deleted, position, ordinals.length - position - 1);
+        return deleted;
+    }
+
+    /**
+     * Merges two sorted arrays of ordinals, keeping each ordinal once.
+     */
+    @NonNull
+    private static int[] union(@NonNull int[] a, @NonNull int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            merged[count++] = next;
+        }
+        return count == merged.length ? merged : Arrays.copyOf(merged, count);
+    }
+
+    @NonNull
+    private int[] encode(List<String> deviceIds) {
+        if (deviceIds == null || deviceIds.isEmpty()) {
+            return EMPTY;
+        }
+        int[] codes = new int[deviceIds.size()];
+        int count = 0;
+        for (String deviceId : deviceIds) {
+            if (deviceId != null) {
+                codes[count++] = dictionary.intern(deviceId);
+            }
+        }
+        return count == codes.length ? codes : Arrays.copyOf(codes, count);
+    }
+
+    private static List<String> listOf(@NonNull Event event, @NonNull ListType type) {
+        switch (type) {
+            case WAITLIST:
+                return event.getWaitList();
+            case PENDING:
+                return event.getPendingList();
+            case ACCEPTED:
+                return event.getAcceptedList();
+            default:
+                return event.getDeclinedList();
+        }
+    }
+}
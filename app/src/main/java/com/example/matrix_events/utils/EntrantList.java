@@ -0,0 +1,537 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * A list of entrant device IDs with constant time membership checks.
+ * <p>
+ * {@link com.example.matrix_events.entities.Event} keeps its waitlist, pending, accepted and declined
+ * lists in this class. It behaves like an ordinary {@link List} (Firestore writes it as an array
+ * in the same order, and existing callers can keep using {@code add}, {@code remove} and
+ * {@code get}), but {@link #contains(Object)} and {@link #add(String)} are O(1) and
+ * {@link #remove(Object)} and {@link #get(int)} are O(log n), instead of scanning the list.
+ * </p>
+ * <p>
+ * Device IDs are not stored as strings. Each is encoded as its {@link DeviceIdDictionary} code
+ * and kept in an {@code int} slot in insertion order, with an open-addressed table of slots hashed
+ * by the code they hold, so an entrant costs about three {@code int}s however many events they have
+ * joined, and reading an ID back returns the dictionary's shared instance.
+ * </p>
+ * <p>
+ * Removing an ID empties its slot rather than shifting the ones after it, and a Fenwick tree
+ * counting the occupied slots turns a list index into a slot, so mixing indexed reads with writes
+ * never rebuilds anything. The tree is only built on the first removal, since until then a list
+ * index is its slot. Emptied slots are compacted away once they outnumber the entrants,
+ * which keeps every operation amortized at its bound.
+ * </p>
+ * <p>
+ * A device ID can appear at most once, which departs from the plain {@link List} the entrant
+ * lists used to be: appending an ID that is already present leaves the list unchanged and returns
+ * {@code false}, and inserting or replacing an element with an ID held elsewhere in the list throws,
+ * rather than silently dropping an entrant. Null IDs are not permitted. Building a list from a
+ * collection collapses repeated IDs to their first position, so a document written before this
+ * class, whose arrays held a device ID twice, decodes without the repeat and is written back
+ * without it on its next update.
+ * </p>
+ * <p>
+ * Codes only mean something in the process that assigned them, so the list is serialized as its
+ * device IDs and re-encoded when it is read back.
+ * </p>
+ */
+public class EntrantList extends AbstractList<String> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+    // Emptied slots are only compacted past this many, so small lists never bother
+    private static final int MIN_COMPACT_SLOTS = 16;
+    private static final int EMPTY_SLOT = -1;
+
+    private static final DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance();
+
+    private static final int[] NO_INTS = new int[0];
+
+    private transient int[] slots;          // device code per slot, EMPTY_SLOT once removed
+    private transient int slotCount;
+    private transient int[] table;          // open-addressed set of slot + 1 keyed by code, 0 is free
+    private transient int tableCount;
+    private transient int[] tree;           // Fenwick tree of occupied slots, 1-based, null until a removal
+    private transient int size;
+
+    /**
+     * Constructs an empty entrant list.
+     */
+    public EntrantList() {
+        reset(0);
+    }
+
+    /**
+     * Constructs an entrant list holding the given device IDs in order, dropping duplicates
+     * and nulls.
+     *
+     * @param deviceIds The initial device IDs.
+     */
+    public EntrantList(@NonNull Collection<String> deviceIds) {
+        reset(deviceIds.size());
+        for (String deviceId : deviceIds) {
+            if (deviceId != null) {
+                append(dictionary.intern(deviceId));
+            }
+        }
+    }
+
+    /**
+     * Wraps a list in an {@code EntrantList}, unless it already is one.
+     *
+     * @param deviceIds The list to wrap, may be {@code null}.
+     * @return An {@code EntrantList} with the same device IDs.
+     */
+    @NonNull
+    public static EntrantList of(Collection<String> deviceIds) {
+        if (deviceIds instanceof EntrantList) {
+            return (EntrantList) deviceIds;
+        }
+        return deviceIds == null ? new EntrantList() : new EntrantList(deviceIds);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return slotOfId(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int slot = slotOfId(o);
+        return slot < 0 ? -1 : rank(slot);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Gets the device ID at a position in O(log n), or O(1) if nothing has been removed since
+     * the last compaction.
+     */
+    @Override
+    public String get(int index) {
+        return dictionary.getDeviceId(slots[slotOf(index)]);
+    }
+
+    /**
+     * Appends a device ID to the end of the list in amortized O(1).
+     *
+     * @param deviceId The device ID to add.
+     * @return {@code true} if it was added, {@code false} if it was already present.
+     */
+    @Override
+    public boolean add(@NonNull String deviceId) {
+        int code = dictionary.intern(deviceId);
+        if (findSlot(code) >= 0) {
+            return false;
+        }
+        int slot = append(code);
+        if (tree != null) {
+            if (slotCount >= tree.length) {
+                buildTree();        // doubles the tree, amortized over the appends that filled it
+            } else {
+                update(slot, 1);
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts a device ID at a position. Appending is O(1), inserting elsewhere rebuilds the list.
+     *
+     * @throws IllegalArgumentException If the device ID is already in the list, since inserting
+     *                                  it would have to either drop or duplicate it.
+     */
+    @Override
+    public void add(int index, @NonNull String deviceId) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (contains(deviceId)) {
+            throw new IllegalArgumentException("Device ID is already in the list: " + deviceId);
+        }
+        if (index == size) {
+            add(deviceId);
+            return;
+        }
+        List<String> reordered = new ArrayList<>(this);
+        reordered.add(index, deviceId);
+        replaceWith(reordered);
+    }
+
+    /**
+     * Removes a device ID in O(log n).
+     *
+     * @param o The device ID to remove.
+     * @return {@code true} if it was present.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!removeSlot(slotOfId(o))) {
+            return false;
+        }
+        compactIfSparse();
+        return true;
+    }
+
+    @Override
+    public String remove(int index) {
+        int slot = slotOf(index);
+        String deviceId = dictionary.getDeviceId(slots[slot]);
+        removeSlot(slot);
+        compactIfSparse();
+        return deviceId;
+    }
+
+    /**
+     * Replaces the device ID at a position in O(log n).
+     *
+     * @throws IllegalArgumentException If the device ID is already at another position, since
+     *                                  the list would otherwise have to drop one of them.
+     */
+    @Override
+    public String set(int index, @NonNull String deviceId) {
+        int slot = slotOf(index);
+        int previous = slots[slot];
+        int code = dictionary.intern(deviceId);
+        if (code != previous) {
+            if (findSlot(code) >= 0) {
+                throw new IllegalArgumentException("Device ID is already in the list: " + deviceId);
+            }
+            // unhash the slot under its old code before it holds the new one
+            unhash(previous);
+            slots[slot] = code;
+            hash(slot);
+        }
+        return dictionary.getDeviceId(previous);
+    }
+
+    @Override
+    public void clear() {
+        reset(0);
+        modCount++;
+    }
+
+    @Override
+    public boolean removeAll(@NonNull Collection<?> c) {
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= removeSlot(slotOfId(o));
+        }
+        if (modified) compactIfSparse();
+        return modified;
+    }
+
+    @NonNull
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int nextSlot = skipEmpty(0);
+            private int lastSlot = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < slotCount;
+            }
+
+            @Override
+            public String next() {
+                checkForComodification();
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastSlot = nextSlot;
+                nextSlot = skipEmpty(nextSlot + 1);
+                return dictionary.getDeviceId(slots[lastSlot]);
+            }
+
+            @Override
+            public void remove() {
+                if (lastSlot < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+                // emptying the slot keeps the cursor valid, compaction waits for the next change
+                removeSlot(lastSlot);
+                lastSlot = -1;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
+    }
+
+    /**
+     * Finds the slot of a device ID without interning it.
+     *
+     * @return The slot, or -1 if the ID is not in the list.
+     */
+    private int slotOfId(Object o) {
+        if (!(o instanceof String)) {
+            return -1;
+        }
+        int code = dictionary.lookup((String) o);
+        return code < 0 ? -1 : findSlot(code);
+    }
+
+    private void reset(int expectedSize) {
+        slots = expectedSize == 0 ? NO_INTS : new int[expectedSize];
+        slotCount = 0;
+        int capacity = 4;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        tableCount = 0;
+        tree = null;
+        size = 0;
+    }
+
+    /**
+     * Appends a code to the slots without touching the tree, dropping it if it is already present.
+     */
+    private int append(int code) {
+        int existing = findSlot(code);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(4, slotCount + (slotCount >> 1)));
+        }
+        int slot = slotCount++;
+        slots[slot] = code;
+        hash(slot);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Empties a slot, leaving the slots after it where they are.
+     */
+    private boolean removeSlot(int slot) {
+        if (slot < 0) {
+            return false;
+        }
+        if (tree == null) {
+            buildTree();        // the first emptied slot is where indexes stop being slots
+        }
+        unhash(slots[slot]);
+        slots[slot] = EMPTY_SLOT;
+        update(slot, -1);
+        size--;
+        modCount++;
+        return true;
+    }
+
+    private int skipEmpty(int slot) {
+        while (slot < slotCount && slots[slot] == EMPTY_SLOT) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Drops the emptied slots once they outnumber the entrants. Each compaction is O(n) and
+     * follows at least n removals, so removals stay amortized O(log n).
+     */
+    private void compactIfSparse() {
+        int empty = slotCount - size;
+        if (empty < MIN_COMPACT_SLOTS || empty <= size) {
+            return;
+        }
+        int[] live = new int[size];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots[slot] != EMPTY_SLOT) {
+                live[count++] = slots[slot];
+            }
+        }
+        reset(count);
+        for (int code : live) {
+            append(code);
+        }
+        modCount++;
+    }
+
+    private void replaceWith(@NonNull List<String> deviceIds) {
+        reset(deviceIds.size());
+        for (String deviceId : deviceIds) {
+            append(dictionary.intern(deviceId));
+        }
+        modCount++;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (String deviceId : this) {
+            out.writeUTF(deviceId);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        List<String> deviceIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deviceIds.add(in.readUTF());
+        }
+        replaceWith(deviceIds);
+    }
+
+    // Open-addressed table of slots, hashed by the code each slot holds. Linear probing with
+    // backward-shift deletion, so it needs no boxed keys and leaves no tombstones behind. Storing
+    // only the slot, and reading its code from the slots, keeps the table to one int per entry.
+
+    private int findSlot(int code) {
+        int mask = table.length - 1;
+        for (int i = mix(code) & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (slots[table[i] - 1] == code) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a slot to the table under the code it currently holds.
+     */
+    private void hash(int slot) {
+        if ((tableCount + 1) * 4 > table.length * 3) {
+            int[] old = table;
+            table = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    place(entry);
+                }
+            }
+        }
+        place(slot + 1);
+        tableCount++;
+    }
+
+    private void place(int entry) {
+        int mask = table.length - 1;
+        int i = mix(slots[entry - 1]) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = entry;
+    }
+
+    /**
+     * Removes the slot holding a code from the table, while the slot still holds it.
+     */
+    private void unhash(int code) {
+        int mask = table.length - 1;
+        int gap = mix(code) & mask;
+        while (slots[table[gap] - 1] != code) {
+            gap = (gap + 1) & mask;
+        }
+        // shift later entries of the probe run back into the gap
+        for (int i = (gap + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = mix(slots[table[i] - 1]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = 0;
+        tableCount--;
+    }
+
+    private static int mix(int code) {
+        int h = code * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Fenwick tree over slots, counting the occupied ones
+
+    /**
+     * Builds the tree in O(n) with room for at least twice the current slots.
+     */
+    private void buildTree() {
+        int capacity = Math.max(8, Integer.highestOneBit(Math.max(1, slotCount)) << 1);
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= slotCount && slots[i - 1] != EMPTY_SLOT) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Counts the occupied slots before a slot, which is the list index of the entrant in it.
+     */
+    private int rank(int slot) {
+        if (tree == null) {
+            return slot;
+        }
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the slot holding the entrant at a list index.
+     */
+    private int slotOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (slotCount == size) {
+            return index;       // no emptied slots, so indexes are slots
+        }
+        // descend the tree for the slot with exactly index occupied slots before it
+        int slot = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+}
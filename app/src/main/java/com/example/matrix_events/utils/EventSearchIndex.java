@@ -0,0 +1,330 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.matrix_events.database.DBChangeSet;
+import com.example.matrix_events.entities.EventSummary;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index over the searchable text fields of {@link EventSummary} objects.
+ * <p>
+ * The name, location and description of every event are normalized (accents stripped, lower-cased)
+ * and split into tokens. Each distinct token is indexed under its character trigrams (and under
+ * its letters and bigrams, for very short queries), so a query term only has to look at the tokens
+ * sharing its grams rather than at every event in the catalog. Each token in turn keeps a posting list of the events
+ * containing it, together with the fields it appeared in.
+ * </p>
+ * <p>
+ * <b>Ranking:</b> queries are split into terms and every term must match (AND semantics). A term
+ * matching a token exactly scores highest, a prefix match less, and a match inside a token least.
+ * The match quality is multiplied by the weight of the best field it appeared in (name, then
+ * location, then description). Results are ordered by total score, ties broken by event name.
+ * </p>
+ * <p>
+ * The index is kept up to date incrementally through {@link #apply(DBChangeSet)}, and all methods
+ * are synchronized so that searches may run on a background thread.
+ * </p>
+ */
+public class EventSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM_LENGTH = 3;
+
+    // Field bits stored in posting lists
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_LOCATION = 1 << 1;
+    private static final int FIELD_DESCRIPTION = 1 << 2;
+
+    // Match quality of a query term against a token
+    private static final int MATCH_EXACT = 4;
+    private static final int MATCH_PREFIX = 2;
+    private static final int MATCH_INFIX = 1;
+
+    private final Map<String, Set<String>> gramToTokens = new HashMap<>();
+    private final Map<String, Map<String, Integer>> tokenToPostings = new HashMap<>();
+    private final Map<String, Set<String>> eventToTokens = new HashMap<>();
+    private final Map<String, String> eventSortNames = new HashMap<>();
+
+    /**
+     * Clears the index and re-indexes every given event.
+     *
+     * @param events The complete collection of events to index.
+     */
+    public synchronized void rebuild(@NonNull Collection<EventSummary> events) {
+        gramToTokens.clear();
+        tokenToPostings.clear();
+        eventToTokens.clear();
+        eventSortNames.clear();
+        for (EventSummary event : events) {
+            put(event);
+        }
+    }
+
+    /**
+     * Applies the document changes of a single snapshot to the index.
+     *
+     * @param changes The events added, modified and removed since the previous snapshot.
+     */
+    public synchronized void apply(@NonNull DBChangeSet<EventSummary> changes) {
+        for (EventSummary event : changes.getRemoved()) {
+            if (event.getId() != null) {
+                remove(event.getId());
+            }
+        }
+        for (EventSummary event : changes.getModified()) {
+            put(event);
+        }
+        for (EventSummary event : changes.getAdded()) {
+            put(event);
+        }
+    }
+
+    /**
+     * Gets the number of events currently held in the index.
+     *
+     * @return The number of indexed events.
+     */
+    public synchronized int size() {
+        return eventToTokens.size();
+    }
+
+    /**
+     * Searches the index for events matching every term of the query.
+     *
+     * @param query The raw user query. Terms are separated by whitespace or punctuation.
+     * @return The IDs of matching events, best match first. Empty if the query contains no terms.
+     */
+    @NonNull
+    public synchronized List<String> search(@NonNull String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Integer> scores = null;
+        for (String term : new HashSet<>(terms)) {
+            Map<String, Integer> termScores = scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // AND semantics, keep only events matched by every term
+                Map<String, Integer> combined = new HashMap<>();
+                for (Map.Entry<String, Integer> entry : termScores.entrySet()) {
+                    Integer previous = scores.get(entry.getKey());
+                    if (previous != null) {
+                        combined.put(entry.getKey(), previous + entry.getValue());
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        final Map<String, Integer> finalScores = scores;
+        List<String> results = new ArrayList<>(finalScores.keySet());
+        Collections.sort(results, (a, b) -> {
+            int byScore = Integer.compare(finalScores.get(b), finalScores.get(a));
+            if (byScore != 0) return byScore;
+            int byName = eventSortNames.get(a).compareTo(eventSortNames.get(b));
+            return byName != 0 ? byName : a.compareTo(b);
+        });
+        return results;
+    }
+
+    /**
+     * Computes the best score of a single query term for every event containing it.
+     */
+    @NonNull
+    private Map<String, Integer> scoreTerm(@NonNull String term) {
+        Map<String, Integer> termScores = new HashMap<>();
+        for (String token : candidateTokens(term)) {
+            int quality;
+            if (token.equals(term)) {
+                quality = MATCH_EXACT;
+            } else if (token.startsWith(term)) {
+                quality = MATCH_PREFIX;
+            } else if (token.contains(term)) {
+                quality = MATCH_INFIX;
+            } else {
+                continue; // shares every gram with the term but does not contain it
+            }
+            for (Map.Entry<String, Integer> posting : tokenToPostings.get(token).entrySet()) {
+                int score = quality * fieldWeight(posting.getValue());
+                Integer best = termScores.get(posting.getKey());
+                if (best == null || score > best) {
+                    termScores.put(posting.getKey(), score);
+                }
+            }
+        }
+        return termScores;
+    }
+
+    /**
+     * Finds the indexed tokens that may contain the term, by intersecting the token sets of its grams.
+     */
+    @NonNull
+    private Set<String> candidateTokens(@NonNull String term) {
+        if (term.length() < GRAM_LENGTH) {
+            // Short terms are looked up directly, every token is also stored under its letters and bigrams
+            Set<String> tokens = gramToTokens.get(term);
+            return tokens == null ? new HashSet<>() : new HashSet<>(tokens);
+        }
+
+        Set<String> candidates = null;
+        for (String gram : grams(term)) {
+            Set<String> tokens = gramToTokens.get(gram);
+            if (tokens == null) {
+                return new HashSet<>();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(tokens);
+            } else {
+                candidates.retainAll(tokens);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates == null ? new HashSet<>() : candidates;
+    }
+
+    private static int fieldWeight(int fieldMask) {
+        if ((fieldMask & FIELD_NAME) != 0) return 3;
+        if ((fieldMask & FIELD_LOCATION) != 0) return 2;
+        return 1;
+    }
+
+    private void put(@NonNull EventSummary event) {
+        String eventId = event.getId();
+        if (eventId == null) {
+            return;
+        }
+        remove(eventId);
+
+        Map<String, Integer> fields = new HashMap<>();
+        addField(fields, event.getName(), FIELD_NAME);
+        addField(fields, event.getLocation(), FIELD_LOCATION);
+        addField(fields, event.getDescription(), FIELD_DESCRIPTION);
+
+        for (Map.Entry<String, Integer> entry : fields.entrySet()) {
+            String token = entry.getKey();
+            Map<String, Integer> postings = tokenToPostings.get(token);
+            if (postings == null) {
+                postings = new HashMap<>();
+                tokenToPostings.put(token, postings);
+                for (String gram : indexGrams(token)) {
+                    Set<String> tokens = gramToTokens.get(gram);
+                    if (tokens == null) {
+                        tokens = new HashSet<>();
+                        gramToTokens.put(gram, tokens);
+                    }
+                    tokens.add(token);
+                }
+            }
+            postings.put(eventId, entry.getValue());
+        }
+        eventToTokens.put(eventId, fields.keySet());
+        eventSortNames.put(eventId, event.getName() == null ? "" : normalize(event.getName()));
+    }
+
+    private void remove(@NonNull String eventId) {
+        Set<String> tokens = eventToTokens.remove(eventId);
+        eventSortNames.remove(eventId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<String, Integer> postings = tokenToPostings.get(token);
+            if (postings == null) continue;
+            postings.remove(eventId);
+            if (postings.isEmpty()) {
+                // Last event using this token, drop it from the vocabulary
+                tokenToPostings.remove(token);
+                for (String gram : indexGrams(token)) {
+                    Set<String> gramTokens = gramToTokens.get(gram);
+                    if (gramTokens != null) {
+                        gramTokens.remove(token);
+                        if (gramTokens.isEmpty()) gramToTokens.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addField(@NonNull Map<String, Integer> fields, @Nullable String text, int field) {
+        if (text == null) return;
+        for (String token : tokenize(text)) {
+            Integer mask = fields.get(token);
+            fields.put(token, mask == null ? field : mask | field);
+        }
+    }
+
+    /**
+     * Gets every key a token is stored under: its trigrams, plus its single characters and bigrams
+     * so that one and two character query terms can be answered without scanning the vocabulary.
+     */
+    @NonNull
+    private static Set<String> indexGrams(@NonNull String token) {
+        Set<String> keys = new HashSet<>(grams(token));
+        for (int i = 0; i < token.length(); i++) {
+            keys.add(token.substring(i, i + 1));
+            if (i + 2 <= token.length()) {
+                keys.add(token.substring(i, i + 2));
+            }
+        }
+        return keys;
+    }
+
+    @NonNull
+    private static List<String> grams(@NonNull String token) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Splits text into normalized search tokens.
+     *
+     * @param text The raw text.
+     * @return The non-empty tokens of the text, in order.
+     */
+    @NonNull
+    public static List<String> tokenize(@NonNull String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Normalizes text for matching by removing accents and lower-casing it.
+     *
+     * @param text The raw text.
+     * @return The normalized text.
+     */
+    @NonNull
+    public static String normalize(@NonNull String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.matrix_events.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.google.firebase.firestore.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups entrant locations into the markers shown on an event's map.
+ * <p>
+ * Locations are projected to Web Mercator world coordinates at the map's zoom level, the same
+ * projection the map draws with, and bucketed into square cells of {@value #CELL_SIZE} map units
+ * (256 units to a tile). Every cell holding more than one location becomes a single cluster at
+ * the centroid of its locations; a cell holding one location becomes a marker for that entrant.
+ * From zoom level {@value #MAX_CLUSTER_ZOOM} up, every location is its own marker.
+ * </p>
+ * <p>
+ * Every marker has a key that stays the same as long as what it shows does: the device ID for a
+ * single entrant, and the zoom level and cell for a cluster. Callers can diff the markers of two
+ * runs by key and only touch the markers that changed.
+ * </p>
+ * <p>
+ * Clustering is linear in the number of locations, but still too slow for the main thread with
+ * tens of thousands of them, so it should run on a background thread. It does not modify the
+ * locations it is given.
+ * </p>
+ */
+public class GeoGridClusterer {
+    private static final int TILE_SIZE = 256;
+    private static final int CELL_SIZE = 64;
+    private static final int MAX_CLUSTER_ZOOM = 16;
+    // Sine of the latitude is clamped to stay within the Mercator projection
+    private static final double MAX_SIN_LATITUDE = 0.9999;
+
+    /**
+     * A marker to show on the map, for either one entrant or a cluster of them.
+     */
+    public static class Cluster {
+        private final String key;
+        private final double latitude;
+        private final double longitude;
+        private final int size;
+        @Nullable
+        private final String deviceId;
+
+        private Cluster(@NonNull String key, double latitude, double longitude, int size, @Nullable String deviceId) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.size = size;
+            this.deviceId = deviceId;
+        }
+
+        /**
+         * Gets the key identifying this marker between runs.
+         *
+         * @return The device ID of a single entrant, or the zoom level and cell of a cluster.
+         */
+        @NonNull
+        public String getKey() { return key; }
+
+        /**
+         * Gets the latitude of the marker, the centroid of a cluster.
+         *
+         * @return The latitude in degrees.
+         */
+        public double getLatitude() { return latitude; }
+
+        /**
+         * Gets the longitude of the marker, the centroid of a cluster.
+         *
+         * @return The longitude in degrees.
+         */
+        public double getLongitude() { return longitude; }
+
+        /**
+         * Gets the number of entrants the marker stands for.
+         *
+         * @return The size of the cluster, 1 for a single entrant.
+         */
+        public int getSize() { return size; }
+
+        /**
+         * Gets the device ID of a single entrant.
+         *
+         * @return The device ID, or {@code null} for a cluster.
+         */
+        @Nullable
+        public String getDeviceId() { return deviceId; }
+
+        /**
+         * Checks whether this marker is a cluster of several entrants.
+         *
+         * @return {@code true} if the marker stands for more than one entrant.
+         */
+        public boolean isCluster() { return size > 1; }
+    }
+
+    /**
+     * The region of the map whose markers are needed.
+     */
+    public static class Viewport {
+        private final double south;
+        private final double west;
+        private final double north;
+        private final double east;
+
+        /**
+         * Constructs a viewport from its edges. The west edge is east of the east edge when the
+         * viewport crosses the antimeridian.
+         *
+         * @param south The southern latitude in degrees.
+         * @param west  The western longitude in degrees.
+         * @param north The northern latitude in degrees.
+         * @param east  The eastern longitude in degrees.
+         */
+        public Viewport(double south, double west, double north, double east) {
+            this.south = south;
+            this.west = west;
+            this.north = north;
+            this.east = east;
+        }
+
+        /**
+         * Checks whether a point lies in the viewport.
+         *
+         * @param latitude  The latitude in degrees.
+         * @param longitude The longitude in degrees.
+         * @return {@code true} if the point is inside the viewport or on its edge.
+         */
+        public boolean contains(double latitude, double longitude) {
+            if (latitude < south || latitude > north) {
+                return false;
+            }
+            if (west <= east) {
+                return longitude >= west && longitude <= east;
+            }
+            return longitude >= west || longitude <= east;
+        }
+    }
+
+    /**
+     * Sums of the locations in one cell.
+     */
+    private static class Cell {
+        int size;
+        double latitudeSum;
+        double longitudeSum;
+        String deviceId;
+    }
+
+    private GeoGridClusterer() {}
+
+    /**
+     * Clusters entrant locations for a zoom level.
+     *
+     * @param locations The locations by device ID.
+     * @param zoom      The zoom level of the map.
+     * @param viewport  The region to return markers for, or {@code null} for the whole world.
+     *                  Clusters are kept if their centroid lies in it.
+     * @return The markers, in no particular order.
+     */
+    @WorkerThread
+    @NonNull
+    public static List<Cluster> cluster(@NonNull Map<String, GeoPoint> locations, float zoom,
+                                        @Nullable Viewport viewport) {
+        int level = (int) Math.floor(zoom);
+        List<Cluster> clusters = new ArrayList<>();
+
+        if (level >= MAX_CLUSTER_ZOOM) {
+            for (Map.Entry<String, GeoPoint> entry : locations.entrySet()) {
+                GeoPoint point = entry.getValue();
+                if (point != null && (viewport == null || viewport.contains(point.getLatitude(), point.getLongitude()))) {
+                    clusters.add(new Cluster(entry.getKey(), point.getLatitude(), point.getLongitude(), 1, entry.getKey()));
+                }
+            }
+            return clusters;
+        }
+
+        double worldSize = TILE_SIZE * Math.pow(2, level);
+        long cellsPerSide = Math.max(1, (long) Math.ceil(worldSize / CELL_SIZE));
+        Map<Long, Cell> cells = new HashMap<>();
+        for (Map.Entry<String, GeoPoint> entry : locations.entrySet()) {
+            GeoPoint point = entry.getValue();
+            if (point == null) {
+                continue;
+            }
+            long cellX = Math.min(cellsPerSide - 1, (long) Math.floor(projectX(point.getLongitude(), worldSize) / CELL_SIZE));
+            long cellY = Math.min(cellsPerSide - 1, (long) Math.floor(projectY(point.getLatitude(), worldSize) / CELL_SIZE));
+            long cellKey = cellX * cellsPerSide + cellY;
+            Cell cell = cells.get(cellKey);
+            if (cell == null) {
+                cell = new Cell();
+                cells.put(cellKey, cell);
+            }
+            cell.size++;
+            cell.latitudeSum += point.getLatitude();
+            cell.longitudeSum += point.getLongitude();
+            cell.deviceId = entry.getKey();
+        }
+
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            Cell cell = entry.getValue();
+            double latitude = cell.latitudeSum / cell.size;
+            double longitude = cell.longitudeSum / cell.size;
+            if (viewport != null && !viewport.contains(latitude, longitude)) {
+                continue;
+            }
+            if (cell.size == 1) {
+                clusters.add(new Cluster(cell.deviceId, latitude, longitude, 1, cell.deviceId));
+            } else {
+                String key = "cluster:" + level + ":" + entry.getKey();
+                clusters.add(new Cluster(key, latitude, longitude, cell.size, null));
+            }
+        }
+        return clusters;
+    }
+
+    private static double projectX(double longitude, double worldSize) {
+        return (longitude + 180) / 360 * worldSize;
+    }
+
+    private static double projectY(double latitude, double worldSize) {
+        double sinLatitude = Math.max(-MAX_SIN_LATITUDE, Math.min(MAX_SIN_LATITUDE, Math.sin(Math.toRadians(latitude))));
+        return (0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI)) * worldSize;
+    }
+}
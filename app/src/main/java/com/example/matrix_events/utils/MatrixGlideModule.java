@@ -0,0 +1,158 @@
+package com.example.matrix_events.utils;
+
+import android.content.Context;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+import com.example.matrix_events.entities.Poster;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configures the Glide instance used for posters and profile pictures across the app.
+ * <p>
+ * The memory cache and bitmap pool are budgeted in screens of pixels, and the disk cache holds
+ * downloaded images up to a fixed size, so posters seen on one screen are still cached when
+ * another screen shows them. Posters are opaque, so images are decoded as RGB_565, which takes
+ * half the memory of ARGB_8888; Glide still decodes images with transparency as ARGB_8888.
+ * Hardware bitmaps stay allowed, as they keep pixels out of the app heap altogether; a load whose
+ * pixels are read back on the CPU must call {@code disallowHardwareConfig()} on its own request.
+ * </p>
+ * <p>
+ * Full-width poster banners are loaded with {@link #posterBannerOptions(Context)}, which bounds the
+ * decoded size before the view is laid out, including for full-size photos picked from the gallery.
+ * </p>
+ * <p>
+ * Every load is counted by where it was served from, and the cache hit rate is logged at debug
+ * level and readable through {@link #getLoadCount()}, {@link #getMemoryCacheHits()} and
+ * {@link #getDiskCacheHits()}, for comparing cache settings.
+ * </p>
+ */
+@GlideModule
+public final class MatrixGlideModule extends AppGlideModule {
+    private static final String TAG = "MatrixGlideModule";
+    private static final float MEMORY_CACHE_SCREENS = 2;
+    private static final float BITMAP_POOL_SCREENS = 3;
+    private static final String DISK_CACHE_NAME = "image_cache";
+    private static final long DISK_CACHE_BYTES = 150L * 1024 * 1024;
+    private static final int STATS_LOG_INTERVAL = 100;
+    private static final int POSTER_BANNER_HEIGHT_DP = 200;       // the poster banners on the event screens
+
+    private static final AtomicInteger loads = new AtomicInteger();
+    private static final AtomicInteger memoryHits = new AtomicInteger();
+    private static final AtomicInteger diskHits = new AtomicInteger();
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_NAME, DISK_CACHE_BYTES));
+
+        // applies wherever Glide falls back from hardware bitmaps, e.g. for transformed images
+        builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+
+        builder.addGlobalRequestListener(new RequestListener<Object>() {
+            @Override
+            public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                        @NonNull Target<Object> target, boolean isFirstResource) {
+                return false;
+            }
+
+            @Override
+            public boolean onResourceReady(@NonNull Object resource, @NonNull Object model, Target<Object> target,
+                                           @NonNull DataSource dataSource, boolean isFirstResource) {
+                recordLoad(dataSource);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Gets the options for a poster shown as a full-width banner, as on the event detail, organizer
+     * and edit screens.
+     * <p>
+     * The image is cropped to at most the screen width, or the width of the detail rendition if
+     * that is smaller, by the banner height.
+     * </p>
+     *
+     * @param context The context used to read the display size.
+     * @return The request options to apply to the banner load.
+     */
+    @NonNull
+    public static RequestOptions posterBannerOptions(@NonNull Context context) {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        int width = Math.min(metrics.widthPixels, Poster.Rendition.DETAIL.getMaxEdge());
+        int height = Math.round(POSTER_BANNER_HEIGHT_DP * metrics.density);
+        return new RequestOptions().override(width, height).centerCrop();
+    }
+
+    /**
+     * Disables parsing of legacy manifest modules, which the app does not use.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+
+    /**
+     * Gets the number of images loaded since the app started, from any source.
+     *
+     * @return The number of completed loads.
+     */
+    public static int getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * Gets the number of loads served from the memory cache, including images still in use elsewhere.
+     *
+     * @return The number of memory cache hits.
+     */
+    public static int getMemoryCacheHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * Gets the number of loads served from the disk cache, whether the original or the resized image.
+     *
+     * @return The number of disk cache hits.
+     */
+    public static int getDiskCacheHits() {
+        return diskHits.get();
+    }
+
+    private static void recordLoad(@NonNull DataSource dataSource) {
+        if (dataSource == DataSource.MEMORY_CACHE) {
+            memoryHits.incrementAndGet();
+        } else if (dataSource == DataSource.DATA_DISK_CACHE || dataSource == DataSource.RESOURCE_DISK_CACHE) {
+            diskHits.incrementAndGet();
+        }
+        int total = loads.incrementAndGet();
+        if (total % STATS_LOG_INTERVAL == 0) {
+            Log.d(TAG, "Image loads: " + total + ", memory cache hits: " + memoryHits.get()
+                    + ", disk cache hits: " + diskHits.get());
+        }
+    }
+}
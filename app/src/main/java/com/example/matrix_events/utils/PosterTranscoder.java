@@ -0,0 +1,317 @@
+package com.example.matrix_events.utils;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.example.matrix_events.entities.Poster;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Turns a picked image into the {@link Poster.Rendition}s stored for a poster.
+ * <p>
+ * The image is decoded once, subsampled with {@code inSampleSize} to the nearest power of two
+ * above the largest rendition, and turned upright from its EXIF orientation. Each rendition is
+ * then scaled down from the one above it and encoded as lossy WebP, or JPEG on devices older
+ * than Android 11.
+ * </p>
+ * <p>
+ * Decoding and encoding are slow for camera-sized images, so this must not run on the main thread.
+ * </p>
+ * <p>
+ * Posters are stored under the {@link #contentHash(Source) SHA-256 hash} of the picked image, so
+ * the same image is only uploaded once.
+ * </p>
+ */
+public class PosterTranscoder {
+    private static final String TAG = "PosterTranscoder";
+    private static final int QUALITY = 80;
+
+    /**
+     * Opens the image to transcode. It is called once per pass over the image, and each stream
+     * it returns is closed by the transcoder.
+     */
+    public interface Source {
+        /**
+         * Opens a new stream positioned at the start of the image.
+         *
+         * @return The image stream.
+         * @throws IOException If the image cannot be opened.
+         */
+        @NonNull
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * The encoded renditions of one image.
+     */
+    public static class Result {
+        private final Map<Poster.Rendition, byte[]> images;
+
+        private Result(@NonNull Map<Poster.Rendition, byte[]> images) {
+            this.images = Collections.unmodifiableMap(images);
+        }
+
+        /**
+         * Gets the encoded image of every rendition.
+         *
+         * @return A map from rendition to its encoded bytes.
+         */
+        @NonNull
+        public Map<Poster.Rendition, byte[]> getImages() { return images; }
+
+        /**
+         * Gets the combined size of every rendition.
+         *
+         * @return The total size in bytes.
+         */
+        public long getTotalBytes() {
+            long total = 0;
+            for (byte[] image : images.values()) {
+                total += image.length;
+            }
+            return total;
+        }
+    }
+
+    private PosterTranscoder() {}
+
+    /**
+     * Gets the file extension of the renditions encoded on this device.
+     *
+     * @return {@code "webp"} or {@code "jpg"}.
+     */
+    @NonNull
+    public static String getExtension() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R ? "webp" : "jpg";
+    }
+
+    /**
+     * Gets the MIME type of the renditions encoded on this device.
+     *
+     * @return {@code "image/webp"} or {@code "image/jpeg"}.
+     */
+    @NonNull
+    public static String getContentType() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R ? "image/webp" : "image/jpeg";
+    }
+
+    /**
+     * Creates a source reading an image picked from a content provider.
+     *
+     * @param resolver The resolver to open the image with.
+     * @param imageUri The URI of the image.
+     * @return The image source.
+     */
+    @NonNull
+    public static Source fromUri(@NonNull ContentResolver resolver, @NonNull Uri imageUri) {
+        return () -> {
+            InputStream in = resolver.openInputStream(imageUri);
+            if (in == null) {
+                throw new FileNotFoundException("Cannot open " + imageUri);
+            }
+            return in;
+        };
+    }
+
+    /**
+     * Hashes the bytes of an image.
+     *
+     * @param source Opens the image.
+     * @return The lowercase hexadecimal SHA-256 hash of the image.
+     * @throws IOException If the image cannot be read.
+     */
+    @WorkerThread
+    @NonNull
+    public static String contentHash(@NonNull Source source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = source.open()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Transcodes an image into every {@link Poster.Rendition}.
+     * <p>
+     * Renditions are never scaled up, so a small image is stored at its own size.
+     * </p>
+     *
+     * @param source Opens the image.
+     * @return The encoded renditions.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    @WorkerThread
+    @NonNull
+    public static Result transcode(@NonNull Source source) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = source.open()) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Image cannot be decoded");
+        }
+
+        int orientation = readOrientation(source);
+
+        Poster.Rendition[] renditions = Poster.Rendition.values();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = calculateInSampleSize(Math.max(bounds.outWidth, bounds.outHeight),
+                renditions[renditions.length - 1].getMaxEdge());
+        Bitmap decoded;
+        try (InputStream in = source.open()) {
+            decoded = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (decoded == null) {
+            throw new IOException("Image cannot be decoded");
+        }
+
+        Map<Poster.Rendition, byte[]> images = new EnumMap<>(Poster.Rendition.class);
+        Bitmap current = orient(decoded, orientation);
+        try {
+            // largest first, so each rendition is scaled from a bitmap close to its size
+            for (int i = renditions.length - 1; i >= 0; i--) {
+                Bitmap scaled = scaleToFit(current, renditions[i].getMaxEdge());
+                if (scaled != current) {
+                    current.recycle();
+                    current = scaled;
+                }
+                images.put(renditions[i], encode(current));
+            }
+        } finally {
+            current.recycle();
+        }
+        return new Result(images);
+    }
+
+    /**
+     * Calculates the largest power of two subsampling that keeps an image at least a target size.
+     *
+     * @param longEdge   The longest edge of the image in pixels.
+     * @param targetEdge The smallest longest edge wanted after subsampling.
+     * @return The {@code inSampleSize} to decode with.
+     */
+    public static int calculateInSampleSize(int longEdge, int targetEdge) {
+        int sampleSize = 1;
+        while (longEdge / (sampleSize * 2) >= targetEdge) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static int readOrientation(@NonNull Source source) {
+        try (InputStream in = source.open()) {
+            return new ExifInterface(in).getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to read image orientation", e);
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Rotates and mirrors a bitmap upright from its EXIF orientation, recycling the original.
+     */
+    @NonNull
+    private static Bitmap orient(@NonNull Bitmap bitmap, int orientation) {
+        Matrix matrix = new Matrix();
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.setRotate(270);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.setScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(270);
+                matrix.postScale(-1, 1);
+                break;
+            default:
+                return bitmap;
+        }
+        Bitmap oriented = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (oriented != bitmap) {
+            bitmap.recycle();
+        }
+        return oriented;
+    }
+
+    /**
+     * Scales a bitmap down so its longest edge fits, returning the same bitmap if it already does.
+     */
+    @NonNull
+    private static Bitmap scaleToFit(@NonNull Bitmap bitmap, int maxEdge) {
+        int longEdge = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (longEdge <= maxEdge) {
+            return bitmap;
+        }
+        float scale = (float) maxEdge / longEdge;
+        int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        return Bitmap.createScaledBitmap(bitmap, width, height, true);
+    }
+
+    @NonNull
+    private static byte[] encode(@NonNull Bitmap bitmap) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            bitmap.compress(Bitmap.CompressFormat.WEBP_LOSSY, QUALITY, out);
+        } else if (bitmap.hasAlpha()) {
+            // JPEG has no alpha channel, so flatten transparent images onto white
+            Bitmap opaque = Bitmap.createBitmap(bitmap.getWidth(), bitmap.getHeight(), Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(opaque);
+            canvas.drawColor(Color.WHITE);
+            canvas.drawBitmap(bitmap, 0, 0, null);
+            opaque.compress(Bitmap.CompressFormat.JPEG, QUALITY, out);
+            opaque.recycle();
+        } else {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, QUALITY, out);
+        }
+        return out.toByteArray();
+    }
+}
@@ -2,7 +2,12 @@ package com.example.matrix_events.utils;
 
 import android.graphics.Bitmap;
 import android.graphics.Color;
+import android.util.LruCache;
 
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
@@ -11,6 +16,8 @@ import com.google.zxing.qrcode.QRCodeWriter;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Utility class for generating QR codes for events.
@@ -49,26 +56,117 @@ public class QRCodeGenerator {
         }
     }
 
+    // Cache of rendered QR codes, keyed by hash and size, bounded by their size in kilobytes
+    private static final int CACHE_SIZE_KB = 8 * 1024;
+    private static final LruCache<String, Bitmap> bitmapCache = new LruCache<String, Bitmap>(CACHE_SIZE_KB) {
+        @Override
+        protected int sizeOf(@NonNull String key, @NonNull Bitmap bitmap) {
+            return bitmap.getByteCount() / 1024;
+        }
+    };
+    private static final ExecutorService renderExecutor = Executors.newSingleThreadExecutor();
+
     /**
      * Generates a QR code bitmap from a hash string.
+     * <p>
+     * The code is encoded at module resolution, one bit per module plus the quiet zone, and scaled
+     * to the requested size with nearest-neighbour sampling. Pixel rows are filled in an
+     * {@code int[]} buffer, repeated rows are copied rather than recomputed, and the whole buffer
+     * is written with a single {@link Bitmap#setPixels} call.
+     * </p>
      *
      * @param qrHash The hash string to encode in the QR code
      * @param width  The desired width of the QR code in pixels
      * @param height The desired height of the QR code in pixels
      * @return A Bitmap containing the QR code
      * @throws WriterException If QR code generation fails
+     * @throws IllegalArgumentException If the width or height is not positive
      */
     public static Bitmap generateQRCodeBitmap(String qrHash, int width, int height) throws WriterException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("QR code dimensions must be positive: " + width + "x" + height);
+        }
+
+        return render(encodeModules(qrHash), width, height);
+    }
+
+    /**
+     * Generates a QR code bitmap with one pixel per module, quiet zone included.
+     * <p>
+     * This is the smallest faithful rendering of the code; it is meant to be scaled up when drawn,
+     * with bitmap filtering off so the modules stay sharp, such as when composing printed sheets.
+     * </p>
+     *
+     * @param qrHash The hash string to encode in the QR code
+     * @return A Bitmap containing the QR code at module resolution
+     * @throws WriterException If QR code generation fails
+     */
+    public static Bitmap generateQRCodeModuleBitmap(String qrHash) throws WriterException {
+        BitMatrix modules = encodeModules(qrHash);
+        return render(modules, modules.getWidth(), modules.getHeight());
+    }
+
+    private static BitMatrix encodeModules(String qrHash) throws WriterException {
+        // A requested size of 0x0 makes ZXing return the bare module matrix
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrHash, BarcodeFormat.QR_CODE, width, height);
+        return qrCodeWriter.encode(qrHash, BarcodeFormat.QR_CODE, 0, 0);
+    }
 
-        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    private static Bitmap render(BitMatrix modules, int width, int height) {
+        int moduleWidth = modules.getWidth();
+        int moduleHeight = modules.getHeight();
+
+        // Module column sampled by each pixel column
+        int[] columnModules = new int[width];
         for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                bitmap.setPixel(x, y, bitMatrix.get(x, y) ? Color.BLACK : Color.WHITE);
+            columnModules[x] = x * moduleWidth / width;
+        }
+
+        int[] pixels = new int[width * height];
+        int previousModuleRow = -1;
+        for (int y = 0; y < height; y++) {
+            int moduleRow = y * moduleHeight / height;
+            int offset = y * width;
+            if (moduleRow == previousModuleRow) {
+                System.arraycopy(pixels, offset - width, pixels, offset, width);
+                continue;
             }
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = modules.get(columnModules[x], moduleRow) ? Color.BLACK : Color.WHITE;
+            }
+            previousModuleRow = moduleRow;
         }
 
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.setPixels(pixels, 0, width, 0, 0, width, height);
         return bitmap;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets a QR code bitmap, rendering it on a background thread unless it is cached.
+     * <p>
+     * Rendered bitmaps are kept in an LRU cache keyed by hash and size, so showing the same QR
+     * code again completes immediately. The returned bitmap is shared and must not be modified.
+     * </p>
+     *
+     * @param qrHash The hash string to encode in the QR code
+     * @param width  The desired width of the QR code in pixels
+     * @param height The desired height of the QR code in pixels
+     * @return A {@link Task} resolving to the QR code, or failing with the
+     * {@link WriterException} or {@link IllegalArgumentException} from
+     * {@link #generateQRCodeBitmap(String, int, int)}.
+     */
+    @NonNull
+    public static Task<Bitmap> loadQRCodeBitmap(@NonNull String qrHash, int width, int height) {
+        String key = width + "x" + height + ":" + qrHash;
+        Bitmap cached = bitmapCache.get(key);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        return Tasks.call(renderExecutor, () -> {
+            Bitmap bitmap = generateQRCodeBitmap(qrHash, width, height);
+            bitmapCache.put(key, bitmap);
+            return bitmap;
+        });
+    }
+}
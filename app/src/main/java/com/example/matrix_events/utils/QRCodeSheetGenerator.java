@@ -0,0 +1,171 @@
+package com.example.matrix_events.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.pdf.PdfDocument;
+import android.text.TextUtils;
+import android.text.TextPaint;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.matrix_events.entities.Event;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Composes the QR codes of many events into a printable, paginated PDF.
+ * <p>
+ * Codes are laid out {@value #COLUMNS} by {@value #ROWS} on A4 pages, each with its event's name
+ * underneath. They are rendered in parallel on a bounded thread pool with
+ * {@link QRCodeGenerator#generateQRCodeModuleBitmap(String)}, at most two pages ahead of the page
+ * being drawn, and each page's bitmaps are recycled as soon as the page is finished.
+ * </p>
+ * <p>
+ * {@link PdfDocument} keeps finished pages until the document is written, so the codes are drawn
+ * at module resolution, one pixel per module scaled up without filtering. That keeps every
+ * finished page to a few kilobytes and the memory used flat however many codes are generated.
+ * </p>
+ */
+public class QRCodeSheetGenerator {
+    // A4 in PostScript points
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 36;
+    private static final int COLUMNS = 2;
+    private static final int ROWS = 3;
+    private static final int CODES_PER_PAGE = COLUMNS * ROWS;
+    private static final int CODE_SIZE = 180;
+    private static final int LABEL_SIZE = 12;
+    // Rendered codes waiting to be drawn are bounded to two pages
+    private static final int RENDER_AHEAD = CODES_PER_PAGE * 2;
+
+    /**
+     * A callback interface for following the progress of a sheet.
+     */
+    public interface ProgressListener {
+        /**
+         * Called on the generating thread after each page has been drawn.
+         *
+         * @param generated The number of codes drawn so far.
+         * @param total     The number of codes in the sheet.
+         */
+        void onProgress(int generated, int total);
+    }
+
+    private QRCodeSheetGenerator() {}
+
+    /**
+     * Generates the QR code sheet of a set of events and writes it to a stream.
+     * <p>
+     * Events without a QR code hash are left out; if none has one, nothing is written. The stream
+     * is not closed.
+     * </p>
+     *
+     * @param events   The events whose codes to print, in order.
+     * @param out      The stream to write the PDF to.
+     * @param listener The callback receiving progress, or {@code null}.
+     * @return The number of codes in the sheet.
+     * @throws IOException          If a code cannot be rendered or the PDF cannot be written.
+     * @throws InterruptedException If the generating thread is interrupted.
+     */
+    @WorkerThread
+    public static int generate(@NonNull List<Event> events, @NonNull OutputStream out,
+                               @Nullable ProgressListener listener) throws IOException, InterruptedException {
+        List<Event> printable = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getQrCodeHash() != null) {
+                printable.add(event);
+            }
+        }
+
+        if (printable.isEmpty()) {
+            return 0;
+        }
+
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ExecutorService renderPool = Executors.newFixedThreadPool(threads);
+        PdfDocument document = new PdfDocument();
+        Deque<Future<Bitmap>> rendering = new ArrayDeque<>();
+        try {
+            int submitted = 0;
+            int drawn = 0;
+            int pageNumber = 0;
+            while (drawn < printable.size()) {
+                PdfDocument.Page page = document.startPage(
+                        new PdfDocument.PageInfo.Builder(PAGE_WIDTH, PAGE_HEIGHT, ++pageNumber).create());
+                Canvas canvas = page.getCanvas();
+                List<Bitmap> pageCodes = new ArrayList<>(CODES_PER_PAGE);
+                int pageEnd = Math.min(drawn + CODES_PER_PAGE, printable.size());
+                while (drawn < pageEnd) {
+                    // keep the pool busy without holding more than two pages of bitmaps
+                    while (submitted < printable.size() && rendering.size() < RENDER_AHEAD) {
+                        String qrHash = printable.get(submitted++).getQrCodeHash();
+                        rendering.add(renderPool.submit(() -> QRCodeGenerator.generateQRCodeModuleBitmap(qrHash)));
+                    }
+                    Bitmap code = await(rendering.poll());
+                    drawCode(canvas, drawn % CODES_PER_PAGE, code, printable.get(drawn).getName());
+                    pageCodes.add(code);
+                    drawn++;
+                }
+                document.finishPage(page);
+                // the page records its drawing until it is finished, so only recycle afterwards
+                for (Bitmap code : pageCodes) {
+                    code.recycle();
+                }
+                if (listener != null) {
+                    listener.onProgress(drawn, printable.size());
+                }
+            }
+            document.writeTo(out);
+        } finally {
+            renderPool.shutdownNow();
+            document.close();
+        }
+        return printable.size();
+    }
+
+    private static Bitmap await(Future<Bitmap> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render QR code", e.getCause());
+        }
+    }
+
+    /**
+     * Draws one code and its label in a cell of the page grid.
+     */
+    private static void drawCode(@NonNull Canvas canvas, int cell, @NonNull Bitmap code, @Nullable String name) {
+        int cellWidth = (PAGE_WIDTH - 2 * MARGIN) / COLUMNS;
+        int cellHeight = (PAGE_HEIGHT - 2 * MARGIN) / ROWS;
+        int left = MARGIN + (cell % COLUMNS) * cellWidth;
+        int top = MARGIN + (cell / COLUMNS) * cellHeight;
+
+        int codeLeft = left + (cellWidth - CODE_SIZE) / 2;
+        int codeTop = top + (cellHeight - CODE_SIZE - 2 * LABEL_SIZE) / 2;
+        Paint codePaint = new Paint();
+        codePaint.setFilterBitmap(false);      // keep modules sharp when scaled up
+        canvas.drawBitmap(code, null, new Rect(codeLeft, codeTop, codeLeft + CODE_SIZE, codeTop + CODE_SIZE), codePaint);
+
+        TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        labelPaint.setColor(Color.BLACK);
+        labelPaint.setTextSize(LABEL_SIZE);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+        CharSequence label = TextUtils.ellipsize(name != null ? name : "", labelPaint, cellWidth - 8, TextUtils.TruncateAt.END);
+        canvas.drawText(label, 0, label.length(), left + cellWidth / 2f, codeTop + CODE_SIZE + 1.5f * LABEL_SIZE, labelPaint);
+    }
+}
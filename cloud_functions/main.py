@@ -1,11 +1,104 @@
 import firebase_admin
-from firebase_admin import firestore
+from firebase_admin import firestore, storage
 
+import base64
+import os
 import random
-from datetime import datetime, timezone
+import time
+from datetime import datetime, timedelta, timezone
+from urllib.parse import unquote, urlparse
 
 firebase_admin.initialize_app()
 
+# Firestore accepts at most 500 writes per batch
+MAX_BATCH_WRITES = 500
+
+# Firestore accepts at most 30 values in an "in" filter
+MAX_IN_VALUES = 30
+
+
+def _paged(query, page_size):
+    # Streams a query in pages ordered by document ID, so no read runs long
+    last = None
+    while True:
+        page_query = query.order_by("__name__").limit(page_size)
+        if last is not None:
+            page_query = page_query.start_after(last)
+        page = list(page_query.stream())
+        yield from page
+        if len(page) < page_size:
+            return
+        last = page[-1]
+
+
+def _event_organizer_id(event_data):
+    # Events written before organizers were stored as references embed the profile
+    return event_data.get("organizerDeviceId") \
+        or (event_data.get("organizer") or {}).get("deviceId")
+
+
+# --- Entrant subcollection helpers ---
+# Events with "entrantSubcollection" set keep each entrant as a document in
+# events/{id}/entrants/{deviceId} with a "status" field, and only store a
+# count per status (waitlistCount, pendingCount, ...) on the event itself.
+
+def _entrant_ids(event_ref, status):
+    docs = event_ref.collection("entrants").where("status", "==", status).stream()
+    return [entrant.id for entrant in docs]
+
+
+def _set_entrant_status(db, event_ref, device_ids, status):
+    entrants = event_ref.collection("entrants")
+    for start in range(0, len(device_ids), MAX_BATCH_WRITES):
+        batch = db.batch()
+        for device_id in device_ids[start:start + MAX_BATCH_WRITES]:
+            batch.update(entrants.document(device_id), {"status": status})
+        batch.commit()
+
+
+# --- Notification helpers ---
+# Notifications refer to their sender and receiver by device ID, and are
+# only written for receivers whose profile still exists.
+
+def _existing_profile_ids(db, device_ids):
+    # Looks device IDs up in "in" queries of MAX_IN_VALUES, reading only the
+    # deviceId field of the matching profiles
+    device_ids = list(set(device_ids))
+    existing = set()
+    for start in range(0, len(device_ids), MAX_IN_VALUES):
+        query = db.collection("profiles") \
+            .where("deviceId", "in", device_ids[start:start + MAX_IN_VALUES]) \
+            .select(["deviceId"])
+        existing.update(profile.get("deviceId") for profile in query.stream())
+    return existing
+
+
+def _send_notifications(db, sender_id, notifications, now):
+    # Writes (receiver device ID, message) pairs as notifications, in as
+    # many batches as the number of receivers needs. Receivers without a
+    # profile, such as deleted users, are skipped
+    existing = _existing_profile_ids(db, [receiver_id for receiver_id, _ in notifications])
+    for receiver_id, _ in notifications:
+        if receiver_id not in existing:
+            print(f"Error: Profile for deviceId {receiver_id} not found. Skipping notification for this user.")
+    notifications = [(receiver_id, message) for receiver_id, message in notifications
+                     if receiver_id in existing]
+
+    for start in range(0, len(notifications), MAX_BATCH_WRITES):
+        batch = db.batch()
+        for receiver_id, message in notifications[start:start + MAX_BATCH_WRITES]:
+            new_doc = db.collection("notifications").document()
+            batch.set(new_doc, {
+                "id": new_doc.id,
+                "senderDeviceId": sender_id,
+                "receiverDeviceId": receiver_id,
+                "message": message,
+                "readFlag": False,
+                "timestamp": now
+            })
+        batch.commit()
+
+
 # --- Cloud Function 0: Update Registration Opened ---
 # This function runs when a message is published to a certain topic.
 # If finds events whose registration just opened and updates it
@@ -50,7 +143,11 @@ def run_event_lottery(data, context) -> None:
         print(f"Processing lottery for event: {doc.id}")
 
         event_data = doc.to_dict()
-        wait_list = event_data.get("waitList", [])
+        subcollection = event_data.get("entrantSubcollection", False)
+        if subcollection:
+            wait_list = _entrant_ids(doc.reference, "WAITLIST")
+        else:
+            wait_list = event_data.get("waitList", [])
         
         # If waitlist is empty, just mark as processed and skip
         if not wait_list:
@@ -59,9 +156,12 @@ def run_event_lottery(data, context) -> None:
             continue
 
         # Determine how many winners to select
-        accepted_list = event_data.get("acceptedList", [])
+        if subcollection:
+            accepted_count = event_data.get("acceptedCount", 0)
+        else:
+            accepted_count = len(event_data.get("acceptedList", []))
         event_capacity = event_data.get("eventCapacity", 0)
-        slots_to_fill = max(0, event_capacity - len(accepted_list))
+        slots_to_fill = max(0, event_capacity - accepted_count)
         num_winners = min(slots_to_fill, len(wait_list))
         
         print(f"Selecting {num_winners} winners for event {doc.id}.")
@@ -71,69 +171,39 @@ def run_event_lottery(data, context) -> None:
         winners = wait_list[:num_winners]
         remaining_waitlist = wait_list[num_winners:]
         
-        # Send out automated notifications
-        batch = db.batch()
-        sender_profile = event_data.get("organizer")
-        
-        # Notify winners
-        for winner in winners:
-            query = db.collection("profiles").where("deviceId", "==", winner).limit(1)
-            profile_docs = list(query.stream())
-            if not profile_docs:
-                print(f"Error: Profile for winner deviceId {winner} not found. Skipping notification for this user.")
-                continue
-            recv_profile = profile_docs[0].to_dict()
-            message = "Congrats! You have been selected for the " \
-                    + f"{event_data.get('name')} event. Please " \
-                    + "accept or decline the invitation at your " \
-                    + "earliest convenience.\n\n" \
-                    + "This is an automated message."
-            read_flag = False
-            notification_data = {
-                "sender": sender_profile,
-                "receiver": recv_profile,
-                "message": message,
-                "readFlag": read_flag,
-                "timestamp": now
-            }
-            new_doc = db.collection("notifications").document()
-            notification_data["id"] = new_doc.id
-            batch.set(new_doc, notification_data)
-        
-        # Notify losers
-        for loser in remaining_waitlist:
-            query = db.collection("profiles").where("deviceId", "==", loser).limit(1)
-            profile_docs = list(query.stream())
-            if not profile_docs:
-                print(f"Error: Profile for loser deviceId {loser} not found. Skipping notification for this user.")
-                continue
-            recv_profile = profile_docs[0].to_dict()
-            message = "Sorry! You have NOT been selected for the " \
-                    + f"{event_data.get('name')} event. Please " \
-                    + "keep in mind selected entrants may choose " \
-                    + "to decline their spot, resulting in a second " \
-                    + "chance for you.\n\n" \
-                    + "This is an automated message."
-            read_flag = False
-            notification_data = {
-                "sender": sender_profile,
-                "receiver": recv_profile,
-                "message": message,
-                "readFlag": read_flag,
-                "timestamp": now
-            }
-            new_doc = db.collection("notifications").document()
-            notification_data["id"] = new_doc.id
-            batch.set(new_doc, notification_data)
-            
-        batch.commit()
+        # Send out automated notifications, which refer to profiles by device ID
+        sender_id = _event_organizer_id(event_data)
+        winner_message = "Congrats! You have been selected for the " \
+                + f"{event_data.get('name')} event. Please " \
+                + "accept or decline the invitation at your " \
+                + "earliest convenience.\n\n" \
+                + "This is an automated message."
+        loser_message = "Sorry! You have NOT been selected for the " \
+                + f"{event_data.get('name')} event. Please " \
+                + "keep in mind selected entrants may choose " \
+                + "to decline their spot, resulting in a second " \
+                + "chance for you.\n\n" \
+                + "This is an automated message."
+        notifications = [(winner, winner_message) for winner in winners] \
+            + [(loser, loser_message) for loser in remaining_waitlist]
+        _send_notifications(db, sender_id, notifications, now)
             
         # Update the event
-        doc.reference.update({
-            "waitList": remaining_waitlist,
-            "pendingList": firestore.ArrayUnion(winners),
-            "lotteryProcessed": True,
-        })
+        if subcollection:
+            _set_entrant_status(db, doc.reference, winners, "PENDING")
+            # Set rather than decrement: joins to a sharded waitlist only count in
+            # events/{id}/waitlist_shards, so the event's own count may be stale
+            doc.reference.update({
+                "waitlistCount": len(remaining_waitlist),
+                "pendingCount": firestore.Increment(len(winners)),
+                "lotteryProcessed": True,
+            })
+        else:
+            doc.reference.update({
+                "waitList": remaining_waitlist,
+                "pendingList": firestore.ArrayUnion(winners),
+                "lotteryProcessed": True,
+            })
         print(f"Successfully processed lottery for event {doc.id}.")
 
 
@@ -159,7 +229,11 @@ def expire_pending_invitations(data, context) -> None:
 
         print(f"Expiring pending invitations for event: {doc.id}")
 
-        pending_list = event_data.get("pendingList", [])
+        subcollection = event_data.get("entrantSubcollection", False)
+        if subcollection:
+            pending_list = _entrant_ids(doc.reference, "PENDING")
+        else:
+            pending_list = event_data.get("pendingList", [])
 
         # If pending list is empty, just mark as processed and skip
         if not pending_list:
@@ -168,9 +242,422 @@ def expire_pending_invitations(data, context) -> None:
             continue
 
         print(f"Moving {len(pending_list)} users from pending to declined for event {doc.id}.")
-        doc.reference.update({
-            "pendingList": [],  # Clear the pending list
-            "declinedList": firestore.ArrayUnion(pending_list),
-            "pendingExpired": True,
-        })
+        if subcollection:
+            _set_entrant_status(db, doc.reference, pending_list, "DECLINED")
+            doc.reference.update({
+                "pendingCount": firestore.Increment(-len(pending_list)),
+                "declinedCount": firestore.Increment(len(pending_list)),
+                "pendingExpired": True,
+            })
+        else:
+            doc.reference.update({
+                "pendingList": [],  # Clear the pending list
+                "declinedList": firestore.ArrayUnion(pending_list),
+                "pendingExpired": True,
+            })
         print(f"Successfully processed expire pending list for event {doc.id}.")
+
+
+# --- Cloud Function 3: Count Event Organizers ---
+# This function runs whenever a document in the events collection is
+# created, updated or deleted. It keeps a per-organizer event count in
+# organizer_event_counts/{deviceId} and the number of distinct organizers
+# in admin_stats/organizers, which the admin dashboard reads instead of
+# downloading every event.
+# Cloud Functions may deliver a trigger more than once, so each one records
+# its event ID in organizer_count_triggers in the same transaction as the
+# counts, and a trigger whose ID is already recorded changes nothing.
+# recount_event_organizers rebuilds every count from the events themselves,
+# to backfill events written before deployment or repair any drift.
+
+# Trigger markers only guard against retries, which come within minutes,
+# so they can be removed by a TTL policy on expireAt after this long
+ORGANIZER_TRIGGER_TTL = timedelta(days=7)
+
+
+def _organizer_device_id(value):
+    # Firestore triggers deliver documents in the REST format
+    fields = (value or {}).get("fields", {})
+    reference = fields.get("organizerDeviceId", {}).get("stringValue")
+    if reference:
+        return reference
+    # Events written before organizers were stored as references
+    organizer = fields.get("organizer", {}).get("mapValue", {}).get("fields", {})
+    return organizer.get("deviceId", {}).get("stringValue")
+
+
+def count_event_organizers(data, context) -> None:
+    db = firestore.client()
+
+    old_organizer = _organizer_device_id(data.get("oldValue"))
+    new_organizer = _organizer_device_id(data.get("value"))
+
+    # Most writes (list changes, state flags) do not touch the organizer
+    if old_organizer == new_organizer:
+        return
+
+    changes = []
+    if old_organizer:
+        print(f"Event {context.resource} no longer organized by {old_organizer}.")
+        changes.append((old_organizer, -1))
+    if new_organizer:
+        print(f"Event {context.resource} now organized by {new_organizer}.")
+        changes.append((new_organizer, 1))
+
+    marker_ref = db.collection("organizer_count_triggers").document(context.event_id)
+    total_ref = db.collection("admin_stats").document("organizers")
+
+    @firestore.transactional
+    def apply_changes(transaction):
+        # A retried trigger finds the marker its first delivery wrote
+        if marker_ref.get(transaction=transaction).exists:
+            print(f"Trigger {context.event_id} was already counted.")
+            return
+
+        # Transactions must read everything before writing anything
+        counts = []
+        for device_id, delta in changes:
+            count_ref = db.collection("organizer_event_counts").document(device_id)
+            snapshot = count_ref.get(transaction=transaction)
+            old_count = snapshot.get("count") if snapshot.exists else 0
+            counts.append((count_ref, old_count, max(0, old_count + delta)))
+
+        organizers_delta = 0
+        for count_ref, old_count, new_count in counts:
+            if new_count == 0:
+                transaction.delete(count_ref)
+            else:
+                transaction.set(count_ref, {"count": new_count})
+
+            # The organizer appeared or disappeared, adjust the distinct total
+            if old_count == 0 and new_count > 0:
+                organizers_delta += 1
+            elif old_count > 0 and new_count == 0:
+                organizers_delta -= 1
+
+        if organizers_delta:
+            transaction.set(total_ref, {"count": firestore.Increment(organizers_delta)}, merge=True)
+        transaction.set(marker_ref, {
+            "event": context.resource,
+            "expireAt": datetime.now(timezone.utc) + ORGANIZER_TRIGGER_TTL,
+        })
+
+    apply_changes(db.transaction())
+
+
+def recount_event_organizers(data, context) -> None:
+    db = firestore.client()
+
+    # Count every event by organizer, reading only the organizer fields
+    counts = {}
+    events = db.collection("events").select(["organizerDeviceId", "organizer"])
+    for doc in _paged(events, MAX_BATCH_WRITES):
+        device_id = _event_organizer_id(doc.to_dict())
+        if device_id:
+            counts[device_id] = counts.get(device_id, 0) + 1
+
+    # Rewrite the per-organizer counts, dropping organizers with no events left
+    stale = [doc.reference for doc in db.collection("organizer_event_counts").stream()
+             if doc.id not in counts]
+    writes = [(db.collection("organizer_event_counts").document(device_id), {"count": count})
+              for device_id, count in counts.items()]
+    for start in range(0, len(stale), MAX_BATCH_WRITES):
+        batch = db.batch()
+        for reference in stale[start:start + MAX_BATCH_WRITES]:
+            batch.delete(reference)
+        batch.commit()
+    for start in range(0, len(writes), MAX_BATCH_WRITES):
+        batch = db.batch()
+        for reference, count in writes[start:start + MAX_BATCH_WRITES]:
+            batch.set(reference, count)
+        batch.commit()
+
+    db.collection("admin_stats").document("organizers").set({"count": len(counts)})
+    print(f"Recounted {sum(counts.values())} events across {len(counts)} organizers.")
+
+
+# --- Cloud Function 4: Sync Event Summaries ---
+# This function runs whenever a document in the events collection is
+# created, updated or deleted. It mirrors the fields list screens show into
+# event_summaries/{eventId}, so those screens can listen to small summary
+# documents instead of full events with their entrant lists.
+
+SUMMARY_FIELDS = [
+    "name", "location", "description", "poster", "organizer", "organizerDeviceId",
+    "eventStartDateTime", "eventEndDateTime",
+    "reoccurring", "reoccurringEndDateTime",
+    "registrationOpened", "lotteryProcessed", "pendingExpired",
+]
+
+
+def _summary_fields(value):
+    # Firestore triggers deliver documents in the REST format
+    fields = (value or {}).get("fields", {})
+    return {name: fields.get(name) for name in SUMMARY_FIELDS}
+
+
+def _event_summary(event):
+    poster = event.get("poster") or {}
+    if event.get("reoccurring"):
+        completion = event.get("reoccurringEndDateTime")
+    else:
+        completion = event.get("eventEndDateTime")
+
+    return {
+        "name": event.get("name"),
+        "location": event.get("location"),
+        # event search matches the description without loading the event
+        "description": event.get("description"),
+        # list screens show posters small, so mirror the list rendition when there is one
+        "posterUrl": (poster.get("renditionUrls") or {}).get("LIST") or poster.get("imageUrl"),
+        "organizerDeviceId": _event_organizer_id(event),
+        "eventStartDateTime": event.get("eventStartDateTime"),
+        "completionDateTime": completion,
+        "registrationOpened": event.get("registrationOpened", False),
+        "lotteryProcessed": event.get("lotteryProcessed", False),
+        "pendingExpired": event.get("pendingExpired", False),
+    }
+
+
+def sync_event_summary(data, context) -> None:
+    db = firestore.client()
+
+    event_id = context.resource.split("/")[-1]
+    summary_ref = db.collection("event_summaries").document(event_id)
+
+    # Event was deleted, drop its summary
+    if not data.get("value"):
+        print(f"Event {event_id} deleted, removing its summary.")
+        summary_ref.delete()
+        return
+
+    # Most writes (joins, leaves, invitations) do not touch the summary
+    if data.get("oldValue") and _summary_fields(data["oldValue"]) == _summary_fields(data["value"]):
+        return
+
+    event_doc = db.collection("events").document(event_id).get()
+    if not event_doc.exists:
+        return
+    summary_ref.set(_event_summary(event_doc.to_dict()))
+    print(f"Event {event_id} summary updated.")
+
+
+# This function is run by hand when sync_event_summary is first deployed,
+# and whenever summaries need repairing. It rewrites the summary of every
+# event and removes summaries whose event no longer exists.
+
+def _write_summaries(db, writes):
+    if not writes:
+        return
+    batch = db.batch()
+    for event_id, summary in writes:
+        batch.set(db.collection("event_summaries").document(event_id), summary)
+    batch.commit()
+
+
+def backfill_event_summaries(data, context) -> None:
+    db = firestore.client()
+
+    event_ids = set()
+    writes = []
+    for event_doc in _paged(db.collection("events"), MAX_BATCH_WRITES):
+        event_ids.add(event_doc.id)
+        writes.append((event_doc.id, _event_summary(event_doc.to_dict())))
+        if len(writes) == MAX_BATCH_WRITES:
+            _write_summaries(db, writes)
+            writes = []
+    _write_summaries(db, writes)
+
+    orphans = [summary.reference
+               for summary in _paged(db.collection("event_summaries"), MAX_BATCH_WRITES)
+               if summary.id not in event_ids]
+    for start in range(0, len(orphans), MAX_BATCH_WRITES):
+        batch = db.batch()
+        for reference in orphans[start:start + MAX_BATCH_WRITES]:
+            batch.delete(reference)
+        batch.commit()
+
+    print(f"Backfilled {len(event_ids)} event summaries, removed {len(orphans)} orphans.")
+
+
+# --- Cloud Function 5: Migrate Profile References ---
+# This function is run once by hand after the app stops embedding profiles.
+# It rewrites events and notifications that still hold full copies of the
+# organizer, sender or receiver profile to hold only their device IDs.
+
+def _migrate_references(db, collection, references):
+    batch = db.batch()
+    writes = 0
+    migrated = 0
+    for doc in db.collection(collection).stream():
+        doc_data = doc.to_dict()
+        update = {}
+        for reference_field, embedded_field in references.items():
+            if embedded_field not in doc_data:
+                continue
+            embedded = doc_data.get(embedded_field) or {}
+            if not doc_data.get(reference_field):
+                update[reference_field] = embedded.get("deviceId")
+            update[embedded_field] = firestore.DELETE_FIELD
+        if not update:
+            continue
+        batch.update(doc.reference, update)
+        writes += 1
+        migrated += 1
+        if writes == MAX_BATCH_WRITES:
+            batch.commit()
+            batch = db.batch()
+            writes = 0
+    if writes:
+        batch.commit()
+    print(f"Migrated {migrated} documents in {collection}.")
+
+
+def migrate_profile_references(data, context) -> None:
+    db = firestore.client()
+    _migrate_references(db, "events", {"organizerDeviceId": "organizer"})
+    _migrate_references(db, "notifications", {
+        "senderDeviceId": "sender",
+        "receiverDeviceId": "receiver",
+    })
+
+
+# --- Cloud Function 6: Collect Orphan Posters ---
+# This function runs when a message is published to a certain topic, e.g.
+# once a day. Poster uploads and deletions are not transactional, so a
+# crash or timeout between uploading a file and linking it to an event
+# leaves poster documents no event points at, and files in Storage no
+# poster or event uses. It pages through the posters collection and the
+# posters/ folder in Storage, cross-references them against events, and
+# deletes orphans in small, paced batches. Anything younger than a grace
+# period is kept, since it may belong to an event still being created.
+# The app never deletes poster files itself, as another poster may start
+# using a shared image between its check and the delete; this function is
+# the only place they are removed, along with their poster_files size record.
+# Publishing "dry-run" reports what would be deleted without deleting it.
+
+GC_PAGE_SIZE = 500
+GC_BATCH_SIZE = 100
+GC_BATCH_PAUSE_SECONDS = 1.0
+GC_GRACE_PERIOD = timedelta(days=1)
+
+
+def _storage_path(url):
+    # Download URLs look like .../v0/b/{bucket}/o/{url-encoded path}?alt=media&token=...
+    if not url:
+        return None
+    path = urlparse(url).path
+    marker = "/o/"
+    if marker not in path:
+        return None
+    return unquote(path.split(marker, 1)[1])
+
+
+def _poster_paths(poster):
+    urls = [poster.get("imageUrl")]
+    urls.extend((poster.get("renditionUrls") or {}).values())
+    paths = {_storage_path(url) for url in urls}
+    if poster.get("fileName"):
+        paths.add("posters/" + poster["fileName"])
+    paths.discard(None)
+    return paths
+
+
+def _is_dry_run(data):
+    message = (data or {}).get("data")
+    if not message:
+        return False
+    return base64.b64decode(message).decode("utf-8").strip() == "dry-run"
+
+
+def _delete_documents(db, references, dry_run):
+    for start in range(0, len(references), GC_BATCH_SIZE):
+        chunk = references[start:start + GC_BATCH_SIZE]
+        if not dry_run:
+            batch = db.batch()
+            for reference in chunk:
+                batch.delete(reference)
+            batch.commit()
+            time.sleep(GC_BATCH_PAUSE_SECONDS)
+
+
+def _delete_blobs(bucket, blobs, dry_run):
+    for start in range(0, len(blobs), GC_BATCH_SIZE):
+        chunk = blobs[start:start + GC_BATCH_SIZE]
+        if not dry_run:
+            with bucket.client.batch():
+                for blob in chunk:
+                    blob.delete()
+            time.sleep(GC_BATCH_PAUSE_SECONDS)
+
+
+def collect_orphan_posters(data, context) -> None:
+    db = firestore.client()
+    bucket_name = os.environ.get("STORAGE_BUCKET")
+    if not bucket_name:
+        print("STORAGE_BUCKET is not set, not collecting posters.")
+        return
+    bucket = storage.bucket(bucket_name)
+    dry_run = _is_dry_run(data)
+    cutoff = datetime.now(timezone.utc) - GC_GRACE_PERIOD
+
+    # Everything an event points at is in use
+    used_poster_ids = set()
+    used_file_names = set()
+    used_paths = set()
+    for doc in _paged(db.collection("events").select(["poster"]), GC_PAGE_SIZE):
+        poster = doc.to_dict().get("poster") or {}
+        if not poster:
+            continue
+        if poster.get("id"):
+            used_poster_ids.add(poster["id"])
+        if poster.get("fileName"):
+            used_file_names.add(poster["fileName"])
+        used_paths |= _poster_paths(poster)
+
+    # Poster documents no event points at are orphans once past the grace period
+    orphan_posters = []
+    for doc in _paged(db.collection("posters"), GC_PAGE_SIZE):
+        poster = doc.to_dict()
+        used = doc.id in used_poster_ids or poster.get("fileName") in used_file_names
+        if used or doc.create_time > cutoff:
+            # files shared by content hash stay as long as any live poster has them
+            used_paths |= _poster_paths(poster)
+        else:
+            orphan_posters.append(doc.reference)
+
+    # Files no live poster or event points at are orphans once past the grace period
+    orphan_blobs = []
+    reclaimed_bytes = 0
+    for page in bucket.list_blobs(prefix="posters/", page_size=GC_PAGE_SIZE).pages:
+        for blob in page:
+            if blob.name in used_paths or blob.name.endswith("/"):
+                continue
+            if blob.time_created is not None and blob.time_created > cutoff:
+                continue
+            orphan_blobs.append(blob)
+            reclaimed_bytes += blob.size or 0
+
+    # Size records of images none of whose files are still used, keyed by content hash
+    used_hashes = {path.rsplit("/", 1)[-1].split("_", 1)[0] for path in used_paths}
+    orphan_files = [
+        doc.reference
+        for doc in _paged(db.collection("poster_files"), GC_PAGE_SIZE)
+        if doc.id not in used_hashes and doc.create_time <= cutoff
+    ]
+
+    mode = "Would delete" if dry_run else "Deleting"
+    print(f"{mode} {len(orphan_posters)} poster documents and {len(orphan_blobs)} files ({reclaimed_bytes} bytes).")
+    _delete_documents(db, orphan_posters, dry_run)
+    _delete_blobs(bucket, orphan_blobs, dry_run)
+    _delete_documents(db, orphan_files, dry_run)
+
+    if not dry_run:
+        db.collection("admin_stats").document("poster_gc").set({
+            "lastRun": firestore.SERVER_TIMESTAMP,
+            "deletedPosters": len(orphan_posters),
+            "deletedFiles": len(orphan_blobs),
+            "reclaimedBytes": reclaimed_bytes,
+            "totalReclaimedBytes": firestore.Increment(reclaimed_bytes),
+        }, merge=True)
+    print(f"Poster collection finished, {reclaimed_bytes} bytes reclaimed.")